@@ -20,8 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
-import software.amazon.smithy.model.selector.PathFinder;
-import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.shapes.EntityShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
@@ -37,8 +36,6 @@ import software.amazon.smithy.model.shapes.ToShapeId;
  */
 public final class AuthorizerIndex implements KnowledgeIndex {
 
-    private static final Selector SELECTOR = Selector.parse("operation");
-
     /** Mapping of service shapes to a map of shape -> authorizer name. */
     private final Map<ShapeId, Map<ShapeId, String>> authorizers = new HashMap<>();
 
@@ -46,28 +43,11 @@ public final class AuthorizerIndex implements KnowledgeIndex {
     private final Map<ShapeId, AuthorizersTrait> authorizerTraits = new HashMap<>();
 
     public AuthorizerIndex(Model model) {
-        PathFinder finder = PathFinder.create(model);
-
         model.shapes(ServiceShape.class).forEach(service -> {
             service.getTrait(AuthorizersTrait.class).ifPresent(trait -> authorizerTraits.put(service.getId(), trait));
             Map<ShapeId, String> serviceMap = new HashMap<>();
             authorizers.put(service.getId(), serviceMap);
-
-            // Account for the edge case of no operations on the service.
-            service.getTrait(AuthorizerTrait.class)
-                    .ifPresent(trait -> serviceMap.put(service.getId(), trait.getValue()));
-
-            for (PathFinder.Path path : finder.search(service, SELECTOR)) {
-                String effectiveAuthorizer = null;
-                for (Shape shape : path.getShapes()) {
-                    if (shape.isServiceShape() || shape.isResourceShape() || shape.isOperationShape()) {
-                        effectiveAuthorizer = getNullableAuthorizerValue(shape, effectiveAuthorizer);
-                        if (effectiveAuthorizer != null) {
-                            serviceMap.put(shape.getId(), effectiveAuthorizer);
-                        }
-                    }
-                }
-            }
+            walk(model, serviceMap, service, null);
         });
     }
 
@@ -75,6 +55,29 @@ public final class AuthorizerIndex implements KnowledgeIndex {
         return model.getKnowledge(AuthorizerIndex.class, AuthorizerIndex::new);
     }
 
+    // Computes the effective authorizer of every shape bound to the service in a single top-down pass.
+    private static void walk(Model model, Map<ShapeId, String> serviceMap, EntityShape current, String previous) {
+        String effectiveAuthorizer = getNullableAuthorizerValue(current, previous);
+        if (effectiveAuthorizer != null) {
+            serviceMap.put(current.getId(), effectiveAuthorizer);
+        }
+
+        for (ShapeId resource : current.getResources()) {
+            model.getShape(resource)
+                    .flatMap(Shape::asResourceShape)
+                    .ifPresent(resourceShape -> walk(model, serviceMap, resourceShape, effectiveAuthorizer));
+        }
+
+        for (ShapeId operation : current.getAllOperations()) {
+            model.getShape(operation).ifPresent(shape -> {
+                String operationAuthorizer = getNullableAuthorizerValue(shape, effectiveAuthorizer);
+                if (operationAuthorizer != null) {
+                    serviceMap.put(operation, operationAuthorizer);
+                }
+            });
+        }
+    }
+
     private static String getNullableAuthorizerValue(Shape shape, String previous) {
         return shape.getTrait(AuthorizerTrait.class).map(AuthorizerTrait::getValue).orElse(previous);
     }
@@ -23,6 +23,7 @@ public class AuthorizerIndexTest {
         ShapeId serviceB = ShapeId.from("smithy.example#ServiceB");
         ShapeId resourceA = ShapeId.from("smithy.example#ResourceA");
         ShapeId resourceB = ShapeId.from("smithy.example#ResourceB");
+        ShapeId resourceC = ShapeId.from("smithy.example#ResourceC");
         ShapeId operationA = ShapeId.from("smithy.example#OperationA");
         ShapeId operationB = ShapeId.from("smithy.example#OperationB");
         ShapeId operationC = ShapeId.from("smithy.example#OperationC");
@@ -49,6 +50,10 @@ public class AuthorizerIndexTest {
         assertThat(index.getAuthorizer(serviceA, resourceB).get(), equalTo("baz"));
         assertThat(index.getAuthorizer(serviceB, resourceB).get(), equalTo("baz"));
 
+        // Resolves nested resources.
+        assertThat(index.getAuthorizer(serviceA, resourceC).get(), equalTo("baz"));
+        assertThat(index.getAuthorizer(serviceB, resourceC).get(), equalTo("baz"));
+
         // Resolves nested operations.
         assertThat(index.getAuthorizer(serviceA, operationC).get(), equalTo("foo"));
         assertThat(index.getAuthorizer(serviceA, operationD).get(), equalTo("baz"));
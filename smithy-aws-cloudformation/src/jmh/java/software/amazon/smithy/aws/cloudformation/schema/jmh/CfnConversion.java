@@ -0,0 +1,150 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.aws.cloudformation.schema.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.aws.cloudformation.schema.CfnConfig;
+import software.amazon.smithy.aws.cloudformation.schema.fromsmithy.CfnConverter;
+import software.amazon.smithy.aws.cloudformation.schema.model.ResourceSchema;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Converts the resources of a synthetic service to CloudFormation
+ * resource schemas.
+ *
+ * <p>The service contains {@code resourceCount} resources with create,
+ * read, update, and delete operations, and the properties of each
+ * resource contain structures nested {@code depth} levels deep.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class CfnConversion {
+
+    @State(Scope.Thread)
+    public static class ServiceState {
+        @Param({"10", "100"})
+        public int resourceCount;
+
+        @Param({"2", "8"})
+        public int depth;
+
+        public Model model;
+        public CfnConfig config;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .discoverModels(CfnConversion.class.getClassLoader())
+                    .addUnparsedModel("synthetic.smithy", createModel(resourceCount, depth))
+                    .assemble()
+                    .unwrap();
+            config = new CfnConfig();
+            config.setOrganizationName("Smithy");
+            config.setService(ShapeId.from("smithy.example#Service"));
+        }
+    }
+
+    @Benchmark
+    public List<ResourceSchema> convert(ServiceState state) {
+        return CfnConverter.create().config(state.config).convert(state.model);
+    }
+
+    private static String createModel(int resourceCount, int depth) {
+        StringBuilder model = new StringBuilder();
+        model.append("namespace smithy.example\n\n")
+                .append("use aws.cloudformation#cfnResource\n\n")
+                .append("service Service {\n")
+                .append("    version: \"2022-01-01\",\n")
+                .append("    resources: [");
+        for (int resource = 0; resource < resourceCount; resource++) {
+            model.append(resource == 0 ? "" : ", ").append("Resource").append(resource);
+        }
+        model.append("]\n}\n\n");
+
+        for (int resource = 0; resource < resourceCount; resource++) {
+            String name = "Resource" + resource;
+            String uri = "/resource" + resource;
+            model.append("@cfnResource\n")
+                    .append("resource ").append(name).append(" {\n")
+                    .append("    identifiers: { id: String },\n")
+                    .append("    create: Create").append(name).append(",\n")
+                    .append("    read: Get").append(name).append(",\n")
+                    .append("    update: Update").append(name).append(",\n")
+                    .append("    delete: Delete").append(name).append("\n}\n\n")
+                    .append("@http(method: \"POST\", uri: \"").append(uri).append("\")\n")
+                    .append("operation Create").append(name).append(" {\n")
+                    .append("    input: Create").append(name).append("Input,\n")
+                    .append("    output: Create").append(name).append("Output\n}\n\n")
+                    .append("structure Create").append(name).append("Input {\n")
+                    .append("    properties: ").append(name).append("Level0\n}\n\n")
+                    .append("structure Create").append(name).append("Output {\n")
+                    .append("    id: String\n}\n\n")
+                    .append("@readonly\n")
+                    .append("@http(method: \"GET\", uri: \"").append(uri).append("/{id}\")\n")
+                    .append("operation Get").append(name).append(" {\n")
+                    .append("    input: Get").append(name).append("Input,\n")
+                    .append("    output: Get").append(name).append("Output\n}\n\n")
+                    .append("structure Get").append(name).append("Input {\n")
+                    .append("    @required\n    @httpLabel\n    id: String\n}\n\n")
+                    .append("structure Get").append(name).append("Output {\n")
+                    .append("    id: String,\n")
+                    .append("    createdAt: Timestamp,\n")
+                    .append("    properties: ").append(name).append("Level0\n}\n\n")
+                    .append("@idempotent\n")
+                    .append("@http(method: \"PUT\", uri: \"").append(uri).append("/{id}\")\n")
+                    .append("operation Update").append(name).append(" {\n")
+                    .append("    input: Update").append(name).append("Input\n}\n\n")
+                    .append("structure Update").append(name).append("Input {\n")
+                    .append("    @required\n    @httpLabel\n    id: String,\n")
+                    .append("    properties: ").append(name).append("Level0\n}\n\n")
+                    .append("@idempotent\n")
+                    .append("@http(method: \"DELETE\", uri: \"").append(uri).append("/{id}\")\n")
+                    .append("operation Delete").append(name).append(" {\n")
+                    .append("    input: Get").append(name).append("Input\n}\n\n");
+            for (int level = 0; level < depth; level++) {
+                model.append("structure ").append(name).append("Level").append(level).append(" {\n")
+                        .append("    name: String,\n")
+                        .append("    count: Integer,\n")
+                        .append("    tags: StringList,\n")
+                        .append("    attributes: StringMap");
+                if (level + 1 < depth) {
+                    model.append(",\n    child: ").append(name).append("Level").append(level + 1);
+                }
+                model.append("\n}\n\n");
+            }
+        }
+
+        model.append("list StringList {\n    member: String\n}\n\n")
+                .append("map StringMap {\n    key: String,\n    value: String\n}\n");
+        return model.toString();
+    }
+}
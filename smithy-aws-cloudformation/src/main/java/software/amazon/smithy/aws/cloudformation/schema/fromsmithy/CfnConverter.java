@@ -18,11 +18,15 @@ package software.amazon.smithy.aws.cloudformation.schema.fromsmithy;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import software.amazon.smithy.aws.cloudformation.schema.CfnConfig;
 import software.amazon.smithy.aws.cloudformation.schema.CfnException;
 import software.amazon.smithy.aws.cloudformation.schema.model.Property;
@@ -58,9 +62,11 @@ import software.amazon.smithy.utils.StringUtils;
 
 public final class CfnConverter {
     private static final String DEFAULT_TAGS_NAME = "Tags";
+    private static final Pattern NON_ALPHA_NUMERIC = Pattern.compile("[^A-Za-z0-9]");
     private ClassLoader classLoader = CfnConverter.class.getClassLoader();
     private CfnConfig config = new CfnConfig();
     private final List<Smithy2CfnExtension> extensions = new ArrayList<>();
+    private boolean parallel;
 
     private CfnConverter() {}
 
@@ -103,6 +109,24 @@ public final class CfnConverter {
         return this;
     }
 
+    /**
+     * Enables or disables converting resources in parallel.
+     *
+     * <p>
+     * Resources are converted sequentially by default. Converted resources
+     * are always collected in the same order, so enabling parallel conversion
+     * doesn't change the result. However, every {@link CfnMapper} used by a
+     * parallel converter must be safe to call concurrently for different
+     * resources.
+     *
+     * @param parallel Set to true to convert resources in parallel.
+     * @return Returns the converter.
+     */
+    public CfnConverter parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
     /**
      * Converts resource shapes annotated with the {@code @cfnResource} trait to
      * JSON/Node representations of CloudFormation Resource Schemas using the
@@ -153,11 +177,15 @@ public final class CfnConverter {
     }
 
     private Map<ShapeId, ResourceSchema> convertWithEnvironments(List<ConversionEnvironment> environments) {
+        // Resources are converted independently of each other, so they can be converted in
+        // parallel and then collected in the order of the environments.
+        List<ResourceSchema> converted = (parallel ? environments.parallelStream() : environments.stream())
+                .map(environment -> convertResource(environment, environment.context.getResource()))
+                .collect(Collectors.toList());
+
         Map<ShapeId, ResourceSchema> resourceSchemas = new HashMap<>();
-        for (ConversionEnvironment environment : environments) {
-            ResourceShape resourceShape = environment.context.getResource();
-            ResourceSchema resourceSchema = convertResource(environment, resourceShape);
-            resourceSchemas.put(resourceShape.getId(), resourceSchema);
+        for (int i = 0; i < environments.size(); i++) {
+            resourceSchemas.put(environments.get(i).context.getResource().getId(), converted.get(i));
         }
         return resourceSchemas;
     }
@@ -177,23 +205,60 @@ public final class CfnConverter {
 
         TopDownIndex topDownIndex = TopDownIndex.of(model);
         Set<ResourceShape> resourceShapes = topDownIndex.getContainedResources(serviceShape);
+        CfnResourceIndex resourceIndex = CfnResourceIndex.of(model);
 
-        // Create an environment for each of the resources to be converted with.
-        List<ConversionEnvironment> environments = new ArrayList<>();
+        // Prepare a structure representing each CFN resource to be created and
+        // add the structures to a single model that's used by the context and
+        // JSON schema converter of every resource, so the model and its knowledge
+        // indexes are only computed once. See the docs for getCfnResourceStructure
+        // for more information.
+        //
+        // Out-of-service references are enabled for CloudFormation, so refs are
+        // computed over every shape in the model, and conflicting structure names
+        // can't be de-conflicted. Each structure is given a name whose
+        // alphanumeric-only pointer doesn't conflict with any other shape.
+        Set<String> pointerNames = new HashSet<>();
+        model.shapes()
+                .filter(shape -> !shape.isMemberShape())
+                .forEach(shape -> pointerNames.add(toPointerName(shape.getId().getName())));
+        Model.Builder updatedModelBuilder = model.toBuilder();
+        Map<ResourceShape, StructureShape> pseudoResources = new LinkedHashMap<>();
         for (ResourceShape resourceShape : resourceShapes) {
             if (resourceShape.getTrait(CfnResourceTrait.class).isPresent()) {
-                ConversionEnvironment environment = createConversionEnvironment(model, serviceShape, resourceShape);
-                environments.add(environment);
+                CfnResource cfnResource = getCfnResource(resourceIndex, resourceShape);
+                ShapeId structureId = createCfnResourceStructureId(resourceShape, pointerNames);
+                StructureShape pseudoResource = getCfnResourceStructure(
+                        model, resourceShape, cfnResource, structureId);
+                pseudoResources.put(resourceShape, pseudoResource);
+                updatedModelBuilder.addShape(pseudoResource);
             }
         }
+        Model updatedModel = updatedModelBuilder.build();
+
+        // Create an environment for each of the resources to be converted with.
+        List<ConversionEnvironment> environments = new ArrayList<>();
+        for (Map.Entry<ResourceShape, StructureShape> entry : pseudoResources.entrySet()) {
+            ResourceShape resourceShape = entry.getKey();
+            CfnResource cfnResource = getCfnResource(resourceIndex, resourceShape);
+            environments.add(createConversionEnvironment(
+                    updatedModel, serviceShape, resourceShape, cfnResource, entry.getValue()));
+        }
 
         return environments;
     }
 
+    private CfnResource getCfnResource(CfnResourceIndex resourceIndex, ResourceShape resourceShape) {
+        return resourceIndex.getResource(resourceShape)
+                .orElseThrow(() -> new CfnException("Attempted to generate a CloudFormation resource schema "
+                        + "not found to have resource data."));
+    }
+
     private ConversionEnvironment createConversionEnvironment(
-            Model model,
+            Model updatedModel,
             ServiceShape serviceShape,
-            ResourceShape resourceShape
+            ResourceShape resourceShape,
+            CfnResource cfnResource,
+            StructureShape pseudoResource
     ) {
         // Prepare the JSON Schema Converter.
         JsonSchemaConverter.Builder jsonSchemaConverterBuilder = JsonSchemaConverter.builder()
@@ -209,19 +274,6 @@ public final class CfnConverter {
             }
         }
         mappers.sort(Comparator.comparingInt(CfnMapper::getOrder));
-
-        CfnResourceIndex resourceIndex = CfnResourceIndex.of(model);
-        CfnResource cfnResource = resourceIndex.getResource(resourceShape)
-                .orElseThrow(() -> new CfnException("Attempted to generate a CloudFormation resource schema "
-                        + "not found to have resource data."));
-
-        // Prepare a structure representing the CFN resource to be created and
-        // add that structure to a temporary model that's used for conversion.
-        // JSON Schema conversion requires that the shape being converted is
-        // present in the model. See the docs for getCfnResourceStructure for
-        // more information.
-        StructureShape pseudoResource = getCfnResourceStructure(model, resourceShape, cfnResource);
-        Model updatedModel = model.toBuilder().addShape(pseudoResource).build();
         jsonSchemaConverterBuilder.model(updatedModel);
 
         Context context = new Context(updatedModel, serviceShape, resourceShape, cfnResource,
@@ -373,10 +425,14 @@ public final class CfnConverter {
      * to a synthetic structure. Members are reparented and identifiers are
      * added as new members.
      */
-    private StructureShape getCfnResourceStructure(Model model, ResourceShape resource, CfnResource cfnResource) {
+    private StructureShape getCfnResourceStructure(
+            Model model,
+            ResourceShape resource,
+            CfnResource cfnResource,
+            ShapeId structureId
+    ) {
         StructureShape.Builder builder = StructureShape.builder();
-        ShapeId resourceId = resource.getId();
-        builder.id(ShapeId.fromParts(resourceId.getNamespace(), resourceId.getName() + "__SYNTHETIC__"));
+        builder.id(structureId);
 
         cfnResource.getProperties().forEach((name, definition) -> {
             Shape definitionShape = model.expectShape(definition.getShapeId());
@@ -397,6 +453,20 @@ public final class CfnConverter {
         return builder.build();
     }
 
+    // Creates the ID of the synthetic structure of a resource, and reserves its pointer name.
+    private static ShapeId createCfnResourceStructureId(ResourceShape resource, Set<String> pointerNames) {
+        ShapeId resourceId = resource.getId();
+        String name = resourceId.getName() + "__SYNTHETIC__";
+        for (int i = 2; !pointerNames.add(toPointerName(name)); i++) {
+            name = resourceId.getName() + "_" + i + "__SYNTHETIC__";
+        }
+        return ShapeId.fromParts(resourceId.getNamespace(), name);
+    }
+
+    private static String toPointerName(String shapeName) {
+        return NON_ALPHA_NUMERIC.matcher(shapeName).replaceAll("");
+    }
+
     private String getTagsProperty(ResourceShape resource) {
         return resource.getTrait(TaggableTrait.class)
                 .flatMap(TaggableTrait::getProperty)
@@ -72,6 +72,36 @@ public class CfnConverterTest {
         }
     }
 
+    @Test
+    public void convertsResourcesInParallel() {
+        CfnConfig config = new CfnConfig();
+        config.setOrganizationName("Smithy");
+        config.setService(ShapeId.from("smithy.example#TestService"));
+        Map<String, ObjectNode> sequential = CfnConverter.create().config(config)
+                .convertToNodes(testService);
+        Map<String, ObjectNode> parallel = CfnConverter.create().config(config).parallel(true)
+                .convertToNodes(testService);
+
+        assertEquals(parallel, sequential);
+    }
+
+    @Test
+    public void convertsResourcesWithConflictingSyntheticPointers() {
+        Model model = Model.assembler()
+                .addImport(CfnConverterTest.class.getResource("similar-resource-names.smithy"))
+                .discoverModels()
+                .assemble()
+                .unwrap();
+
+        CfnConfig config = new CfnConfig();
+        config.setOrganizationName("Smithy");
+        config.setService(ShapeId.from("smithy.example#TestService"));
+        Map<String, ObjectNode> result = CfnConverter.create().config(config)
+                .convertToNodes(model);
+
+        assertThat(result.keySet(), containsInAnyOrder("Smithy::TestService::Foo", "Smithy::TestService::Foo_"));
+    }
+
     @Test
     public void handlesAwsServiceTraitDefaulting() {
         Model model = Model.assembler()
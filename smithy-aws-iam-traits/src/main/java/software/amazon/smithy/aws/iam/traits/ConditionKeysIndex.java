@@ -15,11 +15,16 @@
 
 package software.amazon.smithy.aws.iam.traits;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import software.amazon.smithy.aws.traits.ArnReferenceTrait;
 import software.amazon.smithy.aws.traits.ServiceTrait;
 import software.amazon.smithy.model.Model;
@@ -38,24 +43,53 @@ import software.amazon.smithy.utils.StringUtils;
 /**
  * Provides an index of condition keys for a service, including any condition
  * keys inferred from resource identifiers.
+ *
+ * <p>The condition keys of each service are computed using a single
+ * top-down pass over the resources bound to the service. Services are
+ * computed sequentially unless the index is created with parallel
+ * computation enabled. Identifiers inferred for a resource are computed
+ * once and reused by every service that binds the same resource under the
+ * same parent and ARN namespace.
  */
 public final class ConditionKeysIndex implements KnowledgeIndex {
     private static final String STRING_TYPE = "String";
     private static final String ARN_TYPE = "ARN";
 
-    private final Map<ShapeId, Map<String, ConditionKeyDefinition>> serviceConditionKeys = new HashMap<>();
-    private final Map<ShapeId, Map<ShapeId, Set<String>>> resourceConditionKeys = new HashMap<>();
+    private final Map<ShapeId, Map<String, ConditionKeyDefinition>> serviceConditionKeys;
+    private final Map<ShapeId, Map<ShapeId, Set<String>>> resourceConditionKeys;
+    private final boolean parallel;
 
     public ConditionKeysIndex(Model model) {
-        model.shapes(ServiceShape.class).forEach(service -> {
+        this(model, false);
+    }
+
+    /**
+     * Creates an index that optionally computes the condition keys of each
+     * service in parallel.
+     *
+     * <p>Parallel computation uses the common fork-join pool, and doesn't
+     * change the computed condition keys.
+     *
+     * @param model Model to index.
+     * @param parallel Set to true to compute services in parallel.
+     */
+    public ConditionKeysIndex(Model model, boolean parallel) {
+        this.parallel = parallel;
+        Map<ShapeId, Map<String, ConditionKeyDefinition>> serviceKeys = new ConcurrentHashMap<>();
+        Map<ShapeId, Map<ShapeId, Set<String>>> resourceKeys = new ConcurrentHashMap<>();
+        Map<InferenceKey, Map<String, ConditionKeyDefinition>> inferredIdentifiers = new ConcurrentHashMap<>();
+
+        // Each service is computed independently into its own tables, so services can be computed in parallel.
+        Stream<ServiceShape> services = model.shapes(ServiceShape.class);
+        (parallel ? services.parallel() : services).forEach(service -> {
             service.getTrait(ServiceTrait.class).ifPresent(trait -> {
                 // Copy over the explicitly defined condition keys into the service map.
                 // This will be mutated when adding inferred resource condition keys.
-                serviceConditionKeys.put(service.getId(), new HashMap<>(
+                Map<String, ConditionKeyDefinition> definedKeys = new HashMap<>(
                         service.getTrait(DefineConditionKeysTrait.class)
                                 .map(DefineConditionKeysTrait::getConditionKeys)
-                                .orElse(MapUtils.of())));
-                resourceConditionKeys.put(service.getId(), new HashMap<>());
+                                .orElse(MapUtils.of()));
+                Map<ShapeId, Set<String>> shapeKeys = new HashMap<>();
 
                 // Defines the scoping of any derived condition keys.
                 String arnRoot = trait.getArnNamespace();
@@ -64,23 +98,53 @@ public final class ConditionKeysIndex implements KnowledgeIndex {
                 service.getResources().stream()
                         .flatMap(id -> OptionalUtils.stream(model.getShape(id)))
                         .forEach(resource -> {
-                            compute(model, service.getId(), arnRoot, resource, null);
+                            compute(model, inferredIdentifiers, definedKeys, shapeKeys, arnRoot, resource, null,
+                                    SetUtils.of());
                         });
 
                 // Compute the keys of operations of the service.
                 service.getOperations().stream()
                         .flatMap(id -> OptionalUtils.stream(model.getShape(id)))
                         .forEach(operation -> {
-                            compute(model, service.getId(), arnRoot, operation, null);
+                            compute(model, inferredIdentifiers, definedKeys, shapeKeys, arnRoot, operation, null,
+                                    SetUtils.of());
                         });
+
+                serviceKeys.put(service.getId(), definedKeys);
+                resourceKeys.put(service.getId(), shapeKeys);
             });
         });
+
+        serviceConditionKeys = serviceKeys;
+        resourceConditionKeys = resourceKeys;
     }
 
     public static ConditionKeysIndex of(Model model) {
         return model.getKnowledge(ConditionKeysIndex.class, ConditionKeysIndex::new);
     }
 
+    /**
+     * Gets the index of a model, computing services in parallel if the
+     * model doesn't already have an index.
+     *
+     * @param model Model to get the index of.
+     * @param parallel Set to true to compute services in parallel.
+     * @return Returns the index of the model.
+     * @see #ConditionKeysIndex(Model, boolean)
+     */
+    public static ConditionKeysIndex of(Model model, boolean parallel) {
+        return model.getKnowledge(ConditionKeysIndex.class, m -> new ConditionKeysIndex(m, parallel));
+    }
+
+    /**
+     * Checks if the condition keys of each service were computed in parallel.
+     *
+     * @return Returns true if services were computed in parallel.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
     /**
      * Get all of the explicit and inferred condition keys used in the entire service.
      *
@@ -151,57 +215,111 @@ public final class ConditionKeysIndex implements KnowledgeIndex {
         return definitions;
     }
 
-    private void compute(
-            Model model,
-            ShapeId service,
-            String arnRoot,
-            Shape subject,
-            ResourceShape parent
+    /**
+     * Get the condition key names of many operations or resources of a service.
+     *
+     * <p>This is equivalent to calling {@link #getConditionKeyNames(ToShapeId, ToShapeId)}
+     * for each shape, but only resolves the tables of the service once.
+     *
+     * @param service Service shape/shapeId use to scope the result.
+     * @param resourcesOrOperations Resource or operation shapes/shapeIds to get.
+     * @return Returns a map of each shape ID to its condition keys, in the order the shapes were given.
+     */
+    public Map<ShapeId, Set<String>> getConditionKeyNames(
+            ToShapeId service,
+            Collection<? extends ToShapeId> resourcesOrOperations
     ) {
-        compute(model, service, arnRoot, subject, parent, SetUtils.of());
+        Map<ShapeId, Set<String>> serviceKeys = resourceConditionKeys.getOrDefault(
+                service.toShapeId(), MapUtils.of());
+        Map<ShapeId, Set<String>> result = new LinkedHashMap<>();
+
+        for (ToShapeId subject : resourcesOrOperations) {
+            ShapeId subjectId = subject.toShapeId();
+            result.put(subjectId, Collections.unmodifiableSet(serviceKeys.getOrDefault(subjectId, SetUtils.of())));
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the defined condition keys of many operations or resources of a service.
+     *
+     * <p>This is equivalent to calling {@link #getDefinedConditionKeys(ToShapeId, ToShapeId)}
+     * for each shape, but only resolves the tables of the service once.
+     *
+     * @param service Service shape/shapeId use to scope the result.
+     * @param resourcesOrOperations Resource or operation shapes/shapeIds to get.
+     * @return Returns a map of each shape ID to its defined condition keys, in the order the shapes were given.
+     */
+    public Map<ShapeId, Map<String, ConditionKeyDefinition>> getDefinedConditionKeys(
+            ToShapeId service,
+            Collection<? extends ToShapeId> resourcesOrOperations
+    ) {
+        Map<String, ConditionKeyDefinition> serviceDefinitions = getDefinedConditionKeys(service);
+        Map<ShapeId, Map<String, ConditionKeyDefinition>> result = new LinkedHashMap<>();
+
+        for (Map.Entry<ShapeId, Set<String>> entry : getConditionKeyNames(service, resourcesOrOperations).entrySet()) {
+            Map<String, ConditionKeyDefinition> definitions = new HashMap<>();
+            for (String name : entry.getValue()) {
+                if (serviceDefinitions.containsKey(name)) {
+                    definitions.put(name, serviceDefinitions.get(name));
+                }
+            }
+            result.put(entry.getKey(), definitions);
+        }
+
+        return result;
     }
 
-    private void compute(
+    private static void compute(
             Model model,
-            ShapeId service,
+            Map<InferenceKey, Map<String, ConditionKeyDefinition>> inferredIdentifiers,
+            Map<String, ConditionKeyDefinition> definedKeys,
+            Map<ShapeId, Set<String>> shapeKeys,
             String arnRoot,
             Shape subject,
             ResourceShape parent,
             Set<String> parentDefinitions
     ) {
         Set<String> definitions = new HashSet<>(parentDefinitions);
-        resourceConditionKeys.get(service).put(subject.getId(), definitions);
+        shapeKeys.put(subject.getId(), definitions);
         subject.getTrait(ConditionKeysTrait.class).ifPresent(trait -> definitions.addAll(trait.getValues()));
 
         // Continue recursing into resources and computing keys.
         subject.asResourceShape().ifPresent(resource -> {
             // Add any inferred resource identifiers to the resource and to the service-wide definitions.
-            Map<String, String> childIdentifiers = !resource.hasTrait(DisableConditionKeyInferenceTrait.class)
-                    ? inferChildResourceIdentifiers(model, service, arnRoot, resource, parent)
-                    : MapUtils.of();
+            Map<String, ConditionKeyDefinition> childIdentifiers = MapUtils.of();
+            if (!resource.hasTrait(DisableConditionKeyInferenceTrait.class)) {
+                childIdentifiers = inferredIdentifiers.computeIfAbsent(
+                        new InferenceKey(arnRoot, resource.getId(), parent == null ? null : parent.getId()),
+                        key -> inferChildResourceIdentifiers(model, arnRoot, resource, parent));
+                definedKeys.putAll(childIdentifiers);
+            }
 
             // Compute the keys of each child operation, passing no keys.
             resource.getAllOperations().stream().flatMap(id -> OptionalUtils.stream(model.getShape(id)))
-                    .forEach(child -> compute(model, service, arnRoot, child, resource));
+                    .forEach(child -> {
+                        compute(model, inferredIdentifiers, definedKeys, shapeKeys, arnRoot, child, resource,
+                                SetUtils.of());
+                    });
 
             // Child resources always inherit the identifiers of the parent.
-            definitions.addAll(childIdentifiers.values());
+            definitions.addAll(childIdentifiers.keySet());
 
             // Compute the keys of each child resource.
             resource.getResources().stream().flatMap(id -> OptionalUtils.stream(model.getShape(id))).forEach(child -> {
-                compute(model, service, arnRoot, child, resource, definitions);
+                compute(model, inferredIdentifiers, definedKeys, shapeKeys, arnRoot, child, resource, definitions);
             });
         });
     }
 
-    private Map<String, String> inferChildResourceIdentifiers(
+    private static Map<String, ConditionKeyDefinition> inferChildResourceIdentifiers(
             Model model,
-            ShapeId service,
             String arnRoot,
             ResourceShape resource,
             ResourceShape parent
     ) {
-        Map<String, String> result = new HashMap<>();
+        Map<String, ConditionKeyDefinition> result = new HashMap<>();
 
         // We want child resources to reuse parent resource context keys, so
         // extract out identifiers that were introduced by the child resource.
@@ -228,10 +346,8 @@ public final class ConditionKeysIndex implements KnowledgeIndex {
                         .orElse(computeIdentifierDocs(resource, childId)));
                 // The identifier name is comprised of "[arn service]:[Resource name][uppercase identifier name]
                 String computeIdentifierName = computeIdentifierName(arnRoot, resource, childId);
-                // Add the computed identifier binding and resolved context key to the result map.
-                result.put(childId, computeIdentifierName);
-                // Register the newly inferred context key definition with the service.
-                serviceConditionKeys.get(service).put(computeIdentifierName, builder.build());
+                // Add the resolved context key and its definition to the result map.
+                result.put(computeIdentifierName, builder.build());
             });
         }
 
@@ -251,4 +367,34 @@ public final class ConditionKeysIndex implements KnowledgeIndex {
                        .flatMap(IamResourceTrait::getName)
                        .orElse(resource.getId().getName());
     }
+
+    private static final class InferenceKey {
+        private final String arnRoot;
+        private final ShapeId resource;
+        private final ShapeId parent;
+
+        InferenceKey(String arnRoot, ShapeId resource, ShapeId parent) {
+            this.arnRoot = arnRoot;
+            this.resource = resource;
+            this.parent = parent;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof InferenceKey)) {
+                return false;
+            }
+            InferenceKey that = (InferenceKey) o;
+            return arnRoot.equals(that.arnRoot)
+                   && resource.equals(that.resource)
+                   && Objects.equals(parent, that.parent);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(arnRoot, resource, parent);
+        }
+    }
 }
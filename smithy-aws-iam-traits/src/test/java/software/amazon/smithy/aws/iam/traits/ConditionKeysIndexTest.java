@@ -22,9 +22,13 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
@@ -66,6 +70,51 @@ public class ConditionKeysIndexTest {
                    is(empty()));
     }
 
+    @Test
+    public void getsConditionKeysOfManyShapesAtOnce() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("successful-condition-keys.smithy"))
+                .discoverModels(getClass().getClassLoader())
+                .assemble()
+                .unwrap();
+        ShapeId service = ShapeId.from("smithy.example#MyService");
+        ShapeId operation1 = ShapeId.from("smithy.example#Operation1");
+        ShapeId resource2 = ShapeId.from("smithy.example#Resource2");
+        ShapeId getResource2 = ShapeId.from("smithy.example#GetResource2");
+
+        ConditionKeysIndex index = ConditionKeysIndex.of(model);
+        Map<ShapeId, Set<String>> names = index.getConditionKeyNames(
+                service, Arrays.asList(resource2, operation1, getResource2));
+        Map<ShapeId, Map<String, ConditionKeyDefinition>> definitions = index.getDefinedConditionKeys(
+                service, Arrays.asList(resource2, operation1, getResource2));
+
+        assertThat(names.keySet(), contains(resource2, operation1, getResource2));
+        for (ShapeId shape : names.keySet()) {
+            assertEquals(index.getConditionKeyNames(service, shape), names.get(shape));
+            assertEquals(index.getDefinedConditionKeys(service, shape), definitions.get(shape));
+        }
+    }
+
+    @Test
+    public void computesServicesSequentiallyByDefault() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("successful-condition-keys.smithy"))
+                .discoverModels(getClass().getClassLoader())
+                .assemble()
+                .unwrap();
+        ShapeId service = ShapeId.from("smithy.example#MyService");
+        ShapeId resource2 = ShapeId.from("smithy.example#Resource2");
+
+        ConditionKeysIndex sequential = new ConditionKeysIndex(model);
+        ConditionKeysIndex parallel = new ConditionKeysIndex(model, true);
+
+        assertFalse(sequential.isParallel());
+        assertTrue(parallel.isParallel());
+        assertEquals(sequential.getDefinedConditionKeys(service), parallel.getDefinedConditionKeys(service));
+        assertEquals(sequential.getConditionKeyNames(service, resource2),
+                     parallel.getConditionKeyNames(service, resource2));
+    }
+
     @Test
     public void detectsUnknownConditionKeys() {
         ValidatedResult<Model> result = Model.assembler()
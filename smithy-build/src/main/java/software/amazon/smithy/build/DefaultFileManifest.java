@@ -20,6 +20,8 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -28,6 +30,8 @@ import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.node.Node;
 
 /**
  * @see FileManifest#create
@@ -99,4 +103,30 @@ final class DefaultFileManifest implements FileManifest {
             throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public Path writeFile(Path path, Consumer<Writer> fileContentsWriter) {
+        path = addFile(path);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            fileContentsWriter.accept(writer);
+            return path;
+        } catch (IOException | UncheckedIOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Path writeJson(Path path, Node node) {
+        // Stream the JSON to the file rather than buffering it into a string, since JSON
+        // artifacts like OpenAPI documents of large services can be hundreds of megabytes.
+        return writeFile(path, writer -> {
+            Node.prettyPrintJson(node, writer);
+            try {
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 }
@@ -19,10 +19,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.node.Node;
 
@@ -212,6 +215,36 @@ public interface FileManifest {
         return writeFile(Paths.get(path), fileContentsInputStream);
     }
 
+    /**
+     * Adds a UTF-8 encoded file to the result by writing its contents to a {@link Writer}.
+     *
+     * <p>Implementations that write files to disk stream the written contents
+     * to the file. By default, the written contents are buffered into a string
+     * and then written using {@link #writeFile(Path, String)}.
+     *
+     * @param path Relative path to the file to create.
+     * @param fileContentsWriter Consumer that writes the contents of the file.
+     * @return Returns the resolved path.
+     */
+    @SuppressWarnings("unused")
+    default Path writeFile(Path path, Consumer<Writer> fileContentsWriter) {
+        StringWriter writer = new StringWriter();
+        fileContentsWriter.accept(writer);
+        return writeFile(path, writer.toString());
+    }
+
+    /**
+     * Adds a UTF-8 encoded file to the result by writing its contents to a {@link Writer}.
+     *
+     * @param path Relative path to the file to create.
+     * @param fileContentsWriter Consumer that writes the contents of the file.
+     * @return Returns the resolved path.
+     */
+    @SuppressWarnings("unused")
+    default Path writeFile(String path, Consumer<Writer> fileContentsWriter) {
+        return writeFile(Paths.get(path), fileContentsWriter);
+    }
+
     /**
      * Adds a Node artifact, converting it automatically to JSON.
      *
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Holds state that plugins reuse across builds, like converters that only
+ * convert the parts of a model that changed since the previous build.
+ *
+ * <p>A cache is created by whatever runs builds repeatedly, like
+ * {@code smithy build --watch} or the Smithy daemon, and is passed to each
+ * build with {@link SmithyBuild#pluginCache}. Values are only kept as long
+ * as the cache is, and only the most recently used values are kept.
+ *
+ * <p>Values are taken out of the cache while they're used, and put back
+ * when the plugin is done with them. Concurrent builds therefore never
+ * share a value or wait on each other; a build that finds no value creates
+ * its own.
+ */
+public final class PluginCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final Map<String, Object> values;
+
+    /**
+     * Creates a cache that keeps the 64 most recently used values.
+     */
+    public PluginCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache that keeps a limited number of values.
+     *
+     * @param maxEntries Maximum number of values to keep.
+     */
+    public PluginCache(int maxEntries) {
+        values = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Removes a value from the cache and returns it.
+     *
+     * <p>Values that aren't an instance of {@code type}, like values stored
+     * by a plugin that was loaded by a different class loader, are removed
+     * and not returned.
+     *
+     * @param key Key of the value to take.
+     * @param type Type of the value.
+     * @param <T> Type of the value.
+     * @return Returns the removed value, if present.
+     */
+    public synchronized <T> Optional<T> take(String key, Class<T> type) {
+        Object value = values.remove(key);
+        return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+
+    /**
+     * Puts a value in the cache, replacing any previous value.
+     *
+     * @param key Key of the value.
+     * @param value Value to put.
+     */
+    public synchronized void put(String key, Object value) {
+        values.put(key, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Removes a value from the cache.
+     *
+     * @param key Key of the value to remove.
+     */
+    public synchronized void remove(String key) {
+        values.remove(key);
+    }
+}
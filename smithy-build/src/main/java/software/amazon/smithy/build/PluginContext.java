@@ -46,6 +46,7 @@ public final class PluginContext implements ToSmithyBuilder<PluginContext> {
     private final ObjectNode settings;
     private final FileManifest fileManifest;
     private final ClassLoader pluginClassLoader;
+    private final PluginCache pluginCache;
     private final Set<Path> sources;
     private Model nonTraitsModel;
 
@@ -58,6 +59,7 @@ public final class PluginContext implements ToSmithyBuilder<PluginContext> {
         events = Collections.unmodifiableList(builder.events);
         settings = builder.settings;
         pluginClassLoader = builder.pluginClassLoader;
+        pluginCache = builder.pluginCache;
         sources = builder.sources.copy();
     }
 
@@ -146,6 +148,18 @@ public final class PluginContext implements ToSmithyBuilder<PluginContext> {
         return Optional.ofNullable(pluginClassLoader);
     }
 
+    /**
+     * Gets the cache that plugins can use to keep state across builds.
+     *
+     * <p>A cache is only provided when the same process runs builds
+     * repeatedly, like when rebuilding a model each time it changes.
+     *
+     * @return Returns the optionally set cache.
+     */
+    public Optional<PluginCache> getPluginCache() {
+        return Optional.ofNullable(pluginCache);
+    }
+
     /**
      * Creates a new Model where shapes that define traits or shapes
      * that are only used as part of a trait definition have been removed.
@@ -246,6 +260,7 @@ public final class PluginContext implements ToSmithyBuilder<PluginContext> {
                 .settings(settings)
                 .fileManifest(fileManifest)
                 .pluginClassLoader(pluginClassLoader)
+                .pluginCache(pluginCache)
                 .sources(sources);
     }
 
@@ -261,6 +276,7 @@ public final class PluginContext implements ToSmithyBuilder<PluginContext> {
         private ObjectNode settings = Node.objectNode();
         private FileManifest fileManifest;
         private ClassLoader pluginClassLoader;
+        private PluginCache pluginCache;
         private BuilderRef<Set<Path>> sources = BuilderRef.forOrderedSet();
 
         private Builder() {}
@@ -352,6 +368,17 @@ public final class PluginContext implements ToSmithyBuilder<PluginContext> {
             return this;
         }
 
+        /**
+         * Sets a cache that plugins can use to keep state across builds.
+         *
+         * @param pluginCache Cache to use in build plugins.
+         * @return Returns the builder.
+         */
+        public Builder pluginCache(PluginCache pluginCache) {
+            this.pluginCache = pluginCache;
+            return this;
+        }
+
         /**
          * Replaces the path to models that are considered "source" models of the
          * package being built.
@@ -19,10 +19,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.ServiceProviderRegistry;
 
 /**
  * Creates a model transformer by name.
@@ -64,7 +64,7 @@ public interface ProjectionTransformer {
      * @see Thread#getContextClassLoader()
      */
     static Function<String, Optional<ProjectionTransformer>> createServiceFactory() {
-        return createServiceFactory(ServiceLoader.load(ProjectionTransformer.class));
+        return createServiceFactory(ServiceProviderRegistry.getProviders(ProjectionTransformer.class));
     }
 
     /**
@@ -91,6 +91,6 @@ public interface ProjectionTransformer {
      * @return Returns the created factory function.
      */
     static Function<String, Optional<ProjectionTransformer>> createServiceFactory(ClassLoader classLoader) {
-        return createServiceFactory(ServiceLoader.load(ProjectionTransformer.class, classLoader));
+        return createServiceFactory(ServiceProviderRegistry.getProviders(ProjectionTransformer.class, classLoader));
     }
 }
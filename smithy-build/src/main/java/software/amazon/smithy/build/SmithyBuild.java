@@ -51,6 +51,7 @@ public final class SmithyBuild {
     ModelTransformer modelTransformer;
     Model model;
     ClassLoader pluginClassLoader;
+    PluginCache pluginCache;
     Set<Path> sources = new HashSet<>();
     Predicate<String> projectionFilter = name -> true;
     Predicate<String> pluginFilter = name -> true;
@@ -341,6 +342,21 @@ public final class SmithyBuild {
         return this;
     }
 
+    /**
+     * Sets a cache that plugins use to keep state across builds.
+     *
+     * <p>Builds that run repeatedly in the same process, like builds that
+     * rerun when a model changes, should pass the same cache to each build.
+     *
+     * @param pluginCache Cache that plugins keep state in.
+     * @return Returns the builder.
+     * @see PluginContext#getPluginCache()
+     */
+    public SmithyBuild pluginCache(PluginCache pluginCache) {
+        this.pluginCache = pluginCache;
+        return this;
+    }
+
     /**
      * Registers the given paths as sources of the model being built.
      *
@@ -60,6 +60,7 @@ final class SmithyBuildImpl {
     private final Function<String, Optional<SmithyBuildPlugin>> pluginFactory;
     private final Model model;
     private final ClassLoader pluginClassLoader;
+    private final PluginCache pluginCache;
     private final Set<Path> sources;
     private final Predicate<String> projectionFilter;
     private final Predicate<String> pluginFilter;
@@ -101,6 +102,7 @@ final class SmithyBuildImpl {
         });
 
         pluginClassLoader = builder.pluginClassLoader;
+        pluginCache = builder.pluginCache;
         projectionFilter = builder.projectionFilter;
         pluginFilter = builder.pluginFilter;
     }
@@ -362,6 +364,7 @@ final class SmithyBuildImpl {
                     .settings(pluginSettings)
                     .fileManifest(manifest)
                     .pluginClassLoader(pluginClassLoader)
+                    .pluginCache(pluginCache)
                     .sources(sources)
                     .build());
             resultBuilder.addPluginManifest(pluginName, manifest);
@@ -18,8 +18,8 @@ package software.amazon.smithy.build;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.function.Function;
+import software.amazon.smithy.utils.ServiceProviderRegistry;
 
 /**
  * Plugin extension class for SmithyBuild.
@@ -100,7 +100,7 @@ public interface SmithyBuildPlugin {
      * @see Thread#getContextClassLoader()
      */
     static Function<String, Optional<SmithyBuildPlugin>> createServiceFactory() {
-        return createServiceFactory(ServiceLoader.load(SmithyBuildPlugin.class));
+        return createServiceFactory(ServiceProviderRegistry.getProviders(SmithyBuildPlugin.class));
     }
 
     /**
@@ -113,6 +113,6 @@ public interface SmithyBuildPlugin {
      * @return Returns the created factory function.
      */
     static Function<String, Optional<SmithyBuildPlugin>> createServiceFactory(ClassLoader classLoader) {
-        return createServiceFactory(ServiceLoader.load(SmithyBuildPlugin.class, classLoader));
+        return createServiceFactory(ServiceProviderRegistry.getProviders(SmithyBuildPlugin.class, classLoader));
     }
 }
@@ -25,6 +25,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -91,6 +92,33 @@ public class FileManifestTest {
         assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.json"))), equalTo("{}\n"));
     }
 
+    @Test
+    public void streamsJsonLikePrettyPrintedJson() throws IOException {
+        FileManifest a = FileManifest.create(outputDirectory);
+        Node node = Node.objectNodeBuilder()
+                .withMember("foo", Node.fromStrings("a", "b\n"))
+                .withMember("bar", Node.objectNode().withMember("baz", 10))
+                .build();
+        a.writeJson("foo/file.json", node);
+
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.json"))),
+                   equalTo(Node.prettyPrintJson(node) + "\n"));
+    }
+
+    @Test
+    public void writesFromWriter() throws IOException {
+        FileManifest a = FileManifest.create(outputDirectory);
+        a.writeFile("foo/file.txt", writer -> {
+            try {
+                writer.write("The contents");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.txt"))), equalTo("The contents"));
+    }
+
     @Test
     public void writesFromInputStream() throws IOException {
         FileManifest a = FileManifest.create(outputDirectory);
@@ -0,0 +1,40 @@
+package software.amazon.smithy.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class PluginCacheTest {
+    @Test
+    public void takesValuesOutOfTheCache() {
+        PluginCache cache = new PluginCache();
+        cache.put("a", "hello");
+
+        assertThat(cache.take("a", String.class), equalTo(Optional.of("hello")));
+        assertThat(cache.take("a", String.class), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void removesValuesOfOtherTypes() {
+        PluginCache cache = new PluginCache();
+        cache.put("a", 10);
+
+        assertThat(cache.take("a", String.class), equalTo(Optional.empty()));
+        assertThat(cache.take("a", Integer.class), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedValues() {
+        PluginCache cache = new PluginCache(2);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.put("a", "a");
+        cache.put("c", "c");
+
+        assertThat(cache.take("b", String.class), equalTo(Optional.empty()));
+        assertThat(cache.take("a", String.class), equalTo(Optional.of("a")));
+        assertThat(cache.take("c", String.class), equalTo(Optional.of("c")));
+    }
+}
@@ -17,6 +17,7 @@ package software.amazon.smithy.cli;
 
 import java.util.Arrays;
 import java.util.logging.Logger;
+import software.amazon.smithy.utils.SmithyInternalApi;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
 /**
@@ -42,6 +43,7 @@ public final class Cli {
 
     private final ClassLoader classLoader;
     private final Command command;
+    private ModelCache modelCache;
 
     /**
      * Creates a new CLI with the given name.
@@ -71,19 +73,20 @@ public final class Cli {
         CliPrinter err = ansiPrinter(stdErrPrinter, standardOptions);
 
         // Setup logging after parsing all arguments.
+        int loggingDepth = LoggingUtil.configurationDepth();
         arguments.onComplete((opts, positional) -> {
             LoggingUtil.configureLogging(opts.getReceiver(StandardOptions.class), err);
             LOGGER.fine(() -> "Running CLI command: " + Arrays.toString(args));
         });
 
         try {
-            return command.execute(arguments, new Command.Env(out, err, classLoader));
+            return command.execute(arguments, new Command.Env(out, err, classLoader, modelCache));
         } catch (Exception e) {
             printException(standardOptions.stackTrace(), err, e);
             throw CliError.wrap(e);
         } finally {
             try {
-                LoggingUtil.restoreLogging();
+                LoggingUtil.restoreLogging(loggingDepth);
             } catch (RuntimeException e) {
                 // Show the error, but don't fail the CLI since most invocations are one-time use.
                 err.println(err.style("Unable to restore logging to previous settings", Style.RED));
@@ -100,6 +103,16 @@ public final class Cli {
         stdErrPrinter = printer;
     }
 
+    /**
+     * Sets the cache of models that is shared with the commands run by the CLI.
+     *
+     * @param modelCache Cache of models to use, or null to not cache models.
+     */
+    @SmithyInternalApi
+    public void modelCache(ModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
+
     /**
      * Does a really simple check to see if ANSI colors are supported.
      *
@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.cli;
 
+import software.amazon.smithy.utils.SmithyInternalApi;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
 /**
@@ -74,11 +75,18 @@ public interface Command {
         private final CliPrinter stdout;
         private final CliPrinter stderr;
         private final ClassLoader classLoader;
+        private final ModelCache modelCache;
 
         public Env(CliPrinter stdout, CliPrinter stderr, ClassLoader classLoader) {
+            this(stdout, stderr, classLoader, null);
+        }
+
+        @SmithyInternalApi
+        public Env(CliPrinter stdout, CliPrinter stderr, ClassLoader classLoader, ModelCache modelCache) {
             this.stdout = stdout;
             this.stderr = stderr;
             this.classLoader = classLoader;
+            this.modelCache = modelCache;
         }
 
         /**
@@ -101,5 +109,24 @@ public interface Command {
         public ClassLoader classLoader() {
             return classLoader;
         }
+
+        /**
+         * @return Returns the cache of models shared across invocations, or null if models aren't cached.
+         */
+        @SmithyInternalApi
+        public ModelCache modelCache() {
+            return modelCache;
+        }
+
+        /**
+         * Creates a copy of the environment that uses the given model cache.
+         *
+         * @param modelCache Cache of models to share across invocations.
+         * @return Returns the created environment.
+         */
+        @SmithyInternalApi
+        public Env withModelCache(ModelCache modelCache) {
+            return new Env(stdout, stderr, classLoader, modelCache);
+        }
     }
 }
@@ -16,8 +16,10 @@
 package software.amazon.smithy.cli;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.List;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Formatter;
@@ -33,57 +35,111 @@ import java.util.logging.SimpleFormatter;
 final class LoggingUtil {
 
     private static final SimpleDateFormat FORMAT = new SimpleDateFormat("HH:mm:ss.SSS");
-    private static final List<Runnable> RESTORE_FUNCTIONS = new ArrayList<>();
+
+    // Logging configurations of the CLI invocations currently running, with the innermost one on top.
+    // Only the innermost configuration is applied at any time.
+    private static final Deque<Configuration> CONFIGURATIONS = new ArrayDeque<>();
 
     private LoggingUtil() {}
 
+    /**
+     * Gets the number of logging configurations currently in effect.
+     *
+     * @return Returns the number of configurations to pass to {@link #restoreLogging(int)}.
+     */
+    static int configurationDepth() {
+        return CONFIGURATIONS.size();
+    }
+
     static void configureLogging(StandardOptions options, CliPrinter printer) {
-        // Don't try to configure logging more than once.
-        if (!RESTORE_FUNCTIONS.isEmpty()) {
+        // If logging was already configured by an enclosing invocation (for example, a command
+        // served by the daemon), undo it so that this invocation logs to its own printer. It's
+        // reinstated by restoreLogging when this invocation finishes.
+        Configuration enclosing = CONFIGURATIONS.peek();
+        if (enclosing != null) {
+            enclosing.restore();
+        }
+
+        Configuration configuration = new Configuration(options.logging(), options.debug(), printer);
+        CONFIGURATIONS.push(configuration);
+        configuration.apply();
+    }
+
+    /**
+     * Restores the logging configurations applied after the given depth, and
+     * reinstates the enclosing configuration, if any.
+     *
+     * @param depth Value of {@link #configurationDepth()} before configuring logging.
+     */
+    static void restoreLogging(int depth) {
+        if (CONFIGURATIONS.size() <= depth) {
             return;
         }
 
-        Level level = options.logging();
-        Logger rootLogger = Logger.getLogger("");
-
-        // Set the root level, but try to restore it later.
-        Level previousRootLevel = rootLogger.getLevel();
-        RESTORE_FUNCTIONS.add(() -> rootLogger.setLevel(previousRootLevel));
-        rootLogger.setLevel(level);
-
-        for (Handler h : rootLogger.getHandlers()) {
-            if (h instanceof ConsoleHandler) {
-                // Remove any console log handlers.
-                rootLogger.removeHandler(h);
-                RESTORE_FUNCTIONS.add(() -> rootLogger.addHandler(h));
-            } else if (h.getLevel() != level) {
-                // Change the log level if needed.
-                Level currentLevel = h.getLevel();
-                RESTORE_FUNCTIONS.add(() -> h.setLevel(currentLevel));
-                h.setLevel(level);
-            }
+        while (CONFIGURATIONS.size() > depth) {
+            CONFIGURATIONS.pop().restore();
         }
 
-        // Add the CLI's custom CLI handler to output CLI-friendly messages to stderr.
-        addCliHandler(options.debug(), level, rootLogger, printer);
+        Configuration enclosing = CONFIGURATIONS.peek();
+        if (enclosing != null) {
+            enclosing.apply();
+        }
     }
 
-    static void restoreLogging() {
-        for (Runnable runnable : RESTORE_FUNCTIONS) {
-            runnable.run();
+    private static final class Configuration {
+        private final Level level;
+        private final boolean debug;
+        private final CliPrinter printer;
+        private final List<Runnable> restoreFunctions = new ArrayList<>();
+
+        Configuration(Level level, boolean debug, CliPrinter printer) {
+            this.level = level;
+            this.debug = debug;
+            this.printer = printer;
         }
-        RESTORE_FUNCTIONS.clear();
-    }
 
-    private static void addCliHandler(boolean debug, Level level, Logger rootLogger, CliPrinter printer) {
-        if (level != Level.OFF) {
-            Handler handler = debug
-                    // Debug ignores the given logging level and just logs everything.
-                    ? new CliLogHandler(new DebugFormatter(), printer)
-                    : new CliLogHandler(new BasicFormatter(), printer);
-            handler.setLevel(level);
-            rootLogger.addHandler(handler);
-            RESTORE_FUNCTIONS.add(() -> rootLogger.removeHandler(handler));
+        void apply() {
+            Logger rootLogger = Logger.getLogger("");
+
+            // Set the root level, but try to restore it later.
+            Level previousRootLevel = rootLogger.getLevel();
+            restoreFunctions.add(() -> rootLogger.setLevel(previousRootLevel));
+            rootLogger.setLevel(level);
+
+            for (Handler h : rootLogger.getHandlers()) {
+                if (h instanceof ConsoleHandler) {
+                    // Remove any console log handlers.
+                    rootLogger.removeHandler(h);
+                    restoreFunctions.add(() -> rootLogger.addHandler(h));
+                } else if (h.getLevel() != level) {
+                    // Change the log level if needed.
+                    Level currentLevel = h.getLevel();
+                    restoreFunctions.add(() -> h.setLevel(currentLevel));
+                    h.setLevel(level);
+                }
+            }
+
+            // Add the CLI's custom CLI handler to output CLI-friendly messages to stderr.
+            addCliHandler(rootLogger);
+        }
+
+        void restore() {
+            for (Runnable runnable : restoreFunctions) {
+                runnable.run();
+            }
+            restoreFunctions.clear();
+        }
+
+        private void addCliHandler(Logger rootLogger) {
+            if (level != Level.OFF) {
+                Handler handler = debug
+                        // Debug ignores the given logging level and just logs everything.
+                        ? new CliLogHandler(new DebugFormatter(), printer)
+                        : new CliLogHandler(new BasicFormatter(), printer);
+                handler.setLevel(level);
+                rootLogger.addHandler(handler);
+                restoreFunctions.add(() -> rootLogger.removeHandler(handler));
+            }
         }
     }
 
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.build.PluginCache;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Caches warm state across CLI invocations served by the same JVM.
+ *
+ * <p>Trait and validator factories are cached per class loader so that
+ * {@code ServiceLoader} discovery only happens once. Assembled models are
+ * cached by the arguments used to load them, and are only reused while the
+ * modification times of every model file remain unchanged. State that
+ * build plugins keep across builds is held in a {@link PluginCache}.
+ *
+ * <p>A cache is only used by commands whose {@link Command.Env} provides
+ * one, like commands served by the daemon or rebuilt by {@code build --watch}.
+ */
+@SmithyInternalApi
+public final class ModelCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ModelCache.class.getName());
+    private static final int MAX_MODELS = 16;
+
+    private final Map<ClassLoader, Factories> factories = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Key, CachedModel> models = Collections.synchronizedMap(
+            new LinkedHashMap<Key, CachedModel>(MAX_MODELS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, CachedModel> eldest) {
+                    return size() > MAX_MODELS;
+                }
+            });
+    private final PluginCache pluginCache = new PluginCache();
+
+    public ModelCache() {}
+
+    /**
+     * Creates a model assembler that uses cached trait and validator factories.
+     *
+     * @param classLoader Class loader used to discover services.
+     * @return Returns the created assembler.
+     */
+    public ModelAssembler createModelAssembler(ClassLoader classLoader) {
+        Factories cached = factories.computeIfAbsent(classLoader, Factories::new);
+        return Model.assembler()
+                .traitFactory(cached.traitFactory)
+                .validatorFactory(cached.validatorFactory);
+    }
+
+    /**
+     * Gets the cache that build plugins keep state in across builds.
+     *
+     * @return Returns the plugin cache.
+     */
+    public PluginCache getPluginCache() {
+        return pluginCache;
+    }
+
+    /**
+     * Assembles a model or returns a previously assembled model if none of
+     * the model files changed.
+     *
+     * <p>Validation events of cached results are replayed to the given
+     * listener since the assembler does not emit them on a cache hit.
+     *
+     * @param classLoader Class loader the assembler was created with.
+     * @param models Model files and directories to load.
+     * @param allowUnknownTraits Whether the assembler allows unknown traits.
+     * @param discover Whether the assembler discovers models using its class loader.
+     * @param discoverClasspath Classpath the assembler discovers models from, or null.
+     * @param assembler Assembler to use when the cache is missed.
+     * @param listener Listener that receives events of cached results.
+     * @return Returns the assembled result.
+     */
+    public ValidatedResult<Model> assemble(
+            ClassLoader classLoader,
+            List<String> models,
+            boolean allowUnknownTraits,
+            boolean discover,
+            String discoverClasspath,
+            ModelAssembler assembler,
+            Consumer<ValidationEvent> listener
+    ) {
+        Key key = new Key(classLoader, models, allowUnknownTraits, discover, discoverClasspath);
+        Map<Path, Long> stamps = computeStamps(models, discoverClasspath);
+        CachedModel entry = this.models.get(key);
+
+        if (entry != null && entry.stamps.equals(stamps)) {
+            LOGGER.fine(() -> "Using cached model for " + models);
+            entry.result.getValidationEvents().forEach(listener);
+            return entry.result;
+        }
+
+        ValidatedResult<Model> result = assembler.assemble();
+        this.models.put(key, new CachedModel(stamps, result));
+        return result;
+    }
+
+    private static Map<Path, Long> computeStamps(List<String> models, String discoverClasspath) {
+        List<Path> roots = new ArrayList<>();
+        models.forEach(model -> roots.add(Paths.get(model)));
+
+        if (discoverClasspath != null) {
+            for (String entry : discoverClasspath.split(System.getProperty("path.separator"))) {
+                roots.add(Paths.get(entry));
+            }
+        }
+
+        // Sort stamps so that adding or removing a file changes the result.
+        Map<Path, Long> stamps = new TreeMap<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                stamps.put(root.toAbsolutePath(), lastModified(root));
+            } else {
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                        stamps.put(file.toAbsolutePath(), lastModified(file));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        return stamps;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : -1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Factories {
+        private final TraitFactory traitFactory;
+        private final ValidatorFactory validatorFactory;
+
+        Factories(ClassLoader classLoader) {
+            traitFactory = TraitFactory.createServiceFactory(classLoader);
+            validatorFactory = ValidatorFactory.createServiceFactory(classLoader);
+        }
+    }
+
+    private static final class CachedModel {
+        private final Map<Path, Long> stamps;
+        private final ValidatedResult<Model> result;
+
+        CachedModel(Map<Path, Long> stamps, ValidatedResult<Model> result) {
+            this.stamps = stamps;
+            this.result = result;
+        }
+    }
+
+    private static final class Key {
+        private final ClassLoader classLoader;
+        private final List<String> models;
+        private final boolean allowUnknownTraits;
+        private final boolean discover;
+        private final String discoverClasspath;
+
+        Key(
+                ClassLoader classLoader,
+                List<String> models,
+                boolean allowUnknownTraits,
+                boolean discover,
+                String discoverClasspath
+        ) {
+            this.classLoader = classLoader;
+            this.models = new ArrayList<>(models);
+            this.allowUnknownTraits = allowUnknownTraits;
+            this.discover = discover;
+            this.discoverClasspath = discoverClasspath;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return classLoader == key.classLoader
+                   && allowUnknownTraits == key.allowUnknownTraits
+                   && discover == key.discover
+                   && models.equals(key.models)
+                   && Objects.equals(discoverClasspath, key.discoverClasspath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(classLoader), models, allowUnknownTraits, discover,
+                                discoverClasspath);
+        }
+    }
+}
@@ -23,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -30,12 +32,14 @@ import java.util.logging.Logger;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.build.ProjectionResult;
 import software.amazon.smithy.build.SmithyBuild;
+import software.amazon.smithy.build.model.ProjectionConfig;
 import software.amazon.smithy.build.model.SmithyBuildConfig;
 import software.amazon.smithy.cli.ArgumentReceiver;
 import software.amazon.smithy.cli.Arguments;
 import software.amazon.smithy.cli.CliError;
 import software.amazon.smithy.cli.CliPrinter;
 import software.amazon.smithy.cli.HelpPrinter;
+import software.amazon.smithy.cli.ModelCache;
 import software.amazon.smithy.cli.StandardOptions;
 import software.amazon.smithy.cli.Style;
 import software.amazon.smithy.model.Model;
@@ -46,6 +50,7 @@ import software.amazon.smithy.utils.SmithyInternalApi;
 @SmithyInternalApi
 public final class BuildCommand extends SimpleCommand {
     private static final Logger LOGGER = Logger.getLogger(BuildCommand.class.getName());
+    private static final String DEFAULT_OUTPUT = "build/smithy";
 
     public BuildCommand(String parentCommandName) {
         super(parentCommandName);
@@ -66,9 +71,14 @@ public final class BuildCommand extends SimpleCommand {
         private String output;
         private String projection;
         private String plugin;
+        private boolean watch;
 
         @Override
         public boolean testOption(String name) {
+            if (name.equals("--watch")) {
+                watch = true;
+                return true;
+            }
             return false;
         }
 
@@ -98,6 +108,8 @@ public final class BuildCommand extends SimpleCommand {
             printer.param("--plugin", null, "PLUGIN_NAME", "Only generate artifacts for this plugin.");
             printer.param("--output", null, "OUTPUT_PATH",
                           "Where to write artifacts (defaults to './build/smithy').");
+            printer.option("--watch", null,
+                           "Rebuilds whenever a model file, configuration file, or imported file changes.");
         }
     }
 
@@ -109,12 +121,142 @@ public final class BuildCommand extends SimpleCommand {
     @Override
     protected int run(Arguments arguments, Env env, List<String> models) {
         Options options = arguments.getReceiver(Options.class);
+
+        if (options.watch) {
+            return watch(arguments, env, models, options);
+        }
+
+        return build(arguments, env, models, options, getConfig(options));
+    }
+
+    private int watch(Arguments arguments, Env parentEnv, List<String> models, Options options) {
+        // Keep trait and validator factories, and models that didn't change, warm between builds.
+        Env env = parentEnv.modelCache() != null ? parentEnv : parentEnv.withModelCache(new ModelCache());
+
+        List<String> sources = null;
+        Path output = null;
+        SourceWatcher watcher = null;
+
+        try {
+            while (true) {
+                // The config can be created, fixed, or changed between builds, which can change the imports
+                // to watch and the output directory to ignore. Watch them before building so that changes
+                // made during the build aren't missed.
+                List<String> config = getConfig(options);
+                Path updatedOutput = resolveWatchedOutput(options, config, output);
+                List<String> updatedSources = getWatchedSources(models, config);
+                if (watcher == null || !updatedSources.equals(sources) || !updatedOutput.equals(output)) {
+                    SourceWatcher updatedWatcher = rewatch(env, watcher, updatedSources, updatedOutput);
+                    if (updatedWatcher != watcher) {
+                        watcher = updatedWatcher;
+                        sources = updatedSources;
+                        output = updatedOutput;
+                    }
+                }
+
+                try {
+                    long start = System.nanoTime();
+                    build(arguments, env, models, options, config);
+                    env.stderr().println(String.format("Build completed in %d ms",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                } catch (RuntimeException e) {
+                    // Keep watching after failed builds, including invalid configs, so that the next change
+                    // can fix it.
+                    env.stderr().println(env.stderr().style(e.getMessage(), Style.RED));
+                }
+
+                env.stderr().println("Watching for changes...");
+                Set<Path> changed = watcher.awaitChanges();
+                LOGGER.fine(() -> "Detected changes to: " + changed);
+                env.stderr().println(String.format("Rebuilding after changes to %d file(s)", changed.size()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (IOException e) {
+            throw new CliError("Unable to watch Smithy model sources: " + e.getMessage());
+        } finally {
+            if (watcher != null) {
+                try {
+                    watcher.close();
+                } catch (IOException e) {
+                    LOGGER.fine(() -> "Unable to close source watcher: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static SourceWatcher rewatch(
+            Env env,
+            SourceWatcher previous,
+            List<String> sources,
+            Path output
+    ) throws IOException {
+        if (previous == null) {
+            return new SourceWatcher(sources, output);
+        }
+
+        SourceWatcher watcher;
+        try {
+            watcher = new SourceWatcher(sources, output);
+        } catch (IOException e) {
+            // A config can import a path that doesn't exist yet, so keep watching the previous sources.
+            env.stderr().println(env.stderr().style(
+                    "Unable to watch Smithy model sources: " + e.getMessage(), Style.RED));
+            return previous;
+        }
+
+        previous.close();
+        return watcher;
+    }
+
+    private Path resolveWatchedOutput(Options options, List<String> config, Path previous) {
+        try {
+            return Paths.get(resolveOutput(options, config));
+        } catch (RuntimeException e) {
+            // The build reports invalid configs, so keep ignoring the previous output directory until it's fixed.
+            LOGGER.fine(() -> "Unable to find the output directory of invalid Smithy build config: "
+                              + e.getMessage());
+            return previous != null ? previous : Paths.get(DEFAULT_OUTPUT);
+        }
+    }
+
+    /**
+     * Gets the files and directories that are loaded by a build: models, config files,
+     * and the imports of the config and each of its projections.
+     *
+     * @param models Model files and directories given to the command.
+     * @param config Config files used by the build.
+     * @return Returns the sources to watch.
+     */
+    static List<String> getWatchedSources(List<String> models, List<String> config) {
+        List<String> sources = new ArrayList<>(models);
+        sources.addAll(config);
+
+        if (!config.isEmpty()) {
+            SmithyBuildConfig buildConfig;
+            try {
+                buildConfig = loadConfig(config);
+            } catch (RuntimeException e) {
+                // The build reports invalid configs, and fixing the config files triggers a rebuild.
+                LOGGER.fine(() -> "Unable to find imports of invalid Smithy build config: " + e.getMessage());
+                return sources;
+            }
+            sources.addAll(buildConfig.getImports());
+            for (ProjectionConfig projection : buildConfig.getProjections().values()) {
+                sources.addAll(projection.getImports());
+            }
+        }
+
+        return sources;
+    }
+
+    private int build(Arguments arguments, Env env, List<String> models, Options options, List<String> config) {
         StandardOptions standardOptions = arguments.getReceiver(StandardOptions.class);
         String output = options.output;
 
         LOGGER.fine(() -> String.format("Building Smithy model sources: %s", models));
         SmithyBuildConfig.Builder configBuilder = SmithyBuildConfig.builder();
-        List<String> config = getConfig(options);
 
         if (!config.isEmpty()) {
             LOGGER.fine(() -> String.format("Loading Smithy configs: [%s]", String.join(" ", config)));
@@ -143,6 +285,11 @@ public final class BuildCommand extends SimpleCommand {
                 .config(smithyBuildConfig)
                 .model(model);
 
+        // Let plugins keep state, like incremental converters, for as long as the model cache is kept.
+        if (env.modelCache() != null) {
+            smithyBuild.pluginCache(env.modelCache().getPluginCache());
+        }
+
         if (options.plugin != null) {
             smithyBuild.pluginFilter(name -> name.equals(options.plugin));
         }
@@ -181,6 +328,20 @@ public final class BuildCommand extends SimpleCommand {
         return 0;
     }
 
+    private String resolveOutput(Options options, List<String> config) {
+        if (options.output != null || config.isEmpty()) {
+            return options.output != null ? options.output : DEFAULT_OUTPUT;
+        }
+
+        return loadConfig(config).getOutputDirectory().orElse(DEFAULT_OUTPUT);
+    }
+
+    private static SmithyBuildConfig loadConfig(List<String> config) {
+        SmithyBuildConfig.Builder configBuilder = SmithyBuildConfig.builder();
+        config.forEach(file -> configBuilder.load(Paths.get(file)));
+        return configBuilder.build();
+    }
+
     private List<String> getConfig(Options options) {
         List<String> config = options.config;
         if (config.isEmpty() && Files.exists(Paths.get("smithy-build.json"))) {
@@ -20,11 +20,13 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import software.amazon.smithy.cli.Arguments;
 import software.amazon.smithy.cli.CliError;
 import software.amazon.smithy.cli.CliPrinter;
 import software.amazon.smithy.cli.Command;
+import software.amazon.smithy.cli.ModelCache;
 import software.amazon.smithy.cli.StandardOptions;
 import software.amazon.smithy.cli.Style;
 import software.amazon.smithy.model.Model;
@@ -32,6 +34,7 @@ import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.validation.ContextualValidationEventFormatter;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
 
 final class CommandUtils {
 
@@ -46,14 +49,14 @@ final class CommandUtils {
             CliPrinter printer,
             boolean quietValidation
     ) {
-        ModelAssembler assembler = CommandUtils.createModelAssembler(env.classLoader());
+        ModelAssembler assembler = CommandUtils.createModelAssembler(env);
         ContextualValidationEventFormatter formatter = new ContextualValidationEventFormatter();
         StandardOptions standardOptions = arguments.getReceiver(StandardOptions.class);
         BuildOptions buildOptions = arguments.getReceiver(BuildOptions.class);
 
         Severity minSeverity = standardOptions.severity();
 
-        assembler.validationEventListener(event -> {
+        Consumer<ValidationEvent> listener = event -> {
             // Only log events that are >= --severity. Note that setting --quiet inherently
             // configures events to need to be >= DANGER.
             if (event.getSeverity().ordinal() >= minSeverity.ordinal()) {
@@ -67,18 +70,27 @@ final class CommandUtils {
                     printer.println(formatter.format(event));
                 }
             }
-        });
+        };
+        assembler.validationEventListener(listener);
 
         CommandUtils.handleModelDiscovery(buildOptions, assembler, env.classLoader());
         CommandUtils.handleUnknownTraitsOption(buildOptions, assembler);
         models.forEach(assembler::addImport);
-        ValidatedResult<Model> result = assembler.assemble();
+        ModelCache cache = env.modelCache();
+        ValidatedResult<Model> result = cache == null
+                ? assembler.assemble()
+                : cache.assemble(env.classLoader(), models, buildOptions.allowUnknownTraits(),
+                                 buildOptions.discover(), buildOptions.discoverClasspath(), assembler, listener);
         Validator.validate(quietValidation, env.stderr(), result);
         return result.getResult().orElseThrow(() -> new RuntimeException("Expected Validator to throw"));
     }
 
-    static ModelAssembler createModelAssembler(ClassLoader classLoader) {
-        return Model.assembler(classLoader).putProperty(ModelAssembler.DISABLE_JAR_CACHE, true);
+    static ModelAssembler createModelAssembler(Command.Env env) {
+        ModelCache cache = env.modelCache();
+        ModelAssembler assembler = cache == null
+                ? Model.assembler(env.classLoader())
+                : cache.createModelAssembler(env.classLoader());
+        return assembler.putProperty(ModelAssembler.DISABLE_JAR_CACHE, true);
     }
 
     private static void handleUnknownTraitsOption(BuildOptions options, ModelAssembler assembler) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import software.amazon.smithy.cli.CliPrinter;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Thin client that forwards CLI arguments to a running {@code smithy daemon}.
+ *
+ * <p>The client intentionally loads as few classes as possible so that it
+ * starts quickly. The port of the daemon is read from the
+ * {@code SMITHY_DAEMON_PORT} environment variable and defaults to 9180.
+ * Requests are authenticated with the token the daemon wrote to
+ * "~/.smithy/daemon-PORT.token", or to the directory set by the
+ * {@code SMITHY_DAEMON_DIR} environment variable.
+ */
+@SmithyInternalApi
+public final class DaemonClient {
+
+    private DaemonClient() {}
+
+    /**
+     * Forwards the given arguments to the daemon and exits with the exit
+     * code of the command.
+     *
+     * @param args Arguments to forward.
+     */
+    public static void main(String... args) {
+        CliPrinter out = new CliPrinter.ConsumerPrinter(str -> System.out.print(str));
+        CliPrinter err = new CliPrinter.ConsumerPrinter(str -> System.err.print(str));
+        int code;
+
+        try {
+            code = forward(DaemonProtocol.resolvePort(null), Arrays.asList(args), out, err);
+        } catch (RuntimeException e) {
+            err.println(e.getMessage());
+            code = 1;
+        }
+
+        if (code != 0) {
+            System.exit(code);
+        }
+    }
+
+    /**
+     * Forwards arguments to the daemon listening on the given port.
+     *
+     * @param port Port the daemon listens on.
+     * @param args Arguments to forward.
+     * @param out Printer that receives stdout of the command.
+     * @param err Printer that receives stderr of the command.
+     * @return Returns the exit code of the command.
+     * @throws UncheckedIOException if the daemon cannot be reached.
+     */
+    public static int forward(int port, List<String> args, CliPrinter out, CliPrinter err) {
+        return forward(DaemonProtocol.defaultDirectory(), port, args, out, err);
+    }
+
+    static int forward(Path directory, int port, List<String> args, CliPrinter out, CliPrinter err) {
+        String workingDirectory = Paths.get("").toAbsolutePath().toString();
+        Path tokenFile = DaemonProtocol.tokenFile(directory, port);
+        String token;
+
+        try {
+            token = DaemonProtocol.readToken(tokenFile);
+        } catch (NoSuchFileException e) {
+            throw new UncheckedIOException("No Smithy daemon token found at " + tokenFile
+                                           + ". Is the daemon running on port " + port + "?", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the Smithy daemon token from " + tokenFile
+                                           + ": " + e.getMessage(), e);
+        }
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DaemonProtocol.writeRequest(output, token, workingDirectory, args);
+
+            while (true) {
+                byte type = input.readByte();
+                switch (type) {
+                    case DaemonProtocol.EXIT:
+                        return input.readInt();
+                    case DaemonProtocol.STDOUT:
+                        out.println(DaemonProtocol.readString(input));
+                        break;
+                    case DaemonProtocol.STDERR:
+                        err.println(DaemonProtocol.readString(input));
+                        break;
+                    default:
+                        throw new IOException("Unexpected Smithy daemon frame type: " + type);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to communicate with the Smithy daemon on port " + port
+                                           + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import software.amazon.smithy.cli.ArgumentReceiver;
+import software.amazon.smithy.cli.Arguments;
+import software.amazon.smithy.cli.Cli;
+import software.amazon.smithy.cli.CliError;
+import software.amazon.smithy.cli.CliPrinter;
+import software.amazon.smithy.cli.HelpPrinter;
+import software.amazon.smithy.cli.ModelCache;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SetUtils;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+@SmithyInternalApi
+public final class DaemonCommand extends SimpleCommand {
+
+    private static final Logger LOGGER = Logger.getLogger(DaemonCommand.class.getName());
+    private static final String STOP = "stop";
+
+    // Options that make a command run until it's interrupted, which would block every other daemon client.
+    private static final Set<String> LONG_RUNNING_OPTIONS = SetUtils.of("--watch");
+
+    private final Path directory;
+
+    public DaemonCommand(String parentCommandName) {
+        this(parentCommandName, DaemonProtocol.defaultDirectory());
+    }
+
+    DaemonCommand(String parentCommandName, Path directory) {
+        super(parentCommandName);
+        this.directory = directory;
+    }
+
+    @Override
+    public String getName() {
+        return "daemon";
+    }
+
+    @Override
+    public String getSummary() {
+        return "Runs a long-lived server that executes CLI commands using a warm JVM and cached models.";
+    }
+
+    @Override
+    public String getDocumentation(CliPrinter printer) {
+        return "The daemon listens on a loopback socket and executes commands forwarded by "
+               + "software.amazon.smithy.cli.commands.DaemonClient. Trait and validator factories are "
+               + "discovered once, and models are only reloaded when a model file changes. Commands are "
+               + "resolved relative to the directory the daemon was started in. Run 'daemon stop' to stop "
+               + "a running daemon. Only clients that can read the token the daemon writes to "
+               + "~/.smithy/daemon-PORT.token (or to $" + DaemonProtocol.DIR_ENV + ") can send commands. "
+               + "Commands are run one at a time, so long-running options like --watch are rejected.";
+    }
+
+    private static final class Options implements ArgumentReceiver {
+        private String port;
+
+        @Override
+        public boolean testOption(String name) {
+            return false;
+        }
+
+        @Override
+        public Consumer<String> testParameter(String name) {
+            if (name.equals("--port")) {
+                return value -> port = value;
+            }
+            return null;
+        }
+
+        @Override
+        public void registerHelp(HelpPrinter printer) {
+            printer.param("--port", null, "PORT",
+                          "Port to listen on or to send 'stop' to (defaults to $" + DaemonProtocol.PORT_ENV
+                          + " or " + DaemonProtocol.DEFAULT_PORT + "). Use 0 to pick a free port.");
+            printer.positional("stop", "Stops a running daemon");
+        }
+    }
+
+    @Override
+    protected List<ArgumentReceiver> createArgumentReceivers() {
+        return ListUtils.of(new Options());
+    }
+
+    @Override
+    protected int run(Arguments arguments, Env env, List<String> positional) {
+        int port;
+        try {
+            port = DaemonProtocol.resolvePort(arguments.getReceiver(Options.class).port);
+        } catch (IllegalArgumentException e) {
+            throw new CliError(e.getMessage());
+        }
+
+        if (positional.equals(ListUtils.of(STOP))) {
+            return DaemonClient.forward(directory, port, ListUtils.of(getName(), STOP), env.stdout(), env.stderr());
+        } else if (!positional.isEmpty()) {
+            throw new CliError("Unexpected arguments: " + positional);
+        }
+
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            Path tokenFile = DaemonProtocol.tokenFile(directory, server.getLocalPort());
+            String token = DaemonProtocol.createToken(tokenFile);
+            ModelCache modelCache = new ModelCache();
+            env.stdout().println("Smithy daemon listening on port " + server.getLocalPort());
+            try {
+                boolean running = true;
+                while (running) {
+                    try (Socket socket = server.accept()) {
+                        running = handle(socket, token, env.classLoader(), modelCache);
+                    } catch (IOException | UncheckedIOException e) {
+                        LOGGER.warning("Error communicating with Smithy daemon client: " + e.getMessage());
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(tokenFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        env.stdout().println("Smithy daemon stopped");
+        return 0;
+    }
+
+    // Commands are handled one at a time since logging configuration is global to the JVM.
+    private boolean handle(
+            Socket socket,
+            String token,
+            ClassLoader classLoader,
+            ModelCache modelCache
+    ) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        // Reject clients that can't read the token file before reading anything else.
+        if (!DaemonProtocol.isValidToken(token, DaemonProtocol.readToken(input))) {
+            LOGGER.warning("Rejected a Smithy daemon request with an invalid token");
+            DaemonProtocol.writeLine(output, DaemonProtocol.STDERR, "Invalid Smithy daemon token");
+            DaemonProtocol.writeExit(output, 1);
+            return true;
+        }
+
+        String workingDirectory = DaemonProtocol.readWorkingDirectory(input);
+        List<String> args = DaemonProtocol.readArguments(input);
+        LOGGER.fine(() -> "Smithy daemon received command: " + args);
+
+        if (args.equals(ListUtils.of(getName(), STOP))) {
+            DaemonProtocol.writeExit(output, 0);
+            return false;
+        } else if (!args.isEmpty() && args.get(0).equals(getName())) {
+            DaemonProtocol.writeLine(output, DaemonProtocol.STDERR, "The daemon command cannot be sent to a daemon");
+            DaemonProtocol.writeExit(output, 1);
+            return true;
+        }
+
+        String longRunningOption = findLongRunningOption(args);
+        if (longRunningOption != null) {
+            DaemonProtocol.writeLine(output, DaemonProtocol.STDERR, String.format(
+                    "The %s option cannot be sent to the Smithy daemon because it would block every other "
+                    + "client. Run the command without the daemon instead.", longRunningOption));
+            DaemonProtocol.writeExit(output, 1);
+            return true;
+        }
+
+        // Relative paths are resolved against the directory of the daemon, so reject other directories.
+        String daemonDirectory = Paths.get("").toAbsolutePath().toString();
+        if (!daemonDirectory.equals(workingDirectory)) {
+            DaemonProtocol.writeLine(output, DaemonProtocol.STDERR, String.format(
+                    "The Smithy daemon was started in %s, but the command was sent from %s",
+                    daemonDirectory, workingDirectory));
+            DaemonProtocol.writeExit(output, 1);
+            return true;
+        }
+
+        Cli cli = new Cli(new SmithyCommand(), classLoader);
+        cli.stdout(new SocketPrinter(output, DaemonProtocol.STDOUT));
+        cli.stderr(new SocketPrinter(output, DaemonProtocol.STDERR));
+        cli.modelCache(modelCache);
+
+        int code;
+        try {
+            code = cli.run(args.toArray(new String[0]));
+        } catch (CliError e) {
+            code = e.code;
+        }
+
+        DaemonProtocol.writeExit(output, code);
+        return true;
+    }
+
+    private static String findLongRunningOption(List<String> args) {
+        for (String arg : args) {
+            if (arg.equals("--")) {
+                // Everything after "--" is a positional argument.
+                return null;
+            } else if (LONG_RUNNING_OPTIONS.contains(arg)) {
+                return arg;
+            }
+        }
+        return null;
+    }
+
+    private static final class SocketPrinter implements CliPrinter {
+        private final DataOutputStream output;
+        private final byte type;
+
+        SocketPrinter(DataOutputStream output, byte type) {
+            this.output = output;
+            this.type = type;
+        }
+
+        @Override
+        public void println(String text) {
+            synchronized (output) {
+                try {
+                    DaemonProtocol.writeLine(output, type, text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Wire format shared by {@link DaemonCommand} and {@link DaemonClient}.
+ *
+ * <p>A request is the secret token of the daemon, the working directory of
+ * the client, and then the number of CLI arguments and each argument. The
+ * daemon writes a random token to a file that only the user that started
+ * the daemon can read, and rejects requests that don't send that token. A response is a sequence of
+ * frames that each start with a frame type: {@link #STDOUT} and
+ * {@link #STDERR} frames contain a line of output, and the final
+ * {@link #EXIT} frame contains the exit code of the command. Strings are
+ * written as a length-prefixed UTF-8 byte array since command output can
+ * exceed the limits of {@link DataOutputStream#writeUTF}.
+ */
+final class DaemonProtocol {
+
+    static final int DEFAULT_PORT = 9180;
+    static final String PORT_ENV = "SMITHY_DAEMON_PORT";
+    static final String DIR_ENV = "SMITHY_DAEMON_DIR";
+
+    static final byte EXIT = 0;
+    static final byte STDOUT = 1;
+    static final byte STDERR = 2;
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int MAX_TOKEN_LENGTH = 256;
+
+    private DaemonProtocol() {}
+
+    static int resolvePort(String port) {
+        if (port == null) {
+            port = System.getenv(PORT_ENV);
+        }
+
+        try {
+            return port == null ? DEFAULT_PORT : Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Smithy daemon port: " + port);
+        }
+    }
+
+    /**
+     * Gets the default directory that token files are written to.
+     *
+     * @return Returns the directory set by the {@code SMITHY_DAEMON_DIR} environment variable, or "~/.smithy".
+     */
+    static Path defaultDirectory() {
+        String dir = System.getenv(DIR_ENV);
+        return dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".smithy");
+    }
+
+    /**
+     * Gets the file that contains the token of the daemon listening on a port.
+     *
+     * @param directory Directory that contains token files.
+     * @param port Port of the daemon.
+     * @return Returns the path to the token file.
+     */
+    static Path tokenFile(Path directory, int port) {
+        return directory.resolve("daemon-" + port + ".token");
+    }
+
+    /**
+     * Creates a random token and writes it to a file that only the current user can read or write.
+     *
+     * @param file File to write the token to.
+     * @return Returns the created token.
+     * @throws IOException if the file can't be written.
+     */
+    static String createToken(Path file) throws IOException {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // The file is created with restricted permissions rather than restricted after it's written.
+        Files.deleteIfExists(file);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(file.getParent(), PosixFilePermissions.asFileAttribute(
+                    PosixFilePermissions.fromString("rwx------")));
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createDirectories(file.getParent());
+            Files.createFile(file);
+        }
+
+        Files.write(file, token.getBytes(StandardCharsets.UTF_8));
+        return token;
+    }
+
+    static String readToken(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+    }
+
+    static boolean isValidToken(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                                     actual.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void writeRequest(
+            DataOutputStream out,
+            String token,
+            String workingDirectory,
+            List<String> args
+    ) throws IOException {
+        writeString(out, token);
+        writeString(out, workingDirectory);
+        out.writeInt(args.size());
+        for (String arg : args) {
+            writeString(out, arg);
+        }
+        out.flush();
+    }
+
+    static String readToken(DataInputStream in) throws IOException {
+        // Limit the size of the token since it's read before the client is authenticated.
+        int length = in.readInt();
+        if (length < 0 || length > MAX_TOKEN_LENGTH) {
+            throw new IOException("Invalid Smithy daemon token length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static String readWorkingDirectory(DataInputStream in) throws IOException {
+        return readString(in);
+    }
+
+    static List<String> readArguments(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> args = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            args.add(readString(in));
+        }
+        return args;
+    }
+
+    static void writeLine(DataOutputStream out, byte type, String text) throws IOException {
+        out.writeByte(type);
+        writeString(out, text);
+        out.flush();
+    }
+
+    static void writeExit(DataOutputStream out, int code) throws IOException {
+        out.writeByte(EXIT);
+        out.writeInt(code);
+        out.flush();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -101,7 +101,7 @@ public final class DiffCommand extends SimpleCommand {
         List<String> newModels = options.newModels;
         LOGGER.fine(() -> String.format("Setting old models to: %s; new models to: %s", oldModels, newModels));
 
-        ModelAssembler assembler = CommandUtils.createModelAssembler(env.classLoader());
+        ModelAssembler assembler = CommandUtils.createModelAssembler(env);
         Model oldModel = loadModel("old", assembler, oldModels);
         assembler.reset();
         Model newModel = loadModel("new", assembler, newModels);
@@ -34,7 +34,8 @@ public class SmithyCommand implements Command {
             new AstCommand(getName()),
             new SelectCommand(getName()),
             new DiffCommand(getName()),
-            new Upgrade1to2Command(getName()));
+            new Upgrade1to2Command(getName()),
+            new DaemonCommand(getName()));
 
     @Override
     public String getName() {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Watches model files, model directories, and configuration files for changes.
+ *
+ * <p>Files are watched by registering their parent directory, and directories
+ * are watched recursively. Changes are debounced so that editors that write
+ * several files when saving only trigger a single rebuild.
+ */
+final class SourceWatcher implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(SourceWatcher.class.getName());
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private final WatchService watchService;
+    private final Set<Path> files = new HashSet<>();
+    private final Set<Path> trees = new HashSet<>();
+    private final Set<Path> registered = new HashSet<>();
+    private final Path ignored;
+
+    /**
+     * @param sources Files and directories to watch.
+     * @param ignored Directory to ignore changes in (for example, the build output directory).
+     * @throws IOException if the sources can't be watched.
+     */
+    SourceWatcher(Collection<String> sources, Path ignored) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.ignored = ignored == null ? null : ignored.toAbsolutePath().normalize();
+
+        for (String source : sources) {
+            Path path = Paths.get(source).toAbsolutePath().normalize();
+            if (Files.isDirectory(path)) {
+                trees.add(path);
+                registerTree(path);
+            } else {
+                files.add(path);
+                register(path.getParent());
+            }
+        }
+    }
+
+    /**
+     * Blocks until a watched source changes.
+     *
+     * @return Returns the sorted set of changed paths.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IOException if newly created directories can't be watched.
+     */
+    Set<Path> awaitChanges() throws InterruptedException, IOException {
+        Set<Path> changed = new TreeSet<>();
+
+        while (changed.isEmpty()) {
+            collect(watchService.take(), changed);
+            // Keep collecting events until no events are seen for the debounce period.
+            WatchKey key;
+            while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                collect(key, changed);
+            }
+        }
+
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, so conservatively assume the directory changed.
+                changed.add(directory);
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            if (ignored != null && path.startsWith(ignored)) {
+                continue;
+            }
+
+            if (files.contains(path)) {
+                changed.add(path);
+            } else if (isInTree(path)) {
+                changed.add(path);
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                    registerTree(path);
+                }
+            }
+        }
+
+        key.reset();
+    }
+
+    private boolean isInTree(Path path) {
+        for (Path tree : trees) {
+            if (path.startsWith(tree)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerTree(Path root) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> stream = Files.walk(root)) {
+            directories = stream.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+
+        for (Path directory : directories) {
+            if (ignored == null || !directory.startsWith(ignored)) {
+                register(directory);
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        if (registered.add(directory)) {
+            LOGGER.fine(() -> "Watching directory for changes: " + directory);
+            directory.register(watchService,
+                               StandardWatchEventKinds.ENTRY_CREATE,
+                               StandardWatchEventKinds.ENTRY_MODIFY,
+                               StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+}
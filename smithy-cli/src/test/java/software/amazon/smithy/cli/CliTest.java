@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
+import java.util.logging.Logger;
 import org.junit.jupiter.api.Test;
 
 public class CliTest {
@@ -63,4 +64,54 @@ public class CliTest {
         assertThat(result.code(), equalTo(0));
         assertThat(result.stderr(), containsString("Running CLI command"));
     }
+
+    @Test
+    public void reinstatesEnclosingLoggingAfterNestedInvocation() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Cli nested = new Cli(new LoggingCommand("Inside nested", () -> { }), classLoader);
+        CliUtils.Result[] nestedResult = new CliUtils.Result[1];
+        Cli outer = new Cli(new LoggingCommand("After nested", () -> {
+            nestedResult[0] = CliUtils.run(nested, "--logging", "INFO");
+        }), classLoader);
+        CliUtils.Result result = CliUtils.run(outer, "--logging", "INFO");
+
+        assertThat(result.code(), equalTo(0));
+        assertThat(result.stderr(), containsString("After nested"));
+        assertThat(result.stderr(), not(containsString("Inside nested")));
+        assertThat(nestedResult[0].stderr(), containsString("Inside nested"));
+        assertThat(nestedResult[0].stderr(), not(containsString("After nested")));
+    }
+
+    private static final class LoggingCommand implements Command {
+        private static final Logger LOGGER = Logger.getLogger(LoggingCommand.class.getName());
+        private final String message;
+        private final Runnable before;
+
+        LoggingCommand(String message, Runnable before) {
+            this.message = message;
+            this.before = before;
+        }
+
+        @Override
+        public String getName() {
+            return "log";
+        }
+
+        @Override
+        public String getSummary() {
+            return "Logs a message";
+        }
+
+        @Override
+        public void printHelp(Arguments arguments, CliPrinter printer) {
+        }
+
+        @Override
+        public int execute(Arguments arguments, Env env) {
+            arguments.finishParsing();
+            before.run();
+            LOGGER.info(message);
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package software.amazon.smithy.cli.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.smithy.cli.Cli;
+import software.amazon.smithy.cli.CliPrinter;
+import software.amazon.smithy.cli.CliUtils;
+
+public class DaemonCommandTest {
+    @Test
+    public void hasLongHelpCommand() {
+        CliUtils.Result result = CliUtils.runSmithy("daemon", "--help");
+
+        assertThat(result.code(), equalTo(0));
+        assertThat(result.stdout(), containsString("warm JVM"));
+    }
+
+    @Test
+    public void rejectsUnexpectedArguments() {
+        CliUtils.Result result = CliUtils.runSmithy("daemon", "foo");
+
+        assertThat(result.code(), not(0));
+        assertThat(result.stderr(), containsString("Unexpected arguments"));
+    }
+
+    @Test
+    public void forwardsCommandsToDaemon(@TempDir Path dir) throws Exception {
+        CompletableFuture<Integer> port = new CompletableFuture<>();
+        CompletableFuture<Integer> daemon = startDaemon(dir, port);
+        int daemonPort = port.get(10, TimeUnit.SECONDS);
+
+        try {
+            String model = Paths.get(getClass().getResource("valid-model.smithy").toURI()).toString();
+            StringBuilder out = new StringBuilder();
+            CliPrinter printer = text -> out.append(text).append('\n');
+
+            // The second invocation uses the cached model.
+            for (int i = 0; i < 2; i++) {
+                out.setLength(0);
+                int code = DaemonClient.forward(dir, daemonPort, Arrays.asList("select", "--selector", "string", model),
+                                                printer, printer);
+                assertThat(code, equalTo(0));
+                assertThat(out.toString(), containsString("smithy.example#FooId"));
+            }
+
+            out.setLength(0);
+            int code = DaemonClient.forward(dir, daemonPort, Arrays.asList("validate", "--severity", "FOO"),
+                                            printer, printer);
+            assertThat(code, not(0));
+            assertThat(out.toString(), containsString("Invalid severity"));
+        } finally {
+            DaemonClient.forward(dir, daemonPort, Arrays.asList("daemon", "stop"), text -> { }, text -> { });
+        }
+
+        assertThat(daemon.get(10, TimeUnit.SECONDS), equalTo(0));
+    }
+
+    @Test
+    public void rejectsLongRunningCommands(@TempDir Path dir) throws Exception {
+        CompletableFuture<Integer> port = new CompletableFuture<>();
+        CompletableFuture<Integer> daemon = startDaemon(dir, port);
+        int daemonPort = port.get(10, TimeUnit.SECONDS);
+
+        try {
+            StringBuilder out = new StringBuilder();
+            CliPrinter printer = text -> out.append(text).append('\n');
+            int code = DaemonClient.forward(dir, daemonPort, Arrays.asList("build", "--watch"), printer, printer);
+
+            assertThat(code, equalTo(1));
+            assertThat(out.toString(), containsString("The --watch option cannot be sent to the Smithy daemon"));
+        } finally {
+            // The daemon is still able to handle requests, including stop.
+            DaemonClient.forward(dir, daemonPort, Arrays.asList("daemon", "stop"), text -> { }, text -> { });
+        }
+
+        assertThat(daemon.get(10, TimeUnit.SECONDS), equalTo(0));
+    }
+
+    @Test
+    public void rejectsRequestsWithoutTheDaemonToken(@TempDir Path dir) throws Exception {
+        CompletableFuture<Integer> port = new CompletableFuture<>();
+        CompletableFuture<Integer> daemon = startDaemon(dir, port);
+        int daemonPort = port.get(10, TimeUnit.SECONDS);
+        Path tokenFile = DaemonProtocol.tokenFile(dir, daemonPort);
+
+        try {
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)),
+                           equalTo("rw-------"));
+            }
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemonPort)) {
+                DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+                DataInputStream input = new DataInputStream(socket.getInputStream());
+                DaemonProtocol.writeRequest(output, "not-the-token", Paths.get("").toAbsolutePath().toString(),
+                                            Arrays.asList("daemon", "stop"));
+
+                assertThat(input.readByte(), equalTo(DaemonProtocol.STDERR));
+                assertThat(DaemonProtocol.readString(input), containsString("Invalid Smithy daemon token"));
+                assertThat(input.readByte(), equalTo(DaemonProtocol.EXIT));
+                assertThat(input.readInt(), equalTo(1));
+            }
+
+            // The daemon keeps running after rejecting the request.
+            assertThat(daemon.isDone(), is(false));
+        } finally {
+            DaemonClient.forward(dir, daemonPort, Arrays.asList("daemon", "stop"), text -> { }, text -> { });
+        }
+
+        assertThat(daemon.get(10, TimeUnit.SECONDS), equalTo(0));
+        assertThat(Files.exists(tokenFile), is(false));
+    }
+
+    private static CompletableFuture<Integer> startDaemon(Path dir, CompletableFuture<Integer> port) {
+        Cli cli = new Cli(new DaemonCommand("smithy", dir), DaemonCommandTest.class.getClassLoader());
+        cli.stdout(text -> {
+            if (text.startsWith("Smithy daemon listening on port ")) {
+                port.complete(Integer.parseInt(text.substring(text.lastIndexOf(' ') + 1)));
+            }
+        });
+        return CompletableFuture.supplyAsync(() -> cli.run(new String[] {"--port", "0"}));
+    }
+}
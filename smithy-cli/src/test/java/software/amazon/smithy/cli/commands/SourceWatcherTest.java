@@ -0,0 +1,81 @@
+package software.amazon.smithy.cli.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SourceWatcherTest {
+    @Test
+    public void detectsChangesToWatchedFilesAndDirectories(@TempDir Path dir) throws Exception {
+        Path modelDir = Files.createDirectories(dir.resolve("model"));
+        Path config = dir.resolve("smithy-build.json");
+        Path output = Files.createDirectories(modelDir.resolve("build"));
+        Files.write(config, "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("unrelated.txt"), "a".getBytes(StandardCharsets.UTF_8));
+
+        try (SourceWatcher watcher = new SourceWatcher(Arrays.asList(modelDir.toString(), config.toString()),
+                                                       output)) {
+            CompletableFuture<Set<Path>> changes = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return watcher.awaitChanges();
+                } catch (InterruptedException | IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            // Neither unrelated files nor the ignored output directory trigger a change.
+            Files.write(dir.resolve("unrelated.txt"), "b".getBytes(StandardCharsets.UTF_8));
+            Files.write(output.resolve("out.json"), "b".getBytes(StandardCharsets.UTF_8));
+            Files.write(modelDir.resolve("main.smithy"), "$version: \"2\"".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(changes.get(30, TimeUnit.SECONDS), contains(modelDir.resolve("main.smithy")));
+        }
+    }
+
+    @Test
+    public void watchesConfigAndProjectionImports(@TempDir Path dir) throws Exception {
+        Path model = dir.resolve("main.smithy");
+        Path configImport = Files.createDirectories(dir.resolve("shared")).resolve("shared.smithy");
+        Path projectionImport = Files.createDirectories(dir.resolve("extra")).resolve("extra.smithy");
+        Path config = dir.resolve("smithy-build.json");
+        Files.write(model, "$version: \"2\"".getBytes(StandardCharsets.UTF_8));
+        Files.write(configImport, "$version: \"2\"".getBytes(StandardCharsets.UTF_8));
+        Files.write(projectionImport, "$version: \"2\"".getBytes(StandardCharsets.UTF_8));
+        Files.write(config, ("{\"version\": \"1.0\", \"imports\": [\"shared/shared.smithy\"], "
+                             + "\"projections\": {\"a\": {\"imports\": [\"extra/extra.smithy\"]}}}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        List<String> sources = BuildCommand.getWatchedSources(Collections.singletonList(model.toString()),
+                                                              Collections.singletonList(config.toString()));
+
+        assertThat(sources, hasItems(model.toString(), config.toString(),
+                                     configImport.toString(), projectionImport.toString()));
+
+        try (SourceWatcher watcher = new SourceWatcher(sources, dir.resolve("build"))) {
+            CompletableFuture<Set<Path>> changes = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return watcher.awaitChanges();
+                } catch (InterruptedException | IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            Files.write(projectionImport, "$version: \"2.0\"".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(changes.get(30, TimeUnit.SECONDS), contains(projectionImport));
+        }
+    }
+}
@@ -47,8 +47,9 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  *     }
  *
  *     \@Override
- *     public String toString() {
- *         return getImportContainer().toString() + "\n\n" + super.toString();
+ *     protected void writePrefix(Writer writer) throws IOException {
+ *         writer.write(getImportContainer().toString());
+ *         writer.write("\n\n");
  *     }
  *
  *     public MyWriter someCustomMethod() {
@@ -186,7 +187,7 @@ public abstract class SymbolWriter<W extends SymbolWriter<W, I>, I extends Impor
     /**
      * Gets the import container associated with the writer.
      *
-     * <p>The {@link #toString()} method of the {@code SymbolWriter} should
+     * <p>The {@link #writePrefix} method of the {@code SymbolWriter} should
      * be overridden so that it includes the import container's contents in
      * the output as appropriate.
      *
@@ -15,8 +15,12 @@
 
 package software.amazon.smithy.codegen.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,6 +31,7 @@ import java.util.TreeSet;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.StronglyConnectedComponentsIndex;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
@@ -60,6 +65,29 @@ public final class TopologicalIndex implements KnowledgeIndex {
     private final Map<Shape, Set<PathFinder.Path>> recursiveShapes = new LinkedHashMap<>();
 
     public TopologicalIndex(Model model) {
+        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
+        StronglyConnectedComponentsIndex components = StronglyConnectedComponentsIndex.of(
+                model, rel -> !rel.getNeighborShapeId().equals(rel.getShape().getId()));
+
+        // Components come after the components they reference, so a single pass finds every
+        // shape that is part of a cycle or that references a shape that is part of a cycle.
+        Set<Shape> recursive = new HashSet<>();
+        for (Set<Shape> component : components.getComponents()) {
+            Shape first = component.iterator().next();
+            boolean isRecursive = components.isRecursive(first);
+            if (!isRecursive) {
+                for (Shape neighbor : getNeighbors(first, provider).keySet()) {
+                    if (recursive.contains(neighbor)) {
+                        isRecursive = true;
+                        break;
+                    }
+                }
+            }
+            if (isRecursive) {
+                recursive.addAll(component);
+            }
+        }
+
         // Explore sorted shapes not in the prelude for a stable result order.
         Set<Shape> shapes = new TreeSet<>();
         for (Shape shape : model.toSet()) {
@@ -68,13 +96,15 @@ public final class TopologicalIndex implements KnowledgeIndex {
             }
         }
 
+        orderShapes(shapes, recursive, provider);
+
         // This map ensures that more recursive shapes come after less recursive shapes.
         Map<Integer, Map<Shape, Set<PathFinder.Path>>> frequencyMap = new TreeMap<>();
-        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
 
         for (Shape shape : shapes) {
-            Set<PathFinder.Path> paths = explore(shape, Collections.emptyList(), Collections.emptySet(), provider);
-            if (!paths.isEmpty()) {
+            if (recursive.contains(shape)) {
+                Set<PathFinder.Path> paths = explore(
+                        shape, Collections.emptyList(), Collections.emptySet(), recursive, provider);
                 int edges = 0;
                 for (PathFinder.Path path : paths) {
                     edges += path.size();
@@ -89,20 +119,41 @@ public final class TopologicalIndex implements KnowledgeIndex {
         }
     }
 
-    private Set<PathFinder.Path> explore(
-            Shape shape,
-            List<Relationship> path,
-            Set<Shape> visited,
-            NeighborProvider provider
-    ) {
-        if (visited.contains(shape)) {
-            return Collections.singleton(new PathFinder.Path(path));
-        }
+    // Performs a depth-first traversal of every shape, adding non-recursive shapes after their neighbors.
+    private void orderShapes(Set<Shape> roots, Set<Shape> recursive, NeighborProvider provider) {
+        Set<Shape> visited = new HashSet<>();
+        Deque<Shape> stack = new ArrayDeque<>();
+        Deque<Iterator<Shape>> neighbors = new ArrayDeque<>();
 
-        Set<Shape> newVisited = new LinkedHashSet<>(visited);
-        newVisited.add(shape);
+        for (Shape root : roots) {
+            if (!visited.add(root)) {
+                continue;
+            }
 
-        // Sort edges alphabetically by shape to make the order predictable.
+            stack.push(root);
+            neighbors.push(getNeighbors(root, provider).keySet().iterator());
+
+            while (!stack.isEmpty()) {
+                Iterator<Shape> iterator = neighbors.peek();
+                if (iterator.hasNext()) {
+                    Shape next = iterator.next();
+                    if (visited.add(next)) {
+                        stack.push(next);
+                        neighbors.push(getNeighbors(next, provider).keySet().iterator());
+                    }
+                } else {
+                    Shape current = stack.pop();
+                    neighbors.pop();
+                    if (!recursive.contains(current)) {
+                        shapes.add(current);
+                    }
+                }
+            }
+        }
+    }
+
+    // Sort edges alphabetically by shape to make the order predictable.
+    private static Map<Shape, Relationship> getNeighbors(Shape shape, NeighborProvider provider) {
         Map<Shape, Relationship> shapeRelationshipMap = new TreeMap<>();
         for (Relationship rel : provider.getNeighbors(shape)) {
             if (rel.getRelationshipType().getDirection() == RelationshipDirection.DIRECTED) {
@@ -111,22 +162,32 @@ public final class TopologicalIndex implements KnowledgeIndex {
                 }
             }
         }
+        return shapeRelationshipMap;
+    }
 
-        if (shapeRelationshipMap.isEmpty()) {
-            shapes.add(shape);
-            return Collections.emptySet();
+    private Set<PathFinder.Path> explore(
+            Shape shape,
+            List<Relationship> path,
+            Set<Shape> visited,
+            Set<Shape> recursive,
+            NeighborProvider provider
+    ) {
+        if (visited.contains(shape)) {
+            return Collections.singleton(new PathFinder.Path(path));
         }
 
-        Set<PathFinder.Path> recursivePaths = new LinkedHashSet<>();
-        for (Map.Entry<Shape, Relationship> entry : shapeRelationshipMap.entrySet()) {
-            List<Relationship> newPath = new ArrayList<>(path.size() + 1);
-            newPath.addAll(path);
-            newPath.add(entry.getValue());
-            recursivePaths.addAll(explore(entry.getKey(), newPath, newVisited, provider));
-        }
+        Set<Shape> newVisited = new LinkedHashSet<>(visited);
+        newVisited.add(shape);
 
-        if (recursivePaths.isEmpty()) {
-            shapes.add(shape);
+        // Only recursive neighbors can lead back to a shape that was already visited.
+        Set<PathFinder.Path> recursivePaths = new LinkedHashSet<>();
+        for (Map.Entry<Shape, Relationship> entry : getNeighbors(shape, provider).entrySet()) {
+            if (recursive.contains(entry.getKey())) {
+                List<Relationship> newPath = new ArrayList<>(path.size() + 1);
+                newPath.addAll(path);
+                newPath.add(entry.getValue());
+                recursivePaths.addAll(explore(entry.getKey(), newPath, newVisited, recursive, provider));
+            }
         }
 
         return recursivePaths;
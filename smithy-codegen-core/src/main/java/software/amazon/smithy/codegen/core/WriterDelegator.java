@@ -18,10 +18,18 @@ package software.amazon.smithy.codegen.core;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.model.shapes.Shape;
@@ -48,7 +56,18 @@ import software.amazon.smithy.utils.CodeSection;
  * delegator are eventually written to the provided {@link FileManifest} when
  * the {@link #flushWriters()} method is called.
  *
- * <p>This class is not thread-safe.
+ * <p>Writers can be used concurrently by multiple threads. Each writer is
+ * locked while it is used by {@link #useFileWriter} or
+ * {@link #useShapeWriter}, so code written for the same file is never
+ * interleaved. However, the order in which arbitrary threads write to the
+ * same file is not defined. Callers should not use a writer from within the
+ * consumer of another writer when generating code concurrently, as two
+ * threads doing so in opposite order would deadlock.
+ *
+ * <p>Shapes generated with {@link #generateShapesConcurrently} are
+ * generated in parallel, but code is written to each file in the order the
+ * shapes are given, so the generated files are the same as if the shapes
+ * were generated sequentially.
  *
  * <h2>Extending {@code WriterDelegator}</h2>
  *
@@ -67,8 +86,10 @@ public class WriterDelegator<W extends SymbolWriter<W, ? extends ImportContainer
     private final FileManifest fileManifest;
     private final SymbolProvider symbolProvider;
     private final Map<String, W> writers = new TreeMap<>();
+    private final Set<String> usedFiles = ConcurrentHashMap.newKeySet();
     private final SymbolWriter.Factory<W> factory;
     private final List<CodeInterceptor<? extends CodeSection, W>> interceptors = new ArrayList<>();
+    private final ThreadLocal<WriteTurn> currentTurn = new ThreadLocal<>();
     private String automaticSeparator = "\n";
 
     /**
@@ -109,15 +130,18 @@ public class WriterDelegator<W extends SymbolWriter<W, ? extends ImportContainer
     @Override
     public List<SymbolDependency> getDependencies() {
         List<SymbolDependency> resolved = new ArrayList<>();
-        writers.values().forEach(s -> resolved.addAll(s.getDependencies()));
+        synchronized (writers) {
+            writers.values().forEach(s -> resolved.addAll(s.getDependencies()));
+        }
         return resolved;
     }
 
     /**
      * Writes each pending {@code SymbolWriter} to the {@link FileManifest}.
      *
-     * <p>The {@code toString} method is called on each writer to generate
-     * the code to write to the manifest.
+     * <p>The contents of each writer are streamed to the manifest using
+     * {@link SymbolWriter#toReader()} rather than first converting the
+     * writer to a string.
      *
      * <p>This method clears out the managed {@code SymbolWriter}s, meaning a
      * subsequent call to {@link #getWriters()} will return an empty map.
@@ -126,10 +150,13 @@ public class WriterDelegator<W extends SymbolWriter<W, ? extends ImportContainer
      */
     public void flushWriters() {
         for (Map.Entry<String, W> entry : getWriters().entrySet()) {
-            fileManifest.writeFile(entry.getKey(), entry.getValue().toString());
+            fileManifest.writeFile(entry.getKey(), entry.getValue().toReader());
         }
 
-        writers.clear();
+        synchronized (writers) {
+            writers.clear();
+            usedFiles.clear();
+        }
     }
 
     /**
@@ -172,7 +199,7 @@ public class WriterDelegator<W extends SymbolWriter<W, ? extends ImportContainer
      * @param writerConsumer Consumer that is expected to write to the {@code SymbolWriter}.
      */
     public final void useFileWriter(String filename, String namespace, Consumer<W> writerConsumer) {
-        writerConsumer.accept(checkoutWriter(filename, namespace));
+        useWriter(filename, namespace, writerConsumer);
     }
 
     /**
@@ -198,15 +225,15 @@ public class WriterDelegator<W extends SymbolWriter<W, ? extends ImportContainer
     public void useShapeWriter(Shape shape, Consumer<W> writerConsumer) {
         // Checkout/create the appropriate writer for the shape.
         Symbol symbol = symbolProvider.toSymbol(shape);
-        W writer = checkoutWriter(symbol.getDefinitionFile(), symbol.getNamespace());
-
-        // Add any needed DECLARE symbols.
-        writer.addImportReferences(symbol, SymbolReference.ContextOption.DECLARE);
-        symbol.getDependencies().forEach(writer::addDependency);
+        useWriter(symbol.getDefinitionFile(), symbol.getNamespace(), writer -> {
+            // Add any needed DECLARE symbols.
+            writer.addImportReferences(symbol, SymbolReference.ContextOption.DECLARE);
+            symbol.getDependencies().forEach(writer::addDependency);
 
-        writer.pushState();
-        writerConsumer.accept(writer);
-        writer.popState();
+            writer.pushState();
+            writerConsumer.accept(writer);
+            writer.popState();
+        });
     }
 
     /**
@@ -223,21 +250,240 @@ public class WriterDelegator<W extends SymbolWriter<W, ? extends ImportContainer
         this.automaticSeparator = Objects.requireNonNull(automaticSeparator);
     }
 
-    private W checkoutWriter(String filename, String namespace) {
-        String formattedFilename = Paths.get(filename).normalize().toString();
-        boolean needsNewline = writers.containsKey(formattedFilename);
+    /**
+     * Runs the code generator of each shape concurrently while keeping the
+     * generated code identical to running them sequentially in the given order.
+     *
+     * <p>The definition file of each shape is determined using the
+     * {@link SymbolProvider} of the delegator. Generators of shapes that are
+     * defined in different files write to their files in parallel, while
+     * writes to a file are made in the order of the shapes that are defined
+     * in it. Files that aren't the definition file of any of the given shapes
+     * (for example, an index shared by every shape) are written in the order
+     * of all the given shapes, so writing to them waits until the generators
+     * of every preceding shape have completed.
+     *
+     * <p>A generator must not write to the definition file of another shape,
+     * as the order of those writes couldn't be guaranteed. Doing so fails
+     * with a {@link CodegenException}.
+     *
+     * <p>If a generator fails, generators of later shapes that have not yet
+     * written code are cancelled, and the failure of the earliest failed
+     * generator is thrown.
+     *
+     * @param generators Generators of each shape, in the order they would be run sequentially.
+     * @throws CodegenException if a generator writes to the definition file of another shape.
+     */
+    public final void generateShapesConcurrently(Map<? extends Shape, ? extends Runnable> generators) {
+        if (generators.isEmpty()) {
+            return;
+        }
 
-        W writer = writers.computeIfAbsent(formattedFilename, file -> {
-            W result = factory.apply(file, namespace);
-            interceptors.forEach(result::onSection);
-            return result;
-        });
+        List<Shape> shapes = new ArrayList<>(generators.size());
+        List<Runnable> tasks = new ArrayList<>(generators.size());
+        List<String> files = new ArrayList<>(generators.size());
+        for (Map.Entry<? extends Shape, ? extends Runnable> entry : generators.entrySet()) {
+            shapes.add(entry.getKey());
+            tasks.add(entry.getValue());
+            files.add(formatFilename(symbolProvider.toSymbol(entry.getKey()).getDefinitionFile()));
+        }
 
-        // Add newlines/separators between types in the same file.
-        if (needsNewline) {
-            writer.writeInline(automaticSeparator);
+        WriteOrder order = new WriteOrder(shapes, files);
+        // Use at least two threads so that a shape waiting for its turn to write doesn't stop shapes defined in
+        // other files from being generated.
+        int threads = Math.min(tasks.size(), Math.max(2, Runtime.getRuntime().availableProcessors()));
+        // Tasks are started in order by a FIFO executor, so a task only ever waits on tasks that have started.
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                WriteTurn turn = new WriteTurn(order, i);
+                Runnable task = tasks.get(i);
+                futures.add(executor.submit(() -> {
+                    currentTurn.set(turn);
+                    boolean success = false;
+                    try {
+                        task.run();
+                        success = true;
+                    } finally {
+                        currentTurn.remove();
+                        order.complete(turn.position, success);
+                    }
+                }));
+            }
+            awaitTasks(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitTasks(List<Future<?>> futures) {
+        RuntimeException cancelled = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CodegenException("Interrupted while generating code", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException) {
+                    cancelled = cancelled == null ? (CancellationException) cause : cancelled;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new CodegenException(cause);
+                }
+            }
         }
 
-        return writer;
+        if (cancelled != null) {
+            throw cancelled;
+        }
+    }
+
+    private void useWriter(String filename, String namespace, Consumer<W> writerConsumer) {
+        String formattedFilename = formatFilename(filename);
+        WriteTurn turn = currentTurn.get();
+        if (turn != null) {
+            turn.await(formattedFilename);
+        }
+
+        W writer = checkoutWriter(formattedFilename, namespace);
+
+        // Hold the writer for the entire use so that concurrent writes to the same file don't interleave.
+        synchronized (writer) {
+            // Add newlines/separators between types in the same file.
+            if (!usedFiles.add(formattedFilename)) {
+                writer.writeInline(automaticSeparator);
+            }
+            writerConsumer.accept(writer);
+        }
+    }
+
+    private static String formatFilename(String filename) {
+        return Paths.get(filename).normalize().toString();
+    }
+
+    private W checkoutWriter(String formattedFilename, String namespace) {
+        synchronized (writers) {
+            return writers.computeIfAbsent(formattedFilename, file -> {
+                W result = factory.apply(file, namespace);
+                interceptors.forEach(result::onSection);
+                return result;
+            });
+        }
+    }
+
+    // Tracks which shapes given to generateShapesConcurrently have completed, overall and per definition file.
+    private static final class WriteOrder {
+        private final List<Shape> shapes;
+        private final List<String> files;
+        private final int[] positionInFile;
+        private final Map<String, FileProgress> fileProgress = new HashMap<>();
+        private final boolean[] completed;
+        private int completedPrefix;
+        private int firstFailure = Integer.MAX_VALUE;
+
+        WriteOrder(List<Shape> shapes, List<String> files) {
+            this.shapes = shapes;
+            this.files = files;
+            positionInFile = new int[files.size()];
+            completed = new boolean[files.size()];
+            for (int i = 0; i < files.size(); i++) {
+                FileProgress progress = fileProgress.computeIfAbsent(files.get(i), f -> new FileProgress());
+                positionInFile[i] = progress.size++;
+            }
+            for (FileProgress progress : fileProgress.values()) {
+                progress.completed = new boolean[progress.size];
+            }
+        }
+
+        boolean isDefinitionFile(int position, String file) {
+            return files.get(position).equals(file);
+        }
+
+        synchronized void await(int position, String file) {
+            if (isDefinitionFile(position, file)) {
+                // Wait for the shapes defined in the same file.
+                FileProgress progress = fileProgress.get(file);
+                while (progress.completedPrefix < positionInFile[position] && firstFailure > position) {
+                    waitForCompletion();
+                }
+            } else if (fileProgress.containsKey(file)) {
+                throw new CodegenException(String.format(
+                        "Cannot write to `%s` while generating `%s` concurrently because it is the definition "
+                        + "file of other shapes", file, shapes.get(position).getId()));
+            } else {
+                // Wait for every preceding shape since any of them could write to a shared file.
+                while (completedPrefix < position && firstFailure > position) {
+                    waitForCompletion();
+                }
+            }
+
+            if (firstFailure < position) {
+                throw new CancellationException("Code generation was cancelled because a previous shape failed");
+            }
+        }
+
+        private void waitForCompletion() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CodegenException("Interrupted while waiting to write code", e);
+            }
+        }
+
+        synchronized void complete(int position, boolean success) {
+            completed[position] = true;
+            if (!success) {
+                firstFailure = Math.min(firstFailure, position);
+            }
+            while (completedPrefix < completed.length && completed[completedPrefix]) {
+                completedPrefix++;
+            }
+            fileProgress.get(files.get(position)).complete(positionInFile[position]);
+            notifyAll();
+        }
+    }
+
+    private static final class FileProgress {
+        private int size;
+        private boolean[] completed;
+        private int completedPrefix;
+
+        void complete(int position) {
+            completed[position] = true;
+            while (completedPrefix < completed.length && completed[completedPrefix]) {
+                completedPrefix++;
+            }
+        }
+    }
+
+    // The position of the shape generated on the current thread, and whether it may write to its definition file.
+    private static final class WriteTurn {
+        private final WriteOrder order;
+        private final int position;
+        private boolean definitionFileReady;
+
+        WriteTurn(WriteOrder order, int position) {
+            this.order = order;
+            this.position = position;
+        }
+
+        void await(String file) {
+            if (!order.isDefinitionFile(position, file)) {
+                order.await(position, file);
+                // Every preceding shape has completed, including those defined in the same file.
+                definitionFileReady = true;
+            } else if (!definitionFileReady) {
+                order.await(position, file);
+                definitionFileReady = true;
+            }
+        }
     }
 }
@@ -16,7 +16,9 @@
 package software.amazon.smithy.codegen.core.directed;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -31,7 +33,7 @@ import software.amazon.smithy.codegen.core.SymbolProvider;
 import software.amazon.smithy.codegen.core.SymbolWriter;
 import software.amazon.smithy.codegen.core.TopologicalIndex;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.neighbor.Walker;
+import software.amazon.smithy.model.knowledge.ClosureIndex;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.shapes.EnumShape;
@@ -387,19 +389,39 @@ public final class CodegenDirector<
 
     private void generateShapesInService(C context, ServiceShape serviceShape) {
         LOGGER.fine(() -> "Generating shapes for " + directedCodegen.getClass().getName());
-        Set<Shape> shapes = new Walker(context.model()).walkShapes(serviceShape);
+        Set<Shape> shapes = ClosureIndex.of(context.model()).getClosure(serviceShape);
         TopologicalIndex topologicalIndex = TopologicalIndex.of(context.model());
         ShapeGenerator<W, C, S> generator = new ShapeGenerator<>(context, serviceShape, directedCodegen);
+        List<Shape> orderedShapes = new ArrayList<>(shapes.size());
+
         for (Shape shape : topologicalIndex.getOrderedShapes()) {
             if (shapes.contains(shape)) {
-                shape.accept(generator);
+                orderedShapes.add(shape);
             }
         }
         for (Shape shape : topologicalIndex.getRecursiveShapes()) {
             if (shapes.contains(shape)) {
-                shape.accept(generator);
+                orderedShapes.add(shape);
+            }
+        }
+
+        // The generator returns how to generate each shape, or null if the shape doesn't generate code.
+        Map<Shape, Runnable> generators = new LinkedHashMap<>();
+        for (Shape shape : orderedShapes) {
+            Runnable shapeGenerator = shape.accept(generator);
+            if (shapeGenerator != null) {
+                generators.put(shape, shapeGenerator);
             }
         }
+
+        if (directedCodegen.isThreadSafe()) {
+            LOGGER.fine(() -> String.format("Generating %d shapes concurrently for %s",
+                                            generators.size(), directedCodegen.getClass().getName()));
+            context.writerDelegator().generateShapesConcurrently(generators);
+        } else {
+            generators.values().forEach(Runnable::run);
+        }
+
         LOGGER.finest(() -> "Finished generating shapes for " + directedCodegen.getClass().getName());
     }
 
@@ -414,7 +436,7 @@ public final class CodegenDirector<
     private static class ShapeGenerator<
             W extends SymbolWriter<W, ? extends ImportContainer>,
             C extends CodegenContext<S, W, ?>,
-            S> extends ShapeVisitor.Default<Void> {
+            S> extends ShapeVisitor.Default<Runnable> {
 
         private final C context;
         private final ServiceShape serviceShape;
@@ -427,51 +449,58 @@ public final class CodegenDirector<
         }
 
         @Override
-        protected Void getDefault(Shape shape) {
+        protected Runnable getDefault(Shape shape) {
             return null;
         }
 
         @Override
-        public Void resourceShape(ResourceShape shape) {
-            LOGGER.finest(() -> "Generating resource " + shape.getId());
-            directedCodegen.generateResource(
-                    new GenerateResourceDirective<>(context, serviceShape, shape));
-            return null;
+        public Runnable resourceShape(ResourceShape shape) {
+            return () -> {
+                LOGGER.finest(() -> "Generating resource " + shape.getId());
+                directedCodegen.generateResource(
+                        new GenerateResourceDirective<>(context, serviceShape, shape));
+            };
         }
 
         @Override
-        public Void structureShape(StructureShape shape) {
-            if (shape.hasTrait(ErrorTrait.class)) {
-                LOGGER.finest(() -> "Generating error " + shape.getId());
-                directedCodegen.generateError(new GenerateErrorDirective<>(context, serviceShape, shape));
-            } else {
-                LOGGER.finest(() -> "Generating structure " + shape.getId());
-                directedCodegen.generateStructure(new GenerateStructureDirective<>(context, serviceShape, shape));
-            }
-            return null;
+        public Runnable structureShape(StructureShape shape) {
+            return () -> {
+                if (shape.hasTrait(ErrorTrait.class)) {
+                    LOGGER.finest(() -> "Generating error " + shape.getId());
+                    directedCodegen.generateError(new GenerateErrorDirective<>(context, serviceShape, shape));
+                } else {
+                    LOGGER.finest(() -> "Generating structure " + shape.getId());
+                    directedCodegen.generateStructure(
+                            new GenerateStructureDirective<>(context, serviceShape, shape));
+                }
+            };
         }
 
         @Override
-        public Void unionShape(UnionShape shape) {
-            LOGGER.finest(() -> "Generating union " + shape.getId());
-            directedCodegen.generateUnion(new GenerateUnionDirective<>(context, serviceShape, shape));
-            return null;
+        public Runnable unionShape(UnionShape shape) {
+            return () -> {
+                LOGGER.finest(() -> "Generating union " + shape.getId());
+                directedCodegen.generateUnion(new GenerateUnionDirective<>(context, serviceShape, shape));
+            };
         }
 
         @Override
-        public Void stringShape(StringShape shape) {
-            if (shape.hasTrait(EnumTrait.class)) {
+        public Runnable stringShape(StringShape shape) {
+            if (!shape.hasTrait(EnumTrait.class)) {
+                return null;
+            }
+            return () -> {
                 LOGGER.finest(() -> "Generating string enum " + shape.getId());
                 directedCodegen.generateEnumShape(new GenerateEnumDirective<>(context, serviceShape, shape));
-            }
-            return null;
+            };
         }
 
         @Override
-        public Void enumShape(EnumShape shape) {
-            LOGGER.finest(() -> "Generating enum shape" + shape.getId());
-            directedCodegen.generateEnumShape(new GenerateEnumDirective<>(context, serviceShape, shape));
-            return null;
+        public Runnable enumShape(EnumShape shape) {
+            return () -> {
+                LOGGER.finest(() -> "Generating enum shape" + shape.getId());
+                directedCodegen.generateEnumShape(new GenerateEnumDirective<>(context, serviceShape, shape));
+            };
         }
     }
 }
@@ -128,4 +128,31 @@ public interface DirectedCodegen<C extends CodegenContext<S, ?, I>, S, I extends
     default void customizeAfterIntegrations(CustomizeDirective<C, S> directive) {
         // Does nothing by default.
     }
+
+    /**
+     * Returns true if shapes can be generated concurrently by multiple threads.
+     *
+     * <p>When true, {@link CodegenDirector} generates resources, structures,
+     * errors, unions, and enums concurrently using
+     * {@link WriterDelegator#generateShapesConcurrently}. Shapes defined in
+     * different files (as determined by {@link SymbolProvider}) are generated
+     * in parallel, while code is written to each file in the same
+     * topological order it would be written sequentially, so the generated
+     * files remain deterministic. Shapes defined in the same file, and writes
+     * to files that aren't the definition file of any shape, are effectively
+     * generated one at a time, so generators that put every shape in the
+     * same file gain nothing from concurrency.
+     *
+     * <p>Implementations that return true must be safe to call concurrently,
+     * must not write to the definition file of another shape, and must not
+     * rely on other shapes having been generated.
+     *
+     * <p>Services, integrations, and customizations are always generated
+     * sequentially.
+     *
+     * @return Returns true if shape generation is thread-safe.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
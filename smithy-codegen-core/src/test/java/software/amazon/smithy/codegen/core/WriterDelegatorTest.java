@@ -17,11 +17,22 @@ package software.amazon.smithy.codegen.core;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasKey;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.build.MockManifest;
 import software.amazon.smithy.model.shapes.Shape;
@@ -124,6 +135,38 @@ public class WriterDelegatorTest {
         assertThat(mockManifest.getFileString("com/foo/Baz.bam"), equalTo(Optional.of("Hi!\n")));
     }
 
+    @Test
+    public void flushesWritersWithPrefixes() {
+        MockManifest mockManifest = new MockManifest();
+        SymbolProvider provider = (shape) -> Symbol.builder()
+                .namespace("com.foo", ".")
+                .name("Baz")
+                .definitionFile("com/foo/Baz.bam")
+                .build();
+        WriterDelegator<HeaderWriter> delegator = new WriterDelegator<>(
+                mockManifest, provider, (f, n) -> new HeaderWriter());
+        Shape shape = StringShape.builder().id("com.foo#Baz").build();
+        delegator.useShapeWriter(shape, writer -> {
+            writer.trimBlankLines().write("Hi!\n\n\n\nBye!");
+        });
+
+        delegator.flushWriters();
+
+        assertThat(mockManifest.getFileString("com/foo/Baz.bam"),
+                   equalTo(Optional.of("// header\nHi!\n\nBye!\n")));
+    }
+
+    private static final class HeaderWriter extends SymbolWriter<HeaderWriter, ImportContainer> {
+        HeaderWriter() {
+            super((symbol, alias) -> { });
+        }
+
+        @Override
+        protected void writePrefix(Writer writer) throws IOException {
+            writer.write("// header\n");
+        }
+    }
+
     @Test
     public void registersInterceptors() {
         MockManifest mockManifest = new MockManifest();
@@ -146,4 +189,118 @@ public class WriterDelegatorTest {
 
         assertThat(delegator.getWriters().get(Paths.get("/foo.txt").toString()).toString(), equalTo("Yes\n"));
     }
+
+    @Test
+    public void generatesShapesConcurrentlyInOrder() {
+        WriterDelegator<MySimpleWriter> delegator = createConcurrentDelegator();
+        Map<Shape, Runnable> generators = new LinkedHashMap<>();
+
+        for (int i = 0; i < 20; i++) {
+            int position = i;
+            Shape shape = StringShape.builder().id("com.foo#" + (i % 2 == 0 ? "Even" : "Odd") + i).build();
+            generators.put(shape, () -> {
+                // Earlier shapes take longer, so they would finish last if writes weren't ordered.
+                sleep(20 - position);
+                delegator.useShapeWriter(shape, writer -> writer.write("$L", position));
+                delegator.useFileWriter("all.txt", writer -> writer.write("$L", position));
+            });
+        }
+
+        delegator.generateShapesConcurrently(generators);
+
+        assertThat(delegator.getWriters().get("all.txt").toString(),
+                   equalTo("0\n\n1\n\n2\n\n3\n\n4\n\n5\n\n6\n\n7\n\n8\n\n9\n\n10\n\n11\n\n12\n\n13\n\n"
+                           + "14\n\n15\n\n16\n\n17\n\n18\n\n19\n"));
+        assertThat(delegator.getWriters().get("Even.txt").toString(),
+                   equalTo("0\n\n2\n\n4\n\n6\n\n8\n\n10\n\n12\n\n14\n\n16\n\n18\n"));
+        assertThat(delegator.getWriters().get("Odd.txt").toString(),
+                   equalTo("1\n\n3\n\n5\n\n7\n\n9\n\n11\n\n13\n\n15\n\n17\n\n19\n"));
+    }
+
+    @Test
+    public void writesShapesDefinedInDifferentFilesAtTheSameTime() {
+        WriterDelegator<MySimpleWriter> delegator = createConcurrentDelegator();
+        CountDownLatch bothWriting = new CountDownLatch(2);
+        List<Boolean> overlapped = Collections.synchronizedList(new ArrayList<>());
+        Map<Shape, Runnable> generators = new LinkedHashMap<>();
+
+        for (String name : ListUtils.of("Even1", "Odd1")) {
+            Shape shape = StringShape.builder().id("com.foo#" + name).build();
+            generators.put(shape, () -> delegator.useShapeWriter(shape, writer -> {
+                // Each writer consumer waits until the other one has started.
+                bothWriting.countDown();
+                overlapped.add(await(bothWriting));
+                writer.write(name);
+            }));
+        }
+
+        delegator.generateShapesConcurrently(generators);
+
+        assertThat(overlapped, contains(true, true));
+        assertThat(delegator.getWriters().get("Even.txt").toString(), equalTo("Even1\n"));
+        assertThat(delegator.getWriters().get("Odd.txt").toString(), equalTo("Odd1\n"));
+    }
+
+    @Test
+    public void throwsFirstFailureOfConcurrentShapes() {
+        WriterDelegator<MySimpleWriter> delegator = createConcurrentDelegator();
+        Map<Shape, Runnable> generators = new LinkedHashMap<>();
+        Shape a = StringShape.builder().id("com.foo#EvenA").build();
+        Shape b = StringShape.builder().id("com.foo#EvenB").build();
+        Shape c = StringShape.builder().id("com.foo#EvenC").build();
+
+        generators.put(a, () -> delegator.useShapeWriter(a, writer -> writer.write("a")));
+        generators.put(b, () -> {
+            throw new IllegalStateException("b");
+        });
+        generators.put(c, () -> delegator.useShapeWriter(c, writer -> writer.write("c")));
+
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                                                          () -> delegator.generateShapesConcurrently(generators));
+
+        assertThat(e.getMessage(), equalTo("b"));
+        assertThat(delegator.getWriters().get("Even.txt").toString(), equalTo("a\n"));
+    }
+
+    @Test
+    public void rejectsWritesToDefinitionFilesOfOtherShapes() {
+        WriterDelegator<MySimpleWriter> delegator = createConcurrentDelegator();
+        Map<Shape, Runnable> generators = new LinkedHashMap<>();
+        Shape even = StringShape.builder().id("com.foo#Even1").build();
+        Shape odd = StringShape.builder().id("com.foo#Odd1").build();
+
+        generators.put(even, () -> delegator.useShapeWriter(even, writer -> writer.write("even")));
+        generators.put(odd, () -> delegator.useFileWriter("Even.txt", writer -> writer.write("odd")));
+
+        CodegenException e = Assertions.assertThrows(CodegenException.class,
+                                                     () -> delegator.generateShapesConcurrently(generators));
+
+        assertThat(e.getMessage(), containsString("com.foo#Odd1"));
+    }
+
+    private static WriterDelegator<MySimpleWriter> createConcurrentDelegator() {
+        // Shapes with names that start with "Even" are defined in Even.txt, and every other shape in Odd.txt.
+        SymbolProvider provider = (shape) -> Symbol.builder()
+                .namespace("com.foo", ".")
+                .name(shape.getId().getName())
+                .definitionFile(shape.getId().getName().startsWith("Even") ? "Even.txt" : "Odd.txt")
+                .build();
+        return new WriterDelegator<>(new MockManifest(), provider, (f, n) -> new MySimpleWriter(n));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
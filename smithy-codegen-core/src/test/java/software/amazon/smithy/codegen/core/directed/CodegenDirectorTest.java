@@ -19,8 +19,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -37,15 +40,33 @@ import software.amazon.smithy.model.shapes.ShapeId;
 public class CodegenDirectorTest {
 
     private static final class TestDirected implements DirectedCodegen<TestContext, TestSettings, TestIntegration> {
-        public final List<ShapeId> generatedShapes = new ArrayList<>();
-        public final List<ShapeId> generatedEnumTypeEnums = new ArrayList<>();
-        public final List<ShapeId> generatedStringTypeEnums = new ArrayList<>();
+        public final List<ShapeId> generatedShapes = Collections.synchronizedList(new ArrayList<>());
+        public final List<ShapeId> generatedEnumTypeEnums = Collections.synchronizedList(new ArrayList<>());
+        public final List<ShapeId> generatedStringTypeEnums = Collections.synchronizedList(new ArrayList<>());
+        private final boolean threadSafe;
+
+        TestDirected() {
+            this(false);
+        }
+
+        TestDirected(boolean threadSafe) {
+            this.threadSafe = threadSafe;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return threadSafe;
+        }
 
         @Override
         public SymbolProvider createSymbolProvider(CreateSymbolProviderDirective<TestSettings> directive) {
+            // Shapes with single letter names are all defined in the same file.
             return shape -> Symbol.builder()
                     .name(shape.getId().getName())
                     .namespace(shape.getId().getNamespace(), ".")
+                    .definitionFile(shape.getId().getName().length() == 1
+                                    ? "letters.txt"
+                                    : shape.getId().getName() + ".txt")
                     .build();
         }
 
@@ -73,6 +94,13 @@ public class CodegenDirectorTest {
         @Override
         public void generateStructure(GenerateStructureDirective<TestContext, TestSettings> directive) {
             generatedShapes.add(directive.shape().getId());
+            directive.context().writerDelegator().useShapeWriter(directive.shape(), writer -> {
+                writer.write(directive.shape().getId().getName());
+            });
+            // Every structure also writes to a file shared by shapes with different definition files.
+            directive.context().writerDelegator().useFileWriter("structures.txt", writer -> {
+                writer.write(directive.shape().getId().getName());
+            });
         }
 
         @Override
@@ -253,4 +281,54 @@ public class CodegenDirectorTest {
                 ShapeId.from("smithy.example#Foo")
         ));
     }
+
+    @Test
+    public void generatesThreadSafeShapesConcurrently() {
+        TestDirected testDirected = new TestDirected(true);
+        MockManifest manifest = generateNeedsSorting(testDirected);
+        MockManifest sequentialManifest = generateNeedsSorting(new TestDirected());
+
+        assertThat(testDirected.generatedShapes, containsInAnyOrder(
+                ShapeId.from("smithy.example#D"),
+                ShapeId.from("smithy.example#C"),
+                ShapeId.from("smithy.example#B"),
+                ShapeId.from("smithy.example#A"),
+                ShapeId.from("smithy.example#FooOperationOutput"),
+                ShapeId.from("smithy.example#RecursiveA"),
+                ShapeId.from("smithy.example#RecursiveB"),
+                ShapeId.from("smithy.example#FooOperationInput"),
+                ShapeId.from("smithy.example#Foo")
+        ));
+
+        // Code is written in topological order, even to files shared by shapes in different definition files.
+        assertThat(manifest.getFileString("letters.txt").get(), equalTo("D\n\nC\n\nB\n\nA\n"));
+        assertThat(manifest.getFileString("RecursiveB.txt").get(), equalTo("RecursiveB\n"));
+        assertThat(manifest.getFiles(), equalTo(sequentialManifest.getFiles()));
+        for (Path file : manifest.getFiles()) {
+            assertThat(manifest.expectFileString(file), equalTo(sequentialManifest.expectFileString(file)));
+        }
+    }
+
+    private MockManifest generateNeedsSorting(TestDirected testDirected) {
+        CodegenDirector<TestWriter, TestIntegration, TestContext, TestSettings> runner
+                = new CodegenDirector<>();
+        MockManifest manifest = new MockManifest();
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("needs-sorting.smithy"))
+                .assemble()
+                .unwrap();
+
+        runner.settings(new TestSettings());
+        runner.directedCodegen(testDirected);
+        runner.fileManifest(manifest);
+        runner.service(ShapeId.from("smithy.example#Foo"));
+        runner.model(model);
+        runner.integrationClass(TestIntegration.class);
+        runner.performDefaultCodegenTransforms();
+        runner.createDedicatedInputsAndOutputs();
+        runner.sortMembers();
+        runner.run();
+
+        return manifest;
+    }
 }
@@ -15,11 +15,9 @@
 
 package software.amazon.smithy.diff;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -27,6 +25,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.ServiceProviderRegistry;
 import software.amazon.smithy.utils.SmithyBuilder;
 
 /**
@@ -277,8 +276,7 @@ public final class ModelDiff {
             SmithyBuilder.requiredState("oldModel", oldModel);
             SmithyBuilder.requiredState("newModel", newModel);
 
-            List<DiffEvaluator> evaluators = new ArrayList<>();
-            ServiceLoader.load(DiffEvaluator.class, classLoader).forEach(evaluators::add);
+            List<DiffEvaluator> evaluators = ServiceProviderRegistry.getProviders(DiffEvaluator.class, classLoader);
             Differences differences = Differences.detect(oldModel, newModel);
             List<ValidationEvent> diffEvents = evaluators.parallelStream()
                     .flatMap(evaluator -> evaluator.evaluate(differences).stream())
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jsonschema.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.jsonschema.JsonSchemaConverter;
+import software.amazon.smithy.jsonschema.SchemaDocument;
+import software.amazon.smithy.model.Model;
+
+/**
+ * Converts a synthetic model to JSON Schema.
+ *
+ * <p>The model contains {@code rootCount} structures, each of which
+ * contains structures nested {@code depth} levels deep. A second model
+ * contains a single structure with {@code memberCount} string members
+ * whose schemas differ only by the traits of their targets.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class JsonSchemaConversion {
+
+    @State(Scope.Thread)
+    public static class ModelState {
+        @Param({"100", "1000"})
+        public int rootCount;
+
+        @Param({"2", "8"})
+        public int depth;
+
+        public Model model;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .addUnparsedModel("synthetic.smithy", createModel(rootCount, depth))
+                    .assemble()
+                    .unwrap();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WideStructureState {
+        @Param({"2000", "16000"})
+        public int memberCount;
+
+        public Model model;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .addUnparsedModel("wide.smithy", createWideStructureModel(memberCount))
+                    .assemble()
+                    .unwrap();
+        }
+    }
+
+    @Benchmark
+    public SchemaDocument convert(ModelState state) {
+        return JsonSchemaConverter.builder().model(state.model).build().convert();
+    }
+
+    @Benchmark
+    public SchemaDocument convertWideStructure(WideStructureState state) {
+        return JsonSchemaConverter.builder().model(state.model).build().convert();
+    }
+
+    private static String createModel(int rootCount, int depth) {
+        StringBuilder model = new StringBuilder();
+        model.append("namespace smithy.example\n\n");
+
+        for (int root = 0; root < rootCount; root++) {
+            String name = "Root" + root;
+            for (int level = 0; level < depth; level++) {
+                model.append("/// Level ").append(level).append(" of ").append(name).append(".\n")
+                        .append("structure ").append(name).append("Level").append(level).append(" {\n")
+                        .append("    @required\n    @length(min: 1, max: 128)\n    name: String,\n")
+                        .append("    @range(min: 0)\n    count: Integer,\n")
+                        .append("    enabled: Boolean,\n")
+                        .append("    createdAt: Timestamp,\n")
+                        .append("    tags: StringList,\n")
+                        .append("    attributes: StringMap,\n")
+                        .append("    choice: Choice");
+                if (level + 1 < depth) {
+                    model.append(",\n    child: ").append(name).append("Level").append(level + 1);
+                }
+                model.append("\n}\n\n");
+            }
+        }
+
+        model.append("union Choice {\n    text: String,\n    number: Long\n}\n\n")
+                .append("list StringList {\n    member: String\n}\n\n")
+                .append("map StringMap {\n    key: String,\n    value: String\n}\n");
+        return model.toString();
+    }
+
+    private static String createWideStructureModel(int memberCount) {
+        StringBuilder model = new StringBuilder();
+        model.append("namespace smithy.example\n\n")
+                .append("structure Wide {\n");
+
+        for (int member = 0; member < memberCount; member++) {
+            model.append("    member").append(member).append(": String").append(member).append(",\n");
+        }
+
+        model.append("}\n\n");
+
+        // Traits are applied to the targets rather than the members so that the benchmark measures schema
+        // conversion instead of removing traits from thousands of members when trait definitions are scrubbed.
+        for (int member = 0; member < memberCount; member++) {
+            model.append("/// String ").append(member).append(".\n")
+                    .append("@length(max: ").append(member + 1).append(")\n")
+                    .append("string String").append(member).append("\n\n");
+        }
+
+        return model.toString();
+    }
+}
@@ -18,14 +18,17 @@ package software.amazon.smithy.jsonschema;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.ClosureIndex;
 import software.amazon.smithy.model.loader.Prelude;
-import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -68,6 +71,9 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
     /** A workaround for including definitions for Unit; it's only included in the schema if a union targets it. */
     private final boolean unitTargetedByUnion;
 
+    /** Documents created by {@link #convertShape}, keyed by the converted shape. */
+    private final Map<Shape, SchemaDocument> convertedShapes = new ConcurrentHashMap<>();
+
     private JsonSchemaConverter(Builder builder) {
         mappers.addAll(builder.mappers);
         config = SmithyBuilder.requiredState("config", builder.config);
@@ -127,7 +133,7 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
 
         if (rootShape != null) {
             LOGGER.fine(() -> "Filtering out shapes that are not connected to " + rootShape);
-            Set<Shape> connected = new Walker(model).walkShapes(rootShape);
+            Set<Shape> connected = ClosureIndex.of(model).getClosure(rootShape);
             LOGGER.fine(() -> "Only generating the following JSON schema shapes: " + connected.stream()
                     .map(Shape::getId)
                     .map(ShapeId::toString)
@@ -147,7 +153,7 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
         if (serviceId == null) {
             return model;
         }
-        Set<Shape> connected = new Walker(model).walkShapes(model.expectShape(serviceId));
+        Set<Shape> connected = ClosureIndex.of(model).getClosure(model.expectShape(serviceId));
         return ModelTransformer.create().filterShapes(model, connected::contains);
     }
 
@@ -182,6 +188,8 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
      */
     public void setConfig(JsonSchemaConfig config) {
         this.config = config;
+        convertedShapes.clear();
+        visitor.clearCache();
     }
 
     /**
@@ -242,12 +250,28 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
      * @return Returns the created SchemaDocument.
      */
     public SchemaDocument convert() {
+        return convert((shape, pointer) -> null);
+    }
+
+    /**
+     * Perform the conversion of the entire shape index, reusing previously
+     * converted definitions.
+     *
+     * <p>{@code previousDefinitions} is called with each shape that is
+     * converted to a top-level definition and the pointer of the definition.
+     * If it returns a schema, that schema is used as the definition instead
+     * of converting the shape. If it returns null, the shape is converted.
+     *
+     * @param previousDefinitions Returns the previously converted schema of a shape, or null.
+     * @return Returns the created SchemaDocument.
+     */
+    public SchemaDocument convert(BiFunction<Shape, String, Schema> previousDefinitions) {
         LOGGER.fine("Converting to JSON schema");
         SchemaDocument.Builder builder = SchemaDocument.builder();
 
         if (rootShape != null && !(rootShape instanceof ServiceShape)) {
             LOGGER.fine(() -> "Setting root schema to " + rootShape);
-            builder.rootSchema(rootShape.accept(visitor));
+            builder.rootSchema(visitor.toSchema(rootShape));
         }
 
         addExtensions(builder);
@@ -274,8 +298,12 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
                 .filter(pair -> isTopLevelPointer(pair.getLeft()))
                 // Create the pointer to the shape and schema object.
                 .map(pair -> {
+                    Schema previous = previousDefinitions.apply(pair.getRight(), pair.getLeft());
+                    if (previous != null) {
+                        return Pair.of(pair.getLeft(), previous);
+                    }
                     LOGGER.fine(() -> "Converting " + pair.getRight() + " to JSON schema at " + pair.getLeft());
-                    return Pair.of(pair.getLeft(), pair.getRight().accept(visitor));
+                    return Pair.of(pair.getLeft(), visitor.toSchema(pair.getRight()));
                 })
                 .forEach(pair -> builder.putDefinition(pair.getLeft(), pair.getRight()));
 
@@ -292,13 +320,27 @@ public final class JsonSchemaConverter implements ToSmithyBuilder<JsonSchemaConv
      * conversion also doesn't take the shape predicate or private
      * controls into account.
      *
+     * <p>Converted documents are cached, so converting an equal shape again
+     * returns the same document. This method can be called concurrently.
+     *
      * @param shape Shape to convert.
      * @return Returns the created SchemaDocument.
      */
     public SchemaDocument convertShape(Shape shape) {
-        SchemaDocument.Builder builder = SchemaDocument.builder();
-        builder.rootSchema(shape.accept(visitor));
-        return builder.build();
+        SchemaDocument result = convertedShapes.get(shape);
+
+        if (result == null) {
+            // Conversion can be expensive, so it isn't performed while holding a lock on the map.
+            SchemaDocument.Builder builder = SchemaDocument.builder();
+            builder.rootSchema(visitor.toSchema(shape));
+            result = builder.build();
+            SchemaDocument previous = convertedShapes.putIfAbsent(shape, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+
+        return result;
     }
 
     // We can't generate service, resource, or operation schemas.
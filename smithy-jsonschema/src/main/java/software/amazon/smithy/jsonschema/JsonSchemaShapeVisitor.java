@@ -18,9 +18,12 @@ package software.amazon.smithy.jsonschema;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.Node.NonNumericFloat;
 import software.amazon.smithy.model.shapes.BigDecimalShape;
 import software.amazon.smithy.model.shapes.BigIntegerShape;
@@ -53,12 +56,25 @@ import software.amazon.smithy.model.traits.TitleTrait;
 import software.amazon.smithy.model.traits.UniqueItemsTrait;
 import software.amazon.smithy.utils.ListUtils;
 
+/**
+ * Converts shapes to schemas.
+ *
+ * <p>Converted schemas are memoized by shape, and structurally identical
+ * schemas are canonicalized to a single immutable instance so that equal
+ * schemas aren't held in memory more than once. Both caches are safe to
+ * use from multiple threads and are cleared when the configuration of the
+ * converter changes.
+ */
 final class JsonSchemaShapeVisitor extends ShapeVisitor.Default<Schema> {
     private static final Set<String> NON_NUMERIC_FLOAT_VALUES = NonNumericFloat.stringRepresentations();
 
     private final Model model;
     private final JsonSchemaConverter converter;
     private final List<JsonSchemaMapper> mappers;
+    private final Map<Shape, Schema> shapeSchemas = new ConcurrentHashMap<>();
+    // Keyed by the node form of each schema because Schema#hashCode only hashes a few properties, which would
+    // place schemas that differ only in things like descriptions or patterns in the same hash bucket.
+    private final Map<Node, Schema> canonicalSchemas = new ConcurrentHashMap<>();
 
     JsonSchemaShapeVisitor(Model model, JsonSchemaConverter converter, List<JsonSchemaMapper> mappers) {
         this.model = model;
@@ -66,6 +82,38 @@ final class JsonSchemaShapeVisitor extends ShapeVisitor.Default<Schema> {
         this.mappers = mappers;
     }
 
+    /**
+     * Converts a shape to a schema, reusing a previously converted schema
+     * for the shape if one exists.
+     *
+     * @param shape Shape to convert.
+     * @return Returns the converted schema.
+     */
+    Schema toSchema(Shape shape) {
+        Schema result = shapeSchemas.get(shape);
+
+        if (result == null) {
+            // Conversion recursively converts other shapes, so it can't be done inside of computeIfAbsent.
+            result = shape.accept(this);
+            Schema previous = shapeSchemas.putIfAbsent(shape, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Clears the cached schemas of the visitor.
+     *
+     * <p>This must be called when the configuration of the converter changes.
+     */
+    void clearCache() {
+        shapeSchemas.clear();
+        canonicalSchemas.clear();
+    }
+
     @Override
     public Schema getDefault(Shape shape) {
         throw new SmithyJsonSchemaException("Unable to convert " + shape + " to JSON Schema");
@@ -98,11 +146,11 @@ final class JsonSchemaShapeVisitor extends ShapeVisitor.Default<Schema> {
 
     private Schema createRef(MemberShape member) {
         if (converter.isInlined(member)) {
-            return member.accept(this);
+            return toSchema(member);
         } else {
             Schema.Builder builder = Schema.builder().ref(converter.toPointer(member.getTarget()));
             member.getTrait(DefaultTrait.class).ifPresent(trait -> builder.defaultValue(trait.toNode()));
-            return builder.build();
+            return canonicalize(builder.build());
         }
     }
 
@@ -245,7 +293,7 @@ final class JsonSchemaShapeVisitor extends ShapeVisitor.Default<Schema> {
     @Override
     public Schema memberShape(MemberShape memberShape) {
         Shape target = getTarget(memberShape);
-        return buildSchema(memberShape, updateBuilder(memberShape, target.accept(this).toBuilder()));
+        return buildSchema(memberShape, updateBuilder(memberShape, toSchema(target).toBuilder()));
     }
 
     private Shape getTarget(MemberShape member) {
@@ -334,6 +382,11 @@ final class JsonSchemaShapeVisitor extends ShapeVisitor.Default<Schema> {
             mapper.updateSchema(shape, builder, converter.getConfig());
         }
 
-        return builder.build();
+        return canonicalize(builder.build());
+    }
+
+    private Schema canonicalize(Schema schema) {
+        Schema existing = canonicalSchemas.putIfAbsent(schema.toNode(), schema);
+        return existing == null ? schema : existing;
     }
 }
@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -95,6 +96,26 @@ public class JsonSchemaConverterTest {
         Node.assertEquals(document.toNode(), expected);
     }
 
+    @Test
+    public void reusesPreviousDefinitions() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .assemble()
+                .unwrap();
+        JsonSchemaConverter converter = JsonSchemaConverter.builder().model(model).build();
+        SchemaDocument original = converter.convert();
+        Schema reused = Schema.builder().type("object").build();
+        SchemaDocument document = converter.convert((shape, pointer) -> {
+            assertThat(pointer, equalTo(converter.toPointer(shape)));
+            return reused;
+        });
+
+        assertThat(document.getDefinitions().keySet(), equalTo(original.getDefinitions().keySet()));
+        for (Schema schema : document.getDefinitions().values()) {
+            assertThat(schema, sameInstance(reused));
+        }
+    }
+
     @Test
     public void canConvertShapesThatAreOnlyInTheClosureOfShape() {
         Model model = Model.assembler()
@@ -239,6 +260,32 @@ public class JsonSchemaConverterTest {
         assertThat(document.getRootSchema().getType().get(), equalTo("string"));
     }
 
+    @Test
+    public void cachesConvertedShapes() {
+        StringShape shape = StringShape.builder().id("smithy.example#String").build();
+        StringShape documented = shape.toBuilder().addTrait(new DocumentationTrait("docs")).build();
+        Model model = Model.builder().addShape(shape).build();
+        JsonSchemaConverter converter = JsonSchemaConverter.builder().model(model).build();
+        SchemaDocument document = converter.convertShape(shape);
+
+        assertThat(converter.convertShape(shape), sameInstance(document));
+        assertThat(converter.convertShape(documented), not(sameInstance(document)));
+        assertThat(converter.convertShape(documented).getRootSchema().getDescription().get(), equalTo("docs"));
+
+        converter.setConfig(new JsonSchemaConfig());
+        assertThat(converter.convertShape(shape), not(sameInstance(document)));
+    }
+
+    @Test
+    public void reusesStructurallyIdenticalSchemas() {
+        StringShape a = StringShape.builder().id("smithy.example#A").build();
+        StringShape b = StringShape.builder().id("smithy.example#B").build();
+        Model model = Model.builder().addShapes(a, b).build();
+        JsonSchemaConverter converter = JsonSchemaConverter.builder().model(model).build();
+
+        assertThat(converter.convertShape(a).getRootSchema(), sameInstance(converter.convertShape(b).getRootSchema()));
+    }
+
     @Test
     public void convertsBlobToString() {
         BlobShape shape = BlobShape.builder().id("smithy.example#Blob").build();
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.knowledge.BottomUpIndex;
+import software.amazon.smithy.model.knowledge.ClosureIndex;
+import software.amazon.smithy.model.knowledge.EventStreamIndex;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.IdentifierBindingIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.NullableIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.PaginatedIndex;
+import software.amazon.smithy.model.knowledge.StronglyConnectedComponentsIndex;
+import software.amazon.smithy.model.knowledge.TextIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+
+/**
+ * Builds each core knowledge index over synthetic models of increasing size.
+ *
+ * <p>Indexes are created directly rather than through
+ * {@link software.amazon.smithy.model.Model#getKnowledge} so that they
+ * aren't cached between invocations.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class KnowledgeIndexes {
+
+    @Benchmark
+    public BottomUpIndex bottomUpIndex(SyntheticModelState state) {
+        return new BottomUpIndex(state.model);
+    }
+
+    @Benchmark
+    public ClosureIndex closureIndex(SyntheticModelState state) {
+        return new ClosureIndex(state.model);
+    }
+
+    @Benchmark
+    public EventStreamIndex eventStreamIndex(SyntheticModelState state) {
+        return new EventStreamIndex(state.model);
+    }
+
+    @Benchmark
+    public HttpBindingIndex httpBindingIndex(SyntheticModelState state) {
+        return new HttpBindingIndex(state.model);
+    }
+
+    @Benchmark
+    public IdentifierBindingIndex identifierBindingIndex(SyntheticModelState state) {
+        return new IdentifierBindingIndex(state.model);
+    }
+
+    @Benchmark
+    public NeighborProviderIndex neighborProviderIndex(SyntheticModelState state) {
+        return new NeighborProviderIndex(state.model);
+    }
+
+    @Benchmark
+    public NullableIndex nullableIndex(SyntheticModelState state) {
+        return new NullableIndex(state.model);
+    }
+
+    @Benchmark
+    public OperationIndex operationIndex(SyntheticModelState state) {
+        return new OperationIndex(state.model);
+    }
+
+    @Benchmark
+    public PaginatedIndex paginatedIndex(SyntheticModelState state) {
+        return new PaginatedIndex(state.model);
+    }
+
+    @Benchmark
+    public StronglyConnectedComponentsIndex stronglyConnectedComponentsIndex(SyntheticModelState state) {
+        return new StronglyConnectedComponentsIndex(state.model);
+    }
+
+    @Benchmark
+    public TextIndex textIndex(SyntheticModelState state) {
+        return new TextIndex(state.model);
+    }
+
+    @Benchmark
+    public TopDownIndex topDownIndex(SyntheticModelState state) {
+        return new TopDownIndex(state.model);
+    }
+}
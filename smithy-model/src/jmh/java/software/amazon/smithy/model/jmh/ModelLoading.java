@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+
+/**
+ * Loads and validates synthetic models of increasing size.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ModelLoading {
+
+    @Benchmark
+    public Model loadIdl(SyntheticModelState state) {
+        return Model.assembler()
+                .addUnparsedModel("synthetic.smithy", state.idl)
+                .disableValidation()
+                .assemble()
+                .unwrap();
+    }
+
+    @Benchmark
+    public Model loadJson(SyntheticModelState state) {
+        return Model.assembler()
+                .addUnparsedModel("synthetic.json", state.json)
+                .disableValidation()
+                .assemble()
+                .unwrap();
+    }
+
+    // Validation of a model that's already loaded, which runs every validator.
+    @Benchmark
+    public Model validate(SyntheticModelState state) {
+        return Model.assembler()
+                .addModel(state.model)
+                .assemble()
+                .unwrap();
+    }
+}
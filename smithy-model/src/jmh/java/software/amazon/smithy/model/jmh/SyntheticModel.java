@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+/**
+ * Generates deterministic synthetic models in the Smithy IDL.
+ *
+ * <p>A model consists of a service and a repeated unit of shapes: an
+ * operation with the HTTP trait, its input and output, a cycle of
+ * mutually recursive structures, and a number of flat structures. Every
+ * input structure uses one of the mixins of the model, and structures
+ * and operations have a configurable number of traits. Units are repeated
+ * until the model contains approximately the requested number of shapes,
+ * counting members.
+ */
+public final class SyntheticModel {
+
+    private static final String[] TRAITS = {
+        "@documentation(\"Generated for benchmarks.\")",
+        "@since(\"2022-01-01\")",
+        "@tags([\"benchmark\", \"synthetic\"])",
+        "@unstable"
+    };
+
+    private int shapeCount = 1000;
+    private int mixinCount = 10;
+    private int traitsPerShape = 2;
+    private int recursionDepth = 3;
+    private int structuresPerOperation = 2;
+
+    /**
+     * Sets the approximate number of shapes to generate, including members.
+     *
+     * @param shapeCount Number of shapes.
+     * @return Returns the generator.
+     */
+    public SyntheticModel shapeCount(int shapeCount) {
+        this.shapeCount = shapeCount;
+        return this;
+    }
+
+    /**
+     * Sets the number of mixins that are shared by input structures.
+     *
+     * @param mixinCount Number of mixins.
+     * @return Returns the generator.
+     */
+    public SyntheticModel mixinCount(int mixinCount) {
+        this.mixinCount = Math.max(1, mixinCount);
+        return this;
+    }
+
+    /**
+     * Sets the number of traits applied to each operation and structure.
+     *
+     * @param traitsPerShape Number of traits, between 0 and 4.
+     * @return Returns the generator.
+     */
+    public SyntheticModel traitsPerShape(int traitsPerShape) {
+        this.traitsPerShape = Math.min(TRAITS.length, traitsPerShape);
+        return this;
+    }
+
+    /**
+     * Sets the number of structures in each recursive cycle of structures.
+     *
+     * @param recursionDepth Number of structures in a cycle.
+     * @return Returns the generator.
+     */
+    public SyntheticModel recursionDepth(int recursionDepth) {
+        this.recursionDepth = Math.max(1, recursionDepth);
+        return this;
+    }
+
+    /**
+     * Sets the number of flat structures generated for each operation,
+     * which controls the ratio of operations to shapes.
+     *
+     * @param structuresPerOperation Number of structures per operation.
+     * @return Returns the generator.
+     */
+    public SyntheticModel structuresPerOperation(int structuresPerOperation) {
+        this.structuresPerOperation = structuresPerOperation;
+        return this;
+    }
+
+    /**
+     * Gets the number of operations that are generated.
+     *
+     * @return Returns the number of operations.
+     */
+    public int getOperationCount() {
+        // Operation + input (with 2 members and a mixin member) + output (with 1 member),
+        // and 5 shapes for each recursive and flat structure.
+        int shapesPerOperation = 1 + 4 + 2 + 5 * (recursionDepth + structuresPerOperation);
+        return Math.max(1, shapeCount / shapesPerOperation);
+    }
+
+    /**
+     * Generates the model.
+     *
+     * @return Returns the model in the Smithy IDL.
+     */
+    public String toIdl() {
+        int operationCount = getOperationCount();
+        StringBuilder idl = new StringBuilder(shapeCount * 64);
+        idl.append("$version: \"2.0\"\n\n")
+                .append("namespace smithy.example\n\n")
+                .append("service Service {\n")
+                .append("    version: \"2022-01-01\"\n")
+                .append("    operations: [\n");
+        for (int i = 0; i < operationCount; i++) {
+            idl.append("        Operation").append(i).append('\n');
+        }
+        idl.append("    ]\n}\n\n");
+
+        for (int i = 0; i < mixinCount; i++) {
+            idl.append("@mixin\n")
+                    .append("structure Mixin").append(i).append(" {\n")
+                    .append("    @httpHeader(\"x-request-token\")\n")
+                    .append("    requestToken: String\n}\n\n");
+        }
+
+        for (int i = 0; i < operationCount; i++) {
+            appendOperation(idl, i);
+        }
+
+        idl.append("@error(\"client\")\n")
+                .append("structure CommonError {\n    message: String\n}\n\n")
+                .append("list TagList {\n    member: String\n}\n");
+        return idl.toString();
+    }
+
+    private void appendOperation(StringBuilder idl, int index) {
+        String name = "Operation" + index;
+        appendTraits(idl);
+        idl.append("@http(method: \"POST\", uri: \"/operation").append(index).append("\")\n")
+                .append("operation ").append(name).append(" {\n")
+                .append("    input: ").append(name).append("Input\n")
+                .append("    output: ").append(name).append("Output\n")
+                .append("    errors: [CommonError]\n}\n\n");
+
+        appendTraits(idl);
+        idl.append("structure ").append(name).append("Input with [Mixin").append(index % mixinCount).append("] {\n")
+                .append("    @required\n    @httpHeader(\"x-id\")\n    id: String\n")
+                .append("    node: ").append(name).append("Node0\n");
+        for (int i = 0; i < structuresPerOperation; i++) {
+            idl.append("    flat").append(i).append(": ").append(name).append("Flat").append(i).append('\n');
+        }
+        idl.append("}\n\n");
+
+        appendTraits(idl);
+        idl.append("structure ").append(name).append("Output {\n")
+                .append("    result: ").append(name).append("Node0\n}\n\n");
+
+        for (int i = 0; i < recursionDepth; i++) {
+            appendTraits(idl);
+            idl.append("structure ").append(name).append("Node").append(i).append(" {\n")
+                    .append("    @length(min: 1, max: 256)\n    name: String\n")
+                    .append("    @range(min: 0)\n    count: Integer\n")
+                    .append("    tags: TagList\n")
+                    .append("    next: ").append(name).append("Node").append((i + 1) % recursionDepth)
+                    .append("\n}\n\n");
+        }
+
+        for (int i = 0; i < structuresPerOperation; i++) {
+            appendTraits(idl);
+            idl.append("structure ").append(name).append("Flat").append(i).append(" {\n")
+                    .append("    name: String\n")
+                    .append("    count: Integer\n")
+                    .append("    enabled: Boolean\n")
+                    .append("    createdAt: Timestamp\n}\n\n");
+        }
+    }
+
+    private void appendTraits(StringBuilder idl) {
+        for (int i = 0; i < traitsPerShape; i++) {
+            idl.append(TRAITS[i]).append('\n');
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ModelSerializer;
+
+/**
+ * Shared state of benchmarks that use a {@link SyntheticModel}.
+ *
+ * <p>Benchmarks are run for each model size so that results show how
+ * each operation scales with the size of the model.
+ */
+@State(Scope.Benchmark)
+public class SyntheticModelState {
+
+    @Param({"1000", "10000", "100000", "500000"})
+    public int shapeCount;
+
+    public String idl;
+    public String json;
+    public Model model;
+
+    @Setup
+    public void prepare() {
+        idl = new SyntheticModel().shapeCount(shapeCount).toIdl();
+        model = Model.assembler()
+                .addUnparsedModel("synthetic.smithy", idl)
+                .assemble()
+                .unwrap();
+        json = Node.printJson(ModelSerializer.builder().build().serialize(model));
+    }
+}
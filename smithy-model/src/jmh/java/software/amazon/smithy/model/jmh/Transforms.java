@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.UnstableTrait;
+import software.amazon.smithy.model.transform.ModelTransformer;
+
+/**
+ * Applies common transformations to synthetic models of increasing size.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class Transforms {
+
+    private static final ModelTransformer TRANSFORMER = ModelTransformer.create();
+
+    @Benchmark
+    public Model flattenAndRemoveMixins(SyntheticModelState state) {
+        return TRANSFORMER.flattenAndRemoveMixins(state.model);
+    }
+
+    // Removes the flat structures, which also removes the members that target them.
+    @Benchmark
+    public Model removeShapesIf(SyntheticModelState state) {
+        return TRANSFORMER.removeShapesIf(state.model, shape -> shape.getId().getName().contains("Flat"));
+    }
+
+    @Benchmark
+    public Model removeTraitsIf(SyntheticModelState state) {
+        return TRANSFORMER.removeTraitsIf(state.model, (shape, trait) -> trait instanceof UnstableTrait);
+    }
+
+    @Benchmark
+    public Model mapShapes(SyntheticModelState state) {
+        return TRANSFORMER.mapShapes(state.model, shape -> shape.isOperationShape()
+                ? Shape.shapeToBuilder(shape).addTrait(new DocumentationTrait("Updated")).build()
+                : shape);
+    }
+
+    @Benchmark
+    public Model removeUnreferencedShapes(SyntheticModelState state) {
+        return TRANSFORMER.removeUnreferencedShapes(state.model);
+    }
+
+    @Benchmark
+    public Model scrubTraitDefinitions(SyntheticModelState state) {
+        return TRANSFORMER.scrubTraitDefinitions(state.model);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import software.amazon.smithy.model.knowledge.IncrementalKnowledgeIndex;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
@@ -82,7 +83,7 @@ public final class Model implements ToSmithyBuilder<Model> {
     private final Map<String, Node> metadata;
 
     /** A map of shape ID to shapes that backs the shape map. */
-    private final Map<ShapeId, Shape> shapeMap;
+    private final PersistentMap<ShapeId, Shape> shapeMap;
 
     /** A cache of shapes of a specific type. */
     private final Map<Class<? extends Shape>, Set<? extends Shape>> cachedTypes = new ConcurrentHashMap<>();
@@ -90,6 +91,9 @@ public final class Model implements ToSmithyBuilder<Model> {
     /** Cache of computed {@link KnowledgeIndex} instances. */
     private final Map<String, KnowledgeIndex> blackboard = new ConcurrentSkipListMap<>();
 
+    /** Incrementally updatable indexes of the model this model was derived from. */
+    private final Map<String, InheritedIndex> inheritedIndexes = new ConcurrentHashMap<>();
+
     /** Lazily computed trait mappings. */
     private volatile TraitCache traitCache;
 
@@ -97,8 +101,64 @@ public final class Model implements ToSmithyBuilder<Model> {
     private int hash;
 
     private Model(Builder builder) {
-        shapeMap = builder.shapeMap.copy();
+        shapeMap = builder.shapeMap.toMap();
         metadata = builder.metadata.copy();
+
+        if (builder.source != null) {
+            inherit(builder.source, builder.changedShapes);
+        }
+    }
+
+    // Carries over computed information that is unaffected by the shapes that changed
+    // since the model was copied from the source model.
+    private void inherit(Model source, Set<ShapeId> changedShapes) {
+        if (changedShapes.isEmpty()) {
+            cachedTypes.putAll(source.cachedTypes);
+            traitCache = source.traitCache;
+        } else if (!source.cachedTypes.isEmpty()) {
+            Set<Class<? extends Shape>> changedTypes = new HashSet<>();
+            for (ShapeId id : changedShapes) {
+                Shape previous = source.shapeMap.get(id);
+                Shape current = shapeMap.get(id);
+                if (previous != null) {
+                    changedTypes.add(previous.getClass());
+                }
+                if (current != null) {
+                    changedTypes.add(current.getClass());
+                }
+            }
+            for (Map.Entry<Class<? extends Shape>, Set<? extends Shape>> entry : source.cachedTypes.entrySet()) {
+                if (!isAssignableFromAny(entry.getKey(), changedTypes)) {
+                    cachedTypes.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        for (Map.Entry<String, KnowledgeIndex> entry : source.blackboard.entrySet()) {
+            if (entry.getValue() instanceof IncrementalKnowledgeIndex) {
+                IncrementalKnowledgeIndex index = (IncrementalKnowledgeIndex) entry.getValue();
+                inheritedIndexes.put(entry.getKey(), new InheritedIndex(index, changedShapes));
+            }
+        }
+
+        // Indexes inherited by the source model that were never used are carried over too.
+        for (Map.Entry<String, InheritedIndex> entry : source.inheritedIndexes.entrySet()) {
+            if (!inheritedIndexes.containsKey(entry.getKey()) && !source.blackboard.containsKey(entry.getKey())) {
+                InheritedIndex inherited = entry.getValue();
+                Set<ShapeId> combined = new HashSet<>(inherited.changedShapes);
+                combined.addAll(changedShapes);
+                inheritedIndexes.put(entry.getKey(), new InheritedIndex(inherited.index, combined));
+            }
+        }
+    }
+
+    private static boolean isAssignableFromAny(Class<?> type, Set<Class<? extends Shape>> changedTypes) {
+        for (Class<?> changedType : changedTypes) {
+            if (type.isAssignableFrom(changedType)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -827,6 +887,17 @@ public final class Model implements ToSmithyBuilder<Model> {
         return result;
     }
 
+    /**
+     * Creates a builder that contains the metadata and shapes of the model.
+     *
+     * <p>The shapes of the model are not copied. Models built from the
+     * returned builder share the structure of the shapes that were not
+     * changed with this model, and carry over any computed information that
+     * is unaffected by the changed shapes, including indexes that implement
+     * {@link IncrementalKnowledgeIndex}.
+     *
+     * @return Returns the created builder.
+     */
     @Override
     public Builder toBuilder() {
         return builder()
@@ -880,7 +951,26 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     @SuppressWarnings("unchecked")
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type, Function<Model, T> constructor) {
-        return (T) blackboard.computeIfAbsent(type.getName(), t -> constructor.apply(this));
+        return (T) blackboard.computeIfAbsent(type.getName(), t -> {
+            InheritedIndex inherited = inheritedIndexes.remove(t);
+            if (inherited != null) {
+                KnowledgeIndex updated = inherited.index.update(this, inherited.changedShapes);
+                if (type.isInstance(updated)) {
+                    return updated;
+                }
+            }
+            return constructor.apply(this);
+        });
+    }
+
+    private static final class InheritedIndex {
+        private final IncrementalKnowledgeIndex index;
+        private final Set<ShapeId> changedShapes;
+
+        InheritedIndex(IncrementalKnowledgeIndex index, Set<ShapeId> changedShapes) {
+            this.index = index;
+            this.changedShapes = Collections.unmodifiableSet(changedShapes);
+        }
     }
 
     /**
@@ -888,7 +978,11 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     public static final class Builder implements SmithyBuilder<Model> {
         private final BuilderRef<Map<String, Node>> metadata = BuilderRef.forUnorderedMap();
-        private final BuilderRef<Map<ShapeId, Shape>> shapeMap = BuilderRef.forUnorderedMap();
+        private PersistentMap.Editor<ShapeId, Shape> shapeMap = PersistentMap.<ShapeId, Shape>empty().edit();
+
+        // The model that the shapes of the builder were taken from, and the shapes changed since.
+        private Model source;
+        private Set<ShapeId> changedShapes;
 
         private Builder() {}
 
@@ -928,24 +1022,41 @@ public final class Model implements ToSmithyBuilder<Model> {
         public Builder addShape(Shape shape) {
             // Members must be added by their containing shapes.
             if (!shape.isMemberShape()) {
-                shapeMap.get().put(shape.getId(), shape);
+                putShape(shape);
                 // Automatically add members of the shape.
                 for (MemberShape memberShape : shape.members()) {
-                    shapeMap.get().put(memberShape.getId(), memberShape);
+                    putShape(memberShape);
                 }
             }
 
             return this;
         }
 
+        private void putShape(Shape shape) {
+            if (shapeMap.put(shape.getId(), shape) && source != null) {
+                changedShapes.add(shape.getId());
+            }
+        }
+
         /**
          * Adds the shapes of another model to the builder.
          *
+         * <p>When the builder contains no shapes, the shapes of the model
+         * are shared with the builder rather than copied.
+         *
          * @param model Model to add shapes from.
          * @return Returns the builder.
          */
         public Builder addShapes(Model model) {
-            shapeMap.get().putAll(model.shapeMap);
+            if (shapeMap.size() == 0) {
+                shapeMap = model.shapeMap.edit();
+                source = model;
+                changedShapes = new HashSet<>();
+            } else {
+                for (Shape shape : model.shapeMap.values()) {
+                    putShape(shape);
+                }
+            }
             return this;
         }
 
@@ -986,13 +1097,13 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder removeShape(ShapeId shapeId) {
-            if (shapeMap.hasValue() && shapeMap.peek().containsKey(shapeId)) {
-                Shape previous = shapeMap.peek().get(shapeId);
-                shapeMap.get().remove(shapeId);
+            Shape previous = shapeMap.get(shapeId);
+            if (previous != null) {
+                removeShapeId(shapeId);
 
                 // Automatically remove any members contained in the shape.
                 for (MemberShape memberShape : previous.members()) {
-                    shapeMap.get().remove(memberShape.getId());
+                    removeShapeId(memberShape.getId());
                 }
             }
 
@@ -1007,12 +1118,24 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the current shapes in the builder.
          */
         public Map<ShapeId, Shape> getCurrentShapes() {
-            return shapeMap.peek();
+            return shapeMap.view();
+        }
+
+        private void removeShapeId(ShapeId shapeId) {
+            if (shapeMap.remove(shapeId) && source != null) {
+                changedShapes.add(shapeId);
+            }
         }
 
         @Override
         public Model build() {
-            return new Model(this);
+            Model result = new Model(this);
+            if (source != null) {
+                // Subsequently built models are derived from the built model.
+                source = result;
+                changedShapes = new HashSet<>();
+            }
+            return result;
         }
     }
 
@@ -0,0 +1,607 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable hash array mapped trie that shares structure between
+ * versions of the map.
+ *
+ * <p>Maps are modified using an {@link Editor}, which mutates nodes it
+ * created in place and copies the path to any node it shares with a
+ * previously created map. Creating an editor from a map and creating a map
+ * from an editor are both constant time operations.
+ *
+ * @param <K> Type of key.
+ * @param <V> Type of value.
+ */
+final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+    private Set<Map.Entry<K, V>> entrySet;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Creates an editor that starts with the contents of this map.
+     *
+     * @return Returns the created editor.
+     */
+    Editor<K, V> edit() {
+        return new Editor<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(root, key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Leaf leaf = find(root, key);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> result = entrySet;
+        if (result == null) {
+            entrySet = result = new EntrySet<>(this);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof PersistentMap && ((PersistentMap<?, ?>) o).root == root) {
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Leaf find(Node root, Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+
+        int hash = hash(key);
+        Node node = root;
+        int shift = 0;
+        while (true) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Node) {
+                node = (Node) slot;
+                shift += BITS;
+            } else if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                return leaf.hash == hash && leaf.key.equals(key) ? leaf : null;
+            } else {
+                return ((Collision) slot).find(hash, key);
+            }
+        }
+    }
+
+    /**
+     * Mutates the contents of a map without affecting any previously
+     * created map.
+     *
+     * <p>Editors are not thread safe.
+     *
+     * @param <K> Type of key.
+     * @param <V> Type of value.
+     */
+    static final class Editor<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+        private Map<K, V> view;
+
+        private Editor(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean containsKey(Object key) {
+            return find(root, key) != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(Object key) {
+            Leaf leaf = find(root, key);
+            return leaf == null ? null : (V) leaf.value;
+        }
+
+        /**
+         * Puts a value into the map.
+         *
+         * <p>Putting the same instance that is already the value of the key
+         * leaves the map unchanged. A value that is only {@code equals} to
+         * the current value replaces it, like {@link java.util.HashMap#put}.
+         *
+         * @param key Key to set.
+         * @param value Value to set.
+         * @return Returns true if the map was changed.
+         */
+        boolean put(K key, V value) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            Change change = new Change();
+            Leaf leaf = new Leaf(hash(key), key, value);
+            if (root == null) {
+                root = new Node(owner, leaf.hash, leaf);
+                change.added = true;
+            } else {
+                root = root.put(owner, 0, leaf, change);
+            }
+            if (change.added) {
+                size++;
+            }
+            return change.added || change.replaced;
+        }
+
+        /**
+         * Removes a key from the map.
+         *
+         * @param key Key to remove.
+         * @return Returns true if the key was removed.
+         */
+        boolean remove(Object key) {
+            if (root == null || key == null) {
+                return false;
+            }
+            Change change = new Change();
+            root = root.remove(owner, 0, hash(key), key, change);
+            if (change.removed) {
+                size--;
+            }
+            return change.removed;
+        }
+
+        /**
+         * Creates an immutable map from the current contents of the editor.
+         *
+         * <p>The editor can continue to be used after calling this method
+         * without affecting the returned map.
+         *
+         * @return Returns the created map.
+         */
+        PersistentMap<K, V> toMap() {
+            // Nodes created so far are now shared with the returned map, so
+            // subsequent edits must copy them rather than mutate them.
+            owner = new Object();
+            return size == 0 ? empty() : new PersistentMap<>(root, size);
+        }
+
+        /**
+         * Gets an unmodifiable view of the current contents of the editor.
+         *
+         * @return Returns the view.
+         */
+        Map<K, V> view() {
+            Map<K, V> result = view;
+            if (result == null) {
+                view = result = new AbstractMap<K, V>() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public boolean containsKey(Object key) {
+                        return Editor.this.containsKey(key);
+                    }
+
+                    @Override
+                    public V get(Object key) {
+                        return Editor.this.get(key);
+                    }
+
+                    @Override
+                    public Set<Entry<K, V>> entrySet() {
+                        return new AbstractSet<Entry<K, V>>() {
+                            @Override
+                            public int size() {
+                                return size;
+                            }
+
+                            @Override
+                            public Iterator<Entry<K, V>> iterator() {
+                                return new EntryIterator<>(root);
+                            }
+                        };
+                    }
+                };
+            }
+            return result;
+        }
+    }
+
+    private static final class Change {
+        boolean added;
+        boolean replaced;
+        boolean removed;
+    }
+
+    private static final class Leaf implements Map.Entry<Object, Object> {
+        final int hash;
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return key.equals(other.getKey()) && value.equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Leaves with the same full hash code.
+     */
+    private static final class Collision {
+        final int hash;
+        final Leaf[] leaves;
+
+        Collision(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        Leaf find(int hash, Object key) {
+            if (hash == this.hash) {
+                for (Leaf leaf : leaves) {
+                    if (leaf.key.equals(key)) {
+                        return leaf;
+                    }
+                }
+            }
+            return null;
+        }
+
+        int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * A bitmap indexed node whose slots are leaves, collisions, or nodes.
+     */
+    private static final class Node {
+        final Object owner;
+        int bitmap;
+        Object[] slots;
+
+        Node(Object owner, int bitmap, Object[] slots) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        Node(Object owner, int hash, Leaf leaf) {
+            this(owner, bit(hash, 0), new Object[] {leaf});
+        }
+
+        private Node editable(Object editor) {
+            return owner == editor ? this : new Node(editor, bitmap, slots.clone());
+        }
+
+        Node put(Object editor, int shift, Leaf leaf, Change change) {
+            int bit = bit(leaf.hash, shift);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+
+            if ((bitmap & bit) == 0) {
+                Node result = editable(editor);
+                Object[] grown = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, grown, 0, index);
+                grown[index] = leaf;
+                System.arraycopy(slots, index, grown, index + 1, slots.length - index);
+                result.slots = grown;
+                result.bitmap |= bit;
+                change.added = true;
+                return result;
+            }
+
+            Object slot = slots[index];
+            Object updated;
+            if (slot instanceof Node) {
+                updated = ((Node) slot).put(editor, shift + BITS, leaf, change);
+            } else if (slot instanceof Leaf) {
+                Leaf existing = (Leaf) slot;
+                if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                    if (existing.value == leaf.value) {
+                        return this;
+                    }
+                    change.replaced = true;
+                    updated = leaf;
+                } else if (existing.hash == leaf.hash) {
+                    change.added = true;
+                    updated = new Collision(leaf.hash, new Leaf[] {existing, leaf});
+                } else {
+                    change.added = true;
+                    updated = merge(editor, shift + BITS, existing.hash, existing, leaf.hash, leaf);
+                }
+            } else {
+                Collision collision = (Collision) slot;
+                if (collision.hash == leaf.hash) {
+                    int position = collision.indexOf(leaf.key);
+                    Leaf[] leaves;
+                    if (position == -1) {
+                        change.added = true;
+                        leaves = new Leaf[collision.leaves.length + 1];
+                        System.arraycopy(collision.leaves, 0, leaves, 0, collision.leaves.length);
+                        leaves[collision.leaves.length] = leaf;
+                    } else if (collision.leaves[position].value == leaf.value) {
+                        return this;
+                    } else {
+                        change.replaced = true;
+                        leaves = collision.leaves.clone();
+                        leaves[position] = leaf;
+                    }
+                    updated = new Collision(leaf.hash, leaves);
+                } else {
+                    change.added = true;
+                    updated = merge(editor, shift + BITS, collision.hash, collision, leaf.hash, leaf);
+                }
+            }
+
+            if (updated == slot) {
+                return this;
+            }
+
+            Node result = editable(editor);
+            result.slots[index] = updated;
+            return result;
+        }
+
+        // Creates a node that contains two slots with different hash codes.
+        private static Node merge(Object editor, int shift, int hashA, Object a, int hashB, Object b) {
+            int bitA = bit(hashA, shift);
+            int bitB = bit(hashB, shift);
+            if (bitA == bitB) {
+                return new Node(editor, bitA, new Object[] {merge(editor, shift + BITS, hashA, a, hashB, b)});
+            } else if (Integer.compareUnsigned(bitA, bitB) < 0) {
+                return new Node(editor, bitA | bitB, new Object[] {a, b});
+            } else {
+                return new Node(editor, bitA | bitB, new Object[] {b, a});
+            }
+        }
+
+        // Returns null when the node becomes empty.
+        Node remove(Object editor, int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            Object slot = slots[index];
+            Object updated;
+            if (slot instanceof Node) {
+                updated = ((Node) slot).remove(editor, shift + BITS, hash, key, change);
+            } else if (slot instanceof Leaf) {
+                Leaf existing = (Leaf) slot;
+                if (existing.hash != hash || !existing.key.equals(key)) {
+                    return this;
+                }
+                change.removed = true;
+                updated = null;
+            } else {
+                Collision collision = (Collision) slot;
+                int position = collision.hash == hash ? collision.indexOf(key) : -1;
+                if (position == -1) {
+                    return this;
+                }
+                change.removed = true;
+                if (collision.leaves.length == 2) {
+                    updated = collision.leaves[1 - position];
+                } else {
+                    Leaf[] leaves = new Leaf[collision.leaves.length - 1];
+                    System.arraycopy(collision.leaves, 0, leaves, 0, position);
+                    System.arraycopy(collision.leaves, position + 1, leaves, position, leaves.length - position);
+                    updated = new Collision(hash, leaves);
+                }
+            }
+
+            if (updated == slot) {
+                return this;
+            } else if (updated == null && slots.length == 1) {
+                return null;
+            }
+
+            Node result = editable(editor);
+            if (updated == null) {
+                Object[] shrunk = new Object[slots.length - 1];
+                System.arraycopy(slots, 0, shrunk, 0, index);
+                System.arraycopy(slots, index + 1, shrunk, index, shrunk.length - index);
+                result.slots = shrunk;
+                result.bitmap &= ~bit;
+            } else {
+                result.slots[index] = updated;
+            }
+            return result;
+        }
+    }
+
+    private static final class EntrySet<K, V> extends AbstractSet<Map.Entry<K, V>> {
+        private final PersistentMap<K, V> map;
+
+        EntrySet(PersistentMap<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Leaf leaf = find(map.root, entry.getKey());
+            return leaf != null && leaf.value.equals(entry.getValue());
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator<>(map.root);
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        // Seven levels of nodes consume all 32 bits of a hash code, plus one level for collisions.
+        private final Object[][] stack = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Leaf next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                push(root.slots);
+                advance();
+            }
+        }
+
+        private void push(Object[] slots) {
+            stack[++depth] = slots;
+            positions[depth] = 0;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] slots = stack[depth];
+                if (positions[depth] == slots.length) {
+                    stack[depth--] = null;
+                } else {
+                    Object slot = slots[positions[depth]++];
+                    if (slot instanceof Leaf) {
+                        next = (Leaf) slot;
+                        return;
+                    } else if (slot instanceof Node) {
+                        push(((Node) slot).slots);
+                    } else {
+                        push(((Collision) slot).leaves);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> result = (Map.Entry<K, V>) (Map.Entry<?, ?>) next;
+            advance();
+            return result;
+        }
+    }
+}
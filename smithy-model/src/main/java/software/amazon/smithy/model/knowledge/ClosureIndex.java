@@ -0,0 +1,298 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.Walker;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * Computes and caches the closures of shapes.
+ *
+ * <p>A closure contains the same shapes as {@link Walker#walkShapes}.
+ * Every shape in the model is assigned a dense ordinal, and closures are
+ * stored as bitsets of these ordinals. Closures are cached per root shape,
+ * so walking the same shape again is free, and closures can be combined
+ * using set operations that don't need to walk the model.
+ *
+ * <p>Closures computed with a relationship filter and the combined closure
+ * of multiple shapes are not cached, though they reuse the cached closures
+ * of the shapes they walk.
+ */
+public final class ClosureIndex implements KnowledgeIndex {
+
+    private final Shape[] shapes;
+    private final Map<ShapeId, Integer> ordinals;
+    private final int[][] neighbors;
+    private final Relationship[][] relationships;
+    private final Map<ShapeId, Closure> closures = new ConcurrentHashMap<>();
+
+    public ClosureIndex(Model model) {
+        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
+        shapes = model.toSet().toArray(new Shape[0]);
+        ordinals = new HashMap<>(shapes.length * 2);
+        for (int i = 0; i < shapes.length; i++) {
+            ordinals.put(shapes[i].getId(), i);
+        }
+
+        neighbors = new int[shapes.length][];
+        relationships = new Relationship[shapes.length][];
+        List<Relationship> valid = new ArrayList<>();
+        for (int i = 0; i < shapes.length; i++) {
+            valid.clear();
+            for (Relationship relationship : provider.getNeighbors(shapes[i])) {
+                if (relationship.getNeighborShape().isPresent()
+                        && ordinals.containsKey(relationship.getNeighborShapeId())) {
+                    valid.add(relationship);
+                }
+            }
+            neighbors[i] = new int[valid.size()];
+            relationships[i] = valid.toArray(new Relationship[0]);
+            for (int j = 0; j < neighbors[i].length; j++) {
+                neighbors[i][j] = ordinals.get(relationships[i][j].getNeighborShapeId());
+            }
+        }
+    }
+
+    public static ClosureIndex of(Model model) {
+        return model.getKnowledge(ClosureIndex.class, ClosureIndex::new);
+    }
+
+    /**
+     * Gets the closure of a shape, including the shape itself.
+     *
+     * @param shape Shape to get the closure of.
+     * @return Returns the closure, or an empty closure if the shape is not in the model.
+     */
+    public Closure getClosure(ToShapeId shape) {
+        Integer ordinal = ordinals.get(shape.toShapeId());
+        if (ordinal == null) {
+            return new Closure(new BitSet());
+        }
+        return closures.computeIfAbsent(shape.toShapeId(), id -> walk(new int[] {ordinal}, null));
+    }
+
+    /**
+     * Gets the closure of a shape, only traversing relationships that
+     * match the given filter.
+     *
+     * <p>The closure is computed each time this method is called.
+     *
+     * @param shape Shape to get the closure of.
+     * @param filter Predicate that returns true for each relationship to traverse.
+     * @return Returns the closure, or an empty closure if the shape is not in the model.
+     */
+    public Closure getClosure(ToShapeId shape, Predicate<Relationship> filter) {
+        Integer ordinal = ordinals.get(shape.toShapeId());
+        if (ordinal == null) {
+            return new Closure(new BitSet());
+        }
+        return walk(new int[] {ordinal}, filter);
+    }
+
+    /**
+     * Gets the union of the closures of multiple shapes.
+     *
+     * <p>Every shape is walked at once, and the closures of the given
+     * shapes aren't cached.
+     *
+     * @param shapes Shapes to get the closures of.
+     * @return Returns the combined closure.
+     */
+    public Closure getClosure(Collection<? extends ToShapeId> shapes) {
+        int[] roots = new int[shapes.size()];
+        int count = 0;
+        for (ToShapeId shape : shapes) {
+            Integer ordinal = ordinals.get(shape.toShapeId());
+            if (ordinal != null) {
+                roots[count++] = ordinal;
+            }
+        }
+        return walk(Arrays.copyOf(roots, count), null);
+    }
+
+    private Closure walk(int[] roots, Predicate<Relationship> filter) {
+        BitSet result = new BitSet(shapes.length);
+        int[] stack = new int[Math.max(16, roots.length)];
+        int size = 0;
+
+        for (int root : roots) {
+            Closure cached = filter == null ? closures.get(shapes[root].getId()) : null;
+            if (cached != null) {
+                result.or(cached.bits);
+            } else if (!result.get(root)) {
+                result.set(root);
+                stack[size++] = root;
+            }
+        }
+
+        while (size > 0) {
+            int current = stack[--size];
+            int[] targets = neighbors[current];
+            for (int i = 0; i < targets.length; i++) {
+                int neighbor = targets[i];
+                if (result.get(neighbor) || (filter != null && !filter.test(relationships[current][i]))) {
+                    continue;
+                }
+
+                // Reuse the closures of shapes that were already walked. Relationships of a cached closure
+                // weren't filtered, so they can only be reused when there's no filter.
+                Closure cached = filter == null ? closures.get(shapes[neighbor].getId()) : null;
+                if (cached != null) {
+                    result.or(cached.bits);
+                    continue;
+                }
+
+                result.set(neighbor);
+                if (size == stack.length) {
+                    stack = Arrays.copyOf(stack, size * 2);
+                }
+                stack[size++] = neighbor;
+            }
+        }
+
+        return new Closure(result);
+    }
+
+    /**
+     * An immutable set of shapes backed by a bitset.
+     *
+     * <p>Shapes are iterated in the order they were returned from
+     * {@link Model#toSet()}. Closures can only be combined with other
+     * closures of the same {@code ClosureIndex}.
+     */
+    public final class Closure extends AbstractSet<Shape> {
+        private final BitSet bits;
+        private final int size;
+
+        private Closure(BitSet bits) {
+            this.bits = bits;
+            this.size = bits.cardinality();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            Shape shape = (Shape) o;
+            Integer ordinal = ordinals.get(shape.getId());
+            return ordinal != null && bits.get(ordinal) && (shapes[ordinal] == shape || shapes[ordinal].equals(shape));
+        }
+
+        /**
+         * Checks if the closure contains a shape with the given ID.
+         *
+         * @param shape Shape ID to check.
+         * @return Returns true if the closure contains the shape.
+         */
+        public boolean containsShapeId(ToShapeId shape) {
+            Integer ordinal = ordinals.get(shape.toShapeId());
+            return ordinal != null && bits.get(ordinal);
+        }
+
+        @Override
+        public Iterator<Shape> iterator() {
+            return new Iterator<Shape>() {
+                private int next = bits.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public Shape next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    Shape result = shapes[next];
+                    next = bits.nextSetBit(next + 1);
+                    return result;
+                }
+            };
+        }
+
+        /**
+         * Creates a closure that contains the shapes of both closures.
+         *
+         * @param other Closure to combine with.
+         * @return Returns the union of the closures.
+         */
+        public Closure union(Closure other) {
+            BitSet result = (BitSet) bits.clone();
+            result.or(check(other).bits);
+            return new Closure(result);
+        }
+
+        /**
+         * Creates a closure that contains the shapes that are in both closures.
+         *
+         * @param other Closure to intersect with.
+         * @return Returns the intersection of the closures.
+         */
+        public Closure intersection(Closure other) {
+            BitSet result = (BitSet) bits.clone();
+            result.and(check(other).bits);
+            return new Closure(result);
+        }
+
+        /**
+         * Creates a closure that contains the shapes of this closure that
+         * are not in the other closure.
+         *
+         * @param other Closure of shapes to remove.
+         * @return Returns the difference of the closures.
+         */
+        public Closure difference(Closure other) {
+            BitSet result = (BitSet) bits.clone();
+            result.andNot(check(other).bits);
+            return new Closure(result);
+        }
+
+        private Closure check(Closure other) {
+            if (other.index() != ClosureIndex.this) {
+                throw new IllegalArgumentException("Closures must be created by the same ClosureIndex");
+            }
+            return other;
+        }
+
+        private ClosureIndex index() {
+            return ClosureIndex.this;
+        }
+    }
+}
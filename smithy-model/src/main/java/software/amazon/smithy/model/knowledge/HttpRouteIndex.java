@@ -0,0 +1,331 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.pattern.SmithyPattern.Segment;
+import software.amazon.smithy.model.pattern.UriPattern;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+import software.amazon.smithy.model.traits.HttpTrait;
+import software.amazon.smithy.model.validation.validators.HttpUriConflictValidator;
+
+/**
+ * Index of the HTTP routes of each service.
+ *
+ * <p>The {@link HttpTrait} URI patterns of the operations of a service are
+ * stored in a trie of path segments for each HTTP method. Literal segments,
+ * labels, and greedy labels each have their own branches, so finding the
+ * operations that conflict with an operation or routing a request to an
+ * operation only visits the parts of the trie that can actually match
+ * rather than comparing against every operation of the service.
+ *
+ * <p>Conflicts are detected using the same rules as
+ * {@link UriPattern#conflictsWith}. The {@link HttpUriConflictValidator}
+ * uses this index to find conflicting operations.
+ */
+public final class HttpRouteIndex implements KnowledgeIndex {
+
+    private final Map<ShapeId, Map<String, Node>> routes = new HashMap<>();
+    private final Map<ShapeId, Map<ShapeId, Route>> operationRoutes = new HashMap<>();
+
+    public HttpRouteIndex(Model model) {
+        if (!model.isTraitApplied(HttpTrait.class)) {
+            return;
+        }
+
+        TopDownIndex topDownIndex = TopDownIndex.of(model);
+        for (ServiceShape service : model.getServiceShapes()) {
+            Map<String, Node> methods = new HashMap<>();
+            Map<ShapeId, Route> serviceRoutes = new HashMap<>();
+            for (OperationShape operation : topDownIndex.getContainedOperations(service)) {
+                operation.getTrait(HttpTrait.class).ifPresent(trait -> {
+                    Node root = methods.computeIfAbsent(trait.getMethod(), method -> new Node());
+                    Route route = new Route(operation.getId(), trait.getUri(), root);
+                    Node node = root;
+                    for (Segment segment : trait.getUri().getSegments()) {
+                        node = node.child(segment);
+                    }
+                    node.routes.add(route);
+                    serviceRoutes.put(operation.getId(), route);
+                });
+            }
+            routes.put(service.getId(), methods);
+            operationRoutes.put(service.getId(), serviceRoutes);
+        }
+    }
+
+    public static HttpRouteIndex of(Model model) {
+        return model.getKnowledge(HttpRouteIndex.class, HttpRouteIndex::new);
+    }
+
+    /**
+     * Gets the operations of a service that use the same HTTP method as
+     * the given operation and have a URI pattern that conflicts with it.
+     *
+     * @param service Service shape/shapeId that contains the operation.
+     * @param operation Operation shape/shapeId to check.
+     * @return Returns the IDs of the conflicting operations.
+     * @see UriPattern#conflictsWith
+     */
+    public Set<ShapeId> getConflictingOperations(ToShapeId service, ToShapeId operation) {
+        Route route = operationRoutes.getOrDefault(service.toShapeId(), Collections.emptyMap())
+                .get(operation.toShapeId());
+        if (route == null) {
+            return Collections.emptySet();
+        }
+
+        Set<ShapeId> result = new LinkedHashSet<>();
+        findConflicts(route.root, route, 0, result);
+        return result;
+    }
+
+    /**
+     * Finds the operation of a service that handles an HTTP request.
+     *
+     * <p>The path can contain a query string, which is used to match the
+     * query string literals of URI patterns. Literal segments take
+     * precedence over labels, and labels take precedence over greedy labels.
+     * When several URI patterns match, the one with the most query string
+     * literals is used.
+     *
+     * @param service Service shape/shapeId to route to.
+     * @param method HTTP method of the request.
+     * @param path Path of the request, optionally followed by a query string.
+     * @return Returns the optionally found match.
+     */
+    public Optional<HttpRouteMatch> match(ToShapeId service, String method, String path) {
+        Node root = routes.getOrDefault(service.toShapeId(), Collections.emptyMap()).get(method);
+        if (root == null) {
+            return Optional.empty();
+        }
+
+        String[] parts = path.split(Pattern.quote("?"), 2);
+        String[] segments = splitPath(parts[0]);
+        Map<String, List<String>> query = parts.length == 2 ? parseQuery(parts[1]) : Collections.emptyMap();
+        Route route = match(root, segments, 0, query);
+
+        return route == null
+               ? Optional.empty()
+               : Optional.of(new HttpRouteMatch(route.operation, route.uri, extractLabels(route.uri, segments)));
+    }
+
+    private static void findConflicts(Node node, Route route, int position, Set<ShapeId> result) {
+        List<Segment> segments = route.uri.getSegments();
+
+        // Patterns that end at the same node only conflict if their query string literals are the same.
+        if (position == segments.size()) {
+            for (Route other : node.routes) {
+                if (other != route && other.uri.getQueryLiterals().equals(route.uri.getQueryLiterals())) {
+                    result.add(other.operation);
+                }
+            }
+            return;
+        }
+
+        // A literal segment opposite a label, or a greedy label opposite anything else, conflicts
+        // regardless of the rest of the pattern. Identical segments continue the search, and
+        // different literal segments can never conflict.
+        Segment segment = segments.get(position);
+        if (segment.isGreedyLabel()) {
+            if (node.greedyLabel != null) {
+                findConflicts(node.greedyLabel, route, position + 1, result);
+            }
+            addAll(node.label, result);
+            for (Node literal : node.literals.values()) {
+                addAll(literal, result);
+            }
+        } else if (segment.isLabel()) {
+            if (node.label != null) {
+                findConflicts(node.label, route, position + 1, result);
+            }
+            addAll(node.greedyLabel, result);
+            for (Node literal : node.literals.values()) {
+                addAll(literal, result);
+            }
+        } else {
+            Node literal = node.literals.get(segment.getContent());
+            if (literal != null) {
+                findConflicts(literal, route, position + 1, result);
+            }
+            addAll(node.label, result);
+            addAll(node.greedyLabel, result);
+        }
+    }
+
+    private static void addAll(Node node, Set<ShapeId> result) {
+        if (node != null) {
+            for (Route route : node.routes) {
+                result.add(route.operation);
+            }
+            for (Node child : node.children()) {
+                addAll(child, result);
+            }
+        }
+    }
+
+    private static Route match(Node node, String[] segments, int position, Map<String, List<String>> query) {
+        if (position == segments.length) {
+            Route result = null;
+            for (Route route : node.routes) {
+                if (matchesQuery(route.uri, query) && (result == null
+                        || route.uri.getQueryLiterals().size() > result.uri.getQueryLiterals().size())) {
+                    result = route;
+                }
+            }
+            if (result != null) {
+                return result;
+            }
+        }
+
+        if (position < segments.length) {
+            Node literal = node.literals.get(segments[position]);
+            if (literal != null) {
+                Route result = match(literal, segments, position + 1, query);
+                if (result != null) {
+                    return result;
+                }
+            }
+
+            if (node.label != null && !segments[position].isEmpty()) {
+                Route result = match(node.label, segments, position + 1, query);
+                if (result != null) {
+                    return result;
+                }
+            }
+
+            // Greedy labels consume as many segments as possible while still matching.
+            if (node.greedyLabel != null) {
+                for (int end = segments.length; end > position; end--) {
+                    Route result = match(node.greedyLabel, segments, end, query);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean matchesQuery(UriPattern uri, Map<String, List<String>> query) {
+        for (Map.Entry<String, String> literal : uri.getQueryLiterals().entrySet()) {
+            List<String> values = query.get(literal.getKey());
+            // A literal without a value only requires the parameter to be present.
+            if (values == null || (!literal.getValue().isEmpty() && !values.contains(literal.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> extractLabels(UriPattern uri, String[] segments) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        List<Segment> patternSegments = uri.getSegments();
+        int position = 0;
+        for (int i = 0; i < patternSegments.size(); i++) {
+            Segment segment = patternSegments.get(i);
+            if (segment.isGreedyLabel()) {
+                // The greedy label covers every segment not matched by the segments that follow it.
+                int end = segments.length - (patternSegments.size() - i - 1);
+                labels.put(segment.getContent(), String.join("/", Arrays.copyOfRange(
+                        segments, position, end)));
+                position = end;
+            } else {
+                if (segment.isLabel()) {
+                    labels.put(segment.getContent(), segments[position]);
+                }
+                position++;
+            }
+        }
+        return labels;
+    }
+
+    private static String[] splitPath(String path) {
+        // Paths are split the same way as UriPattern splits patterns, skipping the leading "/".
+        String[] parts = path.split(Pattern.quote("/"));
+        return parts.length == 0 ? parts : Arrays.copyOfRange(parts, 1, parts.length);
+    }
+
+    private static Map<String, List<String>> parseQuery(String query) {
+        Map<String, List<String>> result = new HashMap<>();
+        for (String kvp : query.split(Pattern.quote("&"))) {
+            String[] parameterParts = kvp.split("=", 2);
+            result.computeIfAbsent(parameterParts[0], key -> new ArrayList<>())
+                    .add(parameterParts.length == 2 ? parameterParts[1] : "");
+        }
+        return result;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<Route> routes = new ArrayList<>();
+        private Node label;
+        private Node greedyLabel;
+
+        private Node child(Segment segment) {
+            if (segment.isGreedyLabel()) {
+                if (greedyLabel == null) {
+                    greedyLabel = new Node();
+                }
+                return greedyLabel;
+            } else if (segment.isLabel()) {
+                if (label == null) {
+                    label = new Node();
+                }
+                return label;
+            } else {
+                return literals.computeIfAbsent(segment.getContent(), content -> new Node());
+            }
+        }
+
+        private List<Node> children() {
+            List<Node> result = new ArrayList<>(literals.values());
+            if (label != null) {
+                result.add(label);
+            }
+            if (greedyLabel != null) {
+                result.add(greedyLabel);
+            }
+            return result;
+        }
+    }
+
+    private static final class Route {
+        private final ShapeId operation;
+        private final UriPattern uri;
+        private final Node root;
+
+        private Route(ShapeId operation, UriPattern uri, Node root) {
+            this.operation = operation;
+            this.uri = uri;
+            this.root = root;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.Collections;
+import java.util.Map;
+import software.amazon.smithy.model.pattern.UriPattern;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * An operation matched by {@link HttpRouteIndex#match}.
+ */
+public final class HttpRouteMatch {
+
+    private final ShapeId operation;
+    private final UriPattern uri;
+    private final Map<String, String> labels;
+
+    HttpRouteMatch(ShapeId operation, UriPattern uri, Map<String, String> labels) {
+        this.operation = operation;
+        this.uri = uri;
+        this.labels = Collections.unmodifiableMap(labels);
+    }
+
+    /**
+     * @return Gets the ID of the matched operation.
+     */
+    public ShapeId getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Gets the URI pattern of the matched operation.
+     */
+    public UriPattern getUri() {
+        return uri;
+    }
+
+    /**
+     * Gets the values of each label of the URI pattern.
+     *
+     * <p>Values are returned as they appear in the matched path, meaning
+     * they are not percent-decoded. The value of a greedy label contains
+     * every segment it matched, separated by "/".
+     *
+     * @return Returns the label values keyed by label name.
+     */
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpRouteMatch{operation=" + operation + ", uri=" + uri + ", labels=" + labels + '}';
+    }
+}
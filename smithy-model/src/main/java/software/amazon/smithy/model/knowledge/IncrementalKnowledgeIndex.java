@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * A {@link KnowledgeIndex} that can be updated for a model derived from
+ * the model it was computed for.
+ *
+ * <p>When a model is created from the {@link Model#toBuilder() builder}
+ * of another model, indexes computed for the original model that implement
+ * this interface are carried over to the new model. The first time the
+ * index is requested from the new model, {@link #update} is called rather
+ * than computing the index from scratch.
+ *
+ * <p>Only indexes that are computed entirely from shapes can implement
+ * this interface; changes to model metadata are not tracked. Carried over
+ * indexes are retained by the derived model until they are requested, so
+ * an index should not hold strong references to large amounts of state
+ * that it would not otherwise need.
+ */
+public interface IncrementalKnowledgeIndex extends KnowledgeIndex {
+    /**
+     * Creates an index for a model derived from the model of this index.
+     *
+     * @param model Derived model to create an index for.
+     * @param changedShapes IDs of shapes that were added, removed, or replaced in the derived model.
+     * @return Returns the updated index, or null if the index needs to be recomputed.
+     */
+    KnowledgeIndex update(Model model, Set<ShapeId> changedShapes);
+}
@@ -45,8 +45,12 @@ import software.amazon.smithy.utils.ListUtils;
  * <p>This index performs no validation that the input, output, and
  * errors actually reference valid structures. Such operation inputs,
  * outputs, and errors may be discarded as if they do not exist.
+ *
+ * <p>When a model is derived from another model using
+ * {@link Model#toBuilder()}, only the operations and services that
+ * changed or that reference a changed structure are resolved again.
  */
-public final class OperationIndex implements KnowledgeIndex {
+public final class OperationIndex implements IncrementalKnowledgeIndex {
     private final Map<ShapeId, StructureShape> inputs = new HashMap<>();
     private final Map<ShapeId, StructureShape> outputs = new HashMap<>();
     private final Map<ShapeId, List<StructureShape>> errors = new HashMap<>();
@@ -63,6 +67,50 @@ public final class OperationIndex implements KnowledgeIndex {
         }
     }
 
+    private OperationIndex(Model model, OperationIndex previous, Set<ShapeId> changedShapes) {
+        for (OperationShape operation : model.getOperationShapes()) {
+            ShapeId id = operation.getId();
+            if (isChanged(changedShapes, id, operation.getErrors())
+                    || changedShapes.contains(operation.getInputShape())
+                    || changedShapes.contains(operation.getOutputShape())) {
+                getStructure(model, operation.getInputShape()).ifPresent(shape -> inputs.put(id, shape));
+                getStructure(model, operation.getOutputShape()).ifPresent(shape -> outputs.put(id, shape));
+                addErrorsFromShape(model, id, operation.getErrors());
+            } else {
+                copyEntry(previous.inputs, inputs, id);
+                copyEntry(previous.outputs, outputs, id);
+                copyEntry(previous.errors, errors, id);
+            }
+        }
+
+        for (ServiceShape service : model.getServiceShapes()) {
+            if (isChanged(changedShapes, service.getId(), service.getErrors())) {
+                addErrorsFromShape(model, service.getId(), service.getErrors());
+            } else {
+                copyEntry(previous.errors, errors, service.getId());
+            }
+        }
+    }
+
+    private static boolean isChanged(Set<ShapeId> changedShapes, ShapeId id, List<ShapeId> errors) {
+        if (changedShapes.contains(id)) {
+            return true;
+        }
+        for (ShapeId error : errors) {
+            if (changedShapes.contains(error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> void copyEntry(Map<ShapeId, T> from, Map<ShapeId, T> to, ShapeId id) {
+        T value = from.get(id);
+        if (value != null) {
+            to.put(id, value);
+        }
+    }
+
     private void addErrorsFromShape(Model model, ShapeId source, List<ShapeId> errorShapeIds) {
         List<StructureShape> errorShapes = new ArrayList<>(errorShapeIds.size());
         for (ShapeId target : errorShapeIds) {
@@ -75,6 +123,11 @@ public final class OperationIndex implements KnowledgeIndex {
         return model.getKnowledge(OperationIndex.class, OperationIndex::new);
     }
 
+    @Override
+    public KnowledgeIndex update(Model model, Set<ShapeId> changedShapes) {
+        return new OperationIndex(model, this, changedShapes);
+    }
+
     /**
      * Gets the optional input structure of an operation, and returns an
      * empty optional if the input targets {@code smithy.api#Unit}.
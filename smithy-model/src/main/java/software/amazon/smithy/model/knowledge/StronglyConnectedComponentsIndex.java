@@ -0,0 +1,225 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.RelationshipDirection;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * Computes the strongly connected components of the directed
+ * relationships of a model.
+ *
+ * <p>Components are computed once using an iterative form of Tarjan's
+ * algorithm, so arbitrarily deep models can't overflow the stack.
+ * Components are returned in reverse-topological order: a component only
+ * has relationships to shapes in the same component or in components that
+ * come before it.
+ *
+ * <p>A shape is recursive if it is part of a cycle, meaning it is in a
+ * component with more than one shape or it has a relationship to itself.
+ */
+public final class StronglyConnectedComponentsIndex implements KnowledgeIndex {
+
+    private final List<Set<Shape>> components = new ArrayList<>();
+    private final Map<ShapeId, Integer> componentIndex = new HashMap<>();
+    private final BitSet recursive = new BitSet();
+
+    public StronglyConnectedComponentsIndex(Model model) {
+        this(model, relationship -> true);
+    }
+
+    private StronglyConnectedComponentsIndex(Model model, Predicate<Relationship> filter) {
+        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
+
+        // Number each shape and build an adjacency list of the relationships to traverse.
+        List<Shape> shapes = new ArrayList<>(model.toSet());
+        Map<ShapeId, Integer> ids = new HashMap<>(shapes.size() * 2);
+        for (int i = 0; i < shapes.size(); i++) {
+            ids.put(shapes.get(i).getId(), i);
+        }
+
+        int[][] edges = new int[shapes.size()][];
+        BitSet selfReferences = new BitSet(shapes.size());
+        int[] buffer = new int[16];
+        for (int i = 0; i < edges.length; i++) {
+            int count = 0;
+            Shape shape = shapes.get(i);
+            for (Relationship relationship : provider.getNeighbors(shape)) {
+                // Providers can also return relationships of other shapes that target this shape.
+                if (relationship.getDirection() == RelationshipDirection.DIRECTED
+                        && relationship.getShape().getId().equals(shape.getId())) {
+                    Integer neighbor = ids.get(relationship.getNeighborShapeId());
+                    if (neighbor != null && filter.test(relationship)) {
+                        if (neighbor == i) {
+                            selfReferences.set(i);
+                        }
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count * 2);
+                        }
+                        buffer[count++] = neighbor;
+                    }
+                }
+            }
+            edges[i] = Arrays.copyOf(buffer, count);
+        }
+
+        computeComponents(shapes, edges, selfReferences);
+    }
+
+    public static StronglyConnectedComponentsIndex of(Model model) {
+        return model.getKnowledge(StronglyConnectedComponentsIndex.class, StronglyConnectedComponentsIndex::new);
+    }
+
+    /**
+     * Computes the strongly connected components of the directed
+     * relationships of a model that match the given filter.
+     *
+     * <p>The result of this method is not cached by the model.
+     *
+     * @param model Model to compute the components of.
+     * @param filter Predicate that returns true for each relationship to traverse.
+     * @return Returns the computed index.
+     */
+    public static StronglyConnectedComponentsIndex of(Model model, Predicate<Relationship> filter) {
+        return new StronglyConnectedComponentsIndex(model, filter);
+    }
+
+    private void computeComponents(List<Shape> shapes, int[][] edges, BitSet selfReferences) {
+        int size = shapes.size();
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] edgePosition = new int[size];
+        int[] callStack = new int[size];
+        int[] componentStack = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+        int counter = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int callDepth = 0;
+            int componentDepth = 0;
+            callStack[callDepth++] = root;
+            index[root] = lowLink[root] = counter++;
+            componentStack[componentDepth++] = root;
+            onStack[root] = true;
+
+            while (callDepth > 0) {
+                int current = callStack[callDepth - 1];
+                if (edgePosition[current] < edges[current].length) {
+                    int neighbor = edges[current][edgePosition[current]++];
+                    if (index[neighbor] == -1) {
+                        // Descend into the neighbor as a recursive implementation would.
+                        index[neighbor] = lowLink[neighbor] = counter++;
+                        componentStack[componentDepth++] = neighbor;
+                        onStack[neighbor] = true;
+                        callStack[callDepth++] = neighbor;
+                    } else if (onStack[neighbor]) {
+                        lowLink[current] = Math.min(lowLink[current], index[neighbor]);
+                    }
+                    continue;
+                }
+
+                callDepth--;
+                if (callDepth > 0) {
+                    int parent = callStack[callDepth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[current]);
+                }
+
+                if (lowLink[current] == index[current]) {
+                    Set<Shape> component = new LinkedHashSet<>();
+                    int member;
+                    do {
+                        member = componentStack[--componentDepth];
+                        onStack[member] = false;
+                        component.add(shapes.get(member));
+                        componentIndex.put(shapes.get(member).getId(), components.size());
+                    } while (member != current);
+
+                    if (component.size() > 1 || selfReferences.get(current)) {
+                        recursive.set(components.size());
+                    }
+                    components.add(Collections.unmodifiableSet(component));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets every strongly connected component in reverse-topological order.
+     *
+     * @return Returns the components.
+     */
+    public List<Set<Shape>> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+
+    /**
+     * Gets the component that contains the given shape.
+     *
+     * @param shape Shape to get the component of.
+     * @return Returns the component, or an empty set if the shape is not in the model.
+     */
+    public Set<Shape> getComponent(ToShapeId shape) {
+        Integer position = componentIndex.get(shape.toShapeId());
+        return position == null ? Collections.emptySet() : components.get(position);
+    }
+
+    /**
+     * Checks if the given shape is part of a cycle.
+     *
+     * @param shape Shape to check.
+     * @return Returns true if the shape is recursive.
+     */
+    public boolean isRecursive(ToShapeId shape) {
+        Integer position = componentIndex.get(shape.toShapeId());
+        return position != null && recursive.get(position);
+    }
+
+    /**
+     * Gets every shape in reverse-topological order.
+     *
+     * <p>Shapes that are part of the same component are returned next to
+     * each other in no particular order.
+     *
+     * @return Returns the ordered shapes.
+     */
+    public List<Shape> getReverseTopologicalOrder() {
+        List<Shape> result = new ArrayList<>(componentIndex.size());
+        for (Set<Shape> component : components) {
+            result.addAll(component);
+        }
+        return result;
+    }
+}
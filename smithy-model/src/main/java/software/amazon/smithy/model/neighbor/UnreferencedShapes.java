@@ -15,11 +15,13 @@
 
 package software.amazon.smithy.model.neighbor;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.ClosureIndex;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.TraitDefinition;
@@ -53,18 +55,11 @@ public final class UnreferencedShapes {
      * @return Returns the unreferenced shapes.
      */
     public Set<Shape> compute(Model model) {
-        Walker shapeWalker = new Walker(NeighborProviderIndex.of(model).getProvider());
-
-        // Find all shapes connected to any service shape.
-        Set<Shape> connected = new HashSet<>();
-        for (Shape service : model.getServiceShapes()) {
-            connected.addAll(shapeWalker.walkShapes(service));
-        }
-
-        // Don't remove shapes that are traits or connected to traits.
-        for (Shape trait : model.getShapesWithTrait(TraitDefinition.class)) {
-            connected.addAll(shapeWalker.walkShapes(trait));
-        }
+        // Find all shapes connected to any service shape. Don't remove shapes that are
+        // traits or connected to traits.
+        List<Shape> roots = new ArrayList<>(model.getServiceShapes());
+        roots.addAll(model.getShapesWithTrait(TraitDefinition.class));
+        Set<Shape> connected = ClosureIndex.of(model).getClosure(roots);
 
         // Any shape that wasn't identified as connected to a service is considered unreferenced.
         Set<Shape> result = new HashSet<>();
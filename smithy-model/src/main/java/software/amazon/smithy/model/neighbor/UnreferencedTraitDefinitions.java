@@ -19,9 +19,8 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.ClosureIndex;
 import software.amazon.smithy.model.loader.Prelude;
-import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.utils.FunctionalUtils;
@@ -48,8 +47,6 @@ public final class UnreferencedTraitDefinitions {
     }
 
     public Set<Shape> compute(Model model) {
-        Walker walker = new Walker(NeighborProviderIndex.of(model).getProvider());
-
         // Begin with a mutable set of all trait definitions contained in the model
         Set<Shape> unused = model.getShapesWithTrait(TraitDefinition.class).stream()
                 // Exclude prelude traits -- these are defined by Smithy, not by the model itself
@@ -58,9 +55,7 @@ public final class UnreferencedTraitDefinitions {
 
         // Find all traits used directly or indirectly by a service shape and remove
         // their definitions from the unused set.
-        model.shapes(ServiceShape.class)
-                .flatMap(service -> walker.walkShapes(service).stream())
-                .distinct()
+        ClosureIndex.of(model).getClosure(model.getServiceShapes()).stream()
                 .map(Shape::getAllTraits)
                 .flatMap(traits -> traits.keySet().stream())
                 .distinct()
@@ -18,6 +18,8 @@ package software.amazon.smithy.model.node;
 import static java.lang.String.format;
 
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -155,6 +157,21 @@ public abstract class Node implements FromSourceLocation, ToNode {
         return NodeHandler.prettyPrint(node, indentString);
     }
 
+    /**
+     * Writes the contents of a Node as pretty-printed JSON to a {@link Writer}.
+     *
+     * <p>Unlike {@link #prettyPrintJson(Node)}, the serialized JSON is
+     * streamed to the writer rather than buffered into a string, which
+     * keeps memory usage flat when writing very large nodes.
+     *
+     * @param node Node to write.
+     * @param writer Writer to write the JSON to.
+     * @throws UncheckedIOException if the writer throws an IOException.
+     */
+    public static void prettyPrintJson(Node node, Writer writer) {
+        NodeHandler.prettyPrint(node, "    ", writer);
+    }
+
     /**
      * Writes the contents of a Node to a non-pretty-printed JSON string.
      *
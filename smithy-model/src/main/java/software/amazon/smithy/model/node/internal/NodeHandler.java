@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.node.internal;
 
 import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import software.amazon.smithy.model.SourceLocation;
@@ -51,9 +52,14 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
     @SmithyInternalApi
     public static String prettyPrint(Node node, String indentString) {
         StringWriter writer = new StringWriter();
+        prettyPrint(node, indentString, writer);
+        return writer.toString();
+    }
+
+    @SmithyInternalApi
+    public static void prettyPrint(Node node, String indentString, Writer writer) {
         JsonWriter jsonWriter = new PrettyPrintWriter(writer, indentString);
         node.accept(new NodeWriter(jsonWriter));
-        return writer.toString();
     }
 
     @Override
@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.node.internal;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
 import java.util.Map;
 import software.amazon.smithy.model.node.ArrayNode;
@@ -58,7 +59,7 @@ final class NodeWriter implements NodeVisitor<Void> {
             writer.writeArrayClose();
             return null;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -68,7 +69,7 @@ final class NodeWriter implements NodeVisitor<Void> {
             writer.writeLiteral(node.getValue() ? "true" : "false");
             return null;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -78,7 +79,7 @@ final class NodeWriter implements NodeVisitor<Void> {
             writer.writeLiteral("null");
             return null;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -88,7 +89,7 @@ final class NodeWriter implements NodeVisitor<Void> {
             writer.writeNumber(node.toString());
             return null;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -115,7 +116,7 @@ final class NodeWriter implements NodeVisitor<Void> {
             writer.writeObjectClose();
             return null;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -125,7 +126,7 @@ final class NodeWriter implements NodeVisitor<Void> {
             writer.writeString(node.getValue());
             return null;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 }
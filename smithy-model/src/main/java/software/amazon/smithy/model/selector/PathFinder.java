@@ -16,16 +16,25 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
@@ -41,6 +50,8 @@ import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.utils.FunctionalUtils;
 import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SmithyBuilder;
+import software.amazon.smithy.utils.ToSmithyBuilder;
 
 /**
  * Finds the possible directed relationship paths from a starting shape to
@@ -65,11 +76,13 @@ public final class PathFinder {
     private static final Logger LOGGER = Logger.getLogger(PathFinder.class.getName());
 
     private final Model model;
+    private final NeighborProvider provider;
     private final NeighborProvider reverseProvider;
     private Predicate<Relationship> filter = FunctionalUtils.alwaysTrue();
 
     private PathFinder(Model model) {
         this.model = model;
+        this.provider = NeighborProviderIndex.of(model).getProvider();
         this.reverseProvider = NeighborProviderIndex.of(model).getReverseProvider();
     }
 
@@ -146,6 +159,51 @@ public final class PathFinder {
         return searchFromShapeToSet(startingShape, targetShapes);
     }
 
+    /**
+     * Lazily finds the paths from the starting shape to all shapes connected
+     * to the starting shape that match the given selector.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetSelector Selector that matches shapes to find the path to.
+     * @param options Options used to limit the search.
+     * @return Returns a stream of matching paths.
+     * @see #stream(ToShapeId, Collection, SearchOptions)
+     */
+    public Stream<Path> stream(ToShapeId startingShape, Selector targetSelector, SearchOptions options) {
+        return stream(startingShape, targetSelector.select(model), options);
+    }
+
+    /**
+     * Lazily finds the paths from the starting shape to any of the provided
+     * shapes in {@code targetShapes}.
+     *
+     * <p>Unlike {@link #search}, the shapes that can reach any of the target
+     * shapes are computed first using the reverse relationships of the
+     * model, and only those shapes are traversed from the starting shape.
+     * Paths are computed as the returned stream is consumed, so searches
+     * can be stopped early. Paths are found in depth-first order, or in
+     * order of length when only shortest paths are requested.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetShapes The shapes to try to find a path to.
+     * @param options Options used to limit the search.
+     * @return Returns a stream of matching paths.
+     */
+    public Stream<Path> stream(ToShapeId startingShape, Collection<Shape> targetShapes, SearchOptions options) {
+        Shape shape = model.getShape(startingShape.toShapeId()).orElse(null);
+        if (shape == null || targetShapes.isEmpty()) {
+            return Stream.empty();
+        }
+
+        PrunedSearch search = new PrunedSearch(shape, targetShapes, options);
+        Iterator<Path> iterator = options.shortestPathsOnly
+                                  ? search.new ShortestPathIterator()
+                                  : search.new AllPathIterator();
+        Stream<Path> result = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return options.maxResults == Long.MAX_VALUE ? result : result.limit(options.maxResults);
+    }
+
     /**
      * Creates a {@code Path} to an operation input member if it exists.
      *
@@ -356,6 +414,293 @@ public final class PathFinder {
         }
     }
 
+    /**
+     * Limits applied to a search performed using
+     * {@link #stream(ToShapeId, Collection, SearchOptions)}.
+     */
+    public static final class SearchOptions implements ToSmithyBuilder<SearchOptions> {
+        private final int maxDepth;
+        private final long maxResults;
+        private final boolean shortestPathsOnly;
+
+        private SearchOptions(Builder builder) {
+            this.maxDepth = builder.maxDepth;
+            this.maxResults = builder.maxResults;
+            this.shortestPathsOnly = builder.shortestPathsOnly;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Gets the maximum number of relationships in a path.
+         *
+         * @return Returns the maximum path length.
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Gets the maximum number of paths to find.
+         *
+         * @return Returns the maximum number of results.
+         */
+        public long getMaxResults() {
+            return maxResults;
+        }
+
+        /**
+         * Checks if only a single shortest path is found to each target shape.
+         *
+         * @return Returns true if only shortest paths are found.
+         */
+        public boolean isShortestPathsOnly() {
+            return shortestPathsOnly;
+        }
+
+        @Override
+        public Builder toBuilder() {
+            return builder().maxDepth(maxDepth).maxResults(maxResults).shortestPathsOnly(shortestPathsOnly);
+        }
+
+        public static final class Builder implements SmithyBuilder<SearchOptions> {
+            private int maxDepth = Integer.MAX_VALUE;
+            private long maxResults = Long.MAX_VALUE;
+            private boolean shortestPathsOnly;
+
+            private Builder() {}
+
+            @Override
+            public SearchOptions build() {
+                return new SearchOptions(this);
+            }
+
+            /**
+             * Sets the maximum number of relationships in a path.
+             *
+             * @param maxDepth Maximum path length, which must be greater than 0.
+             * @return Returns the builder.
+             */
+            public Builder maxDepth(int maxDepth) {
+                if (maxDepth < 1) {
+                    throw new IllegalArgumentException("maxDepth must be greater than 0: " + maxDepth);
+                }
+                this.maxDepth = maxDepth;
+                return this;
+            }
+
+            /**
+             * Sets the maximum number of paths to find.
+             *
+             * @param maxResults Maximum number of results, which must not be negative.
+             * @return Returns the builder.
+             */
+            public Builder maxResults(long maxResults) {
+                if (maxResults < 0) {
+                    throw new IllegalArgumentException("maxResults must not be negative: " + maxResults);
+                }
+                this.maxResults = maxResults;
+                return this;
+            }
+
+            /**
+             * Only find a single shortest path to each target shape.
+             *
+             * @param shortestPathsOnly Set to true to only find shortest paths.
+             * @return Returns the builder.
+             */
+            public Builder shortestPathsOnly(boolean shortestPathsOnly) {
+                this.shortestPathsOnly = shortestPathsOnly;
+                return this;
+            }
+        }
+    }
+
+    private final class PrunedSearch {
+        private final Shape startingShape;
+        private final Set<ShapeId> targets = new HashSet<>();
+        private final int maxDepth;
+
+        // Capture the filter since the returned stream is consumed lazily.
+        private final Predicate<Relationship> filter = PathFinder.this.filter;
+
+        // The fewest number of relationships from a shape to any target.
+        private final Map<ShapeId, Integer> distances = new HashMap<>();
+
+        PrunedSearch(Shape startingShape, Collection<Shape> targetShapes, SearchOptions options) {
+            this.startingShape = startingShape;
+            this.maxDepth = options.maxDepth;
+
+            Deque<Shape> queue = new ArrayDeque<>();
+            for (Shape target : targetShapes) {
+                targets.add(target.getId());
+                if (distances.put(target.getId(), 0) == null) {
+                    queue.add(target);
+                }
+            }
+
+            // Walk backwards from the targets to find every shape that can reach a target.
+            while (!queue.isEmpty()) {
+                Shape current = queue.poll();
+                int distance = distances.get(current.getId()) + 1;
+                if (distance > maxDepth) {
+                    continue;
+                }
+                for (Relationship relationship : reverseProvider.getNeighbors(current)) {
+                    if (relationship.getDirection() == RelationshipDirection.DIRECTED
+                            && relationship.getNeighborShapeId().equals(current.getId())
+                            && filter.test(relationship)
+                            && !distances.containsKey(relationship.getShape().getId())) {
+                        distances.put(relationship.getShape().getId(), distance);
+                        queue.add(relationship.getShape());
+                    }
+                }
+            }
+        }
+
+        // Gets the relationships of a shape that can reach a target within the remaining depth. Like
+        // the reverse provider used by search, duplicate relationships are only traversed once.
+        private Iterator<Relationship> relationships(Shape shape, int depth) {
+            Set<Relationship> result = new LinkedHashSet<>();
+            for (Relationship relationship : provider.getNeighbors(shape)) {
+                if (relationship.getDirection() == RelationshipDirection.DIRECTED
+                        && relationship.getShape().getId().equals(shape.getId())
+                        && relationship.getNeighborShape().isPresent()) {
+                    Integer distance = distances.get(relationship.getNeighborShapeId());
+                    if (distance != null && depth + 1 + distance <= maxDepth && filter.test(relationship)) {
+                        result.add(relationship);
+                    }
+                }
+            }
+            return result.iterator();
+        }
+
+        private final class AllPathIterator implements Iterator<Path> {
+            private final Deque<Iterator<Relationship>> stack = new ArrayDeque<>();
+            private final List<Relationship> path = new ArrayList<>();
+            private final Set<ShapeId> visited = new HashSet<>();
+            private Path next;
+
+            AllPathIterator() {
+                if (distances.containsKey(startingShape.getId())) {
+                    stack.push(relationships(startingShape, 0));
+                    visited.add(startingShape.getId());
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && !stack.isEmpty()) {
+                    Iterator<Relationship> relationships = stack.peek();
+                    if (!relationships.hasNext()) {
+                        stack.pop();
+                        if (!path.isEmpty()) {
+                            visited.remove(path.remove(path.size() - 1).getNeighborShapeId());
+                        }
+                        continue;
+                    }
+
+                    Relationship relationship = relationships.next();
+                    ShapeId neighbor = relationship.getNeighborShapeId();
+                    boolean isStart = neighbor.equals(startingShape.getId());
+
+                    // Paths can only return to the starting shape if it's a target.
+                    if (visited.contains(neighbor) && !isStart) {
+                        continue;
+                    }
+
+                    path.add(relationship);
+                    if (targets.contains(neighbor)) {
+                        next = new Path(path);
+                    }
+
+                    if (!isStart && path.size() < maxDepth) {
+                        visited.add(neighbor);
+                        stack.push(relationships(relationship.expectNeighborShape(), path.size()));
+                    } else {
+                        path.remove(path.size() - 1);
+                    }
+                }
+
+                return next != null;
+            }
+
+            @Override
+            public Path next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Path result = next;
+                next = null;
+                return result;
+            }
+        }
+
+        private final class ShortestPathIterator implements Iterator<Path> {
+            private final Deque<Shape> queue = new ArrayDeque<>();
+            private final Map<ShapeId, Relationship> parents = new HashMap<>();
+            private final Map<ShapeId, Integer> depths = new HashMap<>();
+            private final Deque<Path> pending = new ArrayDeque<>();
+            private boolean foundStart;
+
+            ShortestPathIterator() {
+                if (distances.containsKey(startingShape.getId())) {
+                    queue.add(startingShape);
+                    depths.put(startingShape.getId(), 0);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (pending.isEmpty() && !queue.isEmpty()) {
+                    Shape current = queue.poll();
+                    int depth = depths.get(current.getId());
+                    Iterator<Relationship> relationships = relationships(current, depth);
+                    while (relationships.hasNext()) {
+                        Relationship relationship = relationships.next();
+                        ShapeId neighbor = relationship.getNeighborShapeId();
+                        if (neighbor.equals(startingShape.getId())) {
+                            if (!foundStart && targets.contains(neighbor)) {
+                                foundStart = true;
+                                pending.add(createPath(relationship));
+                            }
+                        } else if (!depths.containsKey(neighbor)) {
+                            depths.put(neighbor, depth + 1);
+                            parents.put(neighbor, relationship);
+                            queue.add(relationship.expectNeighborShape());
+                            if (targets.contains(neighbor)) {
+                                pending.add(createPath(relationship));
+                            }
+                        }
+                    }
+                }
+
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public Path next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pending.poll();
+            }
+
+            private Path createPath(Relationship last) {
+                Path path = new Path(last, null);
+                ShapeId current = last.getShape().getId();
+                while (!current.equals(startingShape.getId())) {
+                    Relationship parent = parents.get(current);
+                    path = new Path(parent, path);
+                    current = parent.getShape().getId();
+                }
+                return path;
+            }
+        }
+    }
+
     private static final class Search {
         private final Shape startingShape;
         private final NeighborProvider provider;
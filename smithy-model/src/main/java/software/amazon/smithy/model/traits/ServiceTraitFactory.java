@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *   http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.traits;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.ServiceProviderRegistry;
+
+/**
+ * A {@link TraitFactory} that only creates the {@link TraitService}
+ * providers of traits that are actually used.
+ *
+ * <p>When more than one provider has the same shape ID, the provider found
+ * last is used so that traits can be overridden by later providers.
+ */
+final class ServiceTraitFactory implements TraitFactory {
+
+    private final Map<ShapeId, Supplier<TraitService>> suppliers;
+    private final Map<ShapeId, TraitService> services = new ConcurrentHashMap<>();
+
+    ServiceTraitFactory(ClassLoader classLoader) {
+        suppliers = ServiceProviderRegistry.getProvidersByKey(
+                TraitService.class, classLoader, "shapeId", TraitService::getShapeId,
+                ServiceProviderRegistry.DuplicateKeys.KEEP_LAST);
+    }
+
+    @Override
+    public Optional<Trait> createTrait(ShapeId id, ShapeId target, Node value) {
+        Supplier<TraitService> supplier = suppliers.get(id);
+        if (supplier == null) {
+            return Optional.empty();
+        }
+        TraitService service = services.computeIfAbsent(id, i -> supplier.get());
+        return Optional.ofNullable(service.createTrait(target, value));
+    }
+}
@@ -18,7 +18,6 @@ package software.amazon.smithy.model.traits;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ShapeId;
@@ -57,20 +56,24 @@ public interface TraitFactory {
      * Creates a TraitFactory that discovers TraitService providers using
      * the Thread context class loader.
      *
+     * <p>TraitService providers are only created for traits that are used.
+     *
      * @return Returns the created TraitFactory.
      */
     static TraitFactory createServiceFactory() {
-        return createServiceFactory(ServiceLoader.load(TraitService.class));
+        return createServiceFactory(Thread.currentThread().getContextClassLoader());
     }
 
     /**
      * Creates a TraitFactory that discovers TraitService providers using
      * the given ClassLoader.
      *
+     * <p>TraitService providers are only created for traits that are used.
+     *
      * @param classLoader Class loader used to find TraitService providers.
      * @return Returns the created TraitFactory.
      */
     static TraitFactory createServiceFactory(ClassLoader classLoader) {
-        return createServiceFactory(ServiceLoader.load(TraitService.class, classLoader));
+        return new ServiceTraitFactory(classLoader);
     }
 }
@@ -39,7 +39,10 @@ final class MapShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
-        return transformer.replaceShapes(model, model.shapes()
+        // Shapes are mapped independently, so they can be mapped in parallel and then
+        // replaced in the model at once.
+        Stream<Shape> shapes = transformer.isParallel() ? model.shapes().parallel() : model.shapes();
+        return transformer.replaceShapes(model, shapes
                 .flatMap(shape -> {
                     Shape mapped = Objects.requireNonNull(mapper.apply(shape), "Shape mapper must not return null");
                     if (mapped.equals(shape)) {
@@ -15,13 +15,11 @@
 
 package software.amazon.smithy.model.transform;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -43,15 +41,18 @@ import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
 import software.amazon.smithy.utils.FunctionalUtils;
 import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.ServiceProviderRegistry;
 
 /**
  * Class used to transform {@link Model}s.
  */
 public final class ModelTransformer {
     private final List<ModelTransformerPlugin> plugins;
+    private final boolean parallel;
 
-    private ModelTransformer(List<ModelTransformerPlugin> plugins) {
+    private ModelTransformer(List<ModelTransformerPlugin> plugins, boolean parallel) {
         this.plugins = ListUtils.copyOf(plugins);
+        this.parallel = parallel;
     }
 
     /**
@@ -70,12 +71,6 @@ public final class ModelTransformer {
         static final ModelTransformer INSTANCE = createWithServiceProviders(ModelTransformer.class.getClassLoader());
     }
 
-    private static ModelTransformer createWithServiceLoader(ServiceLoader<ModelTransformerPlugin> serviceLoader) {
-        List<ModelTransformerPlugin> plugins = new ArrayList<>();
-        serviceLoader.forEach(plugins::add);
-        return createWithPlugins(plugins);
-    }
-
     /**
      * Creates a ModelTransformer using a list of ModelTransformer plugins.
      *
@@ -83,7 +78,7 @@ public final class ModelTransformer {
      * @return Returns the created ModelTransformer.
      */
     public static ModelTransformer createWithPlugins(List<ModelTransformerPlugin> plugins) {
-        return new ModelTransformer(plugins);
+        return new ModelTransformer(plugins, false);
     }
 
     /**
@@ -94,7 +89,35 @@ public final class ModelTransformer {
      * @return Returns the created ModelTransformer.
      */
     public static ModelTransformer createWithServiceProviders(ClassLoader classLoader) {
-        return createWithServiceLoader(ServiceLoader.load(ModelTransformerPlugin.class, classLoader));
+        return createWithPlugins(ServiceProviderRegistry.getProviders(ModelTransformerPlugin.class, classLoader));
+    }
+
+    /**
+     * Creates a ModelTransformer that uses the same plugins as this
+     * transformer, but that maps and filters shapes in parallel.
+     *
+     * <p>Transformations that apply a function to each shape, like
+     * {@link #mapShapes}, {@link #mapTraits}, {@link #filterTraits}, and
+     * {@link #scrubTraitDefinitions}, split the shapes of the model across
+     * the common fork/join pool and then replace the changed shapes in the
+     * model at once. The resulting model is identical to the model created
+     * by a sequential transformer. Functions given to a parallel transformer
+     * must be thread safe.
+     *
+     * @return Returns the parallel ModelTransformer.
+     */
+    public ModelTransformer parallel() {
+        return parallel ? this : new ModelTransformer(plugins, true);
+    }
+
+    /**
+     * Checks if the transformer maps and filters shapes in parallel.
+     *
+     * @return Returns true if the transformer is parallel.
+     * @see #parallel()
+     */
+    public boolean isParallel() {
+        return parallel;
     }
 
     /**
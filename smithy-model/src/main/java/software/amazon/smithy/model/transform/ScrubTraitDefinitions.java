@@ -50,10 +50,11 @@ final class ScrubTraitDefinitions {
 
     Model transform(ModelTransformer transformer, Model model, Predicate<Shape> keepFilter) {
         // Find all trait definition shapes, excluding those to be kept, and private shapes in the prelude.
-        Set<Shape> toMark = Stream.concat(
-                model.shapes().filter(shape -> isTraitDefinitionToRemove(shape, keepFilter)),
-                model.shapes().filter(shape -> Prelude.isPreludeShape(shape) && shape.hasTrait(PrivateTrait.class))
-        ).collect(Collectors.toSet());
+        Stream<Shape> shapes = transformer.isParallel() ? model.shapes().parallel() : model.shapes();
+        Set<Shape> toMark = shapes
+                .filter(shape -> isTraitDefinitionToRemove(shape, keepFilter)
+                                 || (Prelude.isPreludeShape(shape) && shape.hasTrait(PrivateTrait.class)))
+                .collect(Collectors.toSet());
 
         MarkAndSweep markAndSweep = new MarkAndSweep(
                 // Mark shapes for removal that are private or remaining trait definitions.
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
 import software.amazon.smithy.model.shapes.Shape;
@@ -47,12 +48,17 @@ public final class RemoveTraits implements ModelTransformerPlugin {
             return model;
         } else {
             LOGGER.fine(() -> String.format("Detected the following removed traits: %s", removedTraits));
-            return transformer.replaceShapes(model, determineShapesToUpdate(model, removedTraits));
+            return transformer.replaceShapes(model, determineShapesToUpdate(transformer, model, removedTraits));
         }
     }
 
-    private List<Shape> determineShapesToUpdate(Model model, Set<ShapeId> removedTraits) {
-        List<Shape> shapes = model.shapes()
+    private List<Shape> determineShapesToUpdate(
+            ModelTransformer transformer,
+            Model model,
+            Set<ShapeId> removedTraits
+    ) {
+        Stream<Shape> candidates = transformer.isParallel() ? model.shapes().parallel() : model.shapes();
+        List<Shape> shapes = candidates
                 .filter(shape -> !removedTraits.contains(shape.getId()))
                 .filter(shape -> isShapeInNeedOfUpdate(shape, removedTraits))
                 .map(shape -> removeTraitsFromShape(shape, removedTraits))
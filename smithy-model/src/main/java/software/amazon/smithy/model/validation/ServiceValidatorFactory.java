@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *   http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.utils.ServiceProviderRegistry;
+
+/**
+ * A {@link ValidatorFactory} that only creates the {@link ValidatorService}
+ * providers of validators that are actually configured.
+ *
+ * <p>Built-in validators are always applied, so they are all created up front.
+ */
+final class ServiceValidatorFactory implements ValidatorFactory {
+
+    private final List<Validator> builtinValidators;
+    private final Map<String, Supplier<ValidatorService>> suppliers;
+    private final Map<String, ValidatorService> services = new ConcurrentHashMap<>();
+
+    ServiceValidatorFactory(ClassLoader classLoader) {
+        builtinValidators = ServiceProviderRegistry.getProviders(Validator.class, classLoader);
+        suppliers = ServiceProviderRegistry.getProvidersByKey(
+                ValidatorService.class, classLoader, "name", ValidatorService::getName);
+    }
+
+    @Override
+    public List<Validator> loadBuiltinValidators() {
+        return builtinValidators;
+    }
+
+    @Override
+    public Optional<Validator> createValidator(String name, ObjectNode configuration) {
+        Supplier<ValidatorService> supplier = suppliers.get(name);
+        if (supplier == null) {
+            return Optional.empty();
+        }
+        ValidatorService service = services.computeIfAbsent(name, n -> supplier.get());
+        return Optional.of(service.createValidator(configuration));
+    }
+}
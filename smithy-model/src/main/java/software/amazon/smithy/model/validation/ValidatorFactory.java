@@ -19,7 +19,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.node.ObjectNode;
 
@@ -89,12 +88,13 @@ public interface ValidatorFactory {
      * Creates a ValidatorFactory that discovers service providers using
      * the given ClassLoader.
      *
+     * <p>ValidatorService providers are only created for validators that
+     * are used.
+     *
      * @param classLoader Class loader used to find ValidatorProviders.
      * @return Returns the created factory.
      */
     static ValidatorFactory createServiceFactory(ClassLoader classLoader) {
-        return createServiceFactory(
-                ServiceLoader.load(Validator.class, classLoader),
-                ServiceLoader.load(ValidatorService.class, classLoader));
+        return new ServiceValidatorFactory(classLoader);
     }
 }
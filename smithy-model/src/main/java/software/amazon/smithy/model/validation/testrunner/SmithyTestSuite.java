@@ -30,17 +30,22 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.validation.ValidatedResult;
 
 /**
  * Runs test cases against a directory of models and error files.
  */
 public final class SmithyTestSuite {
     private static final String DEFAULT_TEST_CASE_LOCATION = "errorfiles";
+    private static final Logger LOGGER = Logger.getLogger(SmithyTestSuite.class.getName());
+    private static final long SLOW_TEST_CASE_MILLIS = 1000;
 
     private final List<SmithyTestCase> cases = new ArrayList<>();
     private Supplier<ModelAssembler> modelAssemblerFactory = ModelAssembler::new;
@@ -99,14 +104,43 @@ public final class SmithyTestSuite {
      * @return Returns the Stream that should be used as a JUnit 5 {@code MethodSource} return value.
      */
     public static Stream<Object[]> defaultParameterizedTestSource(Class<?> contextClass) {
-        ClassLoader classLoader = contextClass.getClassLoader();
-        ModelAssembler assembler = Model.assembler(classLoader).discoverModels(classLoader);
         return SmithyTestSuite.runner()
-                .setModelAssemblerFactory(assembler::copy)
+                .setModelAssemblerFactory(createDiscoveringAssemblerFactory(contextClass.getClassLoader()))
                 .addTestCasesFromUrl(contextClass.getResource(DEFAULT_TEST_CASE_LOCATION))
                 .parameterizedTestSource();
     }
 
+    /**
+     * Creates a {@link ModelAssembler} factory that merges in the models
+     * discovered using the given {@code ClassLoader}, and loads traits and
+     * validators using the {@code ClassLoader}.
+     *
+     * <p>Discovered models are loaded once and then merged into each created
+     * assembler using {@link ModelAssembler#addModel} rather than being
+     * reloaded for every test case. If the discovered models can't be loaded
+     * without errors, then each test case loads them instead so that the
+     * errors are reported by each test case.
+     *
+     * @param classLoader Class loader used to discover models, traits, and validators.
+     * @return Returns the created model assembler factory.
+     */
+    public static Supplier<ModelAssembler> createDiscoveringAssemblerFactory(ClassLoader classLoader) {
+        ModelAssembler assembler = Model.assembler(classLoader);
+        ValidatedResult<Model> discovered = assembler.copy()
+                .discoverModels(classLoader)
+                .disableValidation()
+                .assemble();
+
+        if (discovered.isBroken() || !discovered.getResult().isPresent()) {
+            LOGGER.fine("Unable to pre-assemble discovered models; discovering models for each test case");
+            assembler.discoverModels(classLoader);
+        } else {
+            assembler.addModel(discovered.getResult().get());
+        }
+
+        return assembler::copy;
+    }
+
     private Stream<Object[]> parameterizedTestSource() {
         return cases.stream().map(testCase -> {
             Callable<SmithyTestCase.Result> callable = createTestCaseCallable(testCase);
@@ -206,12 +240,24 @@ public final class SmithyTestSuite {
 
     private Callable<SmithyTestCase.Result> createTestCaseCallable(SmithyTestCase testCase) {
         return () -> {
+            long start = System.nanoTime();
             ModelAssembler assembler = modelAssemblerFactory.get();
             assembler.addImport(testCase.getModelLocation());
-            return testCase.createResult(assembler.assemble());
+            SmithyTestCase.Result result = testCase.createResult(assembler.assemble());
+            logDuration(testCase, System.nanoTime() - start);
+            return result;
         };
     }
 
+    private static void logDuration(SmithyTestCase testCase, long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= SLOW_TEST_CASE_MILLIS) {
+            LOGGER.info(() -> String.format("Slow test case %s took %d ms", testCase.getModelLocation(), millis));
+        } else {
+            LOGGER.fine(() -> String.format("Test case %s took %d ms", testCase.getModelLocation(), millis));
+        }
+    }
+
     /**
      * Executes the test runner.
      *
@@ -20,12 +20,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.HttpBinding;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.HttpRouteIndex;
 import software.amazon.smithy.model.knowledge.OperationIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.pattern.SmithyPattern;
@@ -61,18 +63,17 @@ public final class HttpUriConflictValidator extends AbstractValidator {
     }
 
     private List<ValidationEvent> validateService(Model model, ServiceShape service) {
-        List<OperationShape> operations = new ArrayList<>();
+        HttpRouteIndex routeIndex = HttpRouteIndex.of(model);
+        List<ValidationEvent> events = new ArrayList<>();
         for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
             if (operation.hasTrait(HttpTrait.class)) {
-                operations.add(operation);
+                Set<ShapeId> candidates = routeIndex.getConflictingOperations(service, operation);
+                if (!candidates.isEmpty()) {
+                    events.addAll(checkConflicts(model, operation, operation.expectTrait(HttpTrait.class), candidates));
+                }
             }
         }
 
-        List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : operations) {
-            events.addAll(checkConflicts(model, operation, operation.expectTrait(HttpTrait.class), operations));
-        }
-
         return events;
     }
 
@@ -80,27 +81,24 @@ public final class HttpUriConflictValidator extends AbstractValidator {
             Model model,
             OperationShape operation,
             HttpTrait httpTrait,
-            List<OperationShape> operations
+            Set<ShapeId> candidates
     ) {
-        String method = httpTrait.getMethod();
         UriPattern pattern = httpTrait.getUri();
 
         // Some conflicts are potentially allowable, so we split them up into to lists.
         List<Pair<ShapeId, UriPattern>> conflicts = new ArrayList<>();
         List<Pair<ShapeId, UriPattern>> allowableConflicts = new ArrayList<>();
 
-        for (OperationShape other : operations) {
-            if (other != operation && other.hasTrait(HttpTrait.class)) {
-                HttpTrait otherHttpTrait = other.expectTrait(HttpTrait.class);
-                if (otherHttpTrait.getMethod().equals(method)
-                        && otherHttpTrait.getUri().conflictsWith(pattern)
-                        && endpointConflicts(model, operation, other)) {
-                    // Now that we know we have a conflict, determine whether it is allowable or not.
-                    if (isAllowableConflict(model, operation, other)) {
-                        allowableConflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
-                    } else {
-                        conflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
-                    }
+        // The route index only returns operations with the same method and a conflicting URI.
+        for (ShapeId candidate : candidates) {
+            OperationShape other = model.expectShape(candidate, OperationShape.class);
+            HttpTrait otherHttpTrait = other.expectTrait(HttpTrait.class);
+            if (endpointConflicts(model, operation, other)) {
+                // Now that we know we have a conflict, determine whether it is allowable or not.
+                if (isAllowableConflict(model, operation, other)) {
+                    allowableConflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
+                } else {
+                    conflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
                 }
             }
         }
@@ -15,18 +15,23 @@
 
 package software.amazon.smithy.model.validation.validators;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.StronglyConnectedComponentsIndex;
+import software.amazon.smithy.model.neighbor.RelationshipType;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
-import software.amazon.smithy.utils.OptionalUtils;
 
 /**
  * Validates that resource references do not introduce circular hierarchies.
@@ -35,31 +40,51 @@ public final class ResourceCycleValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
-        return model.shapes(ResourceShape.class)
-                .flatMap(shape -> OptionalUtils.stream(detectCycles(model, shape, new LinkedHashSet<>())))
-                .collect(Collectors.toList());
+        StronglyConnectedComponentsIndex components = StronglyConnectedComponentsIndex.of(
+                model, rel -> rel.getRelationshipType() == RelationshipType.RESOURCE);
+        List<ValidationEvent> events = new ArrayList<>();
+
+        for (ResourceShape resource : model.getResourceShapes()) {
+            if (components.isRecursive(resource)) {
+                events.add(cycle(resource, findCycle(resource, components.getComponent(resource))));
+            }
+        }
+
+        return events;
     }
 
-    private Optional<ValidationEvent> detectCycles(Model model, ResourceShape resource, Set<ShapeId> visited) {
-        if (visited.contains(resource.getId())) {
-            return Optional.of(cycle(resource, visited));
+    // Finds the shortest path from the resource back to itself. Every resource in a
+    // cycle with the resource is part of the same component.
+    private List<ShapeId> findCycle(ResourceShape resource, Set<Shape> component) {
+        Map<ShapeId, ResourceShape> resources = new HashMap<>();
+        for (Shape shape : component) {
+            resources.put(shape.getId(), (ResourceShape) shape);
         }
 
-        visited.add(resource.getId());
-        for (ShapeId child : resource.getResources()) {
-            ResourceShape childResource = model.getShape(child).flatMap(Shape::asResourceShape).orElse(null);
-            if (childResource != null) {
-                Optional<ValidationEvent> error = detectCycles(model, childResource, visited);
-                if (error.isPresent()) {
-                    return error;
+        Map<ShapeId, ShapeId> parents = new HashMap<>();
+        Deque<ResourceShape> queue = new ArrayDeque<>();
+        queue.add(resource);
+
+        while (!queue.isEmpty()) {
+            ResourceShape current = queue.poll();
+            for (ShapeId child : current.getResources()) {
+                if (child.equals(resource.getId())) {
+                    LinkedList<ShapeId> path = new LinkedList<>();
+                    for (ShapeId id = current.getId(); id != null; id = parents.get(id)) {
+                        path.addFirst(id);
+                    }
+                    return path;
+                } else if (resources.containsKey(child) && !parents.containsKey(child)) {
+                    parents.put(child, current.getId());
+                    queue.add(resources.get(child));
                 }
             }
         }
 
-        return Optional.empty();
+        throw new IllegalStateException("Expected a resource cycle for " + resource.getId());
     }
 
-    private ValidationEvent cycle(ResourceShape shape, Set<ShapeId> parents) {
+    private ValidationEvent cycle(ResourceShape shape, List<ShapeId> parents) {
         String chain = parents.stream().map(ShapeId::toString).collect(Collectors.joining(" -> "));
         return error(shape, String.format("Circular resource hierarchy found: %s -> %s", chain, shape.getId()));
     }
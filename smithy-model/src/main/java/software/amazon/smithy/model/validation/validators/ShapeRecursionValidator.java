@@ -21,7 +21,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.StronglyConnectedComponentsIndex;
+import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.selector.PathFinder;
 import software.amazon.smithy.model.shapes.ListShape;
 import software.amazon.smithy.model.shapes.MapShape;
@@ -60,24 +63,37 @@ public final class ShapeRecursionValidator extends AbstractValidator {
     }
 
     private void validateListMapSetShapes(PathFinder finder, Model model, List<ValidationEvent> events) {
-        finder.relationshipFilter(rel -> !(rel.getShape().isStructureShape() || rel.getShape().isUnionShape()));
+        Predicate<Relationship> filter = rel -> !(rel.getShape().isStructureShape() || rel.getShape().isUnionShape());
+        finder.relationshipFilter(filter);
+
+        // Only shapes that are part of a cycle can have recursive paths, so avoid searching the others.
+        StronglyConnectedComponentsIndex components = StronglyConnectedComponentsIndex.of(model, filter);
 
         for (ListShape shape : model.getListShapes()) {
-            validateListMapSetShapes(shape, finder, events);
+            validateListMapSetShapes(shape, finder, components, events);
         }
 
         for (SetShape shape : model.getSetShapes()) {
-            validateListMapSetShapes(shape, finder, events);
+            validateListMapSetShapes(shape, finder, components, events);
         }
 
         for (MapShape shape : model.getMapShapes()) {
-            validateListMapSetShapes(shape, finder, events);
+            validateListMapSetShapes(shape, finder, components, events);
         }
 
         finder.relationshipFilter(FunctionalUtils.alwaysTrue());
     }
 
-    private void validateListMapSetShapes(Shape shape, PathFinder finder, List<ValidationEvent> events) {
+    private void validateListMapSetShapes(
+            Shape shape,
+            PathFinder finder,
+            StronglyConnectedComponentsIndex components,
+            List<ValidationEvent> events
+    ) {
+        if (!components.isRecursive(shape)) {
+            return;
+        }
+
         for (PathFinder.Path path : finder.search(shape, Collections.singletonList(shape))) {
             events.add(error(shape, String.format(
                     "Found invalid shape recursion: %s. A recursive list, set, or map shape is only "
@@ -86,15 +102,20 @@ public final class ShapeRecursionValidator extends AbstractValidator {
     }
 
     private void validateStructurePaths(PathFinder finder, Model model, List<ValidationEvent> events) {
-        finder.relationshipFilter(rel -> {
+        Predicate<Relationship> filter = rel -> {
             if (rel.getShape().isStructureShape()) {
                 return rel.getNeighborShape().get().hasTrait(RequiredTrait.class);
             } else {
                 return rel.getShape().isMemberShape();
             }
-        });
+        };
+        finder.relationshipFilter(filter);
+        StronglyConnectedComponentsIndex components = StronglyConnectedComponentsIndex.of(model, filter);
 
         for (StructureShape shape : model.getStructureShapes()) {
+            if (!components.isRecursive(shape)) {
+                continue;
+            }
             for (PathFinder.Path path : finder.search(shape, Collections.singletonList(shape))) {
                 events.add(error(shape, String.format(
                         "Found invalid shape recursion: %s. A structure cannot be mutually recursive through all "
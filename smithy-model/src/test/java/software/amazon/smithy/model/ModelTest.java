@@ -21,19 +21,23 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.IncrementalKnowledgeIndex;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
@@ -45,6 +49,7 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.TimestampShape;
+import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
 
@@ -277,6 +282,85 @@ public class ModelTest {
         model.getKnowledge(FooFooFoo.class, FooFooFoo::new);
     }
 
+    @Test
+    public void sharesUnchangedInformationWithDerivedModels() {
+        StringShape string = StringShape.builder().id("smithy.example#String").build();
+        IntegerShape integer = IntegerShape.builder().id("smithy.example#Integer").build();
+        Model model = Model.builder().addShapes(string, integer).build();
+        Set<StringShape> strings = model.toSet(StringShape.class);
+        Set<IntegerShape> integers = model.toSet(IntegerShape.class);
+
+        Model unchanged = model.toBuilder().addShape(string).build();
+        Model changed = model.toBuilder()
+                .addShape(integer.toBuilder().addTrait(new DeprecatedTrait.Provider()
+                        .createTrait(DeprecatedTrait.ID, Node.objectNode())).build())
+                .build();
+
+        assertThat(unchanged, equalTo(model));
+        assertThat(unchanged.toSet(StringShape.class), sameInstance(strings));
+        assertThat(changed.toSet(StringShape.class), sameInstance(strings));
+        assertThat(changed.toSet(IntegerShape.class), not(sameInstance(integers)));
+        assertThat(changed.expectShape(integer.getId()).hasTrait(DeprecatedTrait.class), is(true));
+        assertThat(model.expectShape(integer.getId()).hasTrait(DeprecatedTrait.class), is(false));
+    }
+
+    @Test
+    public void replacesShapesThatAreEqualButNotIdentical() {
+        StringShape one = StringShape.builder()
+                .id("smithy.example#A")
+                .source(new SourceLocation("one.smithy", 1, 1))
+                .build();
+        StringShape two = StringShape.builder()
+                .id("smithy.example#A")
+                .source(new SourceLocation("two.smithy", 2, 2))
+                .build();
+        Model model = Model.builder().addShape(one).build();
+        Model derived = model.toBuilder().addShape(two).build();
+
+        assertThat(derived.expectShape(two.getId()), sameInstance(two));
+        assertThat(derived.expectShape(two.getId()).getSourceLocation(), equalTo(two.getSourceLocation()));
+    }
+
+    @Test
+    public void updatesIncrementalKnowledgeIndexes() {
+        StringShape a = StringShape.builder().id("smithy.example#A").build();
+        StringShape b = StringShape.builder().id("smithy.example#B").build();
+        StringShape c = StringShape.builder().id("smithy.example#C").build();
+        Model model = Model.builder().addShapes(a, b).build();
+        CountingIndex index = CountingIndex.of(model);
+
+        Model derived = model.toBuilder().removeShape(a.getId()).build().toBuilder().addShape(c).build();
+        CountingIndex updated = CountingIndex.of(derived);
+
+        assertThat(index.updates, is(0));
+        assertThat(updated.updates, is(1));
+        assertThat(updated.changedShapes, containsInAnyOrder(a.getId(), c.getId()));
+        assertThat(updated.count, is(2));
+        assertThat(CountingIndex.of(derived), sameInstance(updated));
+    }
+
+    private static final class CountingIndex implements IncrementalKnowledgeIndex {
+        private final int count;
+        private final int updates;
+        private final Set<ShapeId> changedShapes;
+
+        private CountingIndex(int count, int updates, Set<ShapeId> changedShapes) {
+            this.count = count;
+            this.updates = updates;
+            this.changedShapes = changedShapes;
+        }
+
+        static CountingIndex of(Model model) {
+            return model.getKnowledge(CountingIndex.class,
+                                      m -> new CountingIndex(m.toSet().size(), 0, Collections.emptySet()));
+        }
+
+        @Override
+        public KnowledgeIndex update(Model model, Set<ShapeId> changedShapes) {
+            return new CountingIndex(model.toSet().size(), updates + 1, changedShapes);
+        }
+    }
+
     private static final class FooFooFoo implements KnowledgeIndex {
         public FooFooFoo(Model model) {
             model.getKnowledge(Baz.class, Baz::new);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PersistentMapTest {
+
+    @Test
+    public void behavesLikeHashMapAndPreservesPreviousVersions() {
+        Random random = new Random(0);
+
+        for (int round = 0; round < 200; round++) {
+            // Use a small number of hash codes on even rounds to force collisions.
+            int hashes = round % 2 == 0 ? 8 : Integer.MAX_VALUE;
+            Map<Key, Integer> expected = new HashMap<>();
+            PersistentMap.Editor<Key, Integer> editor = PersistentMap.<Key, Integer>empty().edit();
+            List<Map<Key, Integer>> expectedVersions = new ArrayList<>();
+            List<PersistentMap<Key, Integer>> versions = new ArrayList<>();
+
+            for (int i = 0; i < 300; i++) {
+                int value = random.nextInt(100);
+                Key key = new Key(value, hashes == 8 ? value % 8 : value * 0x9E3779B9);
+                if (random.nextInt(3) == 0) {
+                    assertThat(editor.remove(key), is(expected.remove(key) != null));
+                } else {
+                    Integer previous = expected.put(key, i % 3);
+                    assertThat(editor.put(key, i % 3), is(previous == null || previous != i % 3));
+                }
+                if (random.nextInt(20) == 0) {
+                    expectedVersions.add(new HashMap<>(expected));
+                    versions.add(editor.toMap());
+                }
+                assertThat(editor.view(), equalTo(expected));
+            }
+
+            for (int i = 0; i < versions.size(); i++) {
+                assertThat(versions.get(i), equalTo(expectedVersions.get(i)));
+                assertThat(versions.get(i).size(), equalTo(expectedVersions.get(i).size()));
+                assertThat(versions.get(i).hashCode(), equalTo(expectedVersions.get(i).hashCode()));
+            }
+        }
+    }
+
+    private static final class Key {
+        private final int value;
+        private final int hash;
+
+        Key(int value, int hash) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.RelationshipType;
+import software.amazon.smithy.model.neighbor.Walker;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class ClosureIndexTest {
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(ClosureIndexTest.class.getResource("closure-index.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    @AfterAll
+    public static void after() {
+        model = null;
+    }
+
+    private static Set<ShapeId> ids(Set<Shape> shapes) {
+        return shapes.stream().map(Shape::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void containsTheSameShapesAsWalker() {
+        ClosureIndex index = ClosureIndex.of(model);
+        Walker walker = new Walker(model);
+
+        for (Shape shape : model.toSet()) {
+            Set<Shape> closure = index.getClosure(shape);
+            Set<Shape> walked = walker.walkShapes(shape);
+            assertThat(closure, equalTo(walked));
+            assertThat(closure.size(), equalTo(walked.size()));
+            for (Shape walkedShape : walked) {
+                assertThat(index.getClosure(shape).containsShapeId(walkedShape), equalTo(true));
+            }
+        }
+    }
+
+    @Test
+    public void filtersRelationships() {
+        ClosureIndex index = ClosureIndex.of(model);
+        Predicate<Relationship> filter = rel -> rel.getRelationshipType() != RelationshipType.RESOURCE;
+        ShapeId serviceB = ShapeId.from("smithy.example#ServiceB");
+
+        assertThat(index.getClosure(serviceB, filter),
+                   equalTo(new Walker(model).walkShapes(model.expectShape(serviceB), filter)));
+        assertThat(index.getClosure(serviceB, filter).containsShapeId(ShapeId.from("smithy.example#ResourceB")),
+                   equalTo(false));
+    }
+
+    @Test
+    public void filtersRelationshipsOfShapesWithCachedClosures() {
+        ClosureIndex index = new ClosureIndex(model);
+        Predicate<Relationship> filter = rel -> rel.getRelationshipType() != RelationshipType.RESOURCE;
+        ShapeId serviceB = ShapeId.from("smithy.example#ServiceB");
+        index.getClosure(model.toSet());
+
+        assertThat(index.getClosure(serviceB, filter),
+                   equalTo(new Walker(model).walkShapes(model.expectShape(serviceB), filter)));
+    }
+
+    @Test
+    public void combinesClosuresOfManyShapesInOneWalk() {
+        Walker walker = new Walker(model);
+        Set<Shape> walked = new HashSet<>();
+        for (Shape shape : model.toSet()) {
+            walked.addAll(walker.walkShapes(shape));
+        }
+
+        // Compute the union both without and with the cached closures of some of the shapes.
+        ClosureIndex index = new ClosureIndex(model);
+        assertThat(index.getClosure(model.toSet()), equalTo(walked));
+        index.getClosure(ShapeId.from("smithy.example#ServiceA"));
+        assertThat(index.getClosure(model.toSet()), equalTo(walked));
+    }
+
+    @Test
+    public void combinesClosures() {
+        ClosureIndex index = ClosureIndex.of(model);
+        ClosureIndex.Closure a = index.getClosure(ShapeId.from("smithy.example#ServiceA"));
+        ClosureIndex.Closure b = index.getClosure(ShapeId.from("smithy.example#ServiceB"));
+
+        assertThat(a.intersection(b).containsShapeId(ShapeId.from("smithy.example#Shared")), equalTo(true));
+        assertThat(a.intersection(b).containsShapeId(ShapeId.from("smithy.example#Recursive")), equalTo(false));
+        assertThat(ids(a.difference(b)), containsInAnyOrder(
+                ShapeId.from("smithy.example#ServiceA"),
+                ShapeId.from("smithy.example#OperationA"),
+                ShapeId.from("smithy.example#OperationAOutput"),
+                ShapeId.from("smithy.example#OperationAOutput$recursive"),
+                ShapeId.from("smithy.example#Recursive"),
+                ShapeId.from("smithy.example#Recursive$next")));
+        assertThat(a.union(b), equalTo(index.getClosure(Arrays.asList(
+                ShapeId.from("smithy.example#ServiceA"), ShapeId.from("smithy.example#ServiceB")))));
+    }
+
+    @Test
+    public void returnsEmptyClosuresForMissingShapes() {
+        assertThat(ClosureIndex.of(model).getClosure(ShapeId.from("smithy.example#Missing")), empty());
+    }
+
+    @Test
+    public void onlyCombinesClosuresOfTheSameIndex() {
+        ShapeId service = ShapeId.from("smithy.example#ServiceA");
+        ClosureIndex.Closure a = ClosureIndex.of(model).getClosure(service);
+        ClosureIndex.Closure b = new ClosureIndex(model).getClosure(service);
+
+        assertThrows(IllegalArgumentException.class, () -> a.union(b));
+    }
+}
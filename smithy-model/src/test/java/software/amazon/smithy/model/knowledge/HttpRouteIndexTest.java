@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.pattern.UriPattern;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.HttpTrait;
+import software.amazon.smithy.utils.MapUtils;
+
+public class HttpRouteIndexTest {
+
+    private static final ShapeId SERVICE = ShapeId.from("smithy.example#Service");
+
+    private static Model createModel(Map<String, String> operations) {
+        Model.Builder builder = Model.builder();
+        ServiceShape.Builder service = ServiceShape.builder().id(SERVICE).version("1");
+        for (Map.Entry<String, String> entry : operations.entrySet()) {
+            String[] parts = entry.getValue().split(" ", 2);
+            OperationShape operation = OperationShape.builder()
+                    .id(ShapeId.fromParts("smithy.example", entry.getKey()))
+                    .addTrait(HttpTrait.builder().method(parts[0]).uri(UriPattern.parse(parts[1])).code(200).build())
+                    .build();
+            builder.addShape(operation);
+            service.addOperation(operation);
+        }
+        return builder.addShape(service.build()).build();
+    }
+
+    private static Map<String, String> operations() {
+        Map<String, String> operations = new LinkedHashMap<>();
+        operations.put("ListBuckets", "GET /");
+        operations.put("GetBucket", "GET /{Bucket}");
+        operations.put("ListObjects", "GET /{Bucket}?list-type=2");
+        operations.put("GetObject", "GET /{Bucket}/{Key+}");
+        operations.put("GetObjectAcl", "GET /{Bucket}/{Key+}?acl");
+        operations.put("GetObjectTagging", "GET /{Bucket}/{Key+}/tagging");
+        operations.put("PutObject", "PUT /{Bucket}/{Key+}");
+        operations.put("GetStatus", "GET /status");
+        operations.put("GetWidget", "GET /widgets/{id}");
+        operations.put("GetWidgetPart", "GET /widgets/{id}/parts/{part}");
+        operations.put("GetWidgetSummary", "GET /widgets/summary");
+        operations.put("GetGadget", "GET /gadgets/{id}");
+        operations.put("GetGadgetByName", "GET /gadgets/{name}");
+        operations.put("GetGadgetContents", "GET /gadgets/{path+}/contents");
+        return operations;
+    }
+
+    @Test
+    public void findsTheSameConflictsAsPairwiseComparison() {
+        Model model = createModel(operations());
+        HttpRouteIndex index = HttpRouteIndex.of(model);
+
+        for (OperationShape operation : model.getOperationShapes()) {
+            HttpTrait trait = operation.expectTrait(HttpTrait.class);
+            Set<ShapeId> expected = new HashSet<>();
+            for (OperationShape other : model.getOperationShapes()) {
+                HttpTrait otherTrait = other.expectTrait(HttpTrait.class);
+                if (other != operation
+                        && otherTrait.getMethod().equals(trait.getMethod())
+                        && otherTrait.getUri().conflictsWith(trait.getUri())) {
+                    expected.add(other.getId());
+                }
+            }
+
+            assertThat(operation.getId().toString(),
+                       index.getConflictingOperations(SERVICE, operation), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void returnsNoConflictsForUnknownOperations() {
+        Model model = createModel(MapUtils.of("GetStatus", "GET /status"));
+        HttpRouteIndex index = HttpRouteIndex.of(model);
+
+        assertThat(index.getConflictingOperations(SERVICE, ShapeId.from("smithy.example#Missing")), empty());
+        assertThat(index.getConflictingOperations(ShapeId.from("smithy.example#Missing"),
+                                                  ShapeId.from("smithy.example#GetStatus")), empty());
+    }
+
+    @Test
+    public void detectsIdenticalRoutes() {
+        Model model = createModel(MapUtils.of("A", "GET /foo/{bar}", "B", "GET /foo/{baz}", "C", "POST /foo/{bar}"));
+        HttpRouteIndex index = HttpRouteIndex.of(model);
+
+        assertThat(index.getConflictingOperations(SERVICE, ShapeId.from("smithy.example#A")),
+                   containsInAnyOrder(ShapeId.from("smithy.example#B")));
+        assertThat(index.getConflictingOperations(SERVICE, ShapeId.from("smithy.example#C")), empty());
+    }
+
+    @Test
+    public void matchesLiteralsBeforeLabels() {
+        HttpRouteIndex index = HttpRouteIndex.of(createModel(operations()));
+
+        assertMatch(index, "GET", "/widgets/summary", "GetWidgetSummary", MapUtils.of());
+        assertMatch(index, "GET", "/widgets/abc", "GetWidget", MapUtils.of("id", "abc"));
+        assertMatch(index, "GET", "/widgets/abc/parts/1", "GetWidgetPart", MapUtils.of("id", "abc", "part", "1"));
+        assertMatch(index, "GET", "/status", "GetStatus", MapUtils.of());
+        assertMatch(index, "GET", "/", "ListBuckets", MapUtils.of());
+    }
+
+    @Test
+    public void matchesQueryLiterals() {
+        HttpRouteIndex index = HttpRouteIndex.of(createModel(operations()));
+
+        assertMatch(index, "GET", "/mybucket", "GetBucket", MapUtils.of("Bucket", "mybucket"));
+        assertMatch(index, "GET", "/mybucket?list-type=2", "ListObjects", MapUtils.of("Bucket", "mybucket"));
+        assertMatch(index, "GET", "/mybucket?list-type=1", "GetBucket", MapUtils.of("Bucket", "mybucket"));
+        assertMatch(index, "GET", "/b/k?acl", "GetObjectAcl", MapUtils.of("Bucket", "b", "Key", "k"));
+    }
+
+    @Test
+    public void matchesGreedyLabels() {
+        HttpRouteIndex index = HttpRouteIndex.of(createModel(operations()));
+
+        assertMatch(index, "GET", "/b/a/b/c", "GetObject", MapUtils.of("Bucket", "b", "Key", "a/b/c"));
+        assertMatch(index, "PUT", "/b/a/b", "PutObject", MapUtils.of("Bucket", "b", "Key", "a/b"));
+        assertMatch(index, "GET", "/gadgets/a/b/contents", "GetGadgetContents", MapUtils.of("path", "a/b"));
+    }
+
+    @Test
+    public void returnsEmptyWhenNothingMatches() {
+        HttpRouteIndex index = HttpRouteIndex.of(createModel(operations()));
+
+        assertThat(index.match(SERVICE, "DELETE", "/b/k"), equalTo(Optional.empty()));
+        assertThat(index.match(SERVICE, "PUT", "/b"), equalTo(Optional.empty()));
+        assertThat(index.match(ShapeId.from("smithy.example#Missing"), "GET", "/"), equalTo(Optional.empty()));
+    }
+
+    private static void assertMatch(
+            HttpRouteIndex index,
+            String method,
+            String path,
+            String operation,
+            Map<String, String> labels
+    ) {
+        HttpRouteMatch match = index.match(SERVICE, method, path).get();
+
+        assertThat(match.getOperation(), equalTo(ShapeId.fromParts("smithy.example", operation)));
+        assertThat(match.getLabels(), equalTo(labels));
+    }
+}
@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -31,6 +32,7 @@ import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.UnitTypeTrait;
 
 public class OperationIndexTest {
@@ -130,4 +132,30 @@ public class OperationIndexTest {
         assertThat(opIndex.getErrors(b), containsInAnyOrder(error1, error2));
         assertThat(opIndex.getErrors(service, b), containsInAnyOrder(error1, error2, common1, common2));
     }
+
+    @Test
+    public void updatesIndexForDerivedModels() {
+        OperationIndex original = OperationIndex.of(model);
+        StructureShape input = model.expectShape(ShapeId.from("ns.foo#Input"), StructureShape.class)
+                .toBuilder()
+                .addTrait(new DocumentationTrait("Updated"))
+                .build();
+        Model derived = model.toBuilder()
+                .addShape(input)
+                .removeShape(ShapeId.from("ns.foo#CommonError2"))
+                .build();
+        OperationIndex updated = OperationIndex.of(derived);
+        OperationIndex computed = new OperationIndex(derived);
+
+        assertThat(updated.expectInputShape(ShapeId.from("ns.foo#B")), sameInstance(input));
+        assertThat(updated.expectOutputShape(ShapeId.from("ns.foo#B")),
+                   sameInstance(original.expectOutputShape(ShapeId.from("ns.foo#B"))));
+        assertThat(updated.getErrors(ShapeId.from("ns.foo#MyService")),
+                   equalTo(computed.getErrors(ShapeId.from("ns.foo#MyService"))));
+        for (Shape shape : derived.toSet()) {
+            assertThat(updated.getInputShape(shape), equalTo(computed.getInputShape(shape)));
+            assertThat(updated.getOutputShape(shape), equalTo(computed.getOutputShape(shape)));
+            assertThat(updated.getErrors(shape), equalTo(computed.getErrors(shape)));
+        }
+    }
 }
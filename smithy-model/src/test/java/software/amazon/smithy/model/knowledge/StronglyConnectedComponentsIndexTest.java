@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.RelationshipType;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+public class StronglyConnectedComponentsIndexTest {
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(StronglyConnectedComponentsIndexTest.class.getResource(
+                        "strongly-connected-components.smithy"))
+                .assemble()
+                // The self-bound resource is intentionally invalid.
+                .getResult()
+                .get();
+    }
+
+    @AfterAll
+    public static void after() {
+        model = null;
+    }
+
+    private static Set<ShapeId> component(StronglyConnectedComponentsIndex index, String shape) {
+        return index.getComponent(ShapeId.from(shape)).stream().map(Shape::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void findsRecursiveComponents() {
+        StronglyConnectedComponentsIndex index = StronglyConnectedComponentsIndex.of(model);
+
+        assertThat(component(index, "smithy.example#A"), containsInAnyOrder(
+                ShapeId.from("smithy.example#A"),
+                ShapeId.from("smithy.example#A$b"),
+                ShapeId.from("smithy.example#B"),
+                ShapeId.from("smithy.example#B$a")));
+        assertThat(component(index, "smithy.example#Recursive"), containsInAnyOrder(
+                ShapeId.from("smithy.example#Recursive"),
+                ShapeId.from("smithy.example#Recursive$member")));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#A")), equalTo(true));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#B$a")), equalTo(true));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#Recursive")), equalTo(true));
+    }
+
+    @Test
+    public void findsSelfReferences() {
+        StronglyConnectedComponentsIndex index = StronglyConnectedComponentsIndex.of(model);
+
+        assertThat(component(index, "smithy.example#SelfBound"),
+                   containsInAnyOrder(ShapeId.from("smithy.example#SelfBound")));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#SelfBound")), equalTo(true));
+    }
+
+    @Test
+    public void detectsNonRecursiveShapes() {
+        StronglyConnectedComponentsIndex index = StronglyConnectedComponentsIndex.of(model);
+
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#Leaf")), equalTo(false));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#A$leaf")), equalTo(false));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#UsesA")), equalTo(false));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#Missing")), equalTo(false));
+        assertThat(index.getComponent(ShapeId.from("smithy.example#Missing")), empty());
+    }
+
+    @Test
+    public void ordersShapesReverseTopologically() {
+        List<ShapeId> order = StronglyConnectedComponentsIndex.of(model).getReverseTopologicalOrder().stream()
+                .map(Shape::getId)
+                .collect(Collectors.toList());
+
+        assertThat(order.size(), equalTo(model.toSet().size()));
+        assertThat(order.indexOf(ShapeId.from("smithy.api#String")),
+                   lessThan(order.indexOf(ShapeId.from("smithy.example#Leaf$value"))));
+        assertThat(order.indexOf(ShapeId.from("smithy.example#Leaf")),
+                   lessThan(order.indexOf(ShapeId.from("smithy.example#A$leaf"))));
+        assertThat(order.indexOf(ShapeId.from("smithy.example#A")),
+                   lessThan(order.indexOf(ShapeId.from("smithy.example#UsesA$a"))));
+    }
+
+    @Test
+    public void filtersRelationships() {
+        StronglyConnectedComponentsIndex index = StronglyConnectedComponentsIndex.of(
+                model, rel -> rel.getRelationshipType() != RelationshipType.MEMBER_TARGET);
+
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#A")), equalTo(false));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#SelfBound")), equalTo(true));
+    }
+
+    @Test
+    public void handlesDeeplyNestedShapes() {
+        Model.Builder builder = Model.builder();
+        int depth = 20000;
+        for (int i = 0; i < depth; i++) {
+            ShapeId id = ShapeId.from("smithy.example#S" + i);
+            builder.addShape(StructureShape.builder()
+                    .id(id)
+                    .addMember("next", ShapeId.from("smithy.example#S" + ((i + 1) % depth)))
+                    .build());
+        }
+
+        StronglyConnectedComponentsIndex index = StronglyConnectedComponentsIndex.of(builder.build());
+
+        assertThat(index.getComponents().size(), equalTo(1));
+        assertThat(index.getComponent(ShapeId.from("smithy.example#S0")).size(), equalTo(depth * 2));
+    }
+}
@@ -196,4 +196,100 @@ public class PathFinderTest {
         assertThat(paths.get(0).getStartShape(), equalTo(struct));
         assertThat(paths.get(0).getEndShape(), equalTo(struct));
     }
+
+    private static Model createBranchingModel() {
+        StringShape string = StringShape.builder().id("a.b#String").build();
+        MemberShape listMember = MemberShape.builder().id("a.b#List$member").target(string).build();
+        ListShape list = ListShape.builder().id("a.b#List").member(listMember).build();
+        MemberShape structMemberFoo = MemberShape.builder().id("a.b#Struct$foo").target(list).build();
+        MemberShape structMemberBaz = MemberShape.builder().id("a.b#Struct$baz").target(string).build();
+        MemberShape structMemberBam = MemberShape.builder().id("a.b#Struct$bam").target("a.b#Struct").build();
+        StructureShape struct = StructureShape.builder()
+                .id("a.b#Struct")
+                .addMember(structMemberFoo)
+                .addMember(structMemberBaz)
+                .addMember(structMemberBam)
+                .build();
+        return Model.builder().addShapes(struct, list, string).build();
+    }
+
+    private static List<String> stream(Model model, String start, String selector, PathFinder.SearchOptions options) {
+        return formatPaths(PathFinder.create(model)
+                .stream(ShapeId.from(start), Selector.parse(selector), options)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void streamsTheSamePathsAsSearch() {
+        Model model = createBranchingModel();
+        PathFinder finder = PathFinder.create(model);
+        ShapeId struct = ShapeId.from("a.b#Struct");
+
+        for (String selector : new String[]{"string", "list", "structure", "member", "[id='a.b#Struct$foo']"}) {
+            List<String> expected = formatPaths(finder.search(struct, selector));
+            assertThat(stream(model, "a.b#Struct", selector, PathFinder.SearchOptions.builder().build()),
+                       containsInAnyOrder(expected.toArray()));
+        }
+    }
+
+    @Test
+    public void limitsStreamedPathDepth() {
+        List<String> result = stream(createBranchingModel(), "a.b#Struct", "string",
+                                     PathFinder.SearchOptions.builder().maxDepth(2).build());
+
+        assertThat(result, contains("[id|a.b#Struct] -[member]-> [id|a.b#Struct$baz] > [id|a.b#String]"));
+    }
+
+    @Test
+    public void limitsStreamedResults() {
+        List<String> result = stream(createBranchingModel(), "a.b#Struct", "string",
+                                     PathFinder.SearchOptions.builder().maxResults(1).build());
+
+        assertThat(result, hasSize(1));
+    }
+
+    @Test
+    public void streamsShortestPaths() {
+        PathFinder.SearchOptions options = PathFinder.SearchOptions.builder().shortestPathsOnly(true).build();
+
+        assertThat(stream(createBranchingModel(), "a.b#Struct", "string", options),
+                   contains("[id|a.b#Struct] -[member]-> [id|a.b#Struct$baz] > [id|a.b#String]"));
+        assertThat(stream(createBranchingModel(), "a.b#Struct", "structure", options),
+                   contains("[id|a.b#Struct] -[member]-> [id|a.b#Struct$bam] > [id|a.b#Struct]"));
+        assertThat(stream(createBranchingModel(), "a.b#Struct", ":is(string, list)", options), contains(
+                "[id|a.b#Struct] -[member]-> [id|a.b#Struct$foo] > [id|a.b#List]",
+                "[id|a.b#Struct] -[member]-> [id|a.b#Struct$baz] > [id|a.b#String]"));
+    }
+
+    @Test
+    public void streamsNothingWhenTargetsAreUnreachable() {
+        PathFinder.SearchOptions options = PathFinder.SearchOptions.builder().build();
+
+        assertThat(stream(createBranchingModel(), "a.b#String", "structure", options), empty());
+        assertThat(stream(createBranchingModel(), "a.b#Missing", "string", options), empty());
+    }
+
+    @Test
+    public void streamsPathsLazily() {
+        // Each structure has two members that target the next structure, creating 2^depth paths.
+        Model.Builder builder = Model.builder();
+        int depth = 64;
+        for (int i = 0; i < depth; i++) {
+            String next = i == depth - 1 ? "smithy.api#String" : "a.b#Struct" + (i + 1);
+            builder.addShape(StructureShape.builder()
+                    .id("a.b#Struct" + i)
+                    .addMember("a", ShapeId.from(next))
+                    .addMember("b", ShapeId.from(next))
+                    .build());
+        }
+        Model model = builder.addShape(StringShape.builder().id("smithy.api#String").build()).build();
+
+        Optional<PathFinder.Path> path = PathFinder.create(model)
+                .stream(ShapeId.from("a.b#Struct0"), Selector.parse("string"),
+                        PathFinder.SearchOptions.builder().build())
+                .findFirst();
+
+        assertThat(path.isPresent(), is(true));
+        assertThat(path.get(), hasSize(depth * 2));
+    }
 }
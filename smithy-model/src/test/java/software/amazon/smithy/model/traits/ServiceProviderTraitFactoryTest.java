@@ -16,12 +16,20 @@
 package software.amazon.smithy.model.traits;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ShapeId;
 
@@ -43,4 +51,49 @@ public class ServiceProviderTraitFactoryTest {
                 ShapeId.from("missing.baz#foo"), ShapeId.from("ns.qux#foo"), Node.nullNode());
         assertFalse(maybeTrait.isPresent());
     }
+
+    @Test
+    public void usesLastProviderWhenShapeIdsConflict(@TempDir Path dir) throws IOException {
+        Path services = dir.resolve("META-INF").resolve("services");
+        Files.createDirectories(services);
+        Files.write(services.resolve(TraitService.class.getName()),
+                    (FirstProvider.class.getName() + "\n" + SecondProvider.class.getName() + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {dir.toUri().toURL()},
+                                                        getClass().getClassLoader())) {
+            TraitFactory factory = TraitFactory.createServiceFactory(loader);
+            Optional<Trait> maybeTrait = factory.createTrait(
+                    FirstProvider.ID, ShapeId.from("ns.qux#foo"), Node.from("hi"));
+
+            assertTrue(maybeTrait.isPresent());
+            assertThat(maybeTrait.get().toNode(), equalTo(Node.from("second")));
+        }
+    }
+
+    public static final class FirstProvider implements TraitService {
+        static final ShapeId ID = ShapeId.from("smithy.example#duplicate");
+
+        @Override
+        public ShapeId getShapeId() {
+            return ID;
+        }
+
+        @Override
+        public Trait createTrait(ShapeId target, Node value) {
+            return new DynamicTrait(ID, Node.from("first"));
+        }
+    }
+
+    public static final class SecondProvider implements TraitService {
+        @Override
+        public ShapeId getShapeId() {
+            return FirstProvider.ID;
+        }
+
+        @Override
+        public Trait createTrait(ShapeId target, Node value) {
+            return new DynamicTrait(FirstProvider.ID, Node.from("second"));
+        }
+    }
 }
@@ -22,6 +22,9 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -36,9 +39,11 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.traits.MixinTrait;
 import software.amazon.smithy.model.traits.ReadonlyTrait;
+import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.UnitTypeTrait;
 
 public class ModelTransformerTest {
@@ -168,6 +173,30 @@ public class ModelTransformerTest {
         }
     }
 
+    @Test
+    public void parallelTransformerProducesSameModels() {
+        ModelTransformer sequential = ModelTransformer.create();
+        ModelTransformer parallel = sequential.parallel();
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("scrub-trait-def.json"))
+                .addImport(getClass().getResource("test-model.json"))
+                .assemble()
+                .unwrap();
+        BiFunction<Shape, Trait, Trait> mapper = (shape, trait) -> trait instanceof DocumentationTrait
+                ? new DocumentationTrait(((DocumentationTrait) trait).getValue() + ".")
+                : trait;
+        BiPredicate<Shape, Trait> filter = (shape, trait) -> !trait.toShapeId().getName().startsWith("b");
+
+        assertTrue(parallel.isParallel());
+        assertFalse(sequential.isParallel());
+        assertThat(parallel.parallel(), Matchers.sameInstance(parallel));
+        assertThat(parallel.mapTraits(model, mapper), Matchers.not(Matchers.equalTo(model)));
+        assertThat(parallel.mapTraits(model, mapper), Matchers.equalTo(sequential.mapTraits(model, mapper)));
+        assertThat(parallel.filterTraits(model, filter), Matchers.equalTo(sequential.filterTraits(model, filter)));
+        assertThat(parallel.scrubTraitDefinitions(model), Matchers.equalTo(sequential.scrubTraitDefinitions(model)));
+        assertThat(parallel.mapShapes(model, Function.identity()), Matchers.sameInstance(model));
+    }
+
     public static String[] flattenShapesData() {
         return new String[] {
             "loads-mixins",
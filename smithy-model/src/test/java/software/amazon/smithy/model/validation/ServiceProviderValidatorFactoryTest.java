@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.validation.linters.EmitEachSelectorValidator;
+
+public class ServiceProviderValidatorFactoryTest {
+    @Test
+    public void loadsBuiltinValidators() {
+        ValidatorFactory factory = ValidatorFactory.createServiceFactory(getClass().getClassLoader());
+
+        assertThat(factory.loadBuiltinValidators(), not(empty()));
+    }
+
+    @Test
+    public void createsValidatorsUsingServiceLoader() {
+        ValidatorFactory factory = ValidatorFactory.createServiceFactory(getClass().getClassLoader());
+        Optional<Validator> maybeValidator = factory.createValidator(
+                "EmitEachSelector", Node.objectNode().withMember("selector", "string"));
+
+        assertTrue(maybeValidator.isPresent());
+        assertThat(maybeValidator.get(), instanceOf(EmitEachSelectorValidator.class));
+    }
+
+    @Test
+    public void returnsEmptyWhenNoMatchingValidatorIsFound() {
+        ValidatorFactory factory = ValidatorFactory.createServiceFactory(getClass().getClassLoader());
+
+        assertFalse(factory.createValidator("Missing", Node.objectNode()).isPresent());
+    }
+}
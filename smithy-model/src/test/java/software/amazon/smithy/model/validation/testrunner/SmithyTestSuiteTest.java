@@ -50,6 +50,18 @@ public class SmithyTestSuiteTest {
         assertThat(result.getSuccessCount(), is(4));
     }
 
+    @Test
+    public void runsCasesWithDiscoveringAssemblerFactory() {
+        SmithyTestSuite.Result result = SmithyTestSuite.runner()
+                .setModelAssemblerFactory(
+                        SmithyTestSuite.createDiscoveringAssemblerFactory(getClass().getClassLoader()))
+                .addTestCasesFromUrl(getClass().getResource("testrunner/valid"))
+                .run();
+
+        assertThat(result.getFailedResults().size(), is(0));
+        assertThat(result.getSuccessCount(), is(4));
+    }
+
     @Test
     public void onlySupportsFiles() throws MalformedURLException {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
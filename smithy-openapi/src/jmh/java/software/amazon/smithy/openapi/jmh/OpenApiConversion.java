@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.openapi.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.openapi.OpenApiConfig;
+import software.amazon.smithy.openapi.fromsmithy.OpenApiConverter;
+import software.amazon.smithy.openapi.model.OpenApi;
+
+/**
+ * Converts a synthetic restJson1 service to OpenAPI.
+ *
+ * <p>The service binds {@code operationCount} operations to
+ * {@code resourceCount} resources, and the input and output of each
+ * operation contains structures nested {@code depth} levels deep.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class OpenApiConversion {
+
+    @State(Scope.Thread)
+    public static class ServiceState {
+        @Param({"50", "500"})
+        public int operationCount;
+
+        @Param({"10"})
+        public int resourceCount;
+
+        @Param({"2", "8"})
+        public int depth;
+
+        public Model model;
+        public OpenApiConfig config;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .discoverModels(OpenApiConversion.class.getClassLoader())
+                    .addUnparsedModel("synthetic.smithy", createModel(operationCount, resourceCount, depth))
+                    .assemble()
+                    .unwrap();
+            config = new OpenApiConfig();
+            config.setService(ShapeId.from("smithy.example#Service"));
+        }
+    }
+
+    @Benchmark
+    public OpenApi convert(ServiceState state) {
+        return OpenApiConverter.create().config(state.config).convert(state.model);
+    }
+
+    private static String createModel(int operationCount, int resourceCount, int depth) {
+        StringBuilder model = new StringBuilder();
+        model.append("namespace smithy.example\n\n")
+                .append("use aws.protocols#restJson1\n\n")
+                .append("@restJson1\n")
+                .append("service Service {\n")
+                .append("    version: \"2022-01-01\",\n")
+                .append("    resources: [");
+        for (int resource = 0; resource < resourceCount; resource++) {
+            model.append(resource == 0 ? "" : ", ").append("Resource").append(resource);
+        }
+        model.append("]\n}\n\n");
+
+        for (int resource = 0; resource < resourceCount; resource++) {
+            model.append("resource Resource").append(resource).append(" {\n    operations: [");
+            for (int operation = resource; operation < operationCount; operation += resourceCount) {
+                model.append(operation == resource ? "" : ", ").append("Operation").append(operation);
+            }
+            model.append("]\n}\n\n");
+        }
+
+        for (int operation = 0; operation < operationCount; operation++) {
+            String name = "Operation" + operation;
+            model.append("@http(method: \"POST\", uri: \"/resource").append(operation % resourceCount)
+                    .append("/operation").append(operation).append("\")\n")
+                    .append("operation ").append(name).append(" {\n")
+                    .append("    input: ").append(name).append("Input,\n")
+                    .append("    output: ").append(name).append("Output,\n")
+                    .append("    errors: [ValidationError]\n}\n\n")
+                    .append("structure ").append(name).append("Input {\n")
+                    .append("    @httpHeader(\"x-token\")\n    token: String,\n")
+                    .append("    @httpQuery(\"filter\")\n    filter: String,\n")
+                    .append("    payload: ").append(name).append("Level0\n}\n\n")
+                    .append("structure ").append(name).append("Output {\n")
+                    .append("    @httpHeader(\"x-request-id\")\n    requestId: String,\n")
+                    .append("    result: ").append(name).append("Level0\n}\n\n");
+            for (int level = 0; level < depth; level++) {
+                model.append("structure ").append(name).append("Level").append(level).append(" {\n")
+                        .append("    name: String,\n")
+                        .append("    count: Integer,\n")
+                        .append("    createdAt: Timestamp,\n")
+                        .append("    tags: StringList,\n")
+                        .append("    attributes: StringMap");
+                if (level + 1 < depth) {
+                    model.append(",\n    child: ").append(name).append("Level").append(level + 1);
+                }
+                model.append("\n}\n\n");
+            }
+        }
+
+        model.append("@error(\"client\")\n")
+                .append("@httpError(400)\n")
+                .append("structure ValidationError {\n    message: String\n}\n\n")
+                .append("list StringList {\n    member: String\n}\n\n")
+                .append("map StringMap {\n    key: String,\n    value: String\n}\n");
+        return model.toString();
+    }
+}
@@ -26,6 +26,7 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.openapi.fromsmithy.OpenApiConverter;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiProtocol;
 import software.amazon.smithy.openapi.fromsmithy.Smithy2OpenApiExtension;
 import software.amazon.smithy.utils.ListUtils;
@@ -83,6 +84,7 @@ public class OpenApiConfig extends JsonSchemaConfig {
     private List<String> externalDocs = ListUtils.of(
             "Homepage", "API Reference", "User Guide", "Developer Guide", "Reference", "Guide");
     private boolean useIntegerType;
+    private boolean incremental;
 
     private OpenApiVersion version = OpenApiVersion.VERSION_3_0_2;
 
@@ -329,6 +331,28 @@ public class OpenApiConfig extends JsonSchemaConfig {
         this.useIntegerType = useIntegerType;
     }
 
+    public boolean getIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Set to true to reuse the OpenAPI operations converted by previous
+     * builds of the same projection.
+     *
+     * <p>This only has an effect when a build provides a
+     * {@link software.amazon.smithy.build.PluginCache}, for example with
+     * {@code smithy build --watch}. When enabled, the
+     * {@code openapi} plugin only converts operations that changed since
+     * the last build, as described in {@link OpenApiConverter#incremental}.
+     * This requires that every mapper and protocol produces output that
+     * depends only on the shapes that are fingerprinted for an operation.
+     *
+     * @param incremental True to reuse previously converted operations.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     public OpenApiVersion getVersion() {
         return this.version;
     }
@@ -282,4 +282,10 @@ public final class Context<T extends Trait> {
         synthesizedSchemas.put(Objects.requireNonNull(name), Objects.requireNonNull(schema));
         return config.getDefinitionPointer() + "/" + name;
     }
+
+    // Creates a context that is identical to this context but that tracks its own synthesized schemas.
+    Context<T> withoutSynthesizedSchemas() {
+        return new Context<>(model, service, config, jsonSchemaConverter, openApiProtocol, schemas,
+                             securitySchemeConverters);
+    }
 }
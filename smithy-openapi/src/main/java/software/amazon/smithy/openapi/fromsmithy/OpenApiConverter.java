@@ -15,17 +15,22 @@
 
 package software.amazon.smithy.openapi.fromsmithy;
 
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -37,6 +42,7 @@ import software.amazon.smithy.jsonschema.SchemaDocument;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.ServiceIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
@@ -62,7 +68,6 @@ import software.amazon.smithy.openapi.model.ResponseObject;
 import software.amazon.smithy.openapi.model.SecurityScheme;
 import software.amazon.smithy.openapi.model.TagObject;
 import software.amazon.smithy.utils.MapUtils;
-import software.amazon.smithy.utils.OptionalUtils;
 import software.amazon.smithy.utils.Tagged;
 
 /**
@@ -74,6 +79,10 @@ public final class OpenApiConverter {
     private ClassLoader classLoader = OpenApiConverter.class.getClassLoader();
     private OpenApiConfig config = new OpenApiConfig();
     private final List<OpenApiMapper> mappers = new ArrayList<>();
+    private boolean incremental;
+    private boolean parallel;
+    private final Map<ShapeId, CachedOperation> operationCache = new ConcurrentHashMap<>();
+    private final Map<ShapeId, CachedDefinition> definitionCache = new ConcurrentHashMap<>();
 
     private OpenApiConverter() {}
 
@@ -101,6 +110,7 @@ public final class OpenApiConverter {
      */
     public OpenApiConverter config(OpenApiConfig config) {
         this.config = config;
+        clearCaches();
         return this;
     }
 
@@ -116,6 +126,7 @@ public final class OpenApiConverter {
      */
     public OpenApiConverter addOpenApiMapper(OpenApiMapper mapper) {
         mappers.add(mapper);
+        clearCaches();
         return this;
     }
 
@@ -131,6 +142,71 @@ public final class OpenApiConverter {
      */
     public OpenApiConverter classLoader(ClassLoader classLoader) {
         this.classLoader = classLoader;
+        clearCaches();
+        return this;
+    }
+
+    /**
+     * Enables or disables incremental conversion.
+     *
+     * <p>When enabled, the converter remembers every operation it converts
+     * along with a fingerprint of the operation's closure: the operation,
+     * its input, output, and errors, their transitive members, and the
+     * traits of all of these shapes, the resources the operation is bound
+     * to, and the service. Component schemas are remembered in the same way
+     * using a fingerprint of the closure of the shape they are created from.
+     * Fingerprints also cover the JSON schema pointer of every shape in the
+     * closure, since pointers can change when conflicting shape names are
+     * added anywhere in the service. Subsequent conversions performed by this
+     * converter only convert operations and component schemas whose
+     * fingerprint changed, and reuse the previous conversions for everything
+     * else.
+     *
+     * <p>Remembered operations and schemas are discarded when the configuration,
+     * mappers, or class loader of the converter are changed. Changes
+     * made directly to the configuration object returned from
+     * {@link #getConfig()} are not detected.
+     *
+     * <p>Incremental conversion is only correct if the output of every
+     * {@link OpenApiMapper} and {@link OpenApiProtocol} for an operation
+     * depends only on the fingerprinted closure of the operation and the
+     * converter's configuration. A mapper or protocol that derives an
+     * operation from anything else in the model, like unrelated shapes,
+     * metadata, or the other operations of the service, must not be used
+     * with incremental conversion, since changes to those parts of the
+     * model don't cause the operation to be converted again.
+     *
+     * @param incremental Set to true to enable incremental conversion.
+     * @return Returns the OpenApiConverter.
+     */
+    public OpenApiConverter incremental(boolean incremental) {
+        this.incremental = incremental;
+        if (!incremental) {
+            clearCaches();
+        }
+        return this;
+    }
+
+    private void clearCaches() {
+        operationCache.clear();
+        definitionCache.clear();
+    }
+
+    /**
+     * Enables or disables converting the operations of a service in parallel.
+     *
+     * <p>Operations are converted sequentially by default. Converted
+     * operations are always added to the OpenAPI model in the same order,
+     * so enabling parallel conversion doesn't change the result. However,
+     * every {@link OpenApiMapper} and {@link OpenApiProtocol} used by a
+     * parallel converter must be safe to call concurrently for different
+     * operations.
+     *
+     * @param parallel Set to true to convert operations in parallel.
+     * @return Returns the OpenApiConverter.
+     */
+    public OpenApiConverter parallel(boolean parallel) {
+        this.parallel = parallel;
         return this;
     }
 
@@ -167,6 +243,34 @@ public final class OpenApiConverter {
         return environment.mapper.updateNode(environment.context, openApi, node);
     }
 
+    /**
+     * Converts the given service shape to OpenAPI and writes it as
+     * pretty-printed JSON to a {@link Writer}.
+     *
+     * <p>The written JSON is the same as the result of pretty-printing the
+     * node returned from {@link #convertToNode}. When no {@link OpenApiMapper}
+     * needs to update the node (see {@link OpenApiMapper#updatesNode}), each
+     * path and component schema is converted to a node and written one at a
+     * time rather than first creating a node of the entire OpenAPI model.
+     * Otherwise, the node of the entire model is created, updated by each
+     * mapper, and then written.
+     *
+     * @param model Smithy model to convert.
+     * @param writer Writer to write the JSON to.
+     * @throws UncheckedIOException if the writer throws an IOException.
+     */
+    public void convertToJson(Model model, Writer writer) {
+        ConversionEnvironment<? extends Trait> environment = createConversionEnvironment(model);
+        OpenApi openApi = convertWithEnvironment(environment);
+
+        if (!environment.mapper.updatesNode(environment.context, openApi) && OpenApiJsonWriter.canWrite(openApi)) {
+            new OpenApiJsonWriter(writer).write(openApi);
+        } else {
+            ObjectNode node = openApi.toNode().expectObjectNode();
+            Node.prettyPrintJson(environment.mapper.updateNode(environment.context, openApi, node), writer);
+        }
+    }
+
     private ConversionEnvironment<? extends Trait> createConversionEnvironment(Model model) {
         ShapeId serviceShapeId = config.getService();
 
@@ -219,7 +323,9 @@ public final class OpenApiConverter {
         // Only convert shapes in the closure of the targeted service.
         jsonSchemaConverterBuilder.rootShape(service);
         JsonSchemaConverter jsonSchemaConverter = jsonSchemaConverterBuilder.build();
-        SchemaDocument document = jsonSchemaConverter.convert();
+        SchemaDocument document = incremental
+                ? convertSchemasIncrementally(model, service, jsonSchemaConverter)
+                : jsonSchemaConverter.convert();
         ComponentsObject.Builder components = ComponentsObject.builder();
 
         // Populate component schemas from the built document.
@@ -429,79 +535,64 @@ public final class OpenApiConverter {
         TopDownIndex topDownIndex = TopDownIndex.of(context.getModel());
         Map<String, PathItem.Builder> paths = new HashMap<>();
 
-        // Add each operation connected to the service shape to the OpenAPI model.
-        topDownIndex.getContainedOperations(context.getService()).forEach(shape -> {
-            OptionalUtils.ifPresentOrElse(protocolService.createOperation(context, shape), result -> {
-                String method = result.getMethod();
-                String path = result.getUri();
-                PathItem.Builder pathItem = paths.computeIfAbsent(result.getUri(), (uri) -> PathItem.builder());
+        // Operations are converted independently of each other, so they can be converted in
+        // parallel and then added to the OpenAPI model in their original order.
+        List<OperationShape> operations = new ArrayList<>(topDownIndex.getContainedOperations(context.getService()));
+        List<ConvertedOperation> convertedOperations = (parallel ? operations.parallelStream() : operations.stream())
+                .map(shape -> incremental
+                        ? convertOperationIncrementally(context, shape, protocolService, plugin)
+                        : convertOperation(context, shape, protocolService, plugin))
+                .collect(Collectors.toList());
 
-                // Mark the operation deprecated if the trait's present.
-                if (shape.hasTrait(DeprecatedTrait.class)) {
-                    result.getOperation().deprecated(true);
-                }
+        if (incremental) {
+            // Forget about operations that were removed from the service.
+            Set<ShapeId> operationIds = new HashSet<>();
+            for (OperationShape operation : operations) {
+                operationIds.add(operation.getId());
+            }
+            operationCache.keySet().retainAll(operationIds);
+        }
 
-                // Add security requirements to the operation.
-                addOperationSecurity(context, result.getOperation(), shape, plugin);
-
-                // Add the documentation trait to the operation if present.
-                shape.getTrait(DocumentationTrait.class)
-                        .map(DocumentationTrait::getValue)
-                        .ifPresent(description -> result.getOperation().description(description));
-
-                OperationObject builtOperation = result.getOperation().build();
-
-                // Pass the operation through the plugin system.
-                builtOperation = plugin.updateOperation(context, shape, builtOperation, method, path);
-                // Add tags that are on the operation.
-                builtOperation = addOperationTags(context, shape, builtOperation);
-                // Update each parameter of the operation and rebuild if necessary.
-                builtOperation = updateParameters(context, shape, builtOperation, method, path, plugin);
-                // Update each response of the operation and rebuild if necessary.
-                builtOperation = updateResponses(context, shape, builtOperation, method, path, plugin);
-                // Update the request body of the operation and rebuild if necessary.
-                builtOperation = updateRequestBody(context, shape, builtOperation, method, path, plugin);
-                // Pass the operation through the plugin system for post-processing.
-                builtOperation = plugin.postProcessOperation(context, shape, builtOperation, method, path);
-
-                switch (method.toLowerCase(Locale.ENGLISH)) {
-                    case "get":
-                        pathItem.get(builtOperation);
-                        break;
-                    case "put":
-                        pathItem.put(builtOperation);
-                        break;
-                    case "delete":
-                        pathItem.delete(builtOperation);
-                        break;
-                    case "post":
-                        pathItem.post(builtOperation);
-                        break;
-                    case "patch":
-                        pathItem.patch(builtOperation);
-                        break;
-                    case "head":
-                        pathItem.head(builtOperation);
-                        break;
-                    case "trace":
-                        pathItem.trace(builtOperation);
-                        break;
-                    case "options":
-                        pathItem.options(builtOperation);
-                        break;
-                    default:
-                        LOGGER.warning(String.format(
-                                "The %s HTTP method of `%s` is not supported by OpenAPI",
-                                result.getMethod(), shape.getId()));
-                }
-            }, () -> LOGGER.warning(String.format(
-                    "The `%s` operation is not supported by the `%s` protocol (implemented by `%s`), and "
-                    + "was omitted",
-                    shape.getId(),
-                    protocolService.getClass().getName(),
-                    context.getProtocolTrait().toShapeId()))
-            );
-        });
+        for (ConvertedOperation converted : convertedOperations) {
+            if (converted == null) {
+                continue;
+            }
+
+            String method = converted.method;
+            PathItem.Builder pathItem = paths.computeIfAbsent(converted.path, (uri) -> PathItem.builder());
+            OperationObject builtOperation = converted.operation;
+
+            switch (method.toLowerCase(Locale.ENGLISH)) {
+                case "get":
+                    pathItem.get(builtOperation);
+                    break;
+                case "put":
+                    pathItem.put(builtOperation);
+                    break;
+                case "delete":
+                    pathItem.delete(builtOperation);
+                    break;
+                case "post":
+                    pathItem.post(builtOperation);
+                    break;
+                case "patch":
+                    pathItem.patch(builtOperation);
+                    break;
+                case "head":
+                    pathItem.head(builtOperation);
+                    break;
+                case "trace":
+                    pathItem.trace(builtOperation);
+                    break;
+                case "options":
+                    pathItem.options(builtOperation);
+                    break;
+                default:
+                    LOGGER.warning(String.format(
+                            "The %s HTTP method of `%s` is not supported by OpenAPI",
+                            method, converted.shape.getId()));
+            }
+        }
 
         for (Map.Entry<String, PathItem.Builder> entry : paths.entrySet()) {
             String pathName = entry.getKey();
@@ -511,6 +602,169 @@ public final class OpenApiConverter {
         }
     }
 
+    // Converts an operation, or returns null if the operation isn't supported by the protocol.
+    private <T extends Trait> ConvertedOperation convertOperation(
+            Context<T> context,
+            OperationShape shape,
+            OpenApiProtocol<T> protocolService,
+            OpenApiMapper plugin
+    ) {
+        Optional<OpenApiProtocol.Operation> maybeResult = protocolService.createOperation(context, shape);
+
+        if (!maybeResult.isPresent()) {
+            LOGGER.warning(String.format(
+                    "The `%s` operation is not supported by the `%s` protocol (implemented by `%s`), and "
+                    + "was omitted",
+                    shape.getId(),
+                    protocolService.getClass().getName(),
+                    context.getProtocolTrait().toShapeId()));
+            return null;
+        }
+
+        OpenApiProtocol.Operation result = maybeResult.get();
+        String method = result.getMethod();
+        String path = result.getUri();
+
+        // Mark the operation deprecated if the trait's present.
+        if (shape.hasTrait(DeprecatedTrait.class)) {
+            result.getOperation().deprecated(true);
+        }
+
+        // Add security requirements to the operation.
+        addOperationSecurity(context, result.getOperation(), shape, plugin);
+
+        // Add the documentation trait to the operation if present.
+        shape.getTrait(DocumentationTrait.class)
+                .map(DocumentationTrait::getValue)
+                .ifPresent(description -> result.getOperation().description(description));
+
+        OperationObject builtOperation = result.getOperation().build();
+
+        // Pass the operation through the plugin system.
+        builtOperation = plugin.updateOperation(context, shape, builtOperation, method, path);
+        // Add tags that are on the operation.
+        builtOperation = addOperationTags(context, shape, builtOperation);
+        // Update each parameter of the operation and rebuild if necessary.
+        builtOperation = updateParameters(context, shape, builtOperation, method, path, plugin);
+        // Update each response of the operation and rebuild if necessary.
+        builtOperation = updateResponses(context, shape, builtOperation, method, path, plugin);
+        // Update the request body of the operation and rebuild if necessary.
+        builtOperation = updateRequestBody(context, shape, builtOperation, method, path, plugin);
+        // Pass the operation through the plugin system for post-processing.
+        builtOperation = plugin.postProcessOperation(context, shape, builtOperation, method, path);
+
+        return new ConvertedOperation(shape, method, path, builtOperation);
+    }
+
+    // Reuses the previous conversion of an operation if its fingerprint is unchanged.
+    private <T extends Trait> ConvertedOperation convertOperationIncrementally(
+            Context<T> context,
+            OperationShape shape,
+            OpenApiProtocol<T> protocolService,
+            OpenApiMapper plugin
+    ) {
+        String fingerprint = OperationFingerprint.compute(
+                context.getModel(), context.getJsonSchemaConverter(), context.getService(), shape);
+        CachedOperation cached = operationCache.get(shape.getId());
+
+        if (cached == null || !cached.fingerprint.equals(fingerprint)) {
+            // Convert using a separate context to find the synthesized schemas created for the operation.
+            Context<T> operationContext = context.withoutSynthesizedSchemas();
+            ConvertedOperation converted = convertOperation(operationContext, shape, protocolService, plugin);
+            cached = new CachedOperation(fingerprint, converted, new HashMap<>(
+                    operationContext.getSynthesizedSchemas()));
+            operationCache.put(shape.getId(), cached);
+        }
+
+        for (Map.Entry<String, Schema> entry : cached.synthesizedSchemas.entrySet()) {
+            context.putSynthesizedSchema(entry.getKey(), entry.getValue());
+        }
+
+        return cached.converted == null
+               ? null
+               : new ConvertedOperation(shape, cached.converted.method, cached.converted.path,
+                                        cached.converted.operation);
+    }
+
+    // Reuses the previous conversion of each definition if its fingerprint is unchanged.
+    private SchemaDocument convertSchemasIncrementally(
+            Model model,
+            ServiceShape service,
+            JsonSchemaConverter jsonSchemaConverter
+    ) {
+        Map<ShapeId, CachedDefinition> converted = new HashMap<>();
+        SchemaDocument document = jsonSchemaConverter.convert((shape, pointer) -> {
+            String fingerprint = OperationFingerprint.computeDefinition(model, jsonSchemaConverter, service, shape);
+            CachedDefinition cached = definitionCache.get(shape.getId());
+            if (cached != null && cached.fingerprint.equals(fingerprint)) {
+                converted.put(shape.getId(), cached);
+                return cached.schema;
+            }
+            converted.put(shape.getId(), new CachedDefinition(fingerprint, pointer));
+            return null;
+        });
+
+        // Remember the newly converted definitions and forget about shapes that are no longer converted.
+        definitionCache.clear();
+        for (Map.Entry<ShapeId, CachedDefinition> entry : converted.entrySet()) {
+            CachedDefinition definition = entry.getValue();
+            if (definition.schema == null) {
+                document.getDefinition(definition.pointer).ifPresent(schema -> definitionCache.put(
+                        entry.getKey(), new CachedDefinition(definition.fingerprint, definition.pointer, schema)));
+            } else {
+                definitionCache.put(entry.getKey(), definition);
+            }
+        }
+
+        return document;
+    }
+
+    private static final class CachedDefinition {
+        private final String fingerprint;
+        private final String pointer;
+        private final Schema schema;
+
+        private CachedDefinition(String fingerprint, String pointer) {
+            this(fingerprint, pointer, null);
+        }
+
+        private CachedDefinition(String fingerprint, String pointer, Schema schema) {
+            this.fingerprint = fingerprint;
+            this.pointer = pointer;
+            this.schema = schema;
+        }
+    }
+
+    private static final class CachedOperation {
+        private final String fingerprint;
+        private final ConvertedOperation converted;
+        private final Map<String, Schema> synthesizedSchemas;
+
+        private CachedOperation(
+                String fingerprint,
+                ConvertedOperation converted,
+                Map<String, Schema> synthesizedSchemas
+        ) {
+            this.fingerprint = fingerprint;
+            this.converted = converted;
+            this.synthesizedSchemas = synthesizedSchemas;
+        }
+    }
+
+    private static final class ConvertedOperation {
+        private final OperationShape shape;
+        private final String method;
+        private final String path;
+        private final OperationObject operation;
+
+        private ConvertedOperation(OperationShape shape, String method, String path, OperationObject operation) {
+            this.shape = shape;
+            this.method = method;
+            this.path = path;
+            this.operation = operation;
+        }
+    }
+
     private <T extends Trait> void addOperationSecurity(
             Context<T> context,
             OperationObject.Builder builder,
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.openapi.fromsmithy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.ToNode;
+import software.amazon.smithy.openapi.model.ComponentsObject;
+import software.amazon.smithy.openapi.model.OpenApi;
+
+/**
+ * Writes an {@link OpenApi} object as pretty-printed JSON without creating
+ * a node of the entire object.
+ *
+ * <p>Each path and component schema is converted to a node and written one
+ * at a time. The written JSON is the same as the result of pretty-printing
+ * {@link OpenApi#toNode()} with {@link Node#prettyPrintJson(Node)}.
+ */
+final class OpenApiJsonWriter {
+
+    private static final String INDENT = "    ";
+    private static final String PATHS = "paths";
+    private static final String COMPONENTS = "components";
+    private static final String SCHEMAS = "schemas";
+
+    private final Writer writer;
+
+    OpenApiJsonWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Checks if an OpenAPI object can be written without creating a node of it.
+     *
+     * <p>Extensions that replace the paths, components, or schemas of the
+     * model change where they appear in its node, so they aren't supported.
+     *
+     * @param openApi OpenAPI object to check.
+     * @return Returns true if the object can be written.
+     */
+    static boolean canWrite(OpenApi openApi) {
+        return !openApi.getExtension(PATHS).isPresent()
+               && !openApi.getExtension(COMPONENTS).isPresent()
+               && !openApi.getComponents().getExtension(SCHEMAS).isPresent();
+    }
+
+    /**
+     * Writes an OpenAPI object as pretty-printed JSON.
+     *
+     * @param openApi OpenAPI object to write.
+     * @throws UncheckedIOException if the writer throws an IOException.
+     */
+    void write(OpenApi openApi) {
+        // Paths are added right before components in the node of a model, and
+        // schemas are the first member of components.
+        OpenApi rest = openApi.toBuilder()
+                .paths(Collections.emptyMap())
+                .components(ComponentsObject.builder().build())
+                .build();
+        Map<String, ToNode> members = new LinkedHashMap<>();
+        for (Map.Entry<String, Node> entry : rest.toNode().expectObjectNode().getStringMap().entrySet()) {
+            if (entry.getKey().equals(COMPONENTS)) {
+                if (!openApi.getPaths().isEmpty()) {
+                    members.put(PATHS, new MemberWriter(openApi.getPaths()));
+                }
+                members.put(COMPONENTS, new MemberWriter(getComponentMembers(openApi.getComponents())));
+            } else {
+                members.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            writeObject(members, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, ToNode> getComponentMembers(ComponentsObject components) {
+        Map<String, ToNode> members = new LinkedHashMap<>();
+        if (!components.getSchemas().isEmpty()) {
+            members.put(SCHEMAS, new MemberWriter(components.getSchemas()));
+        }
+        ComponentsObject rest = components.toBuilder().schemas(Collections.emptyMap()).build();
+        members.putAll(rest.toNode().expectObjectNode().getStringMap());
+        return members;
+    }
+
+    private void writeObject(Map<String, ? extends ToNode> members, int depth) throws IOException {
+        if (members.isEmpty()) {
+            writer.write("{}");
+            return;
+        }
+
+        writer.write('{');
+        boolean first = true;
+        for (Map.Entry<String, ? extends ToNode> entry : members.entrySet()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeNewLine(depth + 1);
+            Node.prettyPrintJson(Node.from(entry.getKey()), writer);
+            writer.write(": ");
+            writeValue(entry.getValue(), depth + 1);
+        }
+        writeNewLine(depth);
+        writer.write('}');
+    }
+
+    private void writeValue(ToNode value, int depth) throws IOException {
+        if (value instanceof MemberWriter) {
+            writeObject(((MemberWriter) value).members, depth);
+        } else {
+            Node.prettyPrintJson(value.toNode(), new IndentingWriter(writer, depth));
+        }
+    }
+
+    private void writeNewLine(int depth) throws IOException {
+        writer.write('\n');
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    // An object whose members are converted to nodes and written one at a time.
+    private static final class MemberWriter implements ToNode {
+        private final Map<String, ? extends ToNode> members;
+
+        private MemberWriter(Map<String, ? extends ToNode> members) {
+            this.members = members;
+        }
+
+        @Override
+        public Node toNode() {
+            ObjectNode.Builder builder = Node.objectNodeBuilder();
+            for (Map.Entry<String, ? extends ToNode> entry : members.entrySet()) {
+                builder.withMember(entry.getKey(), entry.getValue().toNode());
+            }
+            return builder.build();
+        }
+    }
+
+    // Indents every line after the first line of a pretty-printed node that is nested in the written object.
+    // JSON strings can't contain newlines, so every newline is whitespace between values.
+    private static final class IndentingWriter extends Writer {
+        private final Writer delegate;
+        private final String indent;
+
+        private IndentingWriter(Writer delegate, int depth) {
+            this.delegate = delegate;
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                builder.append(INDENT);
+            }
+            indent = builder.toString();
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            delegate.write(c);
+            if (c == '\n') {
+                delegate.write(indent);
+            }
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int start = offset;
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    delegate.write(buffer, start, i + 1 - start);
+                    delegate.write(indent);
+                    start = i + 1;
+                }
+            }
+            delegate.write(buffer, start, end - start);
+        }
+
+        @Override
+        public void write(String value, int offset, int length) throws IOException {
+            int start = offset;
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                if (value.charAt(i) == '\n') {
+                    delegate.write(value, start, i + 1 - start);
+                    delegate.write(indent);
+                    start = i + 1;
+                }
+            }
+            delegate.write(value, start, end - start);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            // The delegate is closed by whoever created it.
+        }
+    }
+}
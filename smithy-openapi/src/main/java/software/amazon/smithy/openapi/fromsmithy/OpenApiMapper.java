@@ -262,6 +262,33 @@ public interface OpenApiMapper {
         return node;
     }
 
+    /**
+     * Checks if {@link #updateNode} needs to be called to modify the
+     * Node/JSON representation of an OpenAPI object.
+     *
+     * <p>When no mapper needs to update the node of an OpenAPI object,
+     * {@link OpenApiConverter#convertToJson} writes the OpenAPI object
+     * as JSON without first creating a node of the entire object.
+     *
+     * <p>By default, this method returns true if the mapper overrides
+     * {@link #updateNode}. Mappers that override {@link #updateNode} but
+     * only modify the node in some cases can override this method to
+     * return false when the node is not modified.
+     *
+     * @param context Conversion context.
+     * @param openapi OpenAPI object being converted to a node.
+     * @return Returns true if {@link #updateNode} needs to be called.
+     */
+    default boolean updatesNode(Context<? extends Trait> context, OpenApi openapi) {
+        try {
+            return getClass().getMethod("updateNode", Context.class, OpenApi.class, ObjectNode.class)
+                           .getDeclaringClass() != OpenApiMapper.class;
+        } catch (NoSuchMethodException e) {
+            // Every mapper has a public updateNode method.
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Creates an OpenApiMapper that is composed of multiple mappers.
      *
@@ -432,6 +459,16 @@ public interface OpenApiMapper {
                 }
                 return node;
             }
+
+            @Override
+            public boolean updatesNode(Context<? extends Trait> context, OpenApi openapi) {
+                for (OpenApiMapper plugin : sorted) {
+                    if (plugin.updatesNode(context, openapi)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
         };
     }
 }
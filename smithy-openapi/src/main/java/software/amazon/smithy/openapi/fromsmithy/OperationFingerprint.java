@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.openapi.fromsmithy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import software.amazon.smithy.jsonschema.JsonSchemaConverter;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.BottomUpIndex;
+import software.amazon.smithy.model.knowledge.ClosureIndex;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.EntityShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * Computes a fingerprint of everything that the conversion of an operation
+ * or a schema definition depends on.
+ *
+ * <p>The fingerprint of an operation covers the operation and every shape in
+ * its closure (input, output, errors, and their transitive members along with
+ * all of their traits), the traits of the resources the operation is bound to,
+ * and the service. The fingerprint of a definition covers the shape and every
+ * shape in its closure, and the service.
+ *
+ * <p>Both fingerprints also cover the JSON schema pointer of every shape in
+ * the closure. Pointers are computed over the entire service, so adding an
+ * unrelated shape with a conflicting name can change the pointers referenced
+ * by a converted operation or definition without changing its shapes. Two
+ * operations or definitions with the same fingerprint convert to the same
+ * result when using the same converter settings.
+ */
+final class OperationFingerprint {
+
+    private final MessageDigest digest;
+    private final JsonSchemaConverter converter;
+
+    private OperationFingerprint(JsonSchemaConverter converter) {
+        this.converter = converter;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String compute(
+            Model model,
+            JsonSchemaConverter converter,
+            ServiceShape service,
+            OperationShape operation
+    ) {
+        OperationFingerprint fingerprint = new OperationFingerprint(converter);
+        fingerprint.updateService(service);
+
+        for (EntityShape parent : BottomUpIndex.of(model).getAllParents(service, operation)) {
+            if (!parent.isServiceShape()) {
+                fingerprint.update(parent.getId().toString());
+                fingerprint.updateTraits(parent);
+            }
+        }
+
+        fingerprint.updateClosure(model, operation);
+        return fingerprint.finish();
+    }
+
+    static String computeDefinition(Model model, JsonSchemaConverter converter, ServiceShape service, Shape shape) {
+        OperationFingerprint fingerprint = new OperationFingerprint(converter);
+        fingerprint.updateService(service);
+        fingerprint.updateClosure(model, shape);
+        return fingerprint.finish();
+    }
+
+    private void updateService(ServiceShape service) {
+        update(service.getId().toString());
+        update(service.getVersion());
+        update(new TreeMap<>(service.getRename()).toString());
+        updateTraits(service);
+    }
+
+    private void updateClosure(Model model, Shape root) {
+        // Closures are ordered by the model, so sort them to get the same result for equivalent models.
+        List<Shape> closure = new ArrayList<>(ClosureIndex.of(model).getClosure(root));
+        Collections.sort(closure);
+        for (Shape shape : closure) {
+            updateShape(shape);
+        }
+    }
+
+    private String finish() {
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private void updateShape(Shape shape) {
+        update(shape.getId().toString());
+        update(shape.getType().toString());
+        shape.asMemberShape().ifPresent(member -> update(member.getTarget().toString()));
+        // Members are part of the closure, but their order isn't captured by sorting it.
+        for (String memberName : shape.getMemberNames()) {
+            update(memberName);
+        }
+        updateTraits(shape);
+        update(converter.toPointer(shape));
+    }
+
+    private void updateTraits(Shape shape) {
+        for (Map.Entry<ShapeId, Trait> entry : new TreeMap<>(shape.getAllTraits()).entrySet()) {
+            update(entry.getKey().toString());
+            update(Node.printJson(entry.getValue().toNode()));
+        }
+    }
+
+    private void update(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Prefix each value with its length so that adjacent values can't run together.
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+}
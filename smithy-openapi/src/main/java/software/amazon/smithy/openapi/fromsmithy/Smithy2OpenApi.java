@@ -15,6 +15,10 @@
 
 package software.amazon.smithy.openapi.fromsmithy;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import software.amazon.smithy.build.PluginCache;
 import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.build.SmithyBuildPlugin;
 import software.amazon.smithy.model.node.ObjectNode;
@@ -28,6 +32,14 @@ import software.amazon.smithy.openapi.OpenApiConfig;
  * Shape ID of the Smithy service shape to convert to OpenAPI.
  *
  * <p>This plugin is configured using {@link OpenApiConfig}.
+ *
+ * <p>When the {@link OpenApiConfig#setIncremental incremental} setting is
+ * enabled and the build provides a {@link PluginCache} (for example, when
+ * using {@code smithy build --watch} or the Smithy daemon), the converter of
+ * each projection is kept in the cache and run with
+ * {@link OpenApiConverter#incremental(boolean)} enabled. When the projection
+ * is built again with the same settings and plugin class loader, only
+ * operations that changed are converted again.
  */
 public final class Smithy2OpenApi implements SmithyBuildPlugin {
 
@@ -38,12 +50,53 @@ public final class Smithy2OpenApi implements SmithyBuildPlugin {
 
     @Override
     public void execute(PluginContext context) {
-        OpenApiConverter converter = OpenApiConverter.create();
-        context.getPluginClassLoader().ifPresent(converter::classLoader);
         OpenApiConfig config = OpenApiConfig.fromNode(context.getSettings());
         ShapeId shapeId = config.getService();
-        converter.config(config);
-        ObjectNode openApiNode = converter.convertToNode(context.getModel());
-        context.getFileManifest().writeJson(shapeId.getName() + ".openapi.json", openApiNode);
+        ObjectNode settings = context.getSettings();
+        ClassLoader classLoader = context.getPluginClassLoader().orElse(null);
+        Optional<PluginCache> cache = config.getIncremental() ? context.getPluginCache() : Optional.empty();
+
+        // Projections are identified by their output directory. The converter is taken out of the cache
+        // while it's used so that concurrent builds of a projection never share one, and a converter is
+        // only reused if it was created with the same settings and class loader.
+        String cacheKey = getName() + ":" + context.getFileManifest().getBaseDir();
+        if (!config.getIncremental()) {
+            // Don't keep a previously cached converter around once incremental conversion is disabled.
+            context.getPluginCache().ifPresent(c -> c.remove(cacheKey));
+        }
+        CachedConverter cached = cache.flatMap(c -> c.take(cacheKey, CachedConverter.class))
+                .filter(previous -> previous.matches(settings, classLoader))
+                .orElseGet(() -> new CachedConverter(settings, classLoader, config, cache.isPresent()));
+
+        // Write the converted model straight to the file rather than first converting it to a node.
+        context.getFileManifest().writeFile(shapeId.getName() + ".openapi.json", writer -> {
+            cached.converter.convertToJson(context.getModel(), writer);
+            try {
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        cache.ifPresent(c -> c.put(cacheKey, cached));
+    }
+
+    private static final class CachedConverter {
+        private final ObjectNode settings;
+        private final ClassLoader classLoader;
+        private final OpenApiConverter converter;
+
+        CachedConverter(ObjectNode settings, ClassLoader classLoader, OpenApiConfig config, boolean incremental) {
+            this.settings = settings;
+            this.classLoader = classLoader;
+            converter = OpenApiConverter.create().config(config).incremental(incremental);
+            if (classLoader != null) {
+                converter.classLoader(classLoader);
+            }
+        }
+
+        boolean matches(ObjectNode settings, ClassLoader classLoader) {
+            return this.settings.equals(settings) && this.classLoader == classLoader;
+        }
     }
 }
@@ -46,6 +46,11 @@ public final class OpenApiJsonAdd implements OpenApiMapper {
         return 122;
     }
 
+    @Override
+    public boolean updatesNode(Context<? extends Trait> context, OpenApi openapi) {
+        return !context.getConfig().getJsonAdd().isEmpty();
+    }
+
     @Override
     public ObjectNode updateNode(Context<? extends Trait> context, OpenApi openapi, ObjectNode node) {
         Map<String, Node> add = context.getConfig().getJsonAdd();
@@ -39,6 +39,11 @@ public final class OpenApiJsonSubstitutions implements OpenApiMapper {
         return 120;
     }
 
+    @Override
+    public boolean updatesNode(Context<? extends Trait> context, OpenApi openapi) {
+        return !context.getConfig().getSubstitutions().isEmpty();
+    }
+
     @Override
     public ObjectNode updateNode(Context<? extends Trait> context, OpenApi openapi, ObjectNode node) {
         Map<String, Node> substitutions = context.getConfig().getSubstitutions();
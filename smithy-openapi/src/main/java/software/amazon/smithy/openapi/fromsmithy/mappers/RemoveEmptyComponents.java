@@ -21,6 +21,7 @@ import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.openapi.fromsmithy.Context;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiMapper;
+import software.amazon.smithy.openapi.model.ComponentsObject;
 import software.amazon.smithy.openapi.model.OpenApi;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
@@ -37,6 +38,24 @@ public final class RemoveEmptyComponents implements OpenApiMapper {
         return 112;
     }
 
+    @Override
+    public boolean updatesNode(Context<? extends Trait> context, OpenApi openapi) {
+        if (openapi.getExtension(COMPONENTS).isPresent()) {
+            return true;
+        }
+
+        ComponentsObject components = openapi.getComponents();
+
+        if (components.getSchemas().isEmpty()) {
+            // Without schemas, the node of the components is small enough to check directly.
+            ObjectNode node = components.toNode().expectObjectNode();
+            return node.isEmpty() || node.getMembers().values().stream().anyMatch(RemoveEmptyComponents::isEmptyObject);
+        }
+
+        // Component maps are only added to the node when they aren't empty, so only extensions can be empty.
+        return components.getExtensions().values().stream().anyMatch(RemoveEmptyComponents::isEmptyObject);
+    }
+
     @Override
     public ObjectNode updateNode(Context<? extends Trait> context, OpenApi openapi, ObjectNode node) {
         ObjectNode components = node.getObjectMember(COMPONENTS).orElse(null);
@@ -65,10 +65,11 @@ public final class RemoveUnusedComponents implements OpenApiMapper {
         OpenApi current;
         OpenApi result = openapi;
 
+        // Rounds return the same object when nothing is removed.
         do {
             current = result;
             result = removalRound(context, current);
-        } while (!result.equals(current));
+        } while (result != current);
 
         result = removeUnusedSecuritySchemes(result);
         return result;
@@ -81,8 +82,17 @@ public final class RemoveUnusedComponents implements OpenApiMapper {
                 .map(key -> schemaPointerPrefix + key)
                 .collect(Collectors.toSet());
 
-        // Remove all found "$ref" pointers from the set, leaving only unreferenced.
-        pointers.removeAll(findAllRefs(openapi.toNode().expectObjectNode()));
+        // Remove all found "$ref" pointers from the set, leaving only unreferenced. Paths and
+        // components are searched separately to avoid creating a node of the entire model.
+        OpenApi rest = openapi.toBuilder()
+                .paths(Collections.emptyMap())
+                .components(ComponentsObject.builder().build())
+                .build();
+        pointers.removeAll(findAllRefs(rest.toNode()));
+        pointers.removeAll(findAllRefs(openapi.getComponents().toNode()));
+        for (PathItem path : openapi.getPaths().values()) {
+            pointers.removeAll(findAllRefs(path.toNode()));
+        }
 
         if (pointers.isEmpty()) {
             return openapi;
@@ -102,7 +112,7 @@ public final class RemoveUnusedComponents implements OpenApiMapper {
         return openapi.toBuilder().components(componentsBuilder.build()).build();
     }
 
-    private Set<String> findAllRefs(ObjectNode node) {
+    private Set<String> findAllRefs(Node node) {
         return node.accept(new NodeVisitor.Default<Set<String>>() {
             @Override
             protected Set<String> getDefault(Node node) {
@@ -23,23 +23,30 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.io.StringWriter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.openapi.OpenApiConfig;
 import software.amazon.smithy.openapi.OpenApiException;
 import software.amazon.smithy.openapi.OpenApiVersion;
 import software.amazon.smithy.openapi.model.OpenApi;
+import software.amazon.smithy.openapi.model.OperationObject;
 import software.amazon.smithy.openapi.model.PathItem;
 import software.amazon.smithy.utils.IoUtils;
 import software.amazon.smithy.utils.ListUtils;
@@ -583,4 +590,114 @@ public class OpenApiConverterTest {
 
         Node.assertEquals(result, expectedNode);
     }
+
+    @Test
+    public void convertsOperationsInParallel() {
+        OpenApiConfig config = new OpenApiConfig();
+        config.setService(ShapeId.from("example.rest#RestService"));
+        ObjectNode sequential = OpenApiConverter.create().config(config).convertToNode(testService);
+        ObjectNode parallel = OpenApiConverter.create().config(config).parallel(true).convertToNode(testService);
+
+        Node.assertEquals(parallel, sequential);
+    }
+
+    @Test
+    public void convertsToJson() {
+        OpenApiConfig config = new OpenApiConfig();
+        config.setService(ShapeId.from("example.rest#RestService"));
+        StringWriter writer = new StringWriter();
+        OpenApiConverter.create().config(config).convertToJson(testService, writer);
+        ObjectNode expected = OpenApiConverter.create().config(config).convertToNode(testService);
+
+        assertThat(writer.toString(), equalTo(Node.prettyPrintJson(expected)));
+    }
+
+    @Test
+    public void convertsToJsonUsingMappersThatUpdateNodes() {
+        OpenApiConfig config = new OpenApiConfig();
+        config.setService(ShapeId.from("example.rest#RestService"));
+        OpenApiMapper mapper = new OpenApiMapper() {
+            @Override
+            public ObjectNode updateNode(Context<? extends Trait> context, OpenApi openapi, ObjectNode node) {
+                return node.withMember("x-foo", "bar");
+            }
+        };
+        StringWriter writer = new StringWriter();
+        OpenApiConverter.create().config(config).addOpenApiMapper(mapper).convertToJson(testService, writer);
+        ObjectNode expected = OpenApiConverter.create().config(config).addOpenApiMapper(mapper)
+                .convertToNode(testService);
+
+        assertThat(expected.getStringMember("x-foo").map(StringNode::getValue), equalTo(Optional.of("bar")));
+        assertThat(writer.toString(), equalTo(Node.prettyPrintJson(expected)));
+    }
+
+    @Test
+    public void incrementallyConvertsChangedOperations() {
+        OpenApiConfig config = new OpenApiConfig();
+        config.setService(ShapeId.from("example.rest#RestService"));
+        CountingMapper counter = new CountingMapper();
+        OpenApiConverter converter = OpenApiConverter.create()
+                .config(config)
+                .addOpenApiMapper(counter)
+                .incremental(true);
+        ObjectNode original = converter.convertToNode(testService);
+        int operationCount = counter.count.get();
+
+        assertThat(converter.convertToNode(testService), equalTo(original));
+        assertThat(counter.count.get(), equalTo(operationCount));
+
+        OperationShape operation = testService.expectShape(ShapeId.from("example.rest#PutPayload"),
+                                                           OperationShape.class);
+        Model updated = testService.toBuilder()
+                .addShape(operation.toBuilder().addTrait(new DocumentationTrait("Updated")).build())
+                .build();
+        ObjectNode result = converter.convertToNode(updated);
+        ObjectNode expected = OpenApiConverter.create()
+                .config(config)
+                .addOpenApiMapper(new CountingMapper())
+                .convertToNode(updated);
+
+        assertThat(counter.count.get(), equalTo(operationCount + 1));
+        Node.assertEquals(result, expected);
+    }
+
+    @Test
+    public void incrementallyConvertsOperationsWithChangedPointers() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("incremental-conflicts.smithy"))
+                .addImport(getClass().getResource("incremental-conflicts-other.smithy"))
+                .discoverModels()
+                .assemble()
+                .unwrap();
+        OpenApiConfig config = new OpenApiConfig();
+        config.setService(ShapeId.from("example.rest#RestService"));
+        OpenApiConverter converter = OpenApiConverter.create().config(config).incremental(true);
+        converter.convertToNode(model);
+
+        // Binding PutBar doesn't change GetFoo, but de-conflicts the pointer of the Tags map it targets.
+        ServiceShape service = model.expectShape(config.getService(), ServiceShape.class);
+        Model updated = model.toBuilder()
+                .addShape(service.toBuilder().addOperation("example.rest#PutBar").build())
+                .build();
+        ObjectNode result = converter.convertToNode(updated);
+        ObjectNode expected = OpenApiConverter.create().config(config).convertToNode(updated);
+
+        Node.assertEquals(result, expected);
+    }
+
+    private static final class CountingMapper implements OpenApiMapper {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public OperationObject updateOperation(
+                Context<? extends Trait> context,
+                OperationShape shape,
+                OperationObject operation,
+                String httpMethodName,
+                String path
+        ) {
+            count.incrementAndGet();
+            return operation;
+        }
+    }
 }
@@ -1,13 +1,22 @@
 package software.amazon.smithy.openapi.fromsmithy;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginCache;
 import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.openapi.OpenApiException;
 
 public class Smithy2OpenApiTest {
@@ -49,4 +58,64 @@ public class Smithy2OpenApiTest {
             new Smithy2OpenApi().execute(context);
         });
     }
+
+    @Test
+    public void reusesConverterWhenIncrementalProjectionIsBuiltAgain() {
+        Model model = Model.assembler()
+                .addImport(OpenApiConverterTest.class.getResource("test-service.json"))
+                .discoverModels()
+                .assemble()
+                .unwrap();
+        OperationShape operation = model.expectShape(ShapeId.from("example.rest#PutPayload"), OperationShape.class);
+        Model updated = model.toBuilder()
+                .addShape(operation.toBuilder().addTrait(new DocumentationTrait("Updated")).build())
+                .build();
+        MockManifest manifest = new MockManifest();
+        PluginCache cache = new PluginCache();
+        PluginContext.Builder builder = PluginContext.builder()
+                .settings(Node.objectNode()
+                                  .withMember("service", "example.rest#RestService")
+                                  .withMember("incremental", true))
+                .fileManifest(manifest)
+                .pluginCache(cache);
+
+        new Smithy2OpenApi().execute(builder.model(model).originalModel(model).build());
+        String original = manifest.expectFileString("RestService.openapi.json");
+        new Smithy2OpenApi().execute(builder.build());
+        String unchanged = manifest.expectFileString("RestService.openapi.json");
+        new Smithy2OpenApi().execute(builder.model(updated).originalModel(updated).build());
+        String changed = manifest.expectFileString("RestService.openapi.json");
+
+        assertThat(unchanged, equalTo(original));
+        assertThat(changed, not(equalTo(original)));
+        assertThat(changed, containsString("Updated"));
+        assertTrue(cache.take("openapi:" + manifest.getBaseDir(), Object.class).isPresent());
+    }
+
+    @Test
+    public void removesCachedConverterWhenIncrementalIsDisabled() {
+        Model model = Model.assembler()
+                .addImport(OpenApiConverterTest.class.getResource("test-service.json"))
+                .discoverModels()
+                .assemble()
+                .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginCache cache = new PluginCache();
+        String cacheKey = "openapi:" + manifest.getBaseDir();
+        PluginContext.Builder builder = PluginContext.builder()
+                .settings(Node.objectNode()
+                                  .withMember("service", "example.rest#RestService")
+                                  .withMember("incremental", true))
+                .fileManifest(manifest)
+                .model(model)
+                .originalModel(model)
+                .pluginCache(cache);
+
+        new Smithy2OpenApi().execute(builder.build());
+        new Smithy2OpenApi().execute(builder.settings(Node.objectNode()
+                                                              .withMember("service", "example.rest#RestService"))
+                                             .build());
+
+        assertFalse(cache.take(cacheKey, Object.class).isPresent());
+    }
 }
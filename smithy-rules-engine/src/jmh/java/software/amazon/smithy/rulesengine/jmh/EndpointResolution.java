@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.jmh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.rulesengine.evaluation.CompiledRuleSet;
+import software.amazon.smithy.rulesengine.evaluation.EndpointResolutionException;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+
+/**
+ * Resolves the parameters of every endpoint test case of a service.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class EndpointResolution {
+
+    @State(Scope.Thread)
+    public static class RuleSetState {
+        public EndpointRuleSetTrait trait;
+        public CompiledRuleSet ruleSet;
+        public List<Map<String, Object>> params = new ArrayList<>();
+
+        @Setup
+        public void prepare() {
+            Model model = Model.assembler()
+                    .discoverModels(EndpointResolution.class.getClassLoader())
+                    .addImport(EndpointResolution.class.getResource(
+                            "/software/amazon/smithy/rulesengine/evaluation/endpoint-model.smithy"))
+                    .assemble()
+                    .unwrap();
+            ServiceShape service = model.expectShape(ShapeId.from("smithy.example#ExampleService"),
+                                                     ServiceShape.class);
+            trait = service.expectTrait(EndpointRuleSetTrait.class);
+            ruleSet = CompiledRuleSet.compile(trait);
+
+            // The test model only uses string and boolean parameters.
+            for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class).getTestCases()) {
+                Map<String, Object> values = new HashMap<>();
+                for (Map.Entry<String, Node> entry : testCase.getParams().getStringMap().entrySet()) {
+                    Node value = entry.getValue();
+                    values.put(entry.getKey(), value.isBooleanNode()
+                                               ? value.expectBooleanNode().getValue()
+                                               : value.expectStringNode().getValue());
+                }
+                params.add(values);
+            }
+        }
+    }
+
+    @Benchmark
+    public void compile(RuleSetState state, Blackhole blackhole) {
+        blackhole.consume(CompiledRuleSet.compile(state.trait));
+    }
+
+    @Benchmark
+    public void resolve(RuleSetState state, Blackhole blackhole) {
+        for (Map<String, Object> params : state.params) {
+            try {
+                blackhole.consume(state.ruleSet.resolve(params));
+            } catch (EndpointResolutionException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.node.ExpectationNotMetException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.utils.SmithyBuilder;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * An endpoint rule set that is compiled so that endpoints can be
+ * resolved efficiently.
+ *
+ * <p>Rule sets are compiled once and can then be used concurrently to
+ * resolve any number of endpoints. Functions of the rules engine standard
+ * library are always available; other functions (for example,
+ * {@code aws.partition}) must be registered using
+ * {@link Builder#addFunction}.
+ */
+@SmithyUnstableApi
+public final class CompiledRuleSet {
+
+    private final List<RuleSetCompiler.Parameter> parameters;
+    private final RuleSetCompiler.Rule[] rules;
+    private final int slotCount;
+    private final int memoCount;
+
+    private CompiledRuleSet(Builder builder) {
+        Node ruleSet = SmithyBuilder.requiredState("ruleSet", builder.ruleSet);
+        RuleSetCompiler compiler = new RuleSetCompiler(builder.functions);
+        rules = compiler.compile(ruleSet);
+        parameters = compiler.getParameters();
+        slotCount = compiler.getSlotCount();
+        memoCount = compiler.getMemoCount();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compiles a rule set that only uses the standard library.
+     *
+     * @param trait Rule set trait to compile.
+     * @return Returns the compiled rule set.
+     * @throws ExpectationNotMetException if the rule set is invalid.
+     */
+    public static CompiledRuleSet compile(EndpointRuleSetTrait trait) {
+        return builder().ruleSet(trait.getRuleSet()).build();
+    }
+
+    /**
+     * Gets the names of the parameters of the rule set.
+     *
+     * @return Returns the parameter names.
+     */
+    public List<String> getParameterNames() {
+        List<String> result = new ArrayList<>(parameters.size());
+        for (RuleSetCompiler.Parameter parameter : parameters) {
+            result.add(parameter.name);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves an endpoint using parameters defined as a Node.
+     *
+     * @param parameters Parameters to resolve the endpoint with.
+     * @return Returns the resolved endpoint.
+     * @throws EndpointResolutionException if an error rule matched or the endpoint can't be resolved.
+     */
+    public ResolvedEndpoint resolve(ObjectNode parameters) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Node> entry : parameters.getStringMap().entrySet()) {
+            values.put(entry.getKey(), Values.fromNode(entry.getValue()));
+        }
+        return resolve(values);
+    }
+
+    /**
+     * Resolves an endpoint.
+     *
+     * <p>Parameter values are {@code String}, {@code Boolean}, or
+     * {@code List<String>} values. Parameters that are not defined by the
+     * rule set are ignored.
+     *
+     * @param parameters Parameters to resolve the endpoint with.
+     * @return Returns the resolved endpoint.
+     * @throws EndpointResolutionException if an error rule matched or the endpoint can't be resolved.
+     */
+    public ResolvedEndpoint resolve(Map<String, ?> parameters) {
+        RuleSetCompiler.Frame frame = new RuleSetCompiler.Frame(slotCount, memoCount);
+
+        // Parameters occupy the first slots of the frame.
+        for (int i = 0; i < this.parameters.size(); i++) {
+            RuleSetCompiler.Parameter parameter = this.parameters.get(i);
+            frame.slots[i] = parameter.validate(parameters.get(parameter.name));
+        }
+
+        ResolvedEndpoint result = RuleSetCompiler.evaluate(rules, frame);
+        if (result == null) {
+            throw new EndpointResolutionException("No rules in the rule set matched");
+        }
+
+        return result;
+    }
+
+    public static final class Builder implements SmithyBuilder<CompiledRuleSet> {
+        private final Map<String, RuleSetFunction> functions = new LinkedHashMap<>(StandardFunctions.FUNCTIONS);
+        private Node ruleSet;
+
+        private Builder() {}
+
+        @Override
+        public CompiledRuleSet build() {
+            return new CompiledRuleSet(this);
+        }
+
+        public Builder ruleSet(Node ruleSet) {
+            this.ruleSet = ruleSet;
+            return this;
+        }
+
+        /**
+         * Registers a function that can be called by the rule set.
+         *
+         * <p>A function with the same name as a standard library function
+         * replaces the standard library function.
+         *
+         * @param function Function to register.
+         * @return Returns the builder.
+         */
+        public Builder addFunction(RuleSetFunction function) {
+            functions.put(function.getName(), function);
+            return this;
+        }
+    }
+}
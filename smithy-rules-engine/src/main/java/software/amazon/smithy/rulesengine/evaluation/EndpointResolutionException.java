@@ -0,0 +1,29 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Thrown when an endpoint can't be resolved, either because an error rule
+ * matched or because the rule set or parameters are invalid.
+ */
+@SmithyUnstableApi
+public class EndpointResolutionException extends RuntimeException {
+    public EndpointResolutionException(String message) {
+        super(message);
+    }
+}
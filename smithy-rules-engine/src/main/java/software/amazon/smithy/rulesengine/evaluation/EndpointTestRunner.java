@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestExpectation;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.rulesengine.traits.ExpectedEndpoint;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Runs the test cases of an {@link EndpointTestsTrait} against a
+ * {@link CompiledRuleSet}.
+ *
+ * <p>Only the {@code params} of each test case are resolved; operation
+ * inputs require a client and are not evaluated.
+ */
+@SmithyUnstableApi
+public final class EndpointTestRunner {
+    private final CompiledRuleSet ruleSet;
+
+    public EndpointTestRunner(CompiledRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    /**
+     * Runs every test case of the given trait.
+     *
+     * @param trait Tests to run.
+     * @return Returns the failure messages of the test cases that failed.
+     */
+    public List<String> run(EndpointTestsTrait trait) {
+        List<String> failures = new ArrayList<>();
+        List<EndpointTestCase> testCases = trait.getTestCases();
+        for (int i = 0; i < testCases.size(); i++) {
+            EndpointTestCase testCase = testCases.get(i);
+            int index = i;
+            run(testCase).ifPresent(failure -> failures.add(String.format(
+                    "Test case %d (%s): %s",
+                    index, testCase.getDocumentation().orElse("no documentation"), failure)));
+        }
+        return failures;
+    }
+
+    /**
+     * Runs a single test case.
+     *
+     * @param testCase Test case to run.
+     * @return Returns a failure message if the test case failed.
+     */
+    public Optional<String> run(EndpointTestCase testCase) {
+        EndpointTestExpectation expect = testCase.getExpect();
+        ResolvedEndpoint resolved;
+
+        try {
+            resolved = ruleSet.resolve(testCase.getParams());
+        } catch (EndpointResolutionException e) {
+            if (expect.getError().isPresent()) {
+                return expect.getError().get().equals(e.getMessage())
+                       ? Optional.empty()
+                       : Optional.of(String.format("Expected error `%s`, but found error `%s`",
+                                                   expect.getError().get(), e.getMessage()));
+            }
+            return Optional.of("Expected an endpoint, but found error `" + e.getMessage() + "`");
+        }
+
+        if (expect.getError().isPresent()) {
+            return Optional.of(String.format("Expected error `%s`, but resolved %s",
+                                             expect.getError().get(), resolved));
+        }
+
+        ExpectedEndpoint expected = expect.getEndpoint().orElse(null);
+        if (expected == null) {
+            return Optional.empty();
+        } else if (!expected.getUrl().equals(resolved.getUrl())) {
+            return Optional.of(String.format("Expected URL `%s`, but found `%s`",
+                                             expected.getUrl(), resolved.getUrl()));
+        } else if (!expected.getHeaders().equals(resolved.getHeaders())) {
+            return Optional.of(String.format("Expected headers %s, but found %s",
+                                             expected.getHeaders(), resolved.getHeaders()));
+        } else if (!expected.getProperties().equals(resolved.getProperties())) {
+            return Optional.of(String.format("Expected properties %s, but found %s",
+                                             expected.getProperties(), resolved.getProperties()));
+        }
+
+        return Optional.empty();
+    }
+}
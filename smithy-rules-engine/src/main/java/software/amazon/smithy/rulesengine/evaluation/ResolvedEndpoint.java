@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * An endpoint resolved by a {@link CompiledRuleSet}.
+ */
+@SmithyUnstableApi
+public final class ResolvedEndpoint {
+    private final String url;
+    private final Map<String, List<String>> headers;
+    private final Map<String, Node> properties;
+
+    ResolvedEndpoint(String url, Map<String, List<String>> headers, Map<String, Node> properties) {
+        this.url = url;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.properties = Collections.unmodifiableMap(properties);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public Map<String, Node> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof ResolvedEndpoint)) {
+            return false;
+        }
+        ResolvedEndpoint that = (ResolvedEndpoint) o;
+        return url.equals(that.url) && headers.equals(that.headers) && properties.equals(that.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, headers, properties);
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedEndpoint{url='" + url + "', headers=" + headers + ", properties=" + properties + '}';
+    }
+}
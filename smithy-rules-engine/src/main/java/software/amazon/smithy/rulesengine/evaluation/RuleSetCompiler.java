@@ -0,0 +1,527 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.ExpectationNotMetException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+
+/**
+ * Compiles a rule set document into a tree of rules whose conditions and
+ * expressions are closures bound to pre-resolved variable slots.
+ *
+ * <p>Every parameter and every assigned variable is given a slot in a
+ * {@link Frame}, so references are resolved at compile time. Function
+ * calls that only depend on parameters are deduplicated across the whole
+ * rule set and are assigned a memo slot, so each unique call is evaluated
+ * at most once per resolution no matter how many rules repeat it. Calls
+ * with only constant arguments are folded at compile time.
+ */
+final class RuleSetCompiler {
+
+    static final Object UNSET = new Object();
+
+    private final Map<String, RuleSetFunction> functions;
+    private final List<Parameter> parameters = new ArrayList<>();
+    private final Map<Node, Integer> memoSlots = new HashMap<>();
+    private int slotCount;
+    private boolean referencesAssignment;
+
+    RuleSetCompiler(Map<String, RuleSetFunction> functions) {
+        this.functions = functions;
+    }
+
+    List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    int getSlotCount() {
+        return slotCount;
+    }
+
+    int getMemoCount() {
+        return memoSlots.size();
+    }
+
+    Rule[] compile(Node ruleSet) {
+        ObjectNode value = ruleSet.expectObjectNode();
+        Map<String, Integer> scope = new HashMap<>();
+
+        for (Map.Entry<String, Node> entry : value.expectObjectMember("parameters").getStringMap().entrySet()) {
+            Parameter parameter = new Parameter(entry.getKey(), entry.getValue().expectObjectNode());
+            scope.put(parameter.name, slotCount++);
+            parameters.add(parameter);
+        }
+
+        return compileRules(value.expectArrayMember("rules"), scope);
+    }
+
+    private Rule[] compileRules(ArrayNode rules, Map<String, Integer> scope) {
+        Rule[] result = new Rule[rules.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = compileRule(rules.get(i).get().expectObjectNode(), new HashMap<>(scope));
+        }
+        return result;
+    }
+
+    private Rule compileRule(ObjectNode rule, Map<String, Integer> scope) {
+        List<Node> conditionNodes = rule.getArrayMember("conditions")
+                .map(ArrayNode::getElements)
+                .orElse(new ArrayList<>());
+        Condition[] conditions = new Condition[conditionNodes.size()];
+
+        for (int i = 0; i < conditions.length; i++) {
+            ObjectNode condition = conditionNodes.get(i).expectObjectNode();
+            Expr expr = compileFunction(condition, scope);
+            int slot = -1;
+            String assign = condition.getStringMemberOrDefault("assign", null);
+            if (assign != null) {
+                slot = slotCount++;
+                scope.put(assign, slot);
+            }
+            conditions[i] = new Condition(expr, slot);
+        }
+
+        String type = rule.expectStringMember("type").expectOneOf("endpoint", "error", "tree");
+        switch (type) {
+            case "endpoint":
+                return compileEndpoint(conditions, rule.expectObjectMember("endpoint"), scope);
+            case "error":
+                Expr message = compileExpression(rule.expectMember("error"), scope);
+                return new Rule(conditions) {
+                    @Override
+                    ResolvedEndpoint apply(Frame frame) {
+                        throw new EndpointResolutionException(String.valueOf(message.eval(frame)));
+                    }
+                };
+            default:
+                Rule[] children = compileRules(rule.expectArrayMember("rules"), scope);
+                return new Rule(conditions) {
+                    @Override
+                    ResolvedEndpoint apply(Frame frame) {
+                        ResolvedEndpoint result = evaluate(children, frame);
+                        if (result == null) {
+                            throw new EndpointResolutionException(
+                                    "No rules in a tree rule matched. Tree rules must be exhaustive.");
+                        }
+                        return result;
+                    }
+                };
+        }
+    }
+
+    private Rule compileEndpoint(Condition[] conditions, ObjectNode endpoint, Map<String, Integer> scope) {
+        Expr url = compileExpression(endpoint.expectMember("url"), scope);
+        Map<String, Expr[]> headers = new LinkedHashMap<>();
+        Map<String, Expr> properties = new LinkedHashMap<>();
+
+        endpoint.getObjectMember("headers").ifPresent(node -> {
+            for (Map.Entry<String, Node> entry : node.getStringMap().entrySet()) {
+                List<Node> values = entry.getValue().expectArrayNode().getElements();
+                Expr[] compiled = new Expr[values.size()];
+                for (int i = 0; i < compiled.length; i++) {
+                    compiled[i] = compileExpression(values.get(i), scope);
+                }
+                headers.put(entry.getKey(), compiled);
+            }
+        });
+
+        endpoint.getObjectMember("properties").ifPresent(node -> {
+            for (Map.Entry<String, Node> entry : node.getStringMap().entrySet()) {
+                properties.put(entry.getKey(), compileExpression(entry.getValue(), scope));
+            }
+        });
+
+        return new Rule(conditions) {
+            @Override
+            ResolvedEndpoint apply(Frame frame) {
+                Object resolvedUrl = url.eval(frame);
+                if (!(resolvedUrl instanceof String)) {
+                    throw new EndpointResolutionException("Endpoint URL must be a string, but found " + resolvedUrl);
+                }
+
+                Map<String, List<String>> resolvedHeaders = new LinkedHashMap<>(headers.size());
+                for (Map.Entry<String, Expr[]> entry : headers.entrySet()) {
+                    List<String> values = new ArrayList<>(entry.getValue().length);
+                    for (Expr expr : entry.getValue()) {
+                        values.add(String.valueOf(expr.eval(frame)));
+                    }
+                    resolvedHeaders.put(entry.getKey(), values);
+                }
+
+                Map<String, Node> resolvedProperties = new LinkedHashMap<>(properties.size());
+                for (Map.Entry<String, Expr> entry : properties.entrySet()) {
+                    resolvedProperties.put(entry.getKey(), Values.toNode(entry.getValue().eval(frame)));
+                }
+
+                return new ResolvedEndpoint((String) resolvedUrl, resolvedHeaders, resolvedProperties);
+            }
+        };
+    }
+
+    private Expr compileExpression(Node node, Map<String, Integer> scope) {
+        if (node.isStringNode()) {
+            return compileTemplate(node.expectStringNode(), scope);
+        } else if (node.isBooleanNode()) {
+            return new Constant(node.expectBooleanNode().getValue());
+        } else if (node.isNumberNode()) {
+            return new Constant(node.expectNumberNode().getValue().intValue());
+        } else if (node.isArrayNode()) {
+            List<Node> elements = node.expectArrayNode().getElements();
+            Expr[] compiled = new Expr[elements.size()];
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = compileExpression(elements.get(i), scope);
+            }
+            return fold(frame -> {
+                List<Object> result = new ArrayList<>(compiled.length);
+                for (Expr expr : compiled) {
+                    result.add(expr.eval(frame));
+                }
+                return result;
+            }, compiled);
+        } else if (node.isObjectNode()) {
+            ObjectNode object = node.expectObjectNode();
+            if (object.containsMember("ref")) {
+                return compileReference(object.expectStringMember("ref"), scope);
+            } else if (object.containsMember("fn")) {
+                return compileFunction(object, scope);
+            }
+            Map<String, Expr> members = new LinkedHashMap<>();
+            for (Map.Entry<String, Node> entry : object.getStringMap().entrySet()) {
+                members.put(entry.getKey(), compileExpression(entry.getValue(), scope));
+            }
+            return fold(frame -> {
+                Map<String, Object> result = new LinkedHashMap<>(members.size());
+                for (Map.Entry<String, Expr> entry : members.entrySet()) {
+                    result.put(entry.getKey(), entry.getValue().eval(frame));
+                }
+                return result;
+            }, members.values().toArray(new Expr[0]));
+        }
+
+        throw new ExpectationNotMetException("Invalid rule set expression", node);
+    }
+
+    private Expr compileReference(StringNode name, Map<String, Integer> scope) {
+        Integer slot = scope.get(name.getValue());
+        if (slot == null) {
+            throw new ExpectationNotMetException("Reference to undefined variable `" + name.getValue() + "`", name);
+        }
+
+        int index = slot;
+        referencesAssignment |= index >= parameters.size();
+        return frame -> frame.slots[index];
+    }
+
+    // Parses templates like "https://{Region}.{PartitionResult#dnsSuffix}". Braces are escaped by doubling them.
+    private Expr compileTemplate(StringNode node, Map<String, Integer> scope) {
+        String template = node.getValue();
+        if (template.indexOf('{') == -1 && template.indexOf('}') == -1) {
+            return new Constant(template);
+        }
+
+        List<Expr> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if ((c == '{' || c == '}') && i + 1 < template.length() && template.charAt(i + 1) == c) {
+                literal.append(c);
+                i += 2;
+            } else if (c == '{') {
+                int end = template.indexOf('}', i);
+                if (end == -1) {
+                    throw new ExpectationNotMetException("Unclosed template placeholder in `" + template + "`", node);
+                }
+                if (literal.length() > 0) {
+                    parts.add(new Constant(literal.toString()));
+                    literal.setLength(0);
+                }
+                parts.add(compilePlaceholder(node, template.substring(i + 1, end), scope));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+
+        if (literal.length() > 0) {
+            parts.add(new Constant(literal.toString()));
+        }
+
+        Expr[] compiled = parts.toArray(new Expr[0]);
+        return fold(frame -> {
+            StringBuilder result = new StringBuilder();
+            for (Expr part : compiled) {
+                Object value = part.eval(frame);
+                if (!(value instanceof String)) {
+                    throw new EndpointResolutionException(String.format(
+                            "Template `%s` expected a string value, but found `%s`", template, value));
+                }
+                result.append((String) value);
+            }
+            return result.toString();
+        }, compiled);
+    }
+
+    private Expr compilePlaceholder(StringNode node, String placeholder, Map<String, Integer> scope) {
+        int hash = placeholder.indexOf('#');
+        String name = hash == -1 ? placeholder : placeholder.substring(0, hash);
+        Expr reference = compileReference(new StringNode(name, node.getSourceLocation()), scope);
+
+        if (hash == -1) {
+            return reference;
+        }
+
+        StandardFunctions.AttrPath path = StandardFunctions.AttrPath.parse(placeholder.substring(hash + 1));
+        return frame -> StandardFunctions.getAttr(reference.eval(frame), path);
+    }
+
+    private Expr compileFunction(ObjectNode node, Map<String, Integer> scope) {
+        String name = node.expectStringMember("fn").getValue();
+        RuleSetFunction function = functions.get(name);
+        if (function == null) {
+            throw new ExpectationNotMetException("Unknown rule set function `" + name + "`. Custom functions "
+                                                 + "must be registered when compiling the rule set.", node);
+        }
+
+        boolean outerReferencesAssignment = referencesAssignment;
+        referencesAssignment = false;
+        List<Node> argv = node.expectArrayMember("argv").getElements();
+        Expr[] args = new Expr[argv.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = compileExpression(argv.get(i), scope);
+        }
+
+        Expr compiled = fold(specialize(function, args, argv), args);
+        boolean memoize = !referencesAssignment && !(compiled instanceof Constant);
+        referencesAssignment |= outerReferencesAssignment;
+
+        if (!memoize) {
+            return compiled;
+        }
+
+        // Deduplicate calls by their canonical form. Only calls that depend solely on parameters are
+        // memoized since assigned variables with the same name can hold different values in each rule.
+        Node key = Node.objectNode().withMember("fn", name).withMember("argv", Node.fromNodes(argv));
+        int index = memoSlots.computeIfAbsent(key, k -> memoSlots.size());
+        return frame -> {
+            Object value = frame.memo[index];
+            if (value == UNSET) {
+                value = compiled.eval(frame);
+                frame.memo[index] = value;
+            }
+            return value;
+        };
+    }
+
+    // Avoid creating argument lists for the most common standard library functions.
+    private Expr specialize(RuleSetFunction function, Expr[] args, List<Node> argv) {
+        if (function != StandardFunctions.FUNCTIONS.get(function.getName())) {
+            return generic(function, args);
+        }
+
+        switch (function.getName()) {
+            case "isSet":
+                if (args.length == 1) {
+                    Expr value = args[0];
+                    return frame -> value.eval(frame) != null;
+                }
+                break;
+            case "booleanEquals":
+            case "stringEquals":
+                if (args.length == 2) {
+                    Expr left = args[0];
+                    Expr right = args[1];
+                    return frame -> Objects.equals(left.eval(frame), right.eval(frame));
+                }
+                break;
+            case "getAttr":
+                if (args.length == 2 && args[1] instanceof Constant && argv.get(1).isStringNode()) {
+                    Expr target = args[0];
+                    StandardFunctions.AttrPath path = StandardFunctions.AttrPath.parse(
+                            argv.get(1).expectStringNode().getValue());
+                    return frame -> StandardFunctions.getAttr(target.eval(frame), path);
+                }
+                break;
+            default:
+                break;
+        }
+
+        return generic(function, args);
+    }
+
+    private static Expr generic(RuleSetFunction function, Expr[] args) {
+        return frame -> {
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = args[i].eval(frame);
+            }
+            return function.apply(Arrays.asList(values));
+        };
+    }
+
+    private static Expr fold(Expr expr, Expr[] children) {
+        for (Expr child : children) {
+            if (!(child instanceof Constant)) {
+                return expr;
+            }
+        }
+
+        try {
+            return new Constant(expr.eval(new Frame(0, 0)));
+        } catch (EndpointResolutionException e) {
+            // Report the error when the expression is evaluated.
+            return expr;
+        }
+    }
+
+    static ResolvedEndpoint evaluate(Rule[] rules, Frame frame) {
+        for (Rule rule : rules) {
+            if (rule.matches(frame)) {
+                return rule.apply(frame);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The variables and memoized function results of a single resolution.
+     */
+    static final class Frame {
+        final Object[] slots;
+        final Object[] memo;
+
+        Frame(int slotCount, int memoCount) {
+            slots = new Object[slotCount];
+            memo = new Object[memoCount];
+            Arrays.fill(memo, UNSET);
+        }
+    }
+
+    @FunctionalInterface
+    interface Expr {
+        Object eval(Frame frame);
+    }
+
+    private static final class Constant implements Expr {
+        private final Object value;
+
+        Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object eval(Frame frame) {
+            return value;
+        }
+    }
+
+    private static final class Condition {
+        private final Expr expr;
+        private final int slot;
+
+        Condition(Expr expr, int slot) {
+            this.expr = expr;
+            this.slot = slot;
+        }
+    }
+
+    abstract static class Rule {
+        private final Condition[] conditions;
+
+        Rule(Condition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        final boolean matches(Frame frame) {
+            for (Condition condition : conditions) {
+                Object value = condition.expr.eval(frame);
+                if (value == null || Boolean.FALSE.equals(value)) {
+                    return false;
+                } else if (condition.slot >= 0) {
+                    frame.slots[condition.slot] = value;
+                }
+            }
+            return true;
+        }
+
+        abstract ResolvedEndpoint apply(Frame frame);
+    }
+
+    /**
+     * A parameter of the rule set.
+     */
+    static final class Parameter {
+        final String name;
+        final String type;
+        final boolean required;
+        final Object defaultValue;
+
+        Parameter(String name, ObjectNode definition) {
+            this.name = name;
+            this.type = definition.expectStringMember("type").getValue().toLowerCase(Locale.ENGLISH);
+            this.required = definition.getBooleanMemberOrDefault("required", false);
+            this.defaultValue = definition.getMember("default").map(Values::fromNode).orElse(null);
+        }
+
+        Object validate(Object value) {
+            if (value == null) {
+                value = defaultValue;
+            }
+
+            if (value == null) {
+                if (required) {
+                    throw new EndpointResolutionException("Missing required parameter `" + name + "`");
+                }
+                return null;
+            }
+
+            boolean valid;
+            switch (type) {
+                case "string":
+                    valid = value instanceof String;
+                    break;
+                case "boolean":
+                    valid = value instanceof Boolean;
+                    break;
+                case "stringarray":
+                    valid = value instanceof List;
+                    break;
+                default:
+                    valid = true;
+            }
+
+            if (!valid) {
+                throw new EndpointResolutionException(String.format(
+                        "Expected parameter `%s` to be a %s, but found `%s`", name, type, value));
+            }
+
+            return value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.util.List;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * A function that can be called from an endpoint rule set.
+ *
+ * <p>Argument and return values are {@code String}, {@code Boolean},
+ * {@code Integer}, {@code List<Object>}, or {@code Map<String, Object>}
+ * values, or {@code null} when a value is not set. Functions must be
+ * thread-safe and must always return the same result for the same
+ * arguments because results are memoized.
+ */
+@SmithyUnstableApi
+public interface RuleSetFunction {
+    /**
+     * Gets the name of the function (for example, "aws.partition").
+     *
+     * @return Returns the function name.
+     */
+    String getName();
+
+    /**
+     * Invokes the function.
+     *
+     * @param arguments Arguments passed to the function.
+     * @return Returns the result of the function.
+     * @throws EndpointResolutionException if the arguments are invalid.
+     */
+    Object apply(List<Object> arguments);
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The functions of the rules engine standard library.
+ */
+final class StandardFunctions {
+
+    static final Map<String, RuleSetFunction> FUNCTIONS = new LinkedHashMap<>();
+
+    private static final Pattern HOST_LABEL = Pattern.compile("[a-zA-Z\\d][a-zA-Z\\d\\-]{0,62}");
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    static {
+        List<RuleSetFunction> result = new ArrayList<>();
+        result.add(create("isSet", 1, args -> args.get(0) != null));
+        result.add(create("not", 1, args -> !expectBoolean(args, 0, "not")));
+        result.add(create("booleanEquals", 2, args -> Objects.equals(args.get(0), args.get(1))));
+        result.add(create("stringEquals", 2, args -> Objects.equals(args.get(0), args.get(1))));
+        result.add(create("getAttr", 2, args -> getAttr(args.get(0), AttrPath.parse(
+                expectString(args, 1, "getAttr")))));
+        result.add(create("substring", 4, StandardFunctions::substring));
+        result.add(create("isValidHostLabel", 2, args -> isValidHostLabel(
+                expectString(args, 0, "isValidHostLabel"), expectBoolean(args, 1, "isValidHostLabel"))));
+        result.add(create("parseURL", 1, args -> parseUrl(expectString(args, 0, "parseURL"))));
+        result.add(create("uriEncode", 1, args -> uriEncode(expectString(args, 0, "uriEncode"))));
+        for (RuleSetFunction function : result) {
+            FUNCTIONS.put(function.getName(), function);
+        }
+    }
+
+    private StandardFunctions() {}
+
+    static Object getAttr(Object value, AttrPath path) {
+        for (Object step : path.steps) {
+            if (step instanceof Integer) {
+                if (!(value instanceof List)) {
+                    return null;
+                }
+                List<?> list = (List<?>) value;
+                int index = (Integer) step;
+                value = index < list.size() ? list.get(index) : null;
+            } else {
+                if (!(value instanceof Map)) {
+                    return null;
+                }
+                value = ((Map<?, ?>) value).get(step);
+            }
+        }
+        return value;
+    }
+
+    private static Object substring(List<Object> args) {
+        String input = expectString(args, 0, "substring");
+        if (input == null) {
+            return null;
+        }
+
+        int start = expectInteger(args, 1, "substring");
+        int stop = expectInteger(args, 2, "substring");
+        boolean reverse = expectBoolean(args, 3, "substring");
+
+        if (start >= stop || input.length() < stop) {
+            return null;
+        }
+
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) > 127) {
+                return null;
+            }
+        }
+
+        return reverse
+               ? input.substring(input.length() - stop, input.length() - start)
+               : input.substring(start, stop);
+    }
+
+    private static boolean isValidHostLabel(String value, boolean allowSubDomains) {
+        if (value == null) {
+            return false;
+        } else if (!allowSubDomains) {
+            return HOST_LABEL.matcher(value).matches();
+        }
+
+        for (String label : value.split("\\.", -1)) {
+            if (!HOST_LABEL.matcher(label).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Object> parseUrl(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        URI uri;
+        try {
+            uri = new URI(value);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+
+        String scheme = uri.getScheme();
+        if (uri.getRawQuery() != null || uri.getRawAuthority() == null
+                || (!"http".equals(scheme) && !"https".equals(scheme))) {
+            return null;
+        }
+
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        String normalizedPath = path;
+        if (!normalizedPath.startsWith("/")) {
+            normalizedPath = "/" + normalizedPath;
+        }
+        if (!normalizedPath.endsWith("/")) {
+            normalizedPath = normalizedPath + "/";
+        }
+
+        String host = uri.getHost() == null ? "" : uri.getHost();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scheme", scheme);
+        result.put("authority", uri.getRawAuthority());
+        result.put("path", path);
+        result.put("normalizedPath", normalizedPath);
+        result.put("isIp", host.startsWith("[") || IPV4.matcher(host).matches());
+        return result;
+    }
+
+    private static String uriEncode(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return URLEncoder.encode(value, "UTF-8")
+                    .replace("+", "%20")
+                    .replace("*", "%2A")
+                    .replace("%7E", "~");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String expectString(List<Object> args, int index, String name) {
+        Object value = args.get(index);
+        if (value != null && !(value instanceof String)) {
+            throw invalidArgument(name, index, "string", value);
+        }
+        return (String) value;
+    }
+
+    private static boolean expectBoolean(List<Object> args, int index, String name) {
+        Object value = args.get(index);
+        if (!(value instanceof Boolean)) {
+            throw invalidArgument(name, index, "boolean", value);
+        }
+        return (Boolean) value;
+    }
+
+    private static int expectInteger(List<Object> args, int index, String name) {
+        Object value = args.get(index);
+        if (!(value instanceof Integer)) {
+            throw invalidArgument(name, index, "integer", value);
+        }
+        return (Integer) value;
+    }
+
+    private static EndpointResolutionException invalidArgument(String name, int index, String type, Object value) {
+        return new EndpointResolutionException(String.format(
+                "Expected argument %d of `%s` to be a %s, but found `%s`", index, name, type, value));
+    }
+
+    private static RuleSetFunction create(String name, int arity, Function<List<Object>, Object> implementation) {
+        return new RuleSetFunction() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Object apply(List<Object> arguments) {
+                if (arguments.size() != arity) {
+                    throw new EndpointResolutionException(String.format(
+                            "`%s` expects %d arguments, but found %d", name, arity, arguments.size()));
+                }
+                return implementation.apply(arguments);
+            }
+        };
+    }
+
+    /**
+     * A parsed {@code getAttr} path like "a.b[2]".
+     */
+    static final class AttrPath {
+        private final List<Object> steps;
+
+        private AttrPath(List<Object> steps) {
+            this.steps = steps;
+        }
+
+        static AttrPath parse(String path) {
+            List<Object> steps = new ArrayList<>();
+            for (String part : path.split("\\.", -1)) {
+                int bracket = part.indexOf('[');
+                String name = bracket == -1 ? part : part.substring(0, bracket);
+                if (!name.isEmpty()) {
+                    steps.add(name);
+                }
+                if (bracket != -1) {
+                    if (!part.endsWith("]")) {
+                        throw new EndpointResolutionException("Invalid getAttr path: " + path);
+                    }
+                    try {
+                        steps.add(Integer.parseInt(part.substring(bracket + 1, part.length() - 1)));
+                    } catch (NumberFormatException e) {
+                        throw new EndpointResolutionException("Invalid getAttr path: " + path);
+                    }
+                }
+            }
+            return new AttrPath(steps);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+
+/**
+ * Converts between {@link Node} values and the Java values used when
+ * evaluating rule sets.
+ */
+final class Values {
+
+    private Values() {}
+
+    static Object fromNode(Node node) {
+        switch (node.getType()) {
+            case STRING:
+                return node.expectStringNode().getValue();
+            case BOOLEAN:
+                return node.expectBooleanNode().getValue();
+            case NUMBER:
+                return node.expectNumberNode().getValue().intValue();
+            case ARRAY:
+                List<Object> list = new ArrayList<>();
+                for (Node element : node.expectArrayNode().getElements()) {
+                    list.add(fromNode(element));
+                }
+                return list;
+            case OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<String, Node> entry : node.expectObjectNode().getStringMap().entrySet()) {
+                    map.put(entry.getKey(), fromNode(entry.getValue()));
+                }
+                return map;
+            default:
+                return null;
+        }
+    }
+
+    static Node toNode(Object value) {
+        if (value == null) {
+            return Node.nullNode();
+        } else if (value instanceof String) {
+            return Node.from((String) value);
+        } else if (value instanceof Boolean) {
+            return Node.from((Boolean) value);
+        } else if (value instanceof Number) {
+            return Node.from((Number) value);
+        } else if (value instanceof Node) {
+            return (Node) value;
+        } else if (value instanceof List) {
+            List<Node> elements = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                elements.add(toNode(element));
+            }
+            return Node.fromNodes(elements);
+        } else if (value instanceof Map) {
+            ObjectNode.Builder builder = ObjectNode.builder();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                builder.withMember(String.valueOf(entry.getKey()), toNode(entry.getValue()));
+            }
+            return builder.build();
+        }
+
+        throw new EndpointResolutionException("Unsupported rule set value: " + value);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.rulesengine.evaluation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.ExpectationNotMetException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestExpectation;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.MapUtils;
+
+public class CompiledRuleSetTest {
+
+    private static ServiceShape service;
+
+    @BeforeAll
+    public static void before() {
+        Model model = Model.assembler()
+                .discoverModels(CompiledRuleSetTest.class.getClassLoader())
+                .addImport(CompiledRuleSetTest.class.getResource("endpoint-model.smithy"))
+                .assemble()
+                .unwrap();
+        service = model.expectShape(ShapeId.from("smithy.example#ExampleService"), ServiceShape.class);
+    }
+
+    private static CompiledRuleSet compile() {
+        return CompiledRuleSet.compile(service.expectTrait(EndpointRuleSetTrait.class));
+    }
+
+    @Test
+    public void passesAllEndpointTests() {
+        EndpointTestRunner runner = new EndpointTestRunner(compile());
+
+        assertThat(runner.run(service.expectTrait(EndpointTestsTrait.class)), empty());
+    }
+
+    @Test
+    public void reportsFailedEndpointTests() {
+        EndpointTestRunner runner = new EndpointTestRunner(compile());
+        Optional<String> result = runner.run(EndpointTestCase.builder()
+                .params(Node.objectNode().withMember("Region", "us-east-1"))
+                .expect(EndpointTestExpectation.builder().error("Oops").build())
+                .build());
+
+        assertThat(result.isPresent(), equalTo(true));
+        assertThat(result.get(), containsString("Expected error `Oops`"));
+    }
+
+    @Test
+    public void resolvesJavaParameters() {
+        ResolvedEndpoint endpoint = compile().resolve(MapUtils.of("Region", "us-west-2", "UseFIPS", true));
+
+        assertThat(endpoint.getUrl(), equalTo("https://example-fips.us-west-2.example.com"));
+        assertThat(endpoint.getHeaders().get("x-fips"), contains("true", "us-west-2"));
+    }
+
+    @Test
+    public void validatesParameters() {
+        CompiledRuleSet ruleSet = compile();
+
+        EndpointResolutionException missing = assertThrows(EndpointResolutionException.class,
+                () -> ruleSet.resolve(Node.objectNode()));
+        EndpointResolutionException invalid = assertThrows(EndpointResolutionException.class,
+                () -> ruleSet.resolve(MapUtils.of("Region", "us-east-1", "UseFIPS", "yes")));
+
+        assertThat(missing.getMessage(), equalTo("Missing required parameter `Region`"));
+        assertThat(invalid.getMessage(), containsString("`UseFIPS` to be a boolean"));
+    }
+
+    @Test
+    public void memoizesParameterOnlyFunctionCalls() {
+        AtomicInteger calls = new AtomicInteger();
+        CompiledRuleSet ruleSet = CompiledRuleSet.builder()
+                .ruleSet(Node.parse("{\"parameters\": {\"Region\": {\"type\": \"string\"}}, \"rules\": ["
+                                    + "{\"type\": \"endpoint\", \"conditions\": ["
+                                    + "  {\"fn\": \"count\", \"argv\": [{\"ref\": \"Region\"}], \"assign\": \"a\"},"
+                                    + "  {\"fn\": \"stringEquals\", \"argv\": [{\"ref\": \"a\"}, \"x\"]}],"
+                                    + " \"endpoint\": {\"url\": \"https://x\"}},"
+                                    + "{\"type\": \"endpoint\", \"conditions\": ["
+                                    + "  {\"fn\": \"count\", \"argv\": [{\"ref\": \"Region\"}], \"assign\": \"b\"}],"
+                                    + " \"endpoint\": {\"url\": \"https://{b}\"}}]}"))
+                .addFunction(new RuleSetFunction() {
+                    @Override
+                    public String getName() {
+                        return "count";
+                    }
+
+                    @Override
+                    public Object apply(List<Object> arguments) {
+                        calls.incrementAndGet();
+                        return arguments.get(0);
+                    }
+                })
+                .build();
+
+        assertThat(ruleSet.resolve(MapUtils.of("Region", "y")).getUrl(), equalTo("https://y"));
+        assertThat(calls.get(), equalTo(1));
+        assertThat(ruleSet.resolve(MapUtils.of("Region", "z")).getUrl(), equalTo("https://z"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void foldsConstantFunctionCalls() {
+        CompiledRuleSet ruleSet = CompiledRuleSet.builder()
+                .ruleSet(Node.parse("{\"parameters\": {}, \"rules\": ["
+                                    + "{\"type\": \"endpoint\", \"conditions\": ["
+                                    + "  {\"fn\": \"uriEncode\", \"argv\": [\"a b\"], \"assign\": \"path\"}],"
+                                    + " \"endpoint\": {\"url\": \"https://x/{path}\"}}]}"))
+                .build();
+
+        assertThat(ruleSet.resolve(ObjectNode.objectNode()).getUrl(), equalTo("https://x/a%20b"));
+    }
+
+    @Test
+    public void failsToCompileUnknownFunctions() {
+        Node ruleSet = Node.parse("{\"parameters\": {}, \"rules\": ["
+                                  + "{\"type\": \"error\", \"conditions\": ["
+                                  + "  {\"fn\": \"aws.partition\", \"argv\": [\"us-east-1\"]}],"
+                                  + " \"error\": \"oops\"}]}");
+
+        ExpectationNotMetException e = assertThrows(ExpectationNotMetException.class,
+                () -> CompiledRuleSet.builder().ruleSet(ruleSet).build());
+        assertThat(e.getMessage(), containsString("aws.partition"));
+    }
+
+    @Test
+    public void failsToCompileUndefinedReferences() {
+        Node ruleSet = Node.parse("{\"parameters\": {}, \"rules\": ["
+                                  + "{\"type\": \"endpoint\", \"conditions\": [],"
+                                  + " \"endpoint\": {\"url\": \"https://{Region}\"}}]}");
+
+        assertThrows(ExpectationNotMetException.class, () -> CompiledRuleSet.builder().ruleSet(ruleSet).build());
+    }
+
+    @Test
+    public void requiresTreeRulesToBeExhaustive() {
+        CompiledRuleSet ruleSet = CompiledRuleSet.builder()
+                .ruleSet(Node.parse("{\"parameters\": {\"A\": {\"type\": \"string\"}}, \"rules\": ["
+                                    + "{\"type\": \"tree\", \"conditions\": [], \"rules\": ["
+                                    + "  {\"type\": \"endpoint\", \"conditions\": ["
+                                    + "    {\"fn\": \"isSet\", \"argv\": [{\"ref\": \"A\"}]}],"
+                                    + "   \"endpoint\": {\"url\": \"https://x\"}}]}]}"))
+                .build();
+
+        EndpointResolutionException e = assertThrows(EndpointResolutionException.class,
+                () -> ruleSet.resolve(ObjectNode.objectNode()));
+        assertThat(e.getMessage(), containsString("Tree rules must be exhaustive"));
+    }
+
+    @Test
+    public void rejectsNonStringSubstringInput() {
+        CompiledRuleSet ruleSet = CompiledRuleSet.builder()
+                .ruleSet(Node.parse("{\"parameters\": {\"A\": {\"type\": \"boolean\"}}, \"rules\": ["
+                                    + "{\"type\": \"endpoint\", \"conditions\": ["
+                                    + "  {\"fn\": \"substring\", \"argv\": [{\"ref\": \"A\"}, 0, 1, false]}],"
+                                    + " \"endpoint\": {\"url\": \"https://x\"}}]}"))
+                .build();
+
+        EndpointResolutionException e = assertThrows(EndpointResolutionException.class,
+                () -> ruleSet.resolve(MapUtils.of("A", true)));
+        assertThat(e.getMessage(), containsString("Expected argument 0 of `substring` to be a string"));
+    }
+
+    @Test
+    public void listsParameterNames() {
+        assertThat(compile().getParameterNames(), hasSize(4));
+        assertThat(compile().getParameterNames(),
+                   equalTo(ListUtils.of("Region", "UseFIPS", "Endpoint", "Bucket")));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils.jmh;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.utils.SimpleCodeWriter;
+
+/**
+ * Measures the per-call cost of formatting templates typical of Java and
+ * TypeScript code generators.
+ *
+ * <p>Run with {@code -prof gc} to also report allocations per call.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class CodeWriterFormat {
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        public SimpleCodeWriter writer;
+        public List<String> members;
+
+        @Setup
+        public void prepare() {
+            writer = new SimpleCodeWriter();
+            writer.putFormatter('T', (value, indent) -> String.valueOf(value));
+            writer.putContext("deprecated", true);
+            members = Arrays.asList("name", "count", "tags");
+        }
+    }
+
+    @Benchmark
+    public String javaLiteralText(WriterState state) {
+        return state.writer.format("private static final long serialVersionUID = 1L;");
+    }
+
+    @Benchmark
+    public String javaMethodSignature(WriterState state) {
+        return state.writer.format("public $T $L($T $L) {", "String", "getName", "Builder", "builder");
+    }
+
+    @Benchmark
+    public String javaPositionalArguments(WriterState state) {
+        return state.writer.format("this.$1L = builder.$1L != null ? builder.$1L : $2L;", "name", "\"\"");
+    }
+
+    @Benchmark
+    public String javaConditionalAnnotation(WriterState state) {
+        return state.writer.format("${?deprecated}@Deprecated\n${/deprecated}public $T $L() {",
+                                   "String", "getName");
+    }
+
+    @Benchmark
+    public String typeScriptImport(WriterState state) {
+        return state.writer.format("import { $L } from $S;", "Foo", "./models/Foo");
+    }
+
+    @Benchmark
+    public String typeScriptInterfaceMember(WriterState state) {
+        return state.writer.format("  $L?: $T;", "name", "string | undefined");
+    }
+
+    @Benchmark
+    public String typeScriptLoop(WriterState state) {
+        state.writer.pushState();
+        state.writer.putContext("members", state.members);
+        String result = state.writer.format("${#members}$value:L${^key.last}, ${/key.last}${/members}");
+        state.writer.popState();
+        return result;
+    }
+
+    @Benchmark
+    public String typeScriptInlineBlock(WriterState state) {
+        return state.writer.format("export const $L = {\n  ${C|}\n};", "serializer",
+                                   (Runnable) () -> state.writer.write("a: 1,\nb: 2,"));
+    }
+}
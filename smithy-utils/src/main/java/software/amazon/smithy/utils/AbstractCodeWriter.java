@@ -15,6 +15,12 @@
 
 package software.amazon.smithy.utils;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -27,7 +33,6 @@ import java.util.StringJoiner;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 /**
  * Helper class for generating code.
@@ -283,7 +288,8 @@ import java.util.regex.Pattern;
  * <p>Many coding standards recommend limiting the number of successive blank
  * lines. This can be handled automatically by {@code AbstractCodeWriter} by calling
  * {@link #trimBlankLines}. The removal of blank lines is handled when the
- * {@code AbstractCodeWriter} is converted to a string. Lines that consist solely
+ * {@code AbstractCodeWriter} is converted to a string, written using
+ * {@link #writeTo(Writer)}, or read using {@link #toReader()}. Lines that consist solely
  * of spaces or tabs are considered blank. If the number of blank lines
  * exceeds the allowed threshold, they are omitted from the result.
  *
@@ -574,7 +580,7 @@ import java.util.regex.Pattern;
  */
 public abstract class AbstractCodeWriter<T extends AbstractCodeWriter<T>> {
 
-    private static final Pattern LINES = Pattern.compile("\\r?\\n");
+    private static final int WRITE_BUFFER_SIZE = 8192;
     private static final Map<Character, BiFunction<Object, String, String>> DEFAULT_FORMATTERS = MapUtils.of(
             'L', (s, i) -> formatLiteral(s),
             'S', (s, i) -> StringUtils.escapeJavaString(formatLiteral(s), i));
@@ -735,51 +741,325 @@ public abstract class AbstractCodeWriter<T extends AbstractCodeWriter<T>> {
      * configured to always append a newline. A newline is only appended
      * in these cases if the result does not already end with a newline.
      *
+     * <p>The result starts with any contents written by {@link #writePrefix}.
+     *
      * @return Returns the generated code.
      */
     @Override
     public String toString() {
-        String result = currentState.toString();
+        StringBuilder result = new StringBuilder(currentState.getBuilder().length() + currentState.newline.length());
+        try {
+            result.append(getPrefix());
+            writeResult(result::append);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never fails.
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes the contents of the generated code to the given writer.
+     *
+     * <p>The written contents are exactly the same as the result of
+     * {@link #toString()}, but the generated code is streamed to the writer
+     * in chunks rather than first creating a String of the entire result.
+     * This is useful when generating very large files.
+     *
+     * <p>Subclasses that need to write contents before the generated code,
+     * like imports, should override {@link #writePrefix} rather than
+     * {@link #toString()}. If a subclass overrides {@code toString()}, the
+     * result of calling {@code toString()} is written instead so that the
+     * written contents remain the same.
+     *
+     * @param writer Writer to write the generated code to.
+     * @throws IOException if the writer fails.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        if (overridesToString()) {
+            writer.write(toString());
+            return;
+        }
+
+        writePrefix(writer);
+        char[] buffer = new char[WRITE_BUFFER_SIZE];
+        writeResult((text, start, end) -> {
+            for (int i = start; i < end; i += buffer.length) {
+                int chunkEnd = Math.min(end, i + buffer.length);
+                getChars(text, i, chunkEnd, buffer, 0);
+                writer.write(buffer, 0, chunkEnd - i);
+            }
+        });
+    }
+
+    /**
+     * Creates a {@link Reader} that reads the contents of the generated code.
+     *
+     * <p>The contents read are exactly the same as the result of
+     * {@link #toString()}, but the generated code is read directly from the
+     * writer as it is consumed rather than first creating a String of the
+     * entire result. This allows APIs that consume a {@code Reader}, like
+     * writing a file, to stream very large files.
+     *
+     * <p>The returned reader reads the contents of the writer at the time
+     * each part is read, so the writer must not be modified until the reader
+     * is done.
+     *
+     * @return Returns the created reader.
+     * @see #writeTo(Writer)
+     */
+    public Reader toReader() {
+        if (overridesToString()) {
+            return new StringReader(toString());
+        }
+
+        try {
+            return new ResultReader(getPrefix());
+        } catch (IOException e) {
+            // Writing to a StringWriter never fails.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes contents that come before the generated code, like imports,
+     * when the generated code is converted to a string, written using
+     * {@link #writeTo(Writer)}, or read using {@link #toReader()}.
+     *
+     * <p>Nothing is written by default. The prefix is written as-is and is
+     * not affected by settings like {@link #trimBlankLines}.
+     *
+     * <pre>{@code
+     * \@Override
+     * protected void writePrefix(Writer writer) throws IOException {
+     *     writer.write(getImportContainer().toString());
+     *     writer.write("\n\n");
+     * }
+     * }</pre>
+     *
+     * @param writer Writer to write the prefix to.
+     * @throws IOException if the writer fails.
+     */
+    protected void writePrefix(Writer writer) throws IOException {
+        // Nothing is written by default.
+    }
+
+    private String getPrefix() throws IOException {
+        StringWriter prefix = new StringWriter();
+        writePrefix(prefix);
+        return prefix.toString();
+    }
+
+    private boolean overridesToString() {
+        try {
+            return getClass().getMethod("toString").getDeclaringClass() != AbstractCodeWriter.class;
+        } catch (NoSuchMethodException e) {
+            // Every class has a public toString method.
+            throw new IllegalStateException(e);
+        }
+    }
 
-        // Trim excessive blank lines.
-        if (trimBlankLines > -1) {
-            StringBuilder builder = new StringBuilder(result.length());
-            String[] lines = LINES.split(result);
-            int blankCount = 0;
+    private static void getChars(CharSequence text, int start, int end, char[] destination, int offset) {
+        if (text instanceof StringBuilder) {
+            ((StringBuilder) text).getChars(start, end, destination, offset);
+        } else if (text instanceof String) {
+            ((String) text).getChars(start, end, destination, offset);
+        } else {
+            for (int i = start; i < end; i++) {
+                destination[offset++] = text.charAt(i);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultSink {
+        void write(CharSequence text, int start, int end) throws IOException;
+    }
 
-            for (String line : lines) {
-                if (!StringUtils.isBlank(line)) {
-                    builder.append(line).append(currentState.newline);
+    // Writes the post-processed contents of the root builder to the sink without copying the builder.
+    private void writeResult(ResultSink sink) throws IOException {
+        ResultCursor cursor = new ResultCursor();
+        while (cursor.next(sink)) {
+            // Keep writing until the entire result is written.
+        }
+    }
+
+    // Produces the post-processed contents of the root builder one part at a time, so that the
+    // result can be either pushed to a sink or pulled by a reader.
+    private final class ResultCursor {
+        private final StringBuilder content = currentState.getBuilder();
+        private final String newline = currentState.newline;
+        private final boolean trimLines = trimBlankLines > -1;
+        private int end = content.length();
+        private int start;
+        private int blankCount;
+        private boolean pendingNewline;
+        private boolean done;
+
+        ResultCursor() {
+            if (trimLines) {
+                // Lines are separated by "\n" or "\r\n", and trailing empty lines are ignored.
+                while (end > 0 && content.charAt(end - 1) == '\n') {
+                    end--;
+                    if (end > 0 && content.charAt(end - 1) == '\r') {
+                        end--;
+                    }
+                }
+            } else if (end > 0 && currentState.trimTrailingSpaces) {
+                // This accounts for cases where the only write on the AbstractCodeWriter was
+                // an inline write, but the write ended with spaces.
+                while (end > 0 && content.charAt(end - 1) == ' ') {
+                    end--;
+                }
+            }
+        }
+
+        // Writes the next part of the result to the sink, returning false once everything is written.
+        boolean next(ResultSink sink) throws IOException {
+            if (done) {
+                return false;
+            } else if (trimLines) {
+                return nextTrimmedLine(sink);
+            }
+
+            done = true;
+
+            if (content.length() == 0) {
+                if (trailingNewline) {
+                    sink.write(newline, 0, newline.length());
+                }
+            } else if (trailingNewline) {
+                // Add a trailing newline if needed.
+                sink.write(content, 0, end);
+                if (!endsWith(content, end, newline)) {
+                    sink.write(newline, 0, newline.length());
+                }
+            } else {
+                // Strip the trailing newline if present.
+                sink.write(content, 0, endsWith(content, end, newline) ? end - newline.length() : end);
+            }
+
+            return true;
+        }
+
+        // Writes the next line that isn't omitted, each preceded by a newline, omitting excessive blank lines.
+        private boolean nextTrimmedLine(ResultSink sink) throws IOException {
+            while (start < end) {
+                int lineEnd = content.indexOf("\n", start);
+                if (lineEnd == -1 || lineEnd > end) {
+                    lineEnd = end;
+                }
+
+                int textEnd = lineEnd;
+                if (lineEnd < end && textEnd > start && content.charAt(textEnd - 1) == '\r') {
+                    textEnd--;
+                }
+
+                int lineStart = start;
+                start = lineEnd + 1;
+
+                boolean blank = isBlank(content, lineStart, textEnd);
+                if (!blank) {
                     blankCount = 0;
-                } else if (blankCount++ < trimBlankLines) {
-                    builder.append(line).append(currentState.newline);
+                }
+
+                if (!blank || blankCount++ < trimBlankLines) {
+                    if (pendingNewline) {
+                        sink.write(newline, 0, newline.length());
+                    }
+                    sink.write(content, lineStart, textEnd);
+                    pendingNewline = true;
+                    return true;
                 }
             }
 
-            result = builder.toString();
+            // Every written line ends with a newline, so the last newline is only written when needed.
+            done = true;
+            if (trailingNewline) {
+                sink.write(newline, 0, newline.length());
+            }
+            return true;
         }
+    }
+
+    // Reads the prefix and then the parts of the result produced by a ResultCursor.
+    private final class ResultReader extends Reader {
+        private final ResultCursor cursor = new ResultCursor();
+        private final Deque<CharSequence> texts = new ArrayDeque<>();
+        private final Deque<int[]> ranges = new ArrayDeque<>();
 
-        if (result.isEmpty()) {
-            return trailingNewline ? currentState.newline : "";
+        ResultReader(String prefix) {
+            if (!prefix.isEmpty()) {
+                texts.add(prefix);
+                ranges.add(new int[] {0, prefix.length()});
+            }
         }
 
-        // This accounts for cases where the only write on the AbstractCodeWriter was
-        // an inline write, but the write ended with spaces.
-        if (currentState.trimTrailingSpaces) {
-            result = StringUtils.stripEnd(result, " ");
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            int read = 0;
+            while (read < length) {
+                if (texts.isEmpty() && !cursor.next(this::enqueue)) {
+                    break;
+                } else if (texts.isEmpty()) {
+                    continue;
+                }
+
+                int[] range = ranges.getFirst();
+                int count = Math.min(length - read, range[1] - range[0]);
+                getChars(texts.getFirst(), range[0], range[0] + count, buffer, offset + read);
+                read += count;
+                range[0] += count;
+
+                if (range[0] == range[1]) {
+                    texts.removeFirst();
+                    ranges.removeFirst();
+                }
+            }
+
+            return read == 0 ? -1 : read;
         }
 
-        if (trailingNewline) {
-            // Add a trailing newline if needed.
-            return result.endsWith(currentState.newline) ? result : result + currentState.newline;
-        } else if (result.endsWith(currentState.newline)) {
-            // Strip the trailing newline if present.
-            return result.substring(0, result.length() - currentState.newline.length());
-        } else {
-            return result;
+        private void enqueue(CharSequence text, int start, int end) {
+            if (start < end) {
+                texts.add(text);
+                ranges.add(new int[] {start, end});
+            }
+        }
+
+        @Override
+        public void close() {
+            texts.clear();
+            ranges.clear();
         }
     }
 
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean endsWith(CharSequence text, int end, String suffix) {
+        int offset = end - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (text.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Copies and pushes the current state to the state stack.
      *
@@ -2090,23 +2370,21 @@ public abstract class AbstractCodeWriter<T extends AbstractCodeWriter<T>> {
             int nextNewline = contents.indexOf(newline);
 
             while (nextNewline > -1) {
-                for (; position < nextNewline; position++) {
-                    append(contents.charAt(position));
-                }
+                append(contents, position, nextNewline);
                 writeNewline();
-                position += newline.length();
+                position = nextNewline + newline.length();
                 nextNewline = contents.indexOf(newline, position);
             }
 
             // Write anything remaining in the string after the last newline.
-            for (; position < contents.length(); position++) {
-                append(contents.charAt(position));
-            }
+            append(contents, position, contents.length());
         }
 
-        private void append(char c) {
-            checkIndentationBeforeWriting();
-            getBuilder().append(c);
+        private void append(String contents, int start, int end) {
+            if (start < end) {
+                checkIndentationBeforeWriting();
+                getBuilder().append(contents, start, end);
+            }
         }
 
         private void checkIndentationBeforeWriting() {
@@ -21,42 +21,130 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @SmithyInternalApi
 final class CodeFormatter {
 
+    // Bounds the number of compiled templates by evicting the least recently used template, so that
+    // generators that build templates dynamically don't evict the string literals used by every file.
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+    private static final Map<TemplateKey, Operation> TEMPLATES = Collections.synchronizedMap(
+            new LinkedHashMap<TemplateKey, Operation>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TemplateKey, Operation> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
+
     private CodeFormatter() {}
 
     static void run(StringBuilder sink, AbstractCodeWriter<?> writer, String template, Object[] args) {
         try {
             Sink wrappedSink = Sink.from(sink);
-            Operation block = new Parser(writer, template, args).parse();
-            block.apply(wrappedSink, writer);
+            Operation program = compile(writer, template, args.length);
+            program.apply(wrappedSink, writer, args);
         } catch (IOException e) {
             throw new RuntimeException("Error appending to CodeWriter template: " + e, e);
         }
     }
 
+    /**
+     * Compiles a template into an immutable operation that can be applied to any
+     * writer with the same expression start character and any argument array of
+     * the same length.
+     *
+     * <p>Compiled templates are cached, so each template is only parsed once.
+     * Templates are validated against the number of arguments when they're
+     * compiled, which is why the number of arguments is part of the cache key.
+     *
+     * @param writer Writer used to get the expression start character and to report errors.
+     * @param template Template to compile.
+     * @param argumentCount Number of arguments the template is applied to.
+     * @return Returns the compiled template.
+     */
+    private static Operation compile(AbstractCodeWriter<?> writer, String template, int argumentCount) {
+        char expressionStart = writer.getExpressionStart();
+
+        // Text without expressions is written as-is and isn't worth caching.
+        if (argumentCount == 0 && template.indexOf(expressionStart) == -1) {
+            return Operation.stringSlice(template, 0, template.length());
+        }
+
+        TemplateKey key = new TemplateKey(template, expressionStart, argumentCount);
+        Operation program = TEMPLATES.get(key);
+
+        if (program == null) {
+            // Templates are parsed outside of the lock. Threads that parse the same template at the same
+            // time create equivalent operations, so it doesn't matter which one is kept.
+            program = new Parser(writer, template, argumentCount).parse();
+            TEMPLATES.put(key, program);
+        }
+
+        return program;
+    }
+
+    private static String createErrorMessage(String template, String message, AbstractCodeWriter<?> writer) {
+        return message + " (template: " + template + ") " + writer.getDebugInfo();
+    }
+
+    private static final class TemplateKey {
+        private final String template;
+        private final char expressionStart;
+        private final int argumentCount;
+        private final int hash;
+
+        TemplateKey(String template, char expressionStart, int argumentCount) {
+            this.template = template;
+            this.expressionStart = expressionStart;
+            this.argumentCount = argumentCount;
+            this.hash = Objects.hash(template, expressionStart, argumentCount);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof TemplateKey)) {
+                return false;
+            }
+            TemplateKey other = (TemplateKey) o;
+            return expressionStart == other.expressionStart
+                   && argumentCount == other.argumentCount
+                   && template.equals(other.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     private interface Sink {
         int column();
 
         void append(char c);
 
+        default void append(CharSequence text, int start, int end) {
+            for (int i = start; i < end; i++) {
+                append(text.charAt(i));
+            }
+        }
+
         static void writeString(Sink sink, CharSequence text) {
             writeString(sink, text, 0, text.length());
         }
 
         static void writeString(Sink sink, CharSequence text, int start, int end) {
-            for (int i = start; i < end; i++) {
-                sink.append(text.charAt(i));
-            }
+            sink.append(text, start, end);
         }
 
         static Sink from(StringBuilder builder) {
@@ -78,6 +166,21 @@ final class CodeFormatter {
                     builder.append(c);
                 }
 
+                @Override
+                public void append(CharSequence text, int start, int end) {
+                    // Append the text in bulk and only scan it to find the column of the last line.
+                    for (int i = end - 1; i >= start; i--) {
+                        char c = text.charAt(i);
+                        if (c == '\r' || c == '\n') {
+                            column = end - i - 1;
+                            builder.append(text, start, end);
+                            return;
+                        }
+                    }
+                    column += end - start;
+                    builder.append(text, start, end);
+                }
+
                 @Override
                 public String toString() {
                     return builder.toString();
@@ -86,28 +189,34 @@ final class CodeFormatter {
         }
     }
 
+    /**
+     * A compiled part of a template.
+     *
+     * <p>Operations don't hold any per-call state, so compiled templates can be
+     * cached and applied concurrently to different writers and arguments.
+     */
     @FunctionalInterface
     private interface Operation {
-        void apply(Sink sink, AbstractCodeWriter<?> writer) throws IOException;
+        void apply(Sink sink, AbstractCodeWriter<?> writer, Object[] args) throws IOException;
 
         // Writes literal segments of the input string.
         static Operation stringSlice(String source, int start, int end) {
-            return (sink, writer) -> Sink.writeString(sink, source, start, end);
+            return (sink, writer, args) -> Sink.writeString(sink, source, start, end);
         }
 
         // Evaluates a formatter using the provided writer. This is done lazily because formatters
         // should only be evaluated inside conditions that evaluate to true. This ensures that formatters
         // with side effects don't have their side effects enacted when a condition is not evaluated.
         static Operation formatted(
-                Function<AbstractCodeWriter<?>, Object> valueGetter,
+                BiFunction<AbstractCodeWriter<?>, Object[], Object> valueGetter,
                 char formatter,
-                Supplier<String> errorMessage
+                Function<AbstractCodeWriter<?>, String> errorMessage
         ) {
-            return (sink, writer) -> {
-                Object value = valueGetter.apply(writer);
+            return (sink, writer, args) -> {
+                Object value = valueGetter.apply(writer, args);
                 String result = writer.applyFormatter(formatter, value);
                 if (result == null) {
-                    throw new RuntimeException(errorMessage.get());
+                    throw new RuntimeException(errorMessage.apply(writer));
                 }
                 Sink.writeString(sink, result);
             };
@@ -115,10 +224,10 @@ final class CodeFormatter {
 
         // Expands inline sections.
         static Operation inlineSection(String sectionName, Operation delegate) {
-            return (sink, writer) -> {
+            return (sink, writer, args) -> {
                 // First capture the given default value.
                 Sink buffer = Sink.from(new StringBuilder());
-                delegate.apply(buffer, writer);
+                delegate.apply(buffer, writer, args);
                 String defaultValue = buffer.toString();
                 // Create an interceptable code section for the inline section.
                 CodeSection section = CodeSection.forName(sectionName);
@@ -135,7 +244,7 @@ final class CodeFormatter {
 
         // Used for "|". Wraps another operation and ensures newlines are properly indented.
         static Operation block(Operation delegate, String staticWhitespace) {
-            return (sink, writer) -> delegate.apply(new BlockAlignedSink(sink, staticWhitespace), writer);
+            return (sink, writer, args) -> delegate.apply(new BlockAlignedSink(sink, staticWhitespace), writer, args);
         }
     }
 
@@ -223,9 +332,9 @@ final class CodeFormatter {
             }
 
             @Override
-            public void apply(Sink sink, AbstractCodeWriter<?> writer) throws IOException {
+            public void apply(Sink sink, AbstractCodeWriter<?> writer, Object[] args) throws IOException {
                 for (Operation operation : operations) {
-                    operation.apply(sink, writer);
+                    operation.apply(sink, writer, args);
                 }
             }
 
@@ -247,10 +356,10 @@ final class CodeFormatter {
             }
 
             @Override
-            public void apply(Sink sink, AbstractCodeWriter<?> writer) throws IOException {
+            public void apply(Sink sink, AbstractCodeWriter<?> writer, Object[] args) throws IOException {
                 Object value = writer.getContext(variable());
                 if (!isConditionTruthy(value) == negate) {
-                    super.apply(sink, writer);
+                    super.apply(sink, writer, args);
                 }
             }
         }
@@ -271,7 +380,7 @@ final class CodeFormatter {
             }
 
             @Override
-            public void apply(Sink sink, AbstractCodeWriter<?> writer) throws IOException {
+            public void apply(Sink sink, AbstractCodeWriter<?> writer, Object[] args) throws IOException {
                 Object value = writer.getContext(variable());
                 Iterator<? extends Map.Entry<?, ?>> iterator = getValueIterator(value);
                 boolean isFirst = true;
@@ -282,7 +391,7 @@ final class CodeFormatter {
                     writer.putContext(valueName, current.getValue());
                     writer.putContext(keyName + ".first", isFirst);
                     writer.putContext(keyName + ".last", !iterator.hasNext());
-                    super.apply(sink, writer);
+                    super.apply(sink, writer, args);
                     writer.popState();
                     isFirst = false;
                 }
@@ -338,18 +447,20 @@ final class CodeFormatter {
         private final SimpleParser parser;
         private final char expressionStart;
         private final AbstractCodeWriter<?> writer;
-        private final Object[] arguments;
+        private final int argumentCount;
         private final boolean[] positionals;
         private int relativeIndex = 0;
         private final Deque<BlockOperation> blocks = new ArrayDeque<>();
 
-        Parser(AbstractCodeWriter<?> writer, String template, Object[] arguments) {
+        // The writer is only used to configure the parser and to report syntax errors. Compiled
+        // operations must not capture it since they're cached and used with other writers.
+        Parser(AbstractCodeWriter<?> writer, String template, int argumentCount) {
             this.template = template;
             this.writer = writer;
             this.expressionStart = writer.getExpressionStart();
             this.parser = new SimpleParser(template);
-            this.arguments = arguments;
-            this.positionals = new boolean[arguments.length];
+            this.argumentCount = argumentCount;
+            this.positionals = new boolean[argumentCount];
             blocks.add(new BlockOperation.Unconditional(""));
         }
 
@@ -362,7 +473,7 @@ final class CodeFormatter {
         }
 
         private String createErrorMessage(String message) {
-            return message + " (template: " + template + ") " + writer.getDebugInfo();
+            return CodeFormatter.createErrorMessage(template, message, writer);
         }
 
         private Operation parse() {
@@ -395,8 +506,8 @@ final class CodeFormatter {
 
             if (relativeIndex == -1) {
                 ensureAllPositionalArgumentsWereUsed();
-            } else if (relativeIndex < arguments.length) {
-                int unusedCount = arguments.length - relativeIndex;
+            } else if (relativeIndex < argumentCount) {
+                int unusedCount = argumentCount - relativeIndex;
                 throw error(String.format("Found %d unused relative format arguments", unusedCount));
             }
 
@@ -622,10 +733,10 @@ final class CodeFormatter {
             // Create the appropriate function for retrieving the value. Positional and relative arguments
             // are known statically, but getting context properties is deferring until it's time to write.
             // This allows things like loops to populate loop control variables.
-            Function<AbstractCodeWriter<?>, Object> getter;
+            BiFunction<AbstractCodeWriter<?>, Object[], Object> getter;
             if (Character.isLowerCase(c)) {
                 String name = parseNamedArgumentName();
-                getter = w -> w.getContext(name);
+                getter = (w, args) -> w.getContext(name);
             } else if (Character.isDigit(c)) {
                 getter = parsePositionalArgumentGetter();
             } else {
@@ -638,10 +749,12 @@ final class CodeFormatter {
             char identifier = parser.expect(CodeWriterFormatterContainer.VALID_FORMATTER_CHARS);
 
             // The error message needs to be created here and given to the operation in way that it can
-            // throw with an appropriate message.
-            return Operation.formatted(getter, identifier, () -> createErrorMessage(String.format(
+            // throw with an appropriate message for the writer the template is applied to.
+            String template = this.template;
+            String message = String.format(
                     "Syntax error at line %d column %d: Unknown formatter `%c` found in format string",
-                    line, column, identifier)));
+                    line, column, identifier);
+            return Operation.formatted(getter, identifier, w -> CodeFormatter.createErrorMessage(template, message, w));
         }
 
         private String parseArgumentName() {
@@ -665,28 +778,27 @@ final class CodeFormatter {
             return name;
         }
 
-        private Function<AbstractCodeWriter<?>, Object> parseRelativeArgumentGetter() {
+        private BiFunction<AbstractCodeWriter<?>, Object[], Object> parseRelativeArgumentGetter() {
             if (relativeIndex == -1) {
                 throw error("Cannot mix positional and relative arguments");
             }
 
             relativeIndex++;
-            Object result = getPositionalArgument(relativeIndex - 1);
-            return w -> result;
+            return getPositionalArgument(relativeIndex - 1);
         }
 
-        private Object getPositionalArgument(int index) {
-            if (index >= arguments.length) {
+        private BiFunction<AbstractCodeWriter<?>, Object[], Object> getPositionalArgument(int index) {
+            if (index >= argumentCount) {
                 throw error(String.format("Given %d arguments but attempted to format index %d",
-                                          arguments.length, index));
+                                          argumentCount, index));
             } else {
                 // Track the usage of the positional argument.
                 positionals[index] = true;
-                return arguments[index];
+                return (w, args) -> args[index];
             }
         }
 
-        private Function<AbstractCodeWriter<?>, Object> parsePositionalArgumentGetter() {
+        private BiFunction<AbstractCodeWriter<?>, Object[], Object> parsePositionalArgumentGetter() {
             // Expand a positional argument: "$" 1*digit identifier
             if (relativeIndex > 0) {
                 throw error("Cannot mix positional and relative arguments");
@@ -697,14 +809,13 @@ final class CodeFormatter {
             parser.consumeUntilNoLongerMatches(Character::isDigit);
             int index = Integer.parseInt(parser.sliceFrom(startPosition)) - 1;
 
-            if (index < 0 || index >= arguments.length) {
+            if (index < 0 || index >= argumentCount) {
                 throw error(String.format(
                         "Positional argument index %d out of range of provided %d arguments in format string",
-                        index, arguments.length));
+                        index, argumentCount));
             }
 
-            Object value = getPositionalArgument(index);
-            return w -> value;
+            return getPositionalArgument(index);
         }
 
         private void ensureNameIsValid(String name) {
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches the provider classes of services discovered with
+ * {@link ServiceLoader}, keyed by {@link ClassLoader} and service type.
+ *
+ * <p>The provider classes of a service are discovered the first time they
+ * are requested for a class loader. Every lookup, including the first,
+ * returns newly created provider instances, just like iterating over a new
+ * {@link ServiceLoader}; only the discovery of provider classes is cached.
+ * Providers that can't be created through a public no-argument constructor
+ * are never cached and are always loaded with a new {@code ServiceLoader}.
+ *
+ * <p>Providers can also be looked up by a key, like the shape ID of a trait
+ * or the name of a validator, using {@link #getProvidersByKey}. Only the
+ * providers that are actually requested by key are created after the first
+ * lookup.
+ *
+ * <p>Class loaders are weakly referenced. Cached constructors are softly
+ * referenced because they refer to the class loader that loaded them, which
+ * would otherwise prevent the class loader from ever being collected.
+ */
+public final class ServiceProviderRegistry {
+
+    private static final Map<ClassLoader, SoftReference<LoaderProviders>> CACHE = new WeakHashMap<>();
+
+    private ServiceProviderRegistry() {}
+
+    /**
+     * Creates the providers of a service using the current thread's
+     * context class loader.
+     *
+     * @param service Service type to load.
+     * @param <T> Service type to load.
+     * @return Returns the unmodifiable list of newly created providers.
+     * @see Thread#getContextClassLoader()
+     */
+    public static <T> List<T> getProviders(Class<T> service) {
+        return getProviders(service, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Creates the providers of a service using the given class loader.
+     *
+     * <p>A {@code null} class loader uses the system class loader, just like
+     * {@link ServiceLoader#load(Class, ClassLoader)}.
+     *
+     * @param service Service type to load.
+     * @param classLoader Class loader used to find providers.
+     * @param <T> Service type to load.
+     * @return Returns the unmodifiable list of newly created providers.
+     * @throws ServiceConfigurationError if a provider can't be created.
+     */
+    public static <T> List<T> getProviders(Class<T> service, ClassLoader classLoader) {
+        ClassLoader loader = classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+        Map<Class<?>, List<Constructor<?>>> providers = getLoaderProviders(loader).byService;
+        List<Constructor<?>> constructors = providers.get(service);
+
+        if (constructors == null) {
+            // Providers are loaded outside of any lock since provider constructors could
+            // themselves load services. Concurrent callers might both load providers,
+            // but only the first set of constructors is kept.
+            List<T> loaded = new ArrayList<>();
+            ServiceLoader.load(service, loader).forEach(loaded::add);
+            List<Constructor<?>> found = findConstructors(loaded);
+            if (found != null) {
+                providers.putIfAbsent(service, found);
+            }
+            return Collections.unmodifiableList(loaded);
+        }
+
+        List<T> result = new ArrayList<>(constructors.size());
+        for (Constructor<?> constructor : constructors) {
+            result.add(service.cast(createProvider(service, constructor)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Determines which provider is used when more than one provider of a
+     * service has the same key.
+     *
+     * @see #getProvidersByKey(Class, ClassLoader, String, Function, DuplicateKeys)
+     */
+    public enum DuplicateKeys {
+        /** Use the provider that was found first. */
+        KEEP_FIRST,
+
+        /** Use the provider that was found last, allowing later providers to override earlier ones. */
+        KEEP_LAST
+    }
+
+    /**
+     * Finds the providers of a service using the given class loader, keyed
+     * by the value returned from {@code keyFunction} for each provider.
+     *
+     * <p>If more than one provider has the same key, the provider found
+     * first is used.
+     *
+     * @param service Service type to load.
+     * @param classLoader Class loader used to find providers.
+     * @param keyName Name of the keys returned from {@code keyFunction}, used to cache the keys.
+     * @param keyFunction Function that returns the key of a provider.
+     * @param <T> Service type to load.
+     * @param <K> Type of key.
+     * @return Returns the unmodifiable map of keys to provider suppliers.
+     * @throws ServiceConfigurationError if a provider can't be created.
+     * @see #getProvidersByKey(Class, ClassLoader, String, Function, DuplicateKeys)
+     */
+    public static <T, K> Map<K, Supplier<T>> getProvidersByKey(
+            Class<T> service,
+            ClassLoader classLoader,
+            String keyName,
+            Function<? super T, ? extends K> keyFunction
+    ) {
+        return getProvidersByKey(service, classLoader, keyName, keyFunction, DuplicateKeys.KEEP_FIRST);
+    }
+
+    /**
+     * Finds the providers of a service using the given class loader, keyed
+     * by the value returned from {@code keyFunction} for each provider.
+     *
+     * <p>Each supplier of the returned map creates a new provider instance
+     * each time it is called. Keys are computed once per class loader from
+     * providers created by the first lookup, so later lookups only create
+     * the providers that are requested. If more than one provider has the
+     * same key, {@code duplicateKeys} determines which one is used.
+     *
+     * <p>Keys are cached by service type, {@code keyName}, and
+     * {@code duplicateKeys}, so every lookup that uses the same
+     * {@code keyName} for a service must use a key function that returns
+     * the same keys, and lookups of different keys must use different names.
+     *
+     * <p>A {@code null} class loader uses the system class loader, just like
+     * {@link ServiceLoader#load(Class, ClassLoader)}.
+     *
+     * @param service Service type to load.
+     * @param classLoader Class loader used to find providers.
+     * @param keyName Name of the keys returned from {@code keyFunction}, used to cache the keys.
+     * @param keyFunction Function that returns the key of a provider.
+     * @param duplicateKeys Determines which provider to use when keys conflict.
+     * @param <T> Service type to load.
+     * @param <K> Type of key.
+     * @return Returns the unmodifiable map of keys to provider suppliers.
+     * @throws ServiceConfigurationError if a provider can't be created.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K> Map<K, Supplier<T>> getProvidersByKey(
+            Class<T> service,
+            ClassLoader classLoader,
+            String keyName,
+            Function<? super T, ? extends K> keyFunction,
+            DuplicateKeys duplicateKeys
+    ) {
+        ClassLoader loader = classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+        Map<List<Object>, Map<Object, Constructor<?>>> keyed = getLoaderProviders(loader).byKey;
+        List<Object> cacheKey = ListUtils.of(service, keyName, duplicateKeys);
+        Map<Object, Constructor<?>> constructors = keyed.get(cacheKey);
+
+        if (constructors == null) {
+            // Providers are created once to compute their keys, outside of any lock for the same
+            // reasons as getProviders.
+            List<T> loaded = new ArrayList<>();
+            ServiceLoader.load(service, loader).forEach(loaded::add);
+            List<Constructor<?>> found = findConstructors(loaded);
+
+            if (found == null) {
+                Map<K, Supplier<T>> result = new LinkedHashMap<>();
+                for (T provider : loaded) {
+                    putKey(result, keyFunction.apply(provider), () -> provider, duplicateKeys);
+                }
+                return Collections.unmodifiableMap(result);
+            }
+
+            Map<Object, Constructor<?>> computed = new LinkedHashMap<>();
+            for (int i = 0; i < loaded.size(); i++) {
+                putKey(computed, keyFunction.apply(loaded.get(i)), found.get(i), duplicateKeys);
+            }
+            Map<Object, Constructor<?>> previous = keyed.putIfAbsent(cacheKey, Collections.unmodifiableMap(computed));
+            constructors = previous == null ? computed : previous;
+        }
+
+        Map<K, Supplier<T>> result = new LinkedHashMap<>(constructors.size());
+        for (Map.Entry<Object, Constructor<?>> entry : constructors.entrySet()) {
+            Constructor<?> constructor = entry.getValue();
+            result.put((K) entry.getKey(), () -> service.cast(createProvider(service, constructor)));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Removes all cached provider classes of the given class loader.
+     *
+     * @param classLoader Class loader to remove from the cache.
+     */
+    public static void clear(ClassLoader classLoader) {
+        synchronized (CACHE) {
+            CACHE.remove(classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader);
+        }
+    }
+
+    /**
+     * Removes every cached provider class.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static <K, V> void putKey(Map<K, V> map, K key, V value, DuplicateKeys duplicateKeys) {
+        if (duplicateKeys == DuplicateKeys.KEEP_LAST) {
+            // Remove the key first so that the map iterates in the order of the providers that are kept.
+            map.remove(key);
+            map.put(key, value);
+        } else {
+            map.putIfAbsent(key, value);
+        }
+    }
+
+    private static List<Constructor<?>> findConstructors(List<?> providers) {
+        List<Constructor<?>> result = new ArrayList<>(providers.size());
+        for (Object provider : providers) {
+            Class<?> type = provider.getClass();
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return null;
+            }
+            try {
+                result.add(type.getConstructor());
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static Object createProvider(Class<?> service, Constructor<?> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new ServiceConfigurationError(service.getName() + ": Provider "
+                    + constructor.getDeclaringClass().getName() + " could not be instantiated", cause);
+        }
+    }
+
+    private static LoaderProviders getLoaderProviders(ClassLoader loader) {
+        synchronized (CACHE) {
+            SoftReference<LoaderProviders> reference = CACHE.get(loader);
+            LoaderProviders providers = reference == null ? null : reference.get();
+            if (providers == null) {
+                providers = new LoaderProviders();
+                CACHE.put(loader, new SoftReference<>(providers));
+            }
+            return providers;
+        }
+    }
+
+    private static final class LoaderProviders {
+        private final Map<Class<?>, List<Constructor<?>>> byService = new ConcurrentHashMap<>();
+        private final Map<List<Object>, Map<Object, Constructor<?>>> byKey = new ConcurrentHashMap<>();
+    }
+}
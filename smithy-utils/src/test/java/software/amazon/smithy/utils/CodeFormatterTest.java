@@ -677,4 +677,28 @@ public class CodeFormatterTest {
 
         assertThat(writer.toString(), equalTo("<a href=\"http://example.com\">http://example.com</a>"));
     }
+
+    @Test
+    public void reusesCompiledTemplatesWithDifferentArgumentsAndWriters() {
+        String template = "${L} and $L: ${?foo}$foo:L${/foo}";
+        SimpleCodeWriter a = createWriter();
+        a.putFormatter('L', CodeFormatterTest::valueOf);
+        a.putContext("foo", "x");
+        SimpleCodeWriter b = createWriter();
+        b.putFormatter('L', (value, indent) -> "<" + value + ">");
+
+        assertThat(a.format(template, 1, 2), equalTo("1 and 2: x"));
+        assertThat(b.format(template, 3, 4), equalTo("<3> and <4>: "));
+        assertThat(a.format(template, 5, 6), equalTo("5 and 6: x"));
+    }
+
+    @Test
+    public void validatesCompiledTemplatesAgainstArgumentCount() {
+        SimpleCodeWriter writer = createWriter();
+        writer.putFormatter('L', CodeFormatterTest::valueOf);
+
+        assertThat(writer.format("$L", "a"), equalTo("a"));
+        Assertions.assertThrows(RuntimeException.class, () -> writer.format("$L", "a", "b"));
+        Assertions.assertThrows(RuntimeException.class, () -> writer.format("$L"));
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ServiceProviderRegistryTest {
+    @Test
+    public void createsNewProvidersOnEachLookup() {
+        ClassLoader loader = getClass().getClassLoader();
+        List<Greeter> first = ServiceProviderRegistry.getProviders(Greeter.class, loader);
+        List<Greeter> second = ServiceProviderRegistry.getProviders(Greeter.class, loader);
+
+        assertThat(first, hasSize(1));
+        assertThat(second, hasSize(1));
+        assertThat(first.get(0), not(sameInstance(second.get(0))));
+        assertThat(first.get(0), instanceOf(Hello.class));
+        assertThat(second.get(0), instanceOf(Hello.class));
+    }
+
+    @Test
+    public void findsProvidersAgainAfterClearing() {
+        ClassLoader loader = getClass().getClassLoader();
+        ServiceProviderRegistry.getProviders(Greeter.class, loader);
+        ServiceProviderRegistry.clear(loader);
+        List<Greeter> providers = ServiceProviderRegistry.getProviders(Greeter.class, loader);
+
+        assertThat(providers, hasSize(1));
+        assertThat(providers.get(0).greet(), equalTo("hello"));
+    }
+
+    @Test
+    public void returnsEmptyListWhenNoProvidersFound() {
+        assertThat(ServiceProviderRegistry.getProviders(Runnable.class, getClass().getClassLoader()), empty());
+    }
+
+    @Test
+    public void returnsUnmodifiableLists() {
+        List<Greeter> providers = ServiceProviderRegistry.getProviders(Greeter.class, getClass().getClassLoader());
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> providers.add(new Hello()));
+    }
+
+    @Test
+    public void findsProvidersByKey() {
+        ClassLoader loader = getClass().getClassLoader();
+        Map<String, Supplier<Greeter>> providers = ServiceProviderRegistry.getProvidersByKey(
+                Greeter.class, loader, "greeting", Greeter::greet);
+
+        assertThat(providers.keySet(), contains("hello"));
+        assertThat(providers.get("hello").get(), instanceOf(Hello.class));
+        assertThat(providers.get("hello").get(), not(sameInstance(providers.get("hello").get())));
+    }
+
+    @Test
+    public void onlyCreatesRequestedProvidersAfterFirstLookupByKey() {
+        ClassLoader loader = getClass().getClassLoader();
+        ServiceProviderRegistry.clear(loader);
+        ServiceProviderRegistry.getProvidersByKey(Greeter.class, loader, "greeting", Greeter::greet);
+        int created = Hello.CREATED.get();
+        Map<String, Supplier<Greeter>> providers = ServiceProviderRegistry.getProvidersByKey(
+                Greeter.class, loader, "greeting", Greeter::greet);
+
+        assertThat(Hello.CREATED.get(), equalTo(created));
+        providers.get("hello").get();
+        assertThat(Hello.CREATED.get(), equalTo(created + 1));
+    }
+
+    @Test
+    public void returnsUnmodifiableMapsByKey() {
+        Map<String, Supplier<Greeter>> providers = ServiceProviderRegistry.getProvidersByKey(
+                Greeter.class, getClass().getClassLoader(), "greeting", Greeter::greet);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> providers.put("hi", Hello::new));
+    }
+
+    @Test
+    public void usesFirstProviderForDuplicateKeysByDefault() {
+        Map<String, Supplier<Farewell>> providers = ServiceProviderRegistry.getProvidersByKey(
+                Farewell.class, getClass().getClassLoader(), "farewell", Farewell::farewell);
+
+        assertThat(providers.keySet(), contains("bye"));
+        assertThat(providers.get("bye").get(), instanceOf(Bye.class));
+    }
+
+    @Test
+    public void cachesKeysByKeyName() {
+        ClassLoader loader = getClass().getClassLoader();
+        // Both key functions are created by the same lambda expression, so they have the same class.
+        Function<Greeter, String> first = prefixed("a-");
+        Function<Greeter, String> second = prefixed("b-");
+        Map<String, Supplier<Greeter>> firstProviders = ServiceProviderRegistry.getProvidersByKey(
+                Greeter.class, loader, "a-greeting", first);
+        Map<String, Supplier<Greeter>> secondProviders = ServiceProviderRegistry.getProvidersByKey(
+                Greeter.class, loader, "b-greeting", second);
+
+        assertThat(first.getClass(), equalTo(second.getClass()));
+        assertThat(firstProviders.keySet(), contains("a-hello"));
+        assertThat(secondProviders.keySet(), contains("b-hello"));
+    }
+
+    private static Function<Greeter, String> prefixed(String prefix) {
+        return greeter -> prefix + greeter.greet();
+    }
+
+    @Test
+    public void canUseLastProviderForDuplicateKeys() {
+        ClassLoader loader = getClass().getClassLoader();
+        ServiceProviderRegistry.getProvidersByKey(Farewell.class, loader, "farewell", Farewell::farewell);
+        Map<String, Supplier<Farewell>> providers = ServiceProviderRegistry.getProvidersByKey(
+                Farewell.class, loader, "farewell", Farewell::farewell,
+                ServiceProviderRegistry.DuplicateKeys.KEEP_LAST);
+
+        assertThat(providers.keySet(), contains("bye"));
+        assertThat(providers.get("bye").get(), instanceOf(OverriddenBye.class));
+    }
+
+    public interface Greeter {
+        String greet();
+    }
+
+    public static final class Hello implements Greeter {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Hello() {
+            CREATED.incrementAndGet();
+        }
+
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    public interface Farewell {
+        String farewell();
+    }
+
+    public static final class Bye implements Farewell {
+        @Override
+        public String farewell() {
+            return "bye";
+        }
+    }
+
+    public static final class OverriddenBye implements Farewell {
+        @Override
+        public String farewell() {
+            return "bye";
+        }
+    }
+}
@@ -18,6 +18,10 @@ package software.amazon.smithy.utils;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Locale;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
@@ -90,6 +94,89 @@ public class SimpleCodeWriterTest {
         assertThat(writer.toString(), equalTo("hello there, bud\n"));
     }
 
+    @Test
+    public void trimsBlankLinesWithCarriageReturns() {
+        SimpleCodeWriter writer = new SimpleCodeWriter().trimBlankLines().setNewline("\r\n");
+        writer.write("a\n\n\nb\r\n\r\n\r\n  \r\nc\n\n");
+
+        assertThat(writer.toString(), equalTo("a\r\n\r\nb\r\n\r\nc\r\n"));
+    }
+
+    @Test
+    public void writesSameContentsAsToString() throws IOException {
+        SimpleCodeWriter writer = new SimpleCodeWriter().trimBlankLines().trimTrailingSpaces();
+        for (int i = 0; i < 2000; i++) {
+            writer.write("line $L  \n\n\n", i);
+        }
+        StringWriter out = new StringWriter();
+        writer.writeTo(out);
+
+        assertThat(out.toString(), equalTo(writer.toString()));
+    }
+
+    @Test
+    public void readsSameContentsAsToString() throws IOException {
+        SimpleCodeWriter trimmed = new SimpleCodeWriter().trimBlankLines().trimTrailingSpaces().setNewline("\r\n");
+        SimpleCodeWriter untrimmed = new SimpleCodeWriter().insertTrailingNewline(false);
+        for (int i = 0; i < 2000; i++) {
+            trimmed.write("line $L  \n\n\n", i);
+            untrimmed.write("line $L  \n\n\n", i);
+        }
+
+        assertThat(read(trimmed.toReader()), equalTo(trimmed.toString()));
+        assertThat(read(untrimmed.toReader()), equalTo(untrimmed.toString()));
+        assertThat(read(new SimpleCodeWriter().toReader()), equalTo("\n"));
+    }
+
+    private static String read(Reader reader) throws IOException {
+        StringBuilder result = new StringBuilder();
+        // Use an odd buffer size so that reads span parts of the result.
+        char[] buffer = new char[7];
+        int count;
+        while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+            result.append(buffer, 0, count);
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void writesPrefixBeforeContents() throws IOException {
+        PrefixWriter writer = new PrefixWriter().trimBlankLines();
+        writer.write("hello\n\n\n\nthere");
+        StringWriter out = new StringWriter();
+        writer.writeTo(out);
+
+        assertThat(writer.toString(), equalTo("// header\n\n\nhello\n\nthere\n"));
+        assertThat(out.toString(), equalTo(writer.toString()));
+        assertThat(read(writer.toReader()), equalTo(writer.toString()));
+    }
+
+    private static final class PrefixWriter extends AbstractCodeWriter<PrefixWriter> {
+        @Override
+        protected void writePrefix(Writer writer) throws IOException {
+            // Prefixes aren't affected by blank line trimming.
+            writer.write("// header\n\n\n");
+        }
+    }
+
+    @Test
+    public void writesToStringOfSubclassesThatOverrideIt() throws IOException {
+        HeaderWriter writer = new HeaderWriter();
+        writer.write("hello");
+        StringWriter out = new StringWriter();
+        writer.writeTo(out);
+
+        assertThat(out.toString(), equalTo("// header\nhello\n"));
+        assertThat(read(writer.toReader()), equalTo("// header\nhello\n"));
+    }
+
+    private static final class HeaderWriter extends AbstractCodeWriter<HeaderWriter> {
+        @Override
+        public String toString() {
+            return "// header\n" + super.toString();
+        }
+    }
+
     @Test
     public void trailingNewlineIsAddedToEmptyText() {
         SimpleCodeWriter writer = new SimpleCodeWriter().insertTrailingNewline();
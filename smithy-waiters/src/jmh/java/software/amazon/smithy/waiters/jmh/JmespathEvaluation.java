@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.waiters.jmespath.CompiledExpression;
+import software.amazon.smithy.waiters.jmespath.NodeInterpreter;
+
+/**
+ * Evaluates every successful case of the JMESPath compliance suite using
+ * both the interpreter and compiled expressions.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class JmespathEvaluation {
+
+    @State(Scope.Thread)
+    public static class ComplianceState {
+        public List<String> sources = new ArrayList<>();
+        public List<JmespathExpression> expressions = new ArrayList<>();
+        public List<CompiledExpression> compiled = new ArrayList<>();
+        public List<Node> inputs = new ArrayList<>();
+
+        @Setup
+        public void prepare() {
+            Node suites = Node.parse(JmespathEvaluation.class.getResourceAsStream(
+                    "/software/amazon/smithy/waiters/jmespath/compliance.json"));
+
+            for (ObjectNode suite : suites.expectArrayNode().getElementsAs(ObjectNode.class)) {
+                Node given = suite.expectMember("given");
+                for (ObjectNode testCase : suite.expectArrayMember("cases").getElementsAs(ObjectNode.class)) {
+                    if (testCase.containsMember("result")) {
+                        String source = testCase.expectStringMember("expression").getValue();
+                        sources.add(source);
+                        expressions.add(JmespathExpression.parse(source));
+                        compiled.add(CompiledExpression.compile(source));
+                        inputs.add(given);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void interpret(ComplianceState state, Blackhole blackhole) {
+        for (int i = 0; i < state.expressions.size(); i++) {
+            blackhole.consume(NodeInterpreter.evaluate(state.expressions.get(i), state.inputs.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void evaluateCompiled(ComplianceState state, Blackhole blackhole) {
+        for (int i = 0; i < state.compiled.size(); i++) {
+            blackhole.consume(state.compiled.get(i).evaluate(state.inputs.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void parseAndCompile(ComplianceState state, Blackhole blackhole) {
+        for (String source : state.sources) {
+            blackhole.consume(CompiledExpression.compile(source));
+        }
+    }
+}
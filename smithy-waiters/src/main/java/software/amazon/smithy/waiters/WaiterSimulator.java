@@ -0,0 +1,394 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.waiters.jmespath.CompiledExpression;
+
+/**
+ * Simulates a {@link Waiter} against a sequence of sample responses.
+ *
+ * <p>Acceptors are evaluated in order against each response, and the
+ * first matching acceptor determines the transition. When no acceptor
+ * matches, errors transition to failure and successful responses are
+ * retried. Delays between attempts follow the waiter's exponential
+ * backoff with jitter, but time is tracked with a virtual clock rather
+ * than by sleeping, so many scenarios can be simulated quickly.
+ *
+ * <p>Acceptor paths are compiled once when the simulator is created,
+ * and a simulator can be reused across threads to run any number of
+ * scenarios.
+ */
+public final class WaiterSimulator {
+
+    private final Waiter waiter;
+    private final List<CompiledAcceptor> acceptors = new ArrayList<>();
+
+    /**
+     * @param waiter Waiter to simulate.
+     * @throws software.amazon.smithy.jmespath.JmespathException if an acceptor path is invalid.
+     */
+    public WaiterSimulator(Waiter waiter) {
+        this.waiter = waiter;
+        for (Acceptor acceptor : waiter.getAcceptors()) {
+            acceptors.add(new CompiledAcceptor(acceptor));
+        }
+    }
+
+    /**
+     * Gets the waiter being simulated.
+     *
+     * @return Returns the waiter.
+     */
+    public Waiter getWaiter() {
+        return waiter;
+    }
+
+    /**
+     * Determines the state a waiter transitions to after receiving a response.
+     *
+     * @param input Input of the operation.
+     * @param response Response of the operation.
+     * @return Returns the state to transition to.
+     */
+    public AcceptorState transition(Node input, Response response) {
+        for (CompiledAcceptor acceptor : acceptors) {
+            if (acceptor.matches(input, response)) {
+                return acceptor.acceptor.getState();
+            }
+        }
+
+        return response.isError() ? AcceptorState.FAILURE : AcceptorState.RETRY;
+    }
+
+    /**
+     * Runs a waiter until it succeeds, fails, exceeds the maximum wait
+     * time, or runs out of responses.
+     *
+     * <p>Each attempt consumes the next response. Jitter is computed using
+     * the given {@code random}, so using a seeded {@code Random} makes
+     * the simulation repeatable.
+     *
+     * @param input Input of the operation.
+     * @param responses Responses returned by each attempt, in order.
+     * @param maxWaitTime Maximum amount of time to wait, in seconds.
+     * @param random Random number generator used to compute jitter.
+     * @return Returns the result of the simulation.
+     */
+    public Result simulate(Node input, List<Response> responses, long maxWaitTime, Random random) {
+        List<Attempt> attempts = new ArrayList<>();
+        long elapsed = 0;
+
+        for (int attempt = 1; attempt <= responses.size(); attempt++) {
+            Response response = responses.get(attempt - 1);
+            AcceptorState state = transition(input, response);
+            attempts.add(new Attempt(attempt, elapsed, response, state));
+
+            if (state == AcceptorState.SUCCESS) {
+                return new Result(Outcome.SUCCESS, attempts, elapsed);
+            } else if (state == AcceptorState.FAILURE) {
+                return new Result(Outcome.FAILURE, attempts, elapsed);
+            }
+
+            long remaining = maxWaitTime - elapsed;
+            if (remaining <= waiter.getMinDelay()) {
+                return new Result(Outcome.TIMEOUT, attempts, elapsed);
+            }
+
+            elapsed += computeDelay(waiter.getMinDelay(), waiter.getMaxDelay(), attempt, remaining, random);
+        }
+
+        return new Result(Outcome.RESPONSES_EXHAUSTED, attempts, elapsed);
+    }
+
+    /**
+     * Computes the number of seconds to wait before the next attempt.
+     *
+     * <p>The delay grows exponentially from {@code minDelay} until it reaches
+     * {@code maxDelay}, a random delay between {@code minDelay} and that
+     * value is chosen, and the delay is then shortened so that one more attempt
+     * can be made before the remaining time is exhausted.
+     *
+     * @param minDelay Minimum delay of the waiter.
+     * @param maxDelay Maximum delay of the waiter.
+     * @param attempt The attempt that was just made, starting at 1.
+     * @param remainingTime Amount of time remaining before the waiter times out.
+     * @param random Random number generator used to compute jitter.
+     * @return Returns the delay in seconds.
+     */
+    static long computeDelay(int minDelay, int maxDelay, int attempt, long remainingTime, Random random) {
+        double attemptCeiling = (Math.log((double) maxDelay / minDelay) / Math.log(2)) + 1;
+        long delay = attempt > attemptCeiling ? maxDelay : minDelay * (1L << (attempt - 1));
+        delay = minDelay + (long) (random.nextDouble() * (delay - minDelay + 1));
+
+        if (remainingTime - delay <= minDelay) {
+            delay = remainingTime - minDelay;
+        }
+
+        return delay;
+    }
+
+    /**
+     * The result of an operation that was invoked by a waiter.
+     */
+    public static final class Response {
+        private final Node output;
+        private final String errorType;
+
+        private Response(Node output, String errorType) {
+            this.output = output;
+            this.errorType = errorType;
+        }
+
+        /**
+         * Creates a successful response.
+         *
+         * @param output Output of the operation.
+         * @return Returns the created response.
+         */
+        public static Response output(Node output) {
+            return new Response(Objects.requireNonNull(output), null);
+        }
+
+        /**
+         * Creates an error response.
+         *
+         * @param errorType Shape name or absolute shape ID of the error.
+         * @return Returns the created response.
+         */
+        public static Response error(String errorType) {
+            return new Response(null, Objects.requireNonNull(errorType));
+        }
+
+        /**
+         * Creates a response from a Node.
+         *
+         * <p>The node is an object that contains either an "output" member
+         * or an "errorType" string member.
+         *
+         * @param node Node to create the response from.
+         * @return Returns the created response.
+         */
+        public static Response fromNode(Node node) {
+            ObjectNode value = node.expectObjectNode();
+            return value.getStringMember("errorType")
+                    .map(errorType -> error(errorType.getValue()))
+                    .orElseGet(() -> output(value.expectMember("output")));
+        }
+
+        /**
+         * @return Returns true if the response is an error.
+         */
+        public boolean isError() {
+            return errorType != null;
+        }
+
+        /**
+         * @return Returns the output of a successful response, or null for errors.
+         */
+        public Node getOutput() {
+            return output;
+        }
+
+        /**
+         * @return Returns the error type of an error response, or null for successful responses.
+         */
+        public String getErrorType() {
+            return errorType;
+        }
+
+        @Override
+        public String toString() {
+            return isError() ? "error " + errorType : "output " + Node.printJson(output);
+        }
+    }
+
+    /**
+     * The final outcome of a simulated waiter.
+     */
+    public enum Outcome {
+        /** A success acceptor matched. */
+        SUCCESS,
+
+        /** A failure acceptor matched, or an unmatched error was returned. */
+        FAILURE,
+
+        /** The maximum wait time was exceeded. */
+        TIMEOUT,
+
+        /** The waiter was still retrying when no more responses were available. */
+        RESPONSES_EXHAUSTED
+    }
+
+    /**
+     * A single attempt made by a simulated waiter.
+     */
+    public static final class Attempt {
+        private final int number;
+        private final long time;
+        private final Response response;
+        private final AcceptorState state;
+
+        private Attempt(int number, long time, Response response, AcceptorState state) {
+            this.number = number;
+            this.time = time;
+            this.response = response;
+            this.state = state;
+        }
+
+        /**
+         * @return Returns the attempt number, starting at 1.
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * @return Returns the virtual time of the attempt in seconds since the waiter started.
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * @return Returns the response received by the attempt.
+         */
+        public Response getResponse() {
+            return response;
+        }
+
+        /**
+         * @return Returns the state the waiter transitioned to.
+         */
+        public AcceptorState getState() {
+            return state;
+        }
+    }
+
+    /**
+     * The result of simulating a waiter.
+     */
+    public static final class Result {
+        private final Outcome outcome;
+        private final List<Attempt> attempts;
+        private final long elapsedTime;
+
+        private Result(Outcome outcome, List<Attempt> attempts, long elapsedTime) {
+            this.outcome = outcome;
+            this.attempts = Collections.unmodifiableList(attempts);
+            this.elapsedTime = elapsedTime;
+        }
+
+        /**
+         * @return Returns the outcome of the waiter.
+         */
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * @return Returns the attempts made by the waiter, in order.
+         */
+        public List<Attempt> getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * @return Returns the virtual time in seconds that the waiter waited.
+         */
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+    }
+
+    private static final class CompiledAcceptor {
+        private final Acceptor acceptor;
+        private final CompiledExpression path;
+
+        CompiledAcceptor(Acceptor acceptor) {
+            this.acceptor = acceptor;
+            Object value = acceptor.getMatcher().getValue();
+            path = value instanceof PathMatcher ? CompiledExpression.compile(((PathMatcher) value).getPath()) : null;
+        }
+
+        boolean matches(Node input, Response response) {
+            Matcher<?> matcher = acceptor.getMatcher();
+            if (matcher instanceof Matcher.OutputMember) {
+                return !response.isError() && matchesPath(response.getOutput());
+            } else if (matcher instanceof Matcher.InputOutputMember) {
+                return !response.isError() && matchesPath(Node.objectNode()
+                        .withMember("input", input)
+                        .withMember("output", response.getOutput()));
+            } else if (matcher instanceof Matcher.SuccessMember) {
+                return ((Matcher.SuccessMember) matcher).getValue() != response.isError();
+            } else if (matcher instanceof Matcher.ErrorTypeMember) {
+                return response.isError()
+                       && shapeName(response.getErrorType()).equals(
+                               shapeName(((Matcher.ErrorTypeMember) matcher).getValue()));
+            }
+            return false;
+        }
+
+        private boolean matchesPath(Node value) {
+            PathMatcher matcher = (PathMatcher) acceptor.getMatcher().getValue();
+            Node result = path.evaluate(value);
+            String expected = matcher.getExpected();
+
+            switch (matcher.getComparator()) {
+                case STRING_EQUALS:
+                    return isString(result, expected);
+                case BOOLEAN_EQUALS:
+                    return result.isBooleanNode()
+                           && String.valueOf(result.expectBooleanNode().getValue()).equals(expected);
+                case ALL_STRING_EQUALS:
+                    if (!result.isArrayNode() || result.expectArrayNode().isEmpty()) {
+                        return false;
+                    }
+                    for (Node element : result.expectArrayNode().getElements()) {
+                        if (!isString(element, expected)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case ANY_STRING_EQUALS:
+                    if (result.isArrayNode()) {
+                        for (Node element : result.expectArrayNode().getElements()) {
+                            if (isString(element, expected)) {
+                                return true;
+                            }
+                        }
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean isString(Node value, String expected) {
+            return value.isStringNode() && value.expectStringNode().getValue().equals(expected);
+        }
+
+        private static String shapeName(String errorType) {
+            return errorType.substring(errorType.indexOf('#') + 1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmespath;
+
+import java.util.function.Function;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.model.node.Node;
+
+/**
+ * A {@link JmespathExpression} that is compiled so that it can be
+ * efficiently evaluated against many {@link Node} values.
+ *
+ * <p>Compiling an expression converts each AST node into a closure that
+ * is bound to its children, converts literals to nodes once, and folds
+ * sub-expressions that don't depend on the current node into constants.
+ * Compiled expressions produce the same results as {@link NodeInterpreter}
+ * and are immutable and thread-safe.
+ */
+public final class CompiledExpression {
+
+    private final JmespathExpression expression;
+    private final Function<Node, Node> compiled;
+
+    private CompiledExpression(JmespathExpression expression) {
+        this.expression = expression;
+        this.compiled = ExpressionCompiler.compile(expression);
+    }
+
+    /**
+     * Compiles a JMESPath expression.
+     *
+     * @param expression Expression to compile.
+     * @return Returns the compiled expression.
+     * @throws JmespathException if the expression calls an unknown function
+     *   or calls a function with the wrong number of arguments.
+     */
+    public static CompiledExpression compile(JmespathExpression expression) {
+        return new CompiledExpression(expression);
+    }
+
+    /**
+     * Parses and compiles a JMESPath expression.
+     *
+     * @param expression Expression to parse and compile.
+     * @return Returns the compiled expression.
+     * @throws JmespathException if the expression is invalid.
+     */
+    public static CompiledExpression compile(String expression) {
+        return compile(JmespathExpression.parse(expression));
+    }
+
+    /**
+     * Evaluates the expression against a node.
+     *
+     * @param current Node to evaluate the expression against.
+     * @return Returns the result of the expression.
+     * @throws JmespathException if the expression fails to evaluate.
+     */
+    public Node evaluate(Node current) {
+        return compiled.apply(current);
+    }
+
+    /**
+     * Gets the expression that was compiled.
+     *
+     * @return Returns the compiled expression.
+     */
+    public JmespathExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Checks if the expression was folded into a constant that doesn't
+     * depend on the node it is evaluated against.
+     *
+     * @return Returns true if the expression is constant.
+     */
+    public boolean isConstant() {
+        return ExpressionCompiler.isConstant(compiled);
+    }
+
+    @Override
+    public String toString() {
+        return expression.toString();
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmespath;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import software.amazon.smithy.jmespath.ExpressionVisitor;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.jmespath.ast.AndExpression;
+import software.amazon.smithy.jmespath.ast.ComparatorExpression;
+import software.amazon.smithy.jmespath.ast.ComparatorType;
+import software.amazon.smithy.jmespath.ast.CurrentExpression;
+import software.amazon.smithy.jmespath.ast.ExpressionTypeExpression;
+import software.amazon.smithy.jmespath.ast.FieldExpression;
+import software.amazon.smithy.jmespath.ast.FilterProjectionExpression;
+import software.amazon.smithy.jmespath.ast.FlattenExpression;
+import software.amazon.smithy.jmespath.ast.FunctionExpression;
+import software.amazon.smithy.jmespath.ast.IndexExpression;
+import software.amazon.smithy.jmespath.ast.LiteralExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectHashExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectListExpression;
+import software.amazon.smithy.jmespath.ast.NotExpression;
+import software.amazon.smithy.jmespath.ast.ObjectProjectionExpression;
+import software.amazon.smithy.jmespath.ast.OrExpression;
+import software.amazon.smithy.jmespath.ast.ProjectionExpression;
+import software.amazon.smithy.jmespath.ast.SliceExpression;
+import software.amazon.smithy.jmespath.ast.Subexpression;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+
+/**
+ * Compiles each AST node into a closure that is bound to the compiled
+ * closures of its children.
+ *
+ * <p>Literals are converted to nodes once, and any expression that does
+ * not depend on the current node is folded into a constant at compile
+ * time. Expressions that fail when folded are left to fail when they are
+ * evaluated so that errors are reported the same way as the interpreter.
+ */
+final class ExpressionCompiler implements ExpressionVisitor<Function<Node, Node>> {
+
+    static Function<Node, Node> compile(JmespathExpression expression) {
+        return expression.accept(new ExpressionCompiler());
+    }
+
+    static boolean isConstant(Function<Node, Node> compiled) {
+        return compiled instanceof Constant;
+    }
+
+    @Override
+    public Function<Node, Node> visitComparator(ComparatorExpression expression) {
+        ComparatorType comparator = expression.getComparator();
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+        return fold(current -> NodeValues.compare(comparator, left.apply(current), right.apply(current)),
+                    isConstant(left) && isConstant(right));
+    }
+
+    @Override
+    public Function<Node, Node> visitCurrentNode(CurrentExpression expression) {
+        return current -> current;
+    }
+
+    @Override
+    public Function<Node, Node> visitExpressionType(ExpressionTypeExpression expression) {
+        return current -> {
+            throw new JmespathException(
+                    "invalid-type: expression references can only be used as function arguments");
+        };
+    }
+
+    @Override
+    public Function<Node, Node> visitFlatten(FlattenExpression expression) {
+        Function<Node, Node> inner = expression.getExpression().accept(this);
+        return fold(current -> NodeValues.flatten(inner.apply(current)), isConstant(inner));
+    }
+
+    @Override
+    public Function<Node, Node> visitFunction(FunctionExpression expression) {
+        NodeFunctions.NodeFunction function = NodeFunctions.getFunction(
+                expression.getName(), expression.getArguments().size());
+        List<Function<Node, Node>> arguments = new ArrayList<>(expression.getArguments().size());
+        List<Boolean> references = new ArrayList<>(expression.getArguments().size());
+        boolean constant = true;
+
+        for (JmespathExpression argument : expression.getArguments()) {
+            if (argument instanceof ExpressionTypeExpression) {
+                // Expression references don't depend on the current node.
+                arguments.add(((ExpressionTypeExpression) argument).getExpression().accept(this));
+                references.add(true);
+            } else {
+                Function<Node, Node> compiled = argument.accept(this);
+                constant &= isConstant(compiled);
+                arguments.add(compiled);
+                references.add(false);
+            }
+        }
+
+        return fold(current -> {
+            List<Object> values = new ArrayList<>(arguments.size());
+            for (int i = 0; i < arguments.size(); i++) {
+                values.add(references.get(i) ? arguments.get(i) : arguments.get(i).apply(current));
+            }
+            return function.apply(values);
+        }, constant);
+    }
+
+    @Override
+    public Function<Node, Node> visitField(FieldExpression expression) {
+        StringNode key = Node.from(expression.getName());
+        return current -> NodeValues.field(current, key);
+    }
+
+    @Override
+    public Function<Node, Node> visitIndex(IndexExpression expression) {
+        int index = expression.getIndex();
+        return current -> NodeValues.index(current, index);
+    }
+
+    @Override
+    public Function<Node, Node> visitLiteral(LiteralExpression expression) {
+        return new Constant(NodeValues.fromLiteral(expression.getValue()));
+    }
+
+    @Override
+    public Function<Node, Node> visitMultiSelectList(MultiSelectListExpression expression) {
+        List<Function<Node, Node>> elements = new ArrayList<>(expression.getExpressions().size());
+        for (JmespathExpression element : expression.getExpressions()) {
+            elements.add(element.accept(this));
+        }
+
+        return current -> {
+            if (current.isNullNode()) {
+                return current;
+            }
+            List<Node> result = new ArrayList<>(elements.size());
+            for (Function<Node, Node> element : elements) {
+                result.add(element.apply(current));
+            }
+            return NodeValues.array(result);
+        };
+    }
+
+    @Override
+    public Function<Node, Node> visitMultiSelectHash(MultiSelectHashExpression expression) {
+        Map<StringNode, Function<Node, Node>> members = new LinkedHashMap<>();
+        for (Map.Entry<String, JmespathExpression> entry : expression.getExpressions().entrySet()) {
+            members.put(Node.from(entry.getKey()), entry.getValue().accept(this));
+        }
+
+        return current -> {
+            if (current.isNullNode()) {
+                return current;
+            }
+            Map<StringNode, Node> result = new LinkedHashMap<>(members.size());
+            for (Map.Entry<StringNode, Function<Node, Node>> entry : members.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().apply(current));
+            }
+            return new ObjectNode(result, SourceLocation.NONE);
+        };
+    }
+
+    @Override
+    public Function<Node, Node> visitAnd(AndExpression expression) {
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+
+        if (isConstant(left)) {
+            return NodeValues.isTruthy(((Constant) left).value) ? right : left;
+        }
+
+        return current -> {
+            Node value = left.apply(current);
+            return NodeValues.isTruthy(value) ? right.apply(current) : value;
+        };
+    }
+
+    @Override
+    public Function<Node, Node> visitOr(OrExpression expression) {
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+
+        if (isConstant(left)) {
+            return NodeValues.isTruthy(((Constant) left).value) ? left : right;
+        }
+
+        return current -> {
+            Node value = left.apply(current);
+            return NodeValues.isTruthy(value) ? value : right.apply(current);
+        };
+    }
+
+    @Override
+    public Function<Node, Node> visitNot(NotExpression expression) {
+        Function<Node, Node> inner = expression.getExpression().accept(this);
+        return fold(current -> NodeValues.from(!NodeValues.isTruthy(inner.apply(current))), isConstant(inner));
+    }
+
+    @Override
+    public Function<Node, Node> visitProjection(ProjectionExpression expression) {
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+        return fold(current -> {
+            Node value = left.apply(current);
+            return value.isArrayNode() ? project(value.expectArrayNode().getElements(), right) : NodeValues.NULL;
+        }, isConstant(left));
+    }
+
+    @Override
+    public Function<Node, Node> visitFilterProjection(FilterProjectionExpression expression) {
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> comparison = expression.getComparison().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+        return fold(current -> {
+            Node value = left.apply(current);
+            if (!value.isArrayNode()) {
+                return NodeValues.NULL;
+            }
+            List<Node> matches = new ArrayList<>();
+            for (Node element : value.expectArrayNode().getElements()) {
+                if (NodeValues.isTruthy(comparison.apply(element))) {
+                    matches.add(element);
+                }
+            }
+            return project(matches, right);
+        }, isConstant(left));
+    }
+
+    @Override
+    public Function<Node, Node> visitObjectProjection(ObjectProjectionExpression expression) {
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+        return fold(current -> {
+            Node value = left.apply(current);
+            if (!value.isObjectNode()) {
+                return NodeValues.NULL;
+            }
+            return project(new ArrayList<>(value.expectObjectNode().getMembers().values()), right);
+        }, isConstant(left));
+    }
+
+    @Override
+    public Function<Node, Node> visitSlice(SliceExpression expression) {
+        OptionalInt start = expression.getStart();
+        OptionalInt stop = expression.getStop();
+        int step = expression.getStep();
+        return current -> NodeValues.slice(current, start, stop, step);
+    }
+
+    @Override
+    public Function<Node, Node> visitSubexpression(Subexpression expression) {
+        Function<Node, Node> left = expression.getLeft().accept(this);
+        Function<Node, Node> right = expression.getRight().accept(this);
+        return fold(current -> right.apply(left.apply(current)), isConstant(left));
+    }
+
+    private static Node project(List<Node> elements, Function<Node, Node> right) {
+        List<Node> result = new ArrayList<>(elements.size());
+        for (Node element : elements) {
+            Node value = right.apply(element);
+            if (!value.isNullNode()) {
+                result.add(value);
+            }
+        }
+        return NodeValues.array(result);
+    }
+
+    private static Function<Node, Node> fold(Function<Node, Node> compiled, boolean constant) {
+        if (constant) {
+            try {
+                // Constant expressions ignore the current node.
+                return new Constant(compiled.apply(NodeValues.NULL));
+            } catch (JmespathException e) {
+                return compiled;
+            }
+        }
+
+        return compiled;
+    }
+
+    private static final class Constant implements Function<Node, Node> {
+        private final Node value;
+
+        Constant(Node value) {
+            this.value = value;
+        }
+
+        @Override
+        public Node apply(Node current) {
+            return value;
+        }
+    }
+}
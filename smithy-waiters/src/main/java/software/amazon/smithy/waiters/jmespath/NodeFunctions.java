@@ -0,0 +1,455 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmespath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+
+/**
+ * Implements the JMESPath built-in functions over {@link Node} values.
+ *
+ * <p>Function arguments are either a {@link Node} or, for expression
+ * references, a {@code Function<Node, Node>} that evaluates the referenced
+ * expression against a value.
+ */
+final class NodeFunctions {
+
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+    private static final Map<String, NodeFunction> FUNCTIONS = new HashMap<>();
+
+    static {
+        FUNCTIONS.put("abs", new NodeFunction("abs", 1, 1, NodeFunctions::abs));
+        FUNCTIONS.put("avg", new NodeFunction("avg", 1, 1, NodeFunctions::avg));
+        FUNCTIONS.put("ceil", new NodeFunction("ceil", 1, 1, args -> round(args, "ceil", true)));
+        FUNCTIONS.put("contains", new NodeFunction("contains", 2, 2, NodeFunctions::contains));
+        FUNCTIONS.put("ends_with", new NodeFunction("ends_with", 2, 2, args -> NodeValues.from(
+                string(args, 0, "ends_with").endsWith(string(args, 1, "ends_with")))));
+        FUNCTIONS.put("floor", new NodeFunction("floor", 1, 1, args -> round(args, "floor", false)));
+        FUNCTIONS.put("join", new NodeFunction("join", 2, 2, NodeFunctions::join));
+        FUNCTIONS.put("keys", new NodeFunction("keys", 1, 1, NodeFunctions::keys));
+        FUNCTIONS.put("length", new NodeFunction("length", 1, 1, NodeFunctions::length));
+        FUNCTIONS.put("map", new NodeFunction("map", 2, 2, NodeFunctions::map));
+        FUNCTIONS.put("max", new NodeFunction("max", 1, 1, args -> extreme(args, "max", 1)));
+        FUNCTIONS.put("max_by", new NodeFunction("max_by", 2, 2, args -> extremeBy(args, "max_by", 1)));
+        FUNCTIONS.put("merge", new NodeFunction("merge", 0, -1, NodeFunctions::merge));
+        FUNCTIONS.put("min", new NodeFunction("min", 1, 1, args -> extreme(args, "min", -1)));
+        FUNCTIONS.put("min_by", new NodeFunction("min_by", 2, 2, args -> extremeBy(args, "min_by", -1)));
+        FUNCTIONS.put("not_null", new NodeFunction("not_null", 1, -1, NodeFunctions::notNull));
+        FUNCTIONS.put("reverse", new NodeFunction("reverse", 1, 1, NodeFunctions::reverse));
+        FUNCTIONS.put("sort", new NodeFunction("sort", 1, 1, NodeFunctions::sort));
+        FUNCTIONS.put("sort_by", new NodeFunction("sort_by", 2, 2, NodeFunctions::sortBy));
+        FUNCTIONS.put("starts_with", new NodeFunction("starts_with", 2, 2, args -> NodeValues.from(
+                string(args, 0, "starts_with").startsWith(string(args, 1, "starts_with")))));
+        FUNCTIONS.put("sum", new NodeFunction("sum", 1, 1, NodeFunctions::sum));
+        FUNCTIONS.put("to_array", new NodeFunction("to_array", 1, 1, NodeFunctions::toArray));
+        FUNCTIONS.put("to_number", new NodeFunction("to_number", 1, 1, NodeFunctions::toNumber));
+        FUNCTIONS.put("to_string", new NodeFunction("to_string", 1, 1, NodeFunctions::toStringValue));
+        FUNCTIONS.put("type", new NodeFunction("type", 1, 1, args -> Node.from(NodeValues.typeOf(node(args, 0)))));
+        FUNCTIONS.put("values", new NodeFunction("values", 1, 1, NodeFunctions::values));
+    }
+
+    private NodeFunctions() {}
+
+    /**
+     * Gets a function by name and validates the number of arguments
+     * that are passed to it.
+     *
+     * @param name Name of the function to get.
+     * @param arity Number of arguments passed to the function.
+     * @return Returns the function.
+     * @throws JmespathException if the function is unknown or called with the wrong number of arguments.
+     */
+    static NodeFunction getFunction(String name, int arity) {
+        NodeFunction function = FUNCTIONS.get(name);
+
+        if (function == null) {
+            throw new JmespathException("unknown-function: " + name);
+        } else if (arity < function.minArity || (function.maxArity >= 0 && arity > function.maxArity)) {
+            throw new JmespathException(String.format(
+                    "invalid-arity: %s function received %d arguments", name, arity));
+        }
+
+        return function;
+    }
+
+    static final class NodeFunction {
+        private final String name;
+        private final int minArity;
+        private final int maxArity;
+        private final Function<List<Object>, Node> implementation;
+
+        private NodeFunction(String name, int minArity, int maxArity, Function<List<Object>, Node> implementation) {
+            this.name = name;
+            this.minArity = minArity;
+            this.maxArity = maxArity;
+            this.implementation = implementation;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Node apply(List<Object> arguments) {
+            return implementation.apply(arguments);
+        }
+    }
+
+    private static Node abs(List<Object> args) {
+        Number value = number(args, 0, "abs").getValue();
+        return NodeValues.isIntegral(value)
+               ? Node.from(Math.abs(value.longValue()))
+               : Node.from(Math.abs(value.doubleValue()));
+    }
+
+    private static Node avg(List<Object> args) {
+        List<Node> values = array(args, 0, "avg");
+        if (values.isEmpty()) {
+            return NodeValues.NULL;
+        }
+
+        double total = 0;
+        for (Node value : values) {
+            total += expectNumber(value, "avg").getValue().doubleValue();
+        }
+
+        return Node.from(total / values.size());
+    }
+
+    private static Node round(List<Object> args, String name, boolean ceil) {
+        NumberNode value = number(args, 0, name);
+        if (NodeValues.isIntegral(value.getValue())) {
+            return value;
+        }
+
+        double number = value.getValue().doubleValue();
+        return Node.from((long) (ceil ? Math.ceil(number) : Math.floor(number)));
+    }
+
+    private static Node contains(List<Object> args) {
+        Node subject = node(args, 0);
+        Node search = node(args, 1);
+
+        if (subject.isStringNode()) {
+            return NodeValues.from(search.isStringNode()
+                                   && subject.expectStringNode().getValue().contains(
+                                           search.expectStringNode().getValue()));
+        } else if (subject.isArrayNode()) {
+            for (Node element : subject.expectArrayNode().getElements()) {
+                if (NodeValues.equals(element, search)) {
+                    return NodeValues.TRUE;
+                }
+            }
+            return NodeValues.FALSE;
+        }
+
+        throw invalidType("contains", 0, "array|string", subject);
+    }
+
+    private static Node join(List<Object> args) {
+        String glue = string(args, 0, "join");
+        StringBuilder result = new StringBuilder();
+
+        for (Node value : array(args, 1, "join")) {
+            if (!value.isStringNode()) {
+                throw invalidType("join", 1, "array[string]", value);
+            }
+            if (result.length() > 0) {
+                result.append(glue);
+            }
+            result.append(value.expectStringNode().getValue());
+        }
+
+        return Node.from(result.toString());
+    }
+
+    private static Node keys(List<Object> args) {
+        List<Node> result = new ArrayList<>();
+        for (StringNode key : object(args, 0, "keys").getMembers().keySet()) {
+            result.add(key);
+        }
+        return NodeValues.array(result);
+    }
+
+    private static Node values(List<Object> args) {
+        return NodeValues.array(new ArrayList<>(object(args, 0, "values").getMembers().values()));
+    }
+
+    private static Node length(List<Object> args) {
+        Node subject = node(args, 0);
+
+        switch (subject.getType()) {
+            case STRING:
+                String value = subject.expectStringNode().getValue();
+                return Node.from(value.codePointCount(0, value.length()));
+            case ARRAY:
+                return Node.from(subject.expectArrayNode().size());
+            case OBJECT:
+                return Node.from(subject.expectObjectNode().size());
+            default:
+                throw invalidType("length", 0, "array|object|string", subject);
+        }
+    }
+
+    private static Node map(List<Object> args) {
+        Function<Node, Node> expression = expression(args, 0, "map");
+        List<Node> result = new ArrayList<>();
+
+        for (Node value : array(args, 1, "map")) {
+            result.add(expression.apply(value));
+        }
+
+        return NodeValues.array(result);
+    }
+
+    private static Node extreme(List<Object> args, String name, int direction) {
+        List<Node> values = array(args, 0, name);
+        Comparator<Node> comparator = comparator(values, name);
+        Node result = NodeValues.NULL;
+
+        for (Node value : values) {
+            if (result.isNullNode() || comparator.compare(value, result) * direction > 0) {
+                result = value;
+            }
+        }
+
+        return result;
+    }
+
+    private static Node extremeBy(List<Object> args, String name, int direction) {
+        List<Node> values = array(args, 0, name);
+        List<Node> keys = applyExpression(values, expression(args, 1, name));
+        Comparator<Node> comparator = comparator(keys, name);
+        Node result = NodeValues.NULL;
+        Node resultKey = null;
+
+        for (int i = 0; i < values.size(); i++) {
+            if (resultKey == null || comparator.compare(keys.get(i), resultKey) * direction > 0) {
+                result = values.get(i);
+                resultKey = keys.get(i);
+            }
+        }
+
+        return result;
+    }
+
+    private static Node merge(List<Object> args) {
+        Map<StringNode, Node> result = new LinkedHashMap<>();
+        for (int i = 0; i < args.size(); i++) {
+            result.putAll(object(args, i, "merge").getMembers());
+        }
+        return new ObjectNode(result, SourceLocation.NONE);
+    }
+
+    private static Node notNull(List<Object> args) {
+        for (int i = 0; i < args.size(); i++) {
+            Node value = node(args, i);
+            if (!value.isNullNode()) {
+                return value;
+            }
+        }
+        return NodeValues.NULL;
+    }
+
+    private static Node reverse(List<Object> args) {
+        Node subject = node(args, 0);
+
+        if (subject.isStringNode()) {
+            return Node.from(new StringBuilder(subject.expectStringNode().getValue()).reverse().toString());
+        } else if (subject.isArrayNode()) {
+            List<Node> result = new ArrayList<>(subject.expectArrayNode().getElements());
+            Collections.reverse(result);
+            return NodeValues.array(result);
+        }
+
+        throw invalidType("reverse", 0, "array|string", subject);
+    }
+
+    private static Node sort(List<Object> args) {
+        List<Node> result = new ArrayList<>(array(args, 0, "sort"));
+        result.sort(comparator(result, "sort"));
+        return NodeValues.array(result);
+    }
+
+    private static Node sortBy(List<Object> args) {
+        List<Node> values = array(args, 0, "sort_by");
+        List<Node> keys = applyExpression(values, expression(args, 1, "sort_by"));
+        Comparator<Node> comparator = comparator(keys, "sort_by");
+
+        // Sort indexes rather than values so that each key is only computed once. List.sort is stable.
+        List<Integer> order = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> comparator.compare(keys.get(a), keys.get(b)));
+
+        List<Node> result = new ArrayList<>(values.size());
+        for (int i : order) {
+            result.add(values.get(i));
+        }
+
+        return NodeValues.array(result);
+    }
+
+    private static Node sum(List<Object> args) {
+        boolean integral = true;
+        long longTotal = 0;
+        double doubleTotal = 0;
+
+        for (Node value : array(args, 0, "sum")) {
+            Number number = expectNumber(value, "sum").getValue();
+            integral &= NodeValues.isIntegral(number);
+            longTotal += number.longValue();
+            doubleTotal += number.doubleValue();
+        }
+
+        return integral ? Node.from(longTotal) : Node.from(doubleTotal);
+    }
+
+    private static Node toArray(List<Object> args) {
+        Node value = node(args, 0);
+        return value.isArrayNode() ? value : NodeValues.array(Collections.singletonList(value));
+    }
+
+    private static Node toNumber(List<Object> args) {
+        Node value = node(args, 0);
+
+        if (value.isNumberNode()) {
+            return value;
+        } else if (!value.isStringNode()) {
+            return NodeValues.NULL;
+        }
+
+        String text = value.expectStringNode().getValue();
+        if (!NUMBER.matcher(text).matches()) {
+            return NodeValues.NULL;
+        }
+
+        try {
+            return Node.from(Long.parseLong(text));
+        } catch (NumberFormatException e) {
+            return Node.from(Double.parseDouble(text));
+        }
+    }
+
+    private static Node toStringValue(List<Object> args) {
+        Node value = node(args, 0);
+        return value.isStringNode() ? value : Node.from(Node.printJson(value));
+    }
+
+    private static List<Node> applyExpression(List<Node> values, Function<Node, Node> expression) {
+        List<Node> result = new ArrayList<>(values.size());
+        for (Node value : values) {
+            result.add(expression.apply(value));
+        }
+        return result;
+    }
+
+    // Values must be all numbers or all strings to be ordered.
+    private static Comparator<Node> comparator(List<Node> values, String name) {
+        if (values.isEmpty() || values.get(0).isNumberNode()) {
+            for (Node value : values) {
+                expectNumber(value, name);
+            }
+            return (a, b) -> NodeValues.compareNumbers(a.expectNumberNode(), b.expectNumberNode());
+        }
+
+        for (Node value : values) {
+            if (!value.isStringNode()) {
+                throw invalidType(name, 0, "array[number]|array[string]", value);
+            }
+        }
+
+        return Comparator.comparing(value -> value.expectStringNode().getValue());
+    }
+
+    private static Node node(List<Object> args, int index) {
+        Object value = args.get(index);
+        if (!(value instanceof Node)) {
+            throw new JmespathException(String.format(
+                    "invalid-type: Argument %d cannot be an expression reference", index));
+        }
+        return (Node) value;
+    }
+
+    private static NumberNode number(List<Object> args, int index, String name) {
+        Node value = node(args, index);
+        if (!value.isNumberNode()) {
+            throw invalidType(name, index, "number", value);
+        }
+        return value.expectNumberNode();
+    }
+
+    private static String string(List<Object> args, int index, String name) {
+        Node value = node(args, index);
+        if (!value.isStringNode()) {
+            throw invalidType(name, index, "string", value);
+        }
+        return value.expectStringNode().getValue();
+    }
+
+    private static List<Node> array(List<Object> args, int index, String name) {
+        Node value = node(args, index);
+        if (!value.isArrayNode()) {
+            throw invalidType(name, index, "array", value);
+        }
+        return value.expectArrayNode().getElements();
+    }
+
+    private static ObjectNode object(List<Object> args, int index, String name) {
+        Node value = node(args, index);
+        if (!value.isObjectNode()) {
+            throw invalidType(name, index, "object", value);
+        }
+        return value.expectObjectNode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Node, Node> expression(List<Object> args, int index, String name) {
+        Object value = args.get(index);
+        if (!(value instanceof Function)) {
+            throw new JmespathException(String.format(
+                    "invalid-type: Argument %d of %s must be an expression reference", index, name));
+        }
+        return (Function<Node, Node>) value;
+    }
+
+    private static NumberNode expectNumber(Node value, String name) {
+        if (!value.isNumberNode()) {
+            throw new JmespathException(String.format(
+                    "invalid-type: %s expected a number, but found %s", name, NodeValues.typeOf(value)));
+        }
+        return value.expectNumberNode();
+    }
+
+    private static JmespathException invalidType(String name, int index, String expected, Node actual) {
+        return new JmespathException(String.format(
+                "invalid-type: Argument %d of %s must be %s, but found %s",
+                index, name, expected, NodeValues.typeOf(actual)));
+    }
+}
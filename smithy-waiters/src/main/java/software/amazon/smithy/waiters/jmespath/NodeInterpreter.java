@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmespath;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import software.amazon.smithy.jmespath.ExpressionVisitor;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.jmespath.ast.AndExpression;
+import software.amazon.smithy.jmespath.ast.ComparatorExpression;
+import software.amazon.smithy.jmespath.ast.CurrentExpression;
+import software.amazon.smithy.jmespath.ast.ExpressionTypeExpression;
+import software.amazon.smithy.jmespath.ast.FieldExpression;
+import software.amazon.smithy.jmespath.ast.FilterProjectionExpression;
+import software.amazon.smithy.jmespath.ast.FlattenExpression;
+import software.amazon.smithy.jmespath.ast.FunctionExpression;
+import software.amazon.smithy.jmespath.ast.IndexExpression;
+import software.amazon.smithy.jmespath.ast.LiteralExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectHashExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectListExpression;
+import software.amazon.smithy.jmespath.ast.NotExpression;
+import software.amazon.smithy.jmespath.ast.ObjectProjectionExpression;
+import software.amazon.smithy.jmespath.ast.OrExpression;
+import software.amazon.smithy.jmespath.ast.ProjectionExpression;
+import software.amazon.smithy.jmespath.ast.SliceExpression;
+import software.amazon.smithy.jmespath.ast.Subexpression;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+
+/**
+ * Evaluates a {@link JmespathExpression} against a {@link Node} by
+ * walking the AST.
+ *
+ * <p>Each visitor evaluates expressions against a single current node.
+ * Use {@link CompiledExpression} when the same expression is evaluated
+ * many times.
+ */
+public final class NodeInterpreter implements ExpressionVisitor<Node> {
+
+    private final Node current;
+
+    /**
+     * @param current Node to evaluate expressions against.
+     */
+    public NodeInterpreter(Node current) {
+        this.current = current;
+    }
+
+    /**
+     * Evaluates an expression against a node.
+     *
+     * @param expression Expression to evaluate.
+     * @param current Node to evaluate the expression against.
+     * @return Returns the result of the expression.
+     * @throws JmespathException if the expression fails to evaluate (for example, a function received
+     *   an argument of the wrong type).
+     */
+    public static Node evaluate(JmespathExpression expression, Node current) {
+        return expression.accept(new NodeInterpreter(current));
+    }
+
+    @Override
+    public Node visitComparator(ComparatorExpression expression) {
+        Node left = expression.getLeft().accept(this);
+        Node right = expression.getRight().accept(this);
+        return NodeValues.compare(expression.getComparator(), left, right);
+    }
+
+    @Override
+    public Node visitCurrentNode(CurrentExpression expression) {
+        return current;
+    }
+
+    @Override
+    public Node visitExpressionType(ExpressionTypeExpression expression) {
+        throw new JmespathException("invalid-type: expression references can only be used as function arguments");
+    }
+
+    @Override
+    public Node visitFlatten(FlattenExpression expression) {
+        return NodeValues.flatten(expression.getExpression().accept(this));
+    }
+
+    @Override
+    public Node visitFunction(FunctionExpression expression) {
+        NodeFunctions.NodeFunction function = NodeFunctions.getFunction(
+                expression.getName(), expression.getArguments().size());
+        List<Object> arguments = new ArrayList<>(expression.getArguments().size());
+
+        for (JmespathExpression argument : expression.getArguments()) {
+            if (argument instanceof ExpressionTypeExpression) {
+                JmespathExpression reference = ((ExpressionTypeExpression) argument).getExpression();
+                arguments.add((Function<Node, Node>) value -> evaluate(reference, value));
+            } else {
+                arguments.add(argument.accept(this));
+            }
+        }
+
+        return function.apply(arguments);
+    }
+
+    @Override
+    public Node visitField(FieldExpression expression) {
+        return NodeValues.field(current, Node.from(expression.getName()));
+    }
+
+    @Override
+    public Node visitIndex(IndexExpression expression) {
+        return NodeValues.index(current, expression.getIndex());
+    }
+
+    @Override
+    public Node visitLiteral(LiteralExpression expression) {
+        return NodeValues.fromLiteral(expression.getValue());
+    }
+
+    @Override
+    public Node visitMultiSelectList(MultiSelectListExpression expression) {
+        if (current.isNullNode()) {
+            return current;
+        }
+
+        List<Node> result = new ArrayList<>(expression.getExpressions().size());
+        for (JmespathExpression element : expression.getExpressions()) {
+            result.add(element.accept(this));
+        }
+
+        return NodeValues.array(result);
+    }
+
+    @Override
+    public Node visitMultiSelectHash(MultiSelectHashExpression expression) {
+        if (current.isNullNode()) {
+            return current;
+        }
+
+        Map<StringNode, Node> result = new LinkedHashMap<>();
+        for (Map.Entry<String, JmespathExpression> entry : expression.getExpressions().entrySet()) {
+            result.put(Node.from(entry.getKey()), entry.getValue().accept(this));
+        }
+
+        return new ObjectNode(result, SourceLocation.NONE);
+    }
+
+    @Override
+    public Node visitAnd(AndExpression expression) {
+        Node left = expression.getLeft().accept(this);
+        return NodeValues.isTruthy(left) ? expression.getRight().accept(this) : left;
+    }
+
+    @Override
+    public Node visitOr(OrExpression expression) {
+        Node left = expression.getLeft().accept(this);
+        return NodeValues.isTruthy(left) ? left : expression.getRight().accept(this);
+    }
+
+    @Override
+    public Node visitNot(NotExpression expression) {
+        return NodeValues.from(!NodeValues.isTruthy(expression.getExpression().accept(this)));
+    }
+
+    @Override
+    public Node visitProjection(ProjectionExpression expression) {
+        Node left = expression.getLeft().accept(this);
+        if (!left.isArrayNode()) {
+            return NodeValues.NULL;
+        }
+
+        return project(left.expectArrayNode().getElements(), expression.getRight());
+    }
+
+    @Override
+    public Node visitFilterProjection(FilterProjectionExpression expression) {
+        Node left = expression.getLeft().accept(this);
+        if (!left.isArrayNode()) {
+            return NodeValues.NULL;
+        }
+
+        List<Node> matches = new ArrayList<>();
+        for (Node element : left.expectArrayNode().getElements()) {
+            if (NodeValues.isTruthy(evaluate(expression.getComparison(), element))) {
+                matches.add(element);
+            }
+        }
+
+        return project(matches, expression.getRight());
+    }
+
+    @Override
+    public Node visitObjectProjection(ObjectProjectionExpression expression) {
+        Node left = expression.getLeft().accept(this);
+        if (!left.isObjectNode()) {
+            return NodeValues.NULL;
+        }
+
+        return project(new ArrayList<>(left.expectObjectNode().getMembers().values()), expression.getRight());
+    }
+
+    @Override
+    public Node visitSlice(SliceExpression expression) {
+        return NodeValues.slice(current, expression.getStart(), expression.getStop(), expression.getStep());
+    }
+
+    @Override
+    public Node visitSubexpression(Subexpression expression) {
+        return evaluate(expression.getRight(), expression.getLeft().accept(this));
+    }
+
+    // Projections skip any element that evaluates to null.
+    private static Node project(List<Node> elements, JmespathExpression right) {
+        List<Node> result = new ArrayList<>(elements.size());
+        for (Node element : elements) {
+            Node value = evaluate(right, element);
+            if (!value.isNullNode()) {
+                result.add(value);
+            }
+        }
+        return NodeValues.array(result);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmespath;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.ast.ComparatorType;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+
+/**
+ * JMESPath value semantics shared by the interpreter and the compiler.
+ */
+final class NodeValues {
+
+    static final Node NULL = Node.nullNode();
+    static final Node TRUE = Node.from(true);
+    static final Node FALSE = Node.from(false);
+
+    private NodeValues() {}
+
+    static Node from(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    static boolean isTruthy(Node value) {
+        switch (value.getType()) {
+            case NULL:
+                return false;
+            case BOOLEAN:
+                return value.expectBooleanNode().getValue();
+            case STRING:
+                return !value.expectStringNode().getValue().isEmpty();
+            case ARRAY:
+                return !value.expectArrayNode().isEmpty();
+            case OBJECT:
+                return !value.expectObjectNode().isEmpty();
+            default:
+                return true;
+        }
+    }
+
+    static String typeOf(Node value) {
+        switch (value.getType()) {
+            case NULL:
+                return "null";
+            case BOOLEAN:
+                return "boolean";
+            case STRING:
+                return "string";
+            case NUMBER:
+                return "number";
+            case ARRAY:
+                return "array";
+            default:
+                return "object";
+        }
+    }
+
+    static Node field(Node value, StringNode key) {
+        if (!value.isObjectNode()) {
+            return NULL;
+        }
+
+        Node result = value.expectObjectNode().getMembers().get(key);
+        return result == null ? NULL : result;
+    }
+
+    static Node index(Node value, int index) {
+        if (!value.isArrayNode()) {
+            return NULL;
+        }
+
+        List<Node> elements = value.expectArrayNode().getElements();
+        int resolved = index < 0 ? elements.size() + index : index;
+        return resolved >= 0 && resolved < elements.size() ? elements.get(resolved) : NULL;
+    }
+
+    static Node slice(Node value, OptionalInt start, OptionalInt stop, int step) {
+        if (!value.isArrayNode()) {
+            return NULL;
+        } else if (step == 0) {
+            throw new JmespathException("invalid-value: slice step cannot be 0");
+        }
+
+        List<Node> elements = value.expectArrayNode().getElements();
+        int size = elements.size();
+        int from = start.isPresent() ? capSlice(size, start.getAsInt(), step) : step > 0 ? 0 : size - 1;
+        int to = stop.isPresent() ? capSlice(size, stop.getAsInt(), step) : step > 0 ? size : -1;
+        List<Node> result = new ArrayList<>();
+
+        if (step > 0) {
+            for (int i = from; i < to; i += step) {
+                result.add(elements.get(i));
+            }
+        } else {
+            for (int i = from; i > to; i += step) {
+                result.add(elements.get(i));
+            }
+        }
+
+        return array(result);
+    }
+
+    private static int capSlice(int size, int position, int step) {
+        if (position < 0) {
+            position += size;
+            if (position < 0) {
+                return step < 0 ? -1 : 0;
+            }
+        } else if (position >= size) {
+            return step < 0 ? size - 1 : size;
+        }
+        return position;
+    }
+
+    static Node flatten(Node value) {
+        if (!value.isArrayNode()) {
+            return NULL;
+        }
+
+        List<Node> result = new ArrayList<>();
+        for (Node element : value.expectArrayNode().getElements()) {
+            if (element.isArrayNode()) {
+                result.addAll(element.expectArrayNode().getElements());
+            } else {
+                result.add(element);
+            }
+        }
+
+        return array(result);
+    }
+
+    static Node compare(ComparatorType comparator, Node left, Node right) {
+        switch (comparator) {
+            case EQUAL:
+                return from(equals(left, right));
+            case NOT_EQUAL:
+                return from(!equals(left, right));
+            default:
+                // Ordering comparisons are only defined for numbers.
+                if (!left.isNumberNode() || !right.isNumberNode()) {
+                    return NULL;
+                }
+                int result = compareNumbers(left.expectNumberNode(), right.expectNumberNode());
+                switch (comparator) {
+                    case LESS_THAN:
+                        return from(result < 0);
+                    case LESS_THAN_EQUAL:
+                        return from(result <= 0);
+                    case GREATER_THAN:
+                        return from(result > 0);
+                    default:
+                        return from(result >= 0);
+                }
+        }
+    }
+
+    static boolean equals(Node left, Node right) {
+        if (left.isNumberNode() && right.isNumberNode()) {
+            return compareNumbers(left.expectNumberNode(), right.expectNumberNode()) == 0;
+        } else if (left.isArrayNode() && right.isArrayNode()) {
+            List<Node> a = left.expectArrayNode().getElements();
+            List<Node> b = right.expectArrayNode().getElements();
+            if (a.size() != b.size()) {
+                return false;
+            }
+            for (int i = 0; i < a.size(); i++) {
+                if (!equals(a.get(i), b.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (left.isObjectNode() && right.isObjectNode()) {
+            Map<StringNode, Node> a = left.expectObjectNode().getMembers();
+            Map<StringNode, Node> b = right.expectObjectNode().getMembers();
+            if (a.size() != b.size()) {
+                return false;
+            }
+            for (Map.Entry<StringNode, Node> entry : a.entrySet()) {
+                Node other = b.get(entry.getKey());
+                if (other == null || !equals(entry.getValue(), other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return left.equals(right);
+    }
+
+    static int compareNumbers(NumberNode left, NumberNode right) {
+        Number a = left.getValue();
+        Number b = right.getValue();
+        if (isIntegral(a) && isIntegral(b)) {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        return Double.compare(a.doubleValue(), b.doubleValue());
+    }
+
+    static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer
+               || number instanceof Short || number instanceof Byte;
+    }
+
+    static Node array(List<Node> elements) {
+        return new ArrayNode(elements, SourceLocation.NONE);
+    }
+
+    /**
+     * Converts the value of a {@code LiteralExpression} to a Node.
+     *
+     * @param value Value to convert.
+     * @return Returns the converted value.
+     */
+    @SuppressWarnings("unchecked")
+    static Node fromLiteral(Object value) {
+        if (value == null) {
+            return NULL;
+        } else if (value instanceof Boolean) {
+            return from((Boolean) value);
+        } else if (value instanceof String) {
+            return Node.from((String) value);
+        } else if (value instanceof Double) {
+            // The lexer parses every number as a double, so restore integers.
+            double number = (Double) value;
+            return number == Math.rint(number) && Math.abs(number) < 0x1p53
+                   ? Node.from((long) number)
+                   : Node.from(number);
+        } else if (value instanceof Number) {
+            return Node.from((Number) value);
+        } else if (value instanceof List) {
+            List<Node> elements = new ArrayList<>();
+            for (Object element : (List<Object>) value) {
+                elements.add(fromLiteral(element));
+            }
+            return array(elements);
+        } else if (value instanceof Map) {
+            Map<StringNode, Node> members = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                members.put(Node.from(entry.getKey()), fromLiteral(entry.getValue()));
+            }
+            return new ObjectNode(members, SourceLocation.NONE);
+        }
+
+        throw new JmespathException("Unsupported literal value: " + value);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.waiters.WaiterSimulator.Outcome;
+import software.amazon.smithy.waiters.WaiterSimulator.Response;
+
+public class WaiterSimulatorTest {
+
+    private static final Waiter WAITER = Waiter.builder()
+            .minDelay(2)
+            .maxDelay(2)
+            .addAcceptor(new Acceptor(AcceptorState.SUCCESS, new Matcher.OutputMember(
+                    new PathMatcher("Table.Status", "ACTIVE", PathComparator.STRING_EQUALS))))
+            .addAcceptor(new Acceptor(AcceptorState.FAILURE, new Matcher.OutputMember(
+                    new PathMatcher("Table.Replicas[].Status", "FAILED", PathComparator.ANY_STRING_EQUALS))))
+            .addAcceptor(new Acceptor(AcceptorState.SUCCESS, new Matcher.InputOutputMember(
+                    new PathMatcher("input.Name == output.Table.Name", "false", PathComparator.BOOLEAN_EQUALS))))
+            .addAcceptor(new Acceptor(AcceptorState.RETRY, new Matcher.ErrorTypeMember("ResourceInUse")))
+            .build();
+
+    private static Response table(String name, String status, String... replicas) {
+        return Response.output(Node.objectNode().withMember("Table", Node.objectNode()
+                .withMember("Name", name)
+                .withMember("Status", status)
+                .withMember("Replicas", Node.fromNodes(Arrays.stream(replicas)
+                        .map(replica -> Node.objectNode().withMember("Status", replica))
+                        .collect(Collectors.toList())))));
+    }
+
+    @Test
+    public void transitionsUsingFirstMatchingAcceptor() {
+        WaiterSimulator simulator = new WaiterSimulator(WAITER);
+        Node input = Node.objectNode().withMember("Name", "a");
+
+        assertThat(simulator.transition(input, table("a", "ACTIVE", "FAILED")), equalTo(AcceptorState.SUCCESS));
+        assertThat(simulator.transition(input, table("a", "CREATING", "FAILED")), equalTo(AcceptorState.FAILURE));
+        assertThat(simulator.transition(input, table("b", "CREATING")), equalTo(AcceptorState.SUCCESS));
+        assertThat(simulator.transition(input, table("a", "CREATING")), equalTo(AcceptorState.RETRY));
+        assertThat(simulator.transition(input, Response.error("smithy.example#ResourceInUse")),
+                   equalTo(AcceptorState.RETRY));
+        assertThat(simulator.transition(input, Response.error("Throttling")), equalTo(AcceptorState.FAILURE));
+    }
+
+    @Test
+    public void matchesSuccessAndAllStringEquals() {
+        WaiterSimulator simulator = new WaiterSimulator(Waiter.builder()
+                .addAcceptor(new Acceptor(AcceptorState.SUCCESS, new Matcher.OutputMember(
+                        new PathMatcher("Items[].State", "ready", PathComparator.ALL_STRING_EQUALS))))
+                .addAcceptor(new Acceptor(AcceptorState.FAILURE, new Matcher.SuccessMember(false)))
+                .build());
+        Node input = Node.objectNode();
+
+        assertThat(simulator.transition(input, Response.output(Node.parse("{\"Items\": [{\"State\": \"ready\"}]}"))),
+                   equalTo(AcceptorState.SUCCESS));
+        assertThat(simulator.transition(input, Response.output(Node.parse(
+                           "{\"Items\": [{\"State\": \"ready\"}, {\"State\": \"pending\"}]}"))),
+                   equalTo(AcceptorState.RETRY));
+        assertThat(simulator.transition(input, Response.output(Node.parse("{\"Items\": []}"))),
+                   equalTo(AcceptorState.RETRY));
+        assertThat(simulator.transition(input, Response.error("Foo")), equalTo(AcceptorState.FAILURE));
+    }
+
+    @Test
+    public void simulatesRetriesWithVirtualClock() {
+        WaiterSimulator simulator = new WaiterSimulator(WAITER);
+        WaiterSimulator.Result result = simulator.simulate(
+                Node.objectNode().withMember("Name", "a"),
+                Arrays.asList(table("a", "CREATING"), Response.error("ResourceInUse"), table("a", "ACTIVE")),
+                60,
+                new Random(0));
+
+        assertThat(result.getOutcome(), equalTo(Outcome.SUCCESS));
+        assertThat(result.getElapsedTime(), equalTo(4L));
+        assertThat(result.getAttempts().stream().map(WaiterSimulator.Attempt::getTime).collect(Collectors.toList()),
+                   contains(0L, 2L, 4L));
+    }
+
+    @Test
+    public void failsOnUnmatchedErrors() {
+        WaiterSimulator.Result result = new WaiterSimulator(WAITER).simulate(
+                Node.objectNode(), Collections.singletonList(Response.error("Throttling")), 60, new Random(0));
+
+        assertThat(result.getOutcome(), equalTo(Outcome.FAILURE));
+        assertThat(result.getAttempts(), hasSize(1));
+    }
+
+    @Test
+    public void timesOutWhenMaxWaitTimeIsExceeded() {
+        WaiterSimulator.Result result = new WaiterSimulator(WAITER).simulate(
+                Node.objectNode().withMember("Name", "a"), Collections.nCopies(100, table("a", "CREATING")), 7, new Random(0));
+
+        assertThat(result.getOutcome(), equalTo(Outcome.TIMEOUT));
+        assertThat(result.getAttempts().stream().map(WaiterSimulator.Attempt::getTime).collect(Collectors.toList()),
+                   contains(0L, 2L, 4L, 5L));
+    }
+
+    @Test
+    public void reportsExhaustedResponses() {
+        WaiterSimulator.Result result = new WaiterSimulator(WAITER).simulate(
+                Node.objectNode().withMember("Name", "a"), Collections.nCopies(3, table("a", "CREATING")), 600, new Random(0));
+
+        assertThat(result.getOutcome(), equalTo(Outcome.RESPONSES_EXHAUSTED));
+        assertThat(result.getAttempts(), hasSize(3));
+    }
+
+    @Test
+    public void computesExponentialBackoffWithJitter() {
+        Random random = new Random(0);
+
+        for (int attempt = 1; attempt < 20; attempt++) {
+            long cap = Math.min(120, 2L << (attempt - 1));
+            for (int i = 0; i < 100; i++) {
+                long delay = WaiterSimulator.computeDelay(2, 120, attempt, 10000, random);
+                assertThat(delay, greaterThanOrEqualTo(2L));
+                assertThat(delay, lessThanOrEqualTo(cap));
+            }
+        }
+
+        // Leave enough time for one more attempt.
+        assertThat(WaiterSimulator.computeDelay(2, 120, 10, 50, random), lessThanOrEqualTo(48L));
+    }
+}
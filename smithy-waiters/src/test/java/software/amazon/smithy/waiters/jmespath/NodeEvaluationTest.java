@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters.jmespath;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+
+public class NodeEvaluationTest {
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("source")
+    public void interpretsExpressions(String expression, Node given, ObjectNode testCase) {
+        check(testCase, () -> NodeInterpreter.evaluate(JmespathExpression.parse(expression), given));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("source")
+    public void evaluatesCompiledExpressions(String expression, Node given, ObjectNode testCase) {
+        check(testCase, () -> CompiledExpression.compile(expression).evaluate(given));
+    }
+
+    public static Stream<Arguments> source() {
+        List<Arguments> result = new ArrayList<>();
+        Node suites = Node.parse(NodeEvaluationTest.class.getResourceAsStream("compliance.json"));
+
+        for (ObjectNode suite : suites.expectArrayNode().getElementsAs(ObjectNode.class)) {
+            Node given = suite.expectMember("given");
+            for (ObjectNode testCase : suite.expectArrayMember("cases").getElementsAs(ObjectNode.class)) {
+                String expression = testCase.expectStringMember("expression").getValue();
+                result.add(Arguments.of(expression, given, testCase));
+            }
+        }
+
+        return result.stream();
+    }
+
+    private static void check(ObjectNode testCase, Supplier<Node> evaluator) {
+        if (testCase.containsMember("error")) {
+            JmespathException e = assertThrows(JmespathException.class, evaluator::get);
+            assertThat(e.getMessage(), startsWith(testCase.expectStringMember("error").getValue()));
+        } else {
+            Node expected = testCase.expectMember("result");
+            Node actual = evaluator.get();
+            assertThat(Node.printJson(actual), NodeValues.equals(expected, actual), is(true));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "`1`",
+            "`1` == `1`",
+            "`true` && `[1, 2]`[0]",
+            "`false` && foo",
+            "abs(`-1`)",
+            "sort_by(`[{\"a\": 2}, {\"a\": 1}]`, &a)[0].a",
+            "`{\"a\": [1, 2]}`.a[*]",
+            // Filters are evaluated against the elements of the constant array.
+            "`[1]`[?@ == foo]"
+    })
+    public void foldsConstantExpressions(String expression) {
+        CompiledExpression compiled = CompiledExpression.compile(expression);
+
+        assertThat(compiled.isConstant(), is(true));
+        assertThat(compiled.evaluate(Node.objectNode()), equalTo(NodeInterpreter.evaluate(
+                JmespathExpression.parse(expression), Node.objectNode())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"foo", "`1` == foo", "`true` && foo", "abs(foo)", "[`1`]", "foo[?@ == `1`]"})
+    public void doesNotFoldExpressionsThatUseCurrentNode(String expression) {
+        assertThat(CompiledExpression.compile(expression).isConstant(), is(false));
+    }
+
+    @Test
+    public void defersErrorsOfConstantExpressionsToEvaluation() {
+        CompiledExpression compiled = CompiledExpression.compile("abs('foo')");
+
+        assertThat(compiled.isConstant(), is(false));
+        assertThrows(JmespathException.class, () -> compiled.evaluate(Node.nullNode()));
+    }
+
+    @Test
+    public void passesCompiledExpressionReferences() {
+        Function<Node, Node> compiled = ExpressionCompiler.compile(JmespathExpression.parse("map(&a, @)"));
+        Node result = compiled.apply(Node.parse("[{\"a\": 1}, {\"b\": 2}]"));
+
+        assertThat(result, equalTo(Node.parse("[1, null]")));
+    }
+}